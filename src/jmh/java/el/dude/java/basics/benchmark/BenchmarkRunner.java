@@ -0,0 +1,53 @@
+package el.dude.java.basics.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Entry point of {@code target/benchmarks.jar}. Accepts the regular JMH command line options, but defaults to
+ * the gc profiler and a JSON result file so consecutive runs can be compared for regressions:
+ * <pre>
+ *    mvn -B -P benchmark -DskipTests package
+ *    java -jar target/benchmarks.jar                                  -- everything, target/jmh-result.json
+ *    java -jar target/benchmarks.jar OffsetByUnit -p units=days       -- a subset
+ *    java -jar target/benchmarks.jar -rff before.json                 -- another result file
+ * </pre>
+ */
+public final class BenchmarkRunner
+{
+
+   private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+   private BenchmarkRunner()
+   {
+   }
+
+   public static void main(final String[] args) throws CommandLineOptionException, RunnerException
+   {
+      final CommandLineOptions commandLine = new CommandLineOptions(args);
+      final OptionsBuilder builder = new OptionsBuilder();
+      if (commandLine.getProfilers().isEmpty())
+      {
+         builder.addProfiler(GCProfiler.class);
+      }
+      if (!commandLine.getResult().hasValue())
+      {
+         builder.result(DEFAULT_RESULT_FILE);
+      }
+      if (!commandLine.getResultFormat().hasValue())
+      {
+         builder.resultFormat(ResultFormatType.JSON);
+      }
+      final Options options = builder.parent(commandLine).build();
+      new Runner(options).run();
+   }
+
+}
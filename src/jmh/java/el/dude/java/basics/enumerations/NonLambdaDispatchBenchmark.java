@@ -0,0 +1,95 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Creating the Duration or Period of an amount of units, the way the non-lambda enum used to do it and the way it
+ * does it now:
+ * <pre>
+ *    reflective    -- Method.invoke(null, amount): boxed int, Object[] per call, not inlined (the former approach)
+ *    methodHandle  -- MethodHandle.invokeExact from a non-constant field
+ *    nonLambda     -- DateAndTimeOffsetCalculationNonLambdaApproach, bound through LambdaMetafactory at class init
+ *    function      -- DateAndTimeOffsetFunctionImpl, the lambda approach
+ * </pre>
+ * OffsetByUnitBenchmark.nonLambda measures the same including parsing, offsetting and formatting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NonLambdaDispatchBenchmark
+{
+
+   @Param({"seconds", "days", "months"})
+   public String units;
+
+   @Param({"3"})
+   public int amount;
+
+   private Method                                        method;
+   private MethodHandle                                  methodHandle;
+   private DateAndTimeOffsetCalculationNonLambdaApproach nonLambda;
+   private DateAndTimeOffsetFunction                     function;
+
+   @Setup
+   public void setup() throws ReflectiveOperationException
+   {
+      final Class<?> clazz = "seconds".equals(units) ? Duration.class : Period.class;
+      final Class<?> parameterType = "seconds".equals(units) ? Long.TYPE : Integer.TYPE;
+      final String name = "of" + units.substring(0, 1).toUpperCase(Locale.ROOT) + units.substring(1);
+      method = clazz.getMethod(name, parameterType);
+      methodHandle = MethodHandles.publicLookup().unreflect(method)
+              .asType(MethodType.methodType(TemporalAmount.class, int.class));
+      nonLambda = DateAndTimeOffsetCalculationNonLambdaApproach.valueOf(units.toUpperCase(Locale.ROOT));
+      function = DateAndTimeOffsetFunctionImpl.getFunction(units);
+   }
+
+   @Benchmark
+   public TemporalAmount reflective() throws ReflectiveOperationException
+   {
+      return (TemporalAmount) method.invoke(null, amount);
+   }
+
+   @Benchmark
+   public TemporalAmount methodHandle() throws Throwable
+   {
+      return (TemporalAmount) methodHandle.invokeExact(amount);
+   }
+
+   @Benchmark
+   public TemporalAmount nonLambda()
+   {
+      return nonLambda.offsetBy(amount);
+   }
+
+   @Benchmark
+   public TemporalAmount function()
+   {
+      return function.offsetBy(amount);
+   }
+
+}
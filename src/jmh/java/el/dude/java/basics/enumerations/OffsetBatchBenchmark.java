@@ -0,0 +1,104 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Offsetting a column of epoch milliseconds: {@link DateAndTimeBatchCalculation} against one
+ * {@code ZonedDateTime} per row. The between benchmarks go the other way, the units from one column to another
+ * against {@code ZonedDateTime.until} per row. Scores are per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetBatchBenchmark
+{
+
+   private static final int ROWS = 65_536;
+
+   @Param({"seconds", "days", "months"})
+   public String units;
+
+   private final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation();
+
+   private long[]                        epochMillis;
+   private long[]                        ends;
+   private long[]                        result;
+   private DateAndTimeOffsetFunctionImpl function;
+
+   @Setup
+   public void setup()
+   {
+      final Random random = new Random(4711);
+      epochMillis = new long[ROWS];
+      ends = new long[ROWS];
+      result = new long[ROWS];
+      for (int i = 0; i < ROWS; i++)
+      {
+         epochMillis[i] = 1_600_000_000_000L + (long) (random.nextDouble() * 100_000_000_000L);
+         ends[i] = epochMillis[i] + (long) (random.nextDouble() * 10_000_000_000L);
+      }
+      function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(ROWS)
+   public long[] batch()
+   {
+      batch.offsetEpochMillis(epochMillis, 3, function, result);
+      return result;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(ROWS)
+   public long[] zonedDateTimePerRow()
+   {
+      for (int i = 0; i < ROWS; i++)
+      {
+         result[i] = Instant.ofEpochMilli(epochMillis[i]).atZone(ZoneOffset.UTC).plus(function.offsetBy(3))
+                 .toInstant().toEpochMilli();
+      }
+      return result;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(ROWS)
+   public long[] between()
+   {
+      batch.unitsBetweenEpochMillis(epochMillis, ends, function, result);
+      return result;
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(ROWS)
+   public long[] untilPerRow()
+   {
+      for (int i = 0; i < ROWS; i++)
+      {
+         result[i] = Instant.ofEpochMilli(epochMillis[i]).atZone(ZoneOffset.UTC).until(
+                 Instant.ofEpochMilli(ends[i]).atZone(ZoneOffset.UTC), function.getUnit());
+      }
+      return result;
+   }
+
+}
@@ -0,0 +1,94 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Offsetting by an ISO 8601 period, per period shape:
+ * <pre>
+ *    date   -- P1Y2M3D             (java.time.Period only)
+ *    time   -- PT4H5M6.789S        (java.time.Duration only)
+ *    mixed  -- P1Y2M3DT4H5M6.789S  (both)
+ * </pre>
+ * The typed non-lambda overload only understands the date or the time shape, see {@link Typed}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetByPeriodBenchmark
+{
+
+   static final String FROM = "2022-02-02T12:34:56.789Z";
+
+   @Param({"P1Y2M3D", "PT4H5M6.789S", "P1Y2M3DT4H5M6.789S"})
+   public String period;
+
+   private DateAndTimeCalculation calculation;
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(FROM);
+   }
+
+   @Benchmark
+   public String calculation()
+   {
+      return calculation.offsetBy(period);
+   }
+
+   @Benchmark
+   public IsoPeriod compile()
+   {
+      return IsoPeriod.parse(period);
+   }
+
+   @Benchmark
+   public String nonLambda()
+   {
+      return DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(FROM, period);
+   }
+
+   @Benchmark
+   public String nonLambdaTyped(final Typed typed)
+   {
+      return DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(FROM, typed.period, typed.units);
+   }
+
+   @State(Scope.Thread)
+   public static class Typed
+   {
+
+      @Param({"period:P1Y2M3D", "duration:PT4H5M6.789S"})
+      public String typedPeriod;
+
+      String units;
+      String period;
+
+      @Setup
+      public void setup()
+      {
+         final int separator = typedPeriod.indexOf(':');
+         units = typedPeriod.substring(0, separator);
+         period = typedPeriod.substring(separator + 1);
+      }
+
+   }
+
+}
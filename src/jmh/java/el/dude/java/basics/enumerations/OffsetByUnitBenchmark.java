@@ -0,0 +1,111 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAmount;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Offsetting by an amount of units, side by side for the three strategies:
+ * <pre>
+ *    calculation  -- DateAndTimeCalculation.offsetBy(int, String), timestamp parsed once per instance
+ *    calculationInto{Builder,Chars,Bytes} -- same, written into a reused sink instead of a new String
+ *    function     -- DateAndTimeOffsetFunctionImpl.getFunction(String).offsetBy(int), no date math at all
+ *    nonLambda    -- DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(String, int, String)
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetByUnitBenchmark
+{
+
+   static final String FROM = "2022-02-02T12:34:56.789Z";
+
+   @Param({"nanos", "millis", "seconds", "minutes", "hours", "days", "weeks", "months", "years"})
+   public String units;
+
+   @Param({"3"})
+   public int amount;
+
+   private DateAndTimeCalculation calculation;
+   private ZonedDateTime          parsed;
+   private final StringBuilder    builder = new StringBuilder(IsoDateTimeFormatter.MAX_LENGTH);
+   private final char[]           chars   = new char[IsoDateTimeFormatter.MAX_LENGTH];
+   private final ByteBuffer       bytes   = ByteBuffer.allocateDirect(IsoDateTimeFormatter.MAX_LENGTH);
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(FROM);
+      parsed = ZonedDateTime.parse(FROM);
+   }
+
+   @Benchmark
+   public String calculation()
+   {
+      return calculation.offsetBy(amount, units);
+   }
+
+   @Benchmark
+   public StringBuilder calculationIntoBuilder()
+   {
+      builder.setLength(0);
+      return calculation.offsetBy(amount, units, builder);
+   }
+
+   @Benchmark
+   public int calculationIntoChars()
+   {
+      return calculation.offsetBy(amount, units, chars, 0);
+   }
+
+   @Benchmark
+   public ByteBuffer calculationIntoBytes()
+   {
+      bytes.clear();
+      return calculation.offsetBy(amount, units, bytes);
+   }
+
+   @Benchmark
+   public TemporalAmount function()
+   {
+      return DateAndTimeOffsetFunctionImpl.getFunction(units).offsetBy(amount);
+   }
+
+   @Benchmark
+   public String functionApplied()
+   {
+      return parsed.plus(DateAndTimeOffsetFunctionImpl.getFunction(units).offsetBy(amount)).toString();
+   }
+
+   @Benchmark
+   public String nonLambda()
+   {
+      return DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(FROM, amount, units);
+   }
+
+   @Benchmark
+   public String calculationIncludingParse()
+   {
+      return new DateAndTimeCalculation(FROM).offsetBy(amount, units);
+   }
+
+}
@@ -0,0 +1,95 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * The cost of bad input: unknown units, malformed periods and unparsable timestamps. In the non-lambda approach
+ * and for the timestamp each of them ends up in an exception, the non-lambda approach also writes an error log line
+ * each time - both are part of what is being measured.
+ * <p>
+ * {@link DateAndTimeCalculation} neither throws nor logs every error: it answers an error code and writes one log
+ * line per second and kind of error, see {@link OffsetErrorLog}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetErrorPathBenchmark
+{
+
+   static final String FROM = "2022-02-02T12:34:56.789Z";
+
+   private DateAndTimeCalculation calculation;
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(FROM);
+   }
+
+   @Benchmark
+   public String unknownUnits()
+   {
+      return calculation.offsetBy(3, "boom");
+   }
+
+   @Benchmark
+   public String unknownUnitsNonLambda()
+   {
+      return DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(FROM, 3, "boom");
+   }
+
+   @Benchmark
+   public String notAPeriod()
+   {
+      return calculation.offsetBy("I cannot be parsed");
+   }
+
+   @Benchmark
+   public String malformedPeriod()
+   {
+      return calculation.offsetBy("P1Y2X3D");
+   }
+
+   @Benchmark
+   public OffsetResult malformedPeriodResult()
+   {
+      return calculation.tryOffsetBy("P1Y2X3D");
+   }
+
+   @Benchmark
+   public String malformedPeriodNonLambda()
+   {
+      return DateAndTimeOffsetCalculationNonLambdaApproach.getResultingDateAndTime(FROM, "P1Y2X3D");
+   }
+
+   @Benchmark
+   public Object malformedTimestamp()
+   {
+      try
+      {
+         return new DateAndTimeCalculation("2022-02-30T12:34:56.789Z");
+      }
+      catch (final DateTimeParseException e)
+      {
+         return e;
+      }
+   }
+
+}
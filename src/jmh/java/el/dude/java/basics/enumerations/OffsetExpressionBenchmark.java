@@ -0,0 +1,71 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * "P1M - PT3H + 2 weeks" applied to one date and time:
+ * <pre>
+ *    expression        -- DateAndTimeCalculation.offsetBy(OffsetExpression), compiled once, all steps on one epoch
+ *    stepByStep        -- one offsetBy call per term, parsing and formatting the date and time in between
+ *    expressionCompile -- compiling the expression on every call
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetExpressionBenchmark
+{
+
+   static final String EXPRESSION = "P1M - PT3H + 2 weeks";
+
+   @Param({"2022-01-31T12:34:56.789Z", "2022-01-31T12:34:56.789+01:00[Europe/Zurich]"})
+   public String from;
+
+   private DateAndTimeCalculation calculation;
+   private OffsetExpression       expression;
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(from);
+      expression = OffsetExpression.compile(EXPRESSION);
+   }
+
+   @Benchmark
+   public String expression()
+   {
+      return calculation.offsetBy(expression);
+   }
+
+   @Benchmark
+   public String stepByStep()
+   {
+      final String month = calculation.offsetBy("P1M");
+      final String hours = new DateAndTimeCalculation(month).offsetBy("PT-3H");
+      return new DateAndTimeCalculation(hours).offsetBy(2, "weeks");
+   }
+
+   @Benchmark
+   public String expressionCompile()
+   {
+      return calculation.offsetBy(OffsetExpression.compile(EXPRESSION));
+   }
+
+}
@@ -0,0 +1,77 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * A dozen expiry times derived from one creation time:
+ * <pre>
+ *    fanOutPeriods -- DateAndTimeCalculation.offsetsBy(String[], OffsetResults), one reused output structure
+ *    fanOutUnits   -- DateAndTimeCalculation.offsetsBy(int[], String[], OffsetResults)
+ *    oneByOne      -- one offsetBy(String) call and one String per period
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetFanOutBenchmark
+{
+
+   static final String[] PERIODS = {"PT5M", "PT15M", "PT1H", "PT6H", "P1D", "P1DT12H", "P2D", "P7D", "P7DT1H",
+           "P1M", "P1MT1H", "P1Y"};
+
+   static final int[]    AMOUNTS = {5, 15, 1, 6, 1, 36, 2, 1, 169, 1, 3, 1};
+   static final String[] UNITS   = {"minutes", "minutes", "hours", "hours", "days", "hours", "days", "weeks",
+           "hours", "months", "months", "years"};
+
+   @Param({"2022-01-31T12:34:56.789Z", "2022-01-31T12:34:56.789+01:00[Europe/Zurich]"})
+   public String from;
+
+   private DateAndTimeCalculation calculation;
+   private final OffsetResults    results = new OffsetResults(PERIODS.length);
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(from);
+   }
+
+   @Benchmark
+   public OffsetResults fanOutPeriods()
+   {
+      return calculation.offsetsBy(PERIODS, results);
+   }
+
+   @Benchmark
+   public OffsetResults fanOutUnits()
+   {
+      return calculation.offsetsBy(AMOUNTS, UNITS, results);
+   }
+
+   @Benchmark
+   public void oneByOne(final Blackhole blackhole)
+   {
+      for (final String period : PERIODS)
+      {
+         blackhole.consume(calculation.offsetBy(period));
+      }
+   }
+
+}
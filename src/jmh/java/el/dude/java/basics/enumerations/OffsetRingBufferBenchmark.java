@@ -0,0 +1,127 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Handing offset requests to other threads, {@link #REQUESTS} requests per invocation:
+ * <pre>
+ *    ringBuffer        -- published into an OffsetRingBuffer, results read from the slots
+ *    completableFuture -- one CompletableFuture.supplyAsync per request on a fixed pool, then joined
+ *    inline            -- ZonedDateTime.plus in the calling thread, the date math alone
+ * </pre>
+ * Busy spinning needs a core per waiting thread (producer and workers), on smaller machines it only measures the
+ * scheduler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetRingBufferBenchmark
+{
+
+   static final int REQUESTS = 64;
+
+   private static final DateAndTimeOffsetFunctionImpl[] UNITS = {DateAndTimeOffsetFunctionImpl.MINUTES,
+           DateAndTimeOffsetFunctionImpl.HOURS, DateAndTimeOffsetFunctionImpl.DAYS,
+           DateAndTimeOffsetFunctionImpl.MONTHS};
+
+   @Param({"YIELDING", "PARKING", "BUSY_SPIN"})
+   public OffsetRingBuffer.WaitStrategy waitStrategy;
+
+   @Param({"Z", "Europe/Zurich"})
+   public String zone;
+
+   private ZoneId           zoneId;
+   private ZonedDateTime    base;
+   private long             epochSecond;
+   private OffsetRingBuffer ring;
+   private ExecutorService  executor;
+
+   @Setup
+   public void setup()
+   {
+      zoneId = "Z".equals(zone) ? ZoneOffset.UTC : ZoneId.of(zone);
+      base = ZonedDateTime.of(2022, 1, 31, 12, 34, 56, 789_000_000, zoneId);
+      epochSecond = base.toEpochSecond();
+      final int workers = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+      ring = new OffsetRingBuffer(1024, workers, waitStrategy, null);
+      ring.start();
+      executor = Executors.newFixedThreadPool(workers);
+   }
+
+   @TearDown
+   public void tearDown()
+   {
+      ring.close();
+      executor.shutdown();
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(REQUESTS)
+   public void ringBuffer(final Blackhole blackhole)
+   {
+      long last = 0;
+      for (int i = 0; i < REQUESTS; i++)
+      {
+         last = ring.publish(epochSecond, 789_000_000, zoneId, i, UNITS[i & 3]);
+      }
+      ring.waitForResults(last);
+      for (long sequence = last - REQUESTS + 1; sequence <= last; sequence++)
+      {
+         blackhole.consume(ring.get(sequence).getResultEpochSecond());
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(REQUESTS)
+   public void completableFuture(final Blackhole blackhole)
+   {
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      final CompletableFuture<ZonedDateTime>[] futures = new CompletableFuture[REQUESTS];
+      for (int i = 0; i < REQUESTS; i++)
+      {
+         final int amount = i;
+         futures[i] = CompletableFuture.supplyAsync(() -> base.plus(UNITS[amount & 3].offsetBy(amount)), executor);
+      }
+      for (final CompletableFuture<ZonedDateTime> future : futures)
+      {
+         blackhole.consume(future.join().toEpochSecond());
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(REQUESTS)
+   public void inline(final Blackhole blackhole)
+   {
+      for (int i = 0; i < REQUESTS; i++)
+      {
+         blackhole.consume(base.plus(UNITS[i & 3].offsetBy(i)).toEpochSecond());
+      }
+   }
+
+}
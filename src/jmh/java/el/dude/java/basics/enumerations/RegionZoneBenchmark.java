@@ -0,0 +1,85 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Offsetting a date and time in a region zone, through the zone's transition table versus {@link ZonedDateTime}:
+ * <pre>
+ *    calculation       -- DateAndTimeCalculation.offsetBy(int, String), offsets looked up in the ZoneOffsetTable
+ *    calculationPeriod -- DateAndTimeCalculation.offsetBy(String) with a mixed period
+ *    zoned             -- ZonedDateTime.plus(...).toString(), offsets from ZoneRules
+ *    zonedPeriod       -- same with the mixed period
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionZoneBenchmark
+{
+
+   static final String PERIOD = "P1M2DT3H";
+
+   @Param({"2022-03-26T02:30:56.789+01:00[Europe/Zurich]", "2022-02-02T12:34:56.789-05:00[America/New_York]"})
+   public String from;
+
+   @Param({"hours", "days", "months"})
+   public String units;
+
+   @Param({"3"})
+   public int amount;
+
+   private DateAndTimeCalculation calculation;
+   private ZonedDateTime          parsed;
+   private IsoPeriod              period;
+
+   @Setup
+   public void setup()
+   {
+      calculation = new DateAndTimeCalculation(from);
+      parsed = ZonedDateTime.parse(from);
+      period = IsoPeriod.parse(PERIOD);
+   }
+
+   @Benchmark
+   public String calculation()
+   {
+      return calculation.offsetBy(amount, units);
+   }
+
+   @Benchmark
+   public String calculationPeriod()
+   {
+      return calculation.offsetBy(PERIOD);
+   }
+
+   @Benchmark
+   public String zoned()
+   {
+      return parsed.plus(DateAndTimeOffsetFunctionImpl.getFunction(units).offsetBy(amount)).toString();
+   }
+
+   @Benchmark
+   public String zonedPeriod()
+   {
+      return parsed.plus(period).toString();
+   }
+
+}
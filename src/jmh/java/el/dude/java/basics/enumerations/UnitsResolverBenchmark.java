@@ -0,0 +1,76 @@
+package el.dude.java.basics.enumerations;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Resolving the units token of a record in a network buffer:
+ * <pre>
+ *    string   -- decode a String, then DateAndTimeOffsetFunctionImpl.fromUnits (hash map)
+ *    exact    -- UnitsResolver.exact() on the byte range
+ *    lenient  -- UnitsResolver.lenient() on the byte range
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnitsResolverBenchmark
+{
+
+   private static final int OFFSET = 27;
+
+   @Param({"seconds", "days", "months", "milliseconds"})
+   public String units;
+
+   private ByteBuffer buffer;
+   private int        length;
+
+   @Setup
+   public void setup()
+   {
+      final byte[] record = ("2022-02-02T12:34:56.789Z,3," + units + "\n").getBytes(StandardCharsets.US_ASCII);
+      buffer = ByteBuffer.allocateDirect(record.length).put(record);
+      buffer.flip();
+      length = units.length();
+   }
+
+   @Benchmark
+   public DateAndTimeOffsetFunctionImpl string()
+   {
+      final byte[] token = new byte[length];
+      // absolute bulk get is Java 13+
+      buffer.duplicate().position(OFFSET).get(token);
+      return DateAndTimeOffsetFunctionImpl.fromUnits(new String(token, StandardCharsets.US_ASCII));
+   }
+
+   @Benchmark
+   public DateAndTimeOffsetFunctionImpl exact()
+   {
+      return UnitsResolver.exact().resolve(buffer, OFFSET, length);
+   }
+
+   @Benchmark
+   public DateAndTimeOffsetFunctionImpl lenient()
+   {
+      return UnitsResolver.lenient().resolve(buffer, OFFSET, length);
+   }
+
+}
@@ -0,0 +1,241 @@
+package el.dude.java.basics.inheritance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Cost of calling getValue and getHalfValue of the {@link IValue} hierarchy, depending on how many classes a call
+ * site sees. Each benchmark adds up the values of {@link #SIZE} objects, the receiver classes shuffled at random:
+ * <pre>
+ *    shape=mono    LocalValue only
+ *    shape=bi      Value and LocalValue - two classes, one getValue
+ *    shape=mega    Value, LocalValue, ScaledValue and ShiftedValue - four classes, three getValue
+ *
+ *    interfaceCall  IValue.getValue               type profile of the shape: inlined, inlined behind a
+ *                                                 class check, or an itable call
+ *    classCall      Value.getValue                the same over the class, a vtable call when megamorphic
+ *    exactClass     getClass() == Value or        the devirtualization of {@link ValueAggregations}
+ *                   LocalValue, else IValue
+ *    instanceOf     instanceof ILocalValue, cast  getHalfValue or getValue, like the inheritance tests do
+ *    finalClass     FinalValue.getValue           final class, no type check at all (any shape)
+ *    flattened      double[]                      no objects, the {@link ValueStore} layout (any shape)
+ * </pre>
+ * The classes are shuffled, a type check that goes either way also pays for the mispredicted branches: compare
+ * instanceOf of bi with the one of mono. Every shape runs in its own fork, the type profiles of one shape do not
+ * pollute the next. The scores are calls per millisecond. To see whether a call was inlined or how it was
+ * dispatched:
+ * <pre>
+ *    java -jar target/benchmarks.jar ValueDispatch -p shape=mega -prof perfasm    -- Linux perf, hsdis
+ *    java -jar target/benchmarks.jar ValueDispatch -jvmArgsAppend "-XX:+UnlockDiagnosticVMOptions
+ *            -XX:+PrintInlining"
+ * </pre>
+ * The gc profiler is on by default (see BenchmarkRunner), none of the benchmarks allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(ValueDispatchBenchmark.SIZE)
+public class ValueDispatchBenchmark
+{
+
+   static final int SIZE = 1024;
+
+   @Param({"mono", "bi", "mega"})
+   public String shape;
+
+   private IValue[]     interfaces;
+   private Value[]      classes;
+   private FinalValue[] finals;
+   private double[]     flattened;
+
+   /**
+    * Overrides getValue, a third implementation of the class call site
+    */
+   static class ScaledValue extends Value
+   {
+
+      ScaledValue(final double value)
+      {
+         super(value);
+      }
+
+      @Override
+      public double getValue()
+      {
+         return super.getValue() * 2;
+      }
+
+   }
+
+   /**
+    * Overrides getValue, a fourth receiver class
+    */
+   static class ShiftedValue extends Value
+   {
+
+      ShiftedValue(final double value)
+      {
+         super(value);
+      }
+
+      @Override
+      public double getValue()
+      {
+         return super.getValue() + 1;
+      }
+
+   }
+
+   /**
+    * Creates the overriding classes, kept out of this class so that verifying it does not load them: for mono and
+    * bi, Value.getValue has no override loaded and class hierarchy analysis may bind it
+    */
+   static final class Overriding
+   {
+
+      private Overriding()
+      {
+      }
+
+      static Value of(final int kind, final double value)
+      {
+         return kind == 2 ? new ScaledValue(value) : new ShiftedValue(value);
+      }
+
+   }
+
+   /**
+    * What flattening the hierarchy into one final class looks like
+    */
+   static final class FinalValue implements ILocalValue
+   {
+
+      private final double value;
+
+      FinalValue(final double value)
+      {
+         this.value = value;
+      }
+
+      @Override
+      public double getValue()
+      {
+         return value;
+      }
+
+      @Override
+      public double getHalfValue()
+      {
+         return value / 2;
+      }
+
+   }
+
+   @Setup
+   public void setup()
+   {
+      final Random random = new Random(4711);
+      final int classCount = "mono".equals(shape) ? 1 : "bi".equals(shape) ? 2 : 4;
+      interfaces = new IValue[SIZE];
+      classes = new Value[SIZE];
+      finals = new FinalValue[SIZE];
+      flattened = new double[SIZE];
+      for (int i = 0; i < SIZE; i++)
+      {
+         final double value = random.nextDouble();
+         final int kind = random.nextInt(classCount);
+         final Value object = kind == 0 ? new LocalValue(value) : kind == 1 ? new Value(value)
+                 : Overriding.of(kind, value);
+         interfaces[i] = object;
+         classes[i] = object;
+         finals[i] = new FinalValue(object.getValue());
+         flattened[i] = object.getValue();
+      }
+   }
+
+   @Benchmark
+   public double interfaceCall()
+   {
+      double sum = 0;
+      for (final IValue value : interfaces)
+      {
+         sum += value.getValue();
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public double classCall()
+   {
+      double sum = 0;
+      for (final Value value : classes)
+      {
+         sum += value.getValue();
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public double exactClass()
+   {
+      double sum = 0;
+      for (final IValue value : interfaces)
+      {
+         final Class<?> type = value.getClass();
+         sum += type == Value.class || type == LocalValue.class ? ((Value) value).getValue() : value.getValue();
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public double instanceOf()
+   {
+      double sum = 0;
+      for (final IValue value : interfaces)
+      {
+         sum += value instanceof ILocalValue ? ((ILocalValue) value).getHalfValue() : value.getValue();
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public double finalClass()
+   {
+      double sum = 0;
+      for (final FinalValue value : finals)
+      {
+         sum += value.getValue();
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public double flattened()
+   {
+      double sum = 0;
+      for (final double value : flattened)
+      {
+         sum += value;
+      }
+      return sum;
+   }
+
+}
@@ -0,0 +1,81 @@
+package el.dude.java.basics.jshell;
+
+import el.dude.java.basics.enumerations.DateAndTimeOffsetFunctionImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Evaluating a rule compiled by the {@link OffsetRuleEngine} against the same code written in Java:
+ * <pre>
+ *    compiled   -- engine.compile("dateAndTime.plusDays(amount)"), the lambda loaded from JShell
+ *    direct     -- dateAndTime.plusDays(amount)
+ *    function   -- OffsetRule.of(DateAndTimeOffsetFunctionImpl "days")
+ * </pre>
+ * The engine is built in the setup, its JShells and the compilation are not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetRuleBenchmark
+{
+
+   @Param({"3", "1000"})
+   public int amount;
+
+   private final ZonedDateTime dateAndTime = ZonedDateTime.parse("2022-02-02T12:34:56.789+01:00[Europe/Zurich]");
+
+   private OffsetRuleEngine engine;
+   private OffsetRule       compiled;
+   private OffsetRule       function;
+
+   @Setup
+   public void setup()
+   {
+      engine = new OffsetRuleEngine(1);
+      compiled = engine.compile("dateAndTime.plusDays(amount)");
+      function = OffsetRule.of(DateAndTimeOffsetFunctionImpl.getFunction("days"));
+   }
+
+   @TearDown
+   public void tearDown()
+   {
+      engine.close();
+   }
+
+   @Benchmark
+   public ZonedDateTime compiled()
+   {
+      return compiled.offset(dateAndTime, amount);
+   }
+
+   @Benchmark
+   public ZonedDateTime direct()
+   {
+      return dateAndTime.plusDays(amount);
+   }
+
+   @Benchmark
+   public ZonedDateTime function()
+   {
+      return function.offset(dateAndTime, amount);
+   }
+
+}
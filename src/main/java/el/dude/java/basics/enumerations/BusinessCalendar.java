@@ -0,0 +1,409 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Working days and hours of a place: the days of the weekend, the holidays and the opening hours of a business day.
+ * Offsetting by business days or hours ({@link BusinessUnits}) never walks the calendar day by day, the days of the
+ * years covered are indexed once when the calendar is created:
+ * <pre>
+ *    before[i]  -- number of business days before day i (days counted from the first day covered)
+ *    nth[k]     -- day of the k-th business day
+ *
+ *    N business days after day i      nth[before[i + 1] + N - 1]
+ *    N business days before day i     nth[before[i] - N]
+ *    business hours before an instant before[i] * opening hours + hours passed on day i
+ * </pre>
+ * Two array lookups for any amount, the amount of days or hours is limited by the years covered only. Results
+ * outside the years covered fail with {@link DateTimeException}, as the holidays there are unknown. The years are
+ * taken from the system properties {@code el.dude.java.basics.enumerations.BusinessCalendar.fromYear} and
+ * {@code ...toYear} (default 1900 to 2100), about 500KB per calendar for 200 years.
+ * <p>
+ * Calendars are registered by name and picked by the units, e.g. "businessdays@zurich". The {@link #getDefault()
+ * default calendar} has Saturday and Sunday off, no holidays and opens from 09:00 to 17:00. Calendar files
+ * ({@link #load(Path)}) in the directory of the system property
+ * {@code el.dude.java.basics.enumerations.BusinessCalendar.directory} are registered at startup:
+ * <pre>
+ *    # zurich.calendar, the name is the file name
+ *    weekend = SATURDAY SUNDAY
+ *    hours   = 08:00-17:00
+ *    2022-01-01 New Year's Day
+ *    2022-04-15 Good Friday
+ * </pre>
+ * Immutable and thread-safe.
+ */
+public final class BusinessCalendar
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(BusinessCalendar.class);
+
+   static final int DEFAULT_FROM_YEAR = 1900;
+   static final int DEFAULT_TO_YEAR   = 2100;
+
+   public static final String DEFAULT_NAME = "default";
+
+   /**
+    * Extension of the calendar files registered by {@link #loadAll(Path)}
+    */
+   public static final String EXTENSION = ".calendar";
+
+   private static final int FROM_YEAR = Integer.getInteger(BusinessCalendar.class.getName() + ".fromYear",
+           DEFAULT_FROM_YEAR);
+   private static final int TO_YEAR   = Integer.getInteger(BusinessCalendar.class.getName() + ".toYear",
+           DEFAULT_TO_YEAR);
+
+   private static final ConcurrentHashMap<String, BusinessCalendar> calendars = new ConcurrentHashMap<>();
+
+   private static final BusinessCalendar DEFAULT = new BusinessCalendar(DEFAULT_NAME,
+           EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of(), LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+   static
+   {
+      register(DEFAULT);
+      final String directory = System.getProperty(BusinessCalendar.class.getName() + ".directory");
+      if (directory != null)
+      {
+         try
+         {
+            loadAll(Paths.get(directory));
+         }
+         catch (final IOException | IllegalArgumentException e)
+         {
+            logger.error("Business calendars of {} not loaded: {}", directory, e.toString());
+         }
+      }
+   }
+
+   private final String          name;
+   private final Set<DayOfWeek>  weekend;
+   private final Set<LocalDate>  holidays;
+   private final LocalTime       opening;
+   private final LocalTime       closing;
+   private final int             openingSecond;
+   private final int             hoursSeconds;
+   private final long            firstDay;
+   private final int[]           before;
+   private final int[]           nth;
+
+   /**
+    * Covers the years of the system properties, see the class comment
+    *
+    * @param weekend  days off every week
+    * @param holidays days off, those outside the years covered are ignored
+    * @param opening  first time of a business day
+    * @param closing  end of a business day, after the opening
+    */
+   public BusinessCalendar(final String name, final Set<DayOfWeek> weekend, final Collection<LocalDate> holidays,
+           final LocalTime opening, final LocalTime closing)
+   {
+      this(name, weekend, holidays, opening, closing, FROM_YEAR, TO_YEAR);
+   }
+
+   /**
+    * @param fromYear first year covered
+    * @param toYear   last year covered
+    */
+   BusinessCalendar(final String name, final Set<DayOfWeek> weekend, final Collection<LocalDate> holidays,
+           final LocalTime opening, final LocalTime closing, final int fromYear, final int toYear)
+   {
+      if (!opening.isBefore(closing) || fromYear > toYear || weekend.size() == DayOfWeek.values().length)
+      {
+         throw new IllegalArgumentException("Calendar " + name + " needs business days and opening hours: "
+                 + weekend + ", " + opening + "-" + closing + ", " + fromYear + "-" + toYear);
+      }
+      this.name = name;
+      this.weekend = weekend.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekend);
+      this.holidays = new TreeSet<>(holidays);
+      this.opening = opening;
+      this.closing = closing;
+      this.openingSecond = opening.toSecondOfDay();
+      this.hoursSeconds = closing.toSecondOfDay() - openingSecond;
+      this.firstDay = LocalDate.of(fromYear, 1, 1).toEpochDay();
+      final int days = (int) (LocalDate.of(toYear + 1, 1, 1).toEpochDay() - firstDay);
+      final boolean[] off = new boolean[days];
+      for (int i = 0; i < days; i++)
+      {
+         // 1970-01-01 was a Thursday
+         off[i] = this.weekend.contains(DayOfWeek.of((int) Math.floorMod(firstDay + i + 3, 7L) + 1));
+      }
+      for (final LocalDate holiday : holidays)
+      {
+         final long i = holiday.toEpochDay() - firstDay;
+         if (i >= 0 && i < days)
+         {
+            off[(int) i] = true;
+         }
+      }
+      this.before = new int[days + 1];
+      for (int i = 0; i < days; i++)
+      {
+         before[i + 1] = before[i] + (off[i] ? 0 : 1);
+      }
+      this.nth = new int[before[days]];
+      for (int i = 0; i < days; i++)
+      {
+         if (!off[i])
+         {
+            nth[before[i]] = i;
+         }
+      }
+   }
+
+   /**
+    * @return calendar of the name, null when none is registered
+    */
+   public static BusinessCalendar of(final String name)
+   {
+      return calendars.get(name);
+   }
+
+   /**
+    * @return Monday to Friday, 09:00 to 17:00, no holidays
+    */
+   public static BusinessCalendar getDefault()
+   {
+      return DEFAULT;
+   }
+
+   /**
+    * Makes the calendar available to the units by its name, replacing one of the same name
+    */
+   public static void register(final BusinessCalendar calendar)
+   {
+      calendars.put(calendar.getName(), calendar);
+   }
+
+   /**
+    * Registers the calendars of all {@link #EXTENSION} files of the directory
+    *
+    * @return names of the calendars registered
+    * @throws IllegalArgumentException when a file is malformed, the calendars before it are registered
+    */
+   public static List<String> loadAll(final Path directory) throws IOException
+   {
+      final List<String> names = new ArrayList<>();
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION))
+      {
+         for (final Path file : files)
+         {
+            final BusinessCalendar calendar = load(file);
+            register(calendar);
+            names.add(calendar.getName());
+         }
+      }
+      logger.info("Business calendars {} loaded from {}", names, directory);
+      return names;
+   }
+
+   /**
+    * Reads a calendar file (see the class comment): {@code weekend} and {@code hours} lines, one holiday per line
+    * starting with its ISO date, {@code #} comments. Without weekend or hours line those of the default calendar
+    * apply, "weekend =" alone means no weekend.
+    *
+    * @return calendar named after the file, without the extension
+    * @throws IllegalArgumentException when a line is malformed
+    */
+   public static BusinessCalendar load(final Path file) throws IOException
+   {
+      final String fileName = file.getFileName().toString();
+      final String name = fileName.endsWith(EXTENSION) ? fileName.substring(0, fileName.length() - EXTENSION.length())
+              : fileName;
+      Set<DayOfWeek> weekend = DEFAULT.weekend;
+      LocalTime opening = DEFAULT.opening;
+      LocalTime closing = DEFAULT.closing;
+      final List<LocalDate> holidays = new ArrayList<>();
+      final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      for (int number = 1; number <= lines.size(); number++)
+      {
+         final String line = lines.get(number - 1).trim();
+         try
+         {
+            if (line.isEmpty() || line.startsWith("#"))
+            {
+               continue;
+            }
+            final int equals = line.indexOf('=');
+            final String key = equals < 0 ? "" : line.substring(0, equals).trim();
+            final String value = equals < 0 ? "" : line.substring(equals + 1).trim();
+            if ("weekend".equals(key))
+            {
+               weekend = EnumSet.noneOf(DayOfWeek.class);
+               for (final String day : value.isEmpty() ? new String[0] : value.split("[\\s,]+"))
+               {
+                  weekend.add(DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)));
+               }
+            }
+            else if ("hours".equals(key))
+            {
+               final int dash = value.indexOf('-');
+               opening = LocalTime.parse(value.substring(0, Math.max(0, dash)).trim());
+               closing = LocalTime.parse(value.substring(dash + 1).trim());
+               if (!opening.isBefore(closing))
+               {
+                  throw new IllegalArgumentException("opening after closing");
+               }
+            }
+            else
+            {
+               final int end = line.indexOf(' ');
+               holidays.add(LocalDate.parse(end < 0 ? line : line.substring(0, end)));
+            }
+         }
+         catch (final DateTimeParseException | IllegalArgumentException e)
+         {
+            throw new IllegalArgumentException(file + ":" + number + ": " + line + " - " + e.getMessage(), e);
+         }
+      }
+      return new BusinessCalendar(name, weekend, holidays, opening, closing);
+   }
+
+   public String getName()
+   {
+      return name;
+   }
+
+   public LocalTime getOpening()
+   {
+      return opening;
+   }
+
+   public LocalTime getClosing()
+   {
+      return closing;
+   }
+
+   /**
+    * @throws DateTimeException when the date is outside the years covered
+    */
+   public boolean isBusinessDay(final LocalDate date)
+   {
+      final int i = index(date.toEpochDay());
+      return before[i + 1] != before[i];
+   }
+
+   /**
+    * @param amount business days after (positive) or before (negative) the date, 0 for the date itself
+    * @throws DateTimeException when the date or the result is outside the years covered
+    */
+   public LocalDate plusBusinessDays(final LocalDate date, final int amount)
+   {
+      return LocalDate.ofEpochDay(plusDays(date.toEpochDay(), amount));
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @return the same time of day on the business day, see {@link #plusBusinessDays(LocalDate, int)}
+    * @throws DateTimeException when the date or the result is outside the years covered
+    */
+   long plusBusinessDays(final long localSecond, final int amount)
+   {
+      final long epochDay = Math.floorDiv(localSecond, EpochDays.SECONDS_PER_DAY);
+      return plusDays(epochDay, amount) * EpochDays.SECONDS_PER_DAY
+              + Math.floorMod(localSecond, EpochDays.SECONDS_PER_DAY);
+   }
+
+   private long plusDays(final long epochDay, final int amount)
+   {
+      final int i = index(epochDay);
+      if (amount == 0)
+      {
+         return epochDay;
+      }
+      // the days in between are not looked at, whatever the amount
+      return firstDay + nth(amount > 0 ? before[i + 1] + (long) amount - 1 : before[i] + (long) amount);
+   }
+
+   /**
+    * Adds business hours: time passes from the opening to the closing of business days only. A start outside the
+    * opening hours counts from the next opening (or the previous closing), a result on the boundary between two
+    * business days is the closing when adding, the opening when subtracting.
+    *
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @param nano        nano of second, 0 when the start is outside the opening hours
+    * @return local date and time in seconds, the nano of second stays the same
+    * @throws DateTimeException when the date or the result is outside the years covered
+    */
+   long plusBusinessHours(final long localSecond, final int nano, final int amount)
+   {
+      if (amount == 0)
+      {
+         return localSecond;
+      }
+      final int i = index(Math.floorDiv(localSecond, EpochDays.SECONDS_PER_DAY));
+      final long secondOfDay = Math.floorMod(localSecond, EpochDays.SECONDS_PER_DAY);
+      final long passed = before[i + 1] == before[i] ? 0
+              : Math.max(0, Math.min(hoursSeconds, secondOfDay - openingSecond));
+      final long target = before[i] * (long) hoursSeconds + passed + amount * 3600L;
+      final long rank = Math.floorDiv(target, hoursSeconds);
+      final long second = Math.floorMod(target, hoursSeconds);
+      if (second == 0 && amount > 0 && nano == 0)
+      {
+         return (firstDay + nth(rank - 1)) * EpochDays.SECONDS_PER_DAY + openingSecond + hoursSeconds;
+      }
+      return (firstDay + nth(rank)) * EpochDays.SECONDS_PER_DAY + openingSecond + second;
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @return whether the local date and time is on a business day between opening (inclusive) and closing
+    * @throws DateTimeException when the date is outside the years covered
+    */
+   boolean isOpen(final long localSecond)
+   {
+      final int i = index(Math.floorDiv(localSecond, EpochDays.SECONDS_PER_DAY));
+      final long secondOfDay = Math.floorMod(localSecond, EpochDays.SECONDS_PER_DAY);
+      return before[i + 1] != before[i] && secondOfDay >= openingSecond
+              && secondOfDay < openingSecond + hoursSeconds;
+   }
+
+   private int index(final long epochDay)
+   {
+      final long i = epochDay - firstDay;
+      if (i < 0 || i >= before.length - 1)
+      {
+         throw new DateTimeException(LocalDate.ofEpochDay(Math.max(EpochDays.MIN_EPOCH_DAY, Math.min(
+                 EpochDays.MAX_EPOCH_DAY, epochDay))) + " is outside the years of business calendar " + name);
+      }
+      return (int) i;
+   }
+
+   private long nth(final long rank)
+   {
+      if (rank < 0 || rank >= nth.length)
+      {
+         throw new DateTimeException("Result outside the years of business calendar " + name);
+      }
+      return nth[(int) rank];
+   }
+
+   @Override
+   public String toString()
+   {
+      return "BusinessCalendar[" + name + ", weekend " + weekend + ", " + opening + "-" + closing + ", "
+              + holidays.size() + " holidays]";
+   }
+
+}
@@ -0,0 +1,132 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Units counting the working time of a {@link BusinessCalendar}, offered alongside the fixed units of
+ * {@link DateAndTimeOffsetFunctionImpl}. They depend on the date being offset, there is no
+ * {@link java.time.temporal.TemporalAmount} for them.
+ * <pre>
+ *    businessdays            -- business days of the default calendar, the time of day is kept
+ *    businesshours@zurich    -- opening hours of the calendar registered as "zurich"
+ * </pre>
+ * The local date and time is offset and then resolved against the zone like {@link ZonedDateTime#plus} does with
+ * days.
+ */
+public enum BusinessUnits
+{
+
+   //@formatter:off
+   BUSINESS_DAYS     ("businessdays",   BusinessUnits::plusBusinessDays),
+   BUSINESS_HOURS    ("businesshours",  BusinessCalendar::plusBusinessHours),
+   ;
+   //@formatter:on
+
+   /**
+    * Separates the units from the name of the calendar
+    */
+   public static final char CALENDAR_SEPARATOR = '@';
+
+   private final String         units;
+   private final LocalOffsetter offsetter;
+
+   @FunctionalInterface
+   private interface LocalOffsetter
+   {
+      long plus(BusinessCalendar calendar, long localSecond, int nano, int amount);
+   }
+
+   BusinessUnits(final String units, final LocalOffsetter offsetter)
+   {
+      this.units = units;
+      this.offsetter = offsetter;
+   }
+
+   /**
+    * @param units name, optionally followed by {@link #CALENDAR_SEPARATOR} and the name of the calendar
+    * @return enum constant or null when there is none for the units, null units included
+    */
+   public static BusinessUnits fromUnits(final String units)
+   {
+      if (units == null)
+      {
+         return null;
+      }
+      final int separator = units.indexOf(CALENDAR_SEPARATOR);
+      final int length = separator < 0 ? units.length() : separator;
+      for (final BusinessUnits value : values())
+      {
+         if (value.units.length() == length && units.startsWith(value.units))
+         {
+            return value;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @param units name, optionally followed by {@link #CALENDAR_SEPARATOR} and the name of the calendar
+    * @return the calendar named in the units, the default one without a name, null when it is not registered or
+    *       the units are null
+    */
+   public static BusinessCalendar calendar(final String units)
+   {
+      if (units == null)
+      {
+         return null;
+      }
+      final int separator = units.indexOf(CALENDAR_SEPARATOR);
+      return separator < 0 ? BusinessCalendar.getDefault() : BusinessCalendar.of(units.substring(separator + 1));
+   }
+
+   private static long plusBusinessDays(final BusinessCalendar calendar, final long localSecond, final int nano,
+           final int amount)
+   {
+      return calendar.plusBusinessDays(localSecond, amount);
+   }
+
+   public String getUnits()
+   {
+      return units;
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @param nano        nano of second of the date and time
+    * @return nano of second of the result: kept, except for business hours starting outside the opening hours
+    */
+   int nano(final BusinessCalendar calendar, final long localSecond, final int nano, final int amount)
+   {
+      return this == BUSINESS_HOURS && nano != 0 && amount != 0 && !calendar.isOpen(localSecond) ? 0 : nano;
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @param nano        nano of second of the result, see {@link #nano(BusinessCalendar, long, int, int)}
+    * @return local date and time of the result as seconds since 1970-01-01T00:00
+    * @throws java.time.DateTimeException when the date or the result is outside the years of the calendar
+    */
+   long plus(final BusinessCalendar calendar, final long localSecond, final int nano, final int amount)
+   {
+      return offsetter.plus(calendar, localSecond, nano, amount);
+   }
+
+   /**
+    * Same on a {@link ZonedDateTime}, keeping its offset where it is valid
+    *
+    * @throws java.time.DateTimeException when the date or the result is outside the years of the calendar
+    */
+   public ZonedDateTime addTo(final ZonedDateTime dateTime, final int amount, final BusinessCalendar calendar)
+   {
+      final long localSecond = dateTime.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+      final int nano = nano(calendar, localSecond, dateTime.getNano(), amount);
+      final LocalDateTime result = LocalDateTime.ofEpochSecond(plus(calendar, localSecond, nano, amount), nano,
+              ZoneOffset.UTC);
+      return ZonedDateTime.ofLocal(result, dateTime.getZone(), dateTime.getOffset());
+   }
+
+}
@@ -0,0 +1,1022 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Columnar counterpart of {@link DateAndTimeCalculation}: offsets whole arrays of epoch values by one amount of
+ * units or one ISO period and writes the results into a caller supplied array (which may be the input array).
+ * <p>
+ * The calendar arithmetic is done in one fixed {@link ZoneOffset} (UTC by default), which makes the result
+ * identical to {@code ZonedDateTime.plus} with that offset:
+ * <ul>
+ *    <li>nanos up to weeks have a fixed length and reduce to one tight add loop</li>
+ *    <li>months and years go through epoch day arithmetic ({@link EpochDays}), there is no date-time object per
+ *    element</li>
+ *    <li>business days and hours ({@link BusinessUnits}) are two lookups in the index of the calendar per
+ *    element</li>
+ * </ul>
+ * The between methods go the other way: the units or the normalized ISO period from one array of epoch values to
+ * another, with the same epoch day arithmetic, identical to {@code ZonedDateTime.until} with the offset.
+ * <p>
+ * Like the single value API, a value that cannot be offset (numeric overflow, out of the supported range) keeps
+ * its input value and is logged - once per call. Every method returns the number of such values.
+ * <p>
+ * Every call is recorded in {@link OffsetMetrics}: one unit call or period shape, the failures per value and the
+ * latency of the whole array.
+ */
+public class DateAndTimeBatchCalculation
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(DateAndTimeBatchCalculation.class);
+
+   private static final long NANOS_PER_SECOND  = 1_000_000_000L;
+   private static final long NANOS_PER_MILLI   = 1_000_000L;
+   private static final long MILLIS_PER_SECOND = 1_000L;
+
+   /**
+    * Result of the between methods that could not be computed, e.g. nanos overflowing a long
+    */
+   public static final long NO_RESULT = Long.MIN_VALUE;
+
+   /**
+    * Values checked before they are written by the fixed length seconds and nanos loop
+    */
+   private static final int BLOCK_LENGTH = 1024;
+
+   private final ZoneOffset     offset;
+   private final long           offsetSeconds;
+   private final long           offsetMillis;
+   private final IsoPeriodCache periodCache;
+   private final OffsetMetrics  metrics;
+
+   public DateAndTimeBatchCalculation()
+   {
+      this(ZoneOffset.UTC);
+   }
+
+   /**
+    * @param offset the calendar arithmetic is done in
+    */
+   public DateAndTimeBatchCalculation(final ZoneOffset offset)
+   {
+      this(offset, IsoPeriodCache.getDefault());
+   }
+
+   DateAndTimeBatchCalculation(final ZoneOffset offset, final IsoPeriodCache periodCache)
+   {
+      this(offset, periodCache, OffsetMetrics.getDefault());
+   }
+
+   DateAndTimeBatchCalculation(final ZoneOffset offset, final IsoPeriodCache periodCache,
+           final OffsetMetrics metrics)
+   {
+      this.metrics = metrics;
+      this.offset = offset;
+      this.offsetSeconds = offset.getTotalSeconds();
+      this.offsetMillis = offsetSeconds * MILLIS_PER_SECOND;
+      this.periodCache = periodCache;
+   }
+
+   public ZoneOffset getOffset()
+   {
+      return offset;
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // epoch milliseconds
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @param epochMillis input
+    * @param amount      of units (positive or negative)
+    * @param units       name, see {@link DateAndTimeOffsetFunctionImpl}
+    * @param result      output, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochMillis(final long[] epochMillis, final int amount, final String units, final long[] result)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         final BusinessUnits business = BusinessUnits.fromUnits(units);
+         final BusinessCalendar calendar = calendar(business, units);
+         if (calendar == null)
+         {
+            return unchanged(epochMillis, result);
+         }
+         return offsetEpochMillis(epochMillis, amount, business, calendar, result);
+      }
+      return offsetEpochMillis(epochMillis, amount, function, result);
+   }
+
+   /**
+    * Business days or hours, one index lookup per value whatever the amount, see {@link BusinessCalendar}
+    *
+    * @param epochMillis input
+    * @param amount      of units (positive or negative)
+    * @param units       unit
+    * @param calendar    of the business days
+    * @param result      output, at least as long as the input
+    * @return number of values left unchanged, those outside the years of the calendar
+    */
+   public int offsetEpochMillis(final long[] epochMillis, final int amount, final BusinessUnits units,
+           final BusinessCalendar calendar, final long[] result)
+   {
+      final long start = metrics.start();
+      checkLength(epochMillis.length, result.length);
+      int failures = 0;
+      for (int i = 0; i < epochMillis.length; i++)
+      {
+         final long value = epochMillis[i];
+         try
+         {
+            final long local = Math.addExact(value, offsetMillis);
+            final long localSecond = Math.floorDiv(local, MILLIS_PER_SECOND);
+            final int nano = units.nano(calendar, localSecond,
+                    (int) (Math.floorMod(local, MILLIS_PER_SECOND) * NANOS_PER_MILLI), amount);
+            result[i] = (units.plus(calendar, localSecond, nano, amount) - offsetSeconds) * MILLIS_PER_SECOND
+                    + nano / NANOS_PER_MILLI;
+         }
+         catch (final DateTimeException | ArithmeticException e)
+         {
+            result[i] = value;
+            failures++;
+         }
+      }
+      businessFailures(failures, epochMillis.length, amount, units, calendar);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_UNITS, start);
+      return failures;
+   }
+
+   /**
+    * @param epochMillis input
+    * @param amount      of units (positive or negative)
+    * @param units       unit
+    * @param result      output, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochMillis(final long[] epochMillis, final int amount, final DateAndTimeOffsetFunctionImpl units,
+           final long[] result)
+   {
+      final long start = metrics.start();
+      metrics.unitCall(units);
+      final int failures = plusUnitsMillis(epochMillis, amount, units, result);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_UNITS, start);
+      return failures;
+   }
+
+   private int plusUnitsMillis(final long[] epochMillis, final int amount, final DateAndTimeOffsetFunctionImpl units,
+           final long[] result)
+   {
+      checkLength(epochMillis.length, result.length);
+      final ChronoUnit unit = units.getUnit();
+      final int failures;
+      if (unit == ChronoUnit.MONTHS || unit == ChronoUnit.YEARS)
+      {
+         final long months = unit == ChronoUnit.YEARS ? amount * 12L : amount;
+         failures = plusMillis(epochMillis, months, 0, 0, result);
+      }
+      else
+      {
+         failures = plusMillis(epochMillis, deltaMillis(unit, amount), result);
+      }
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} epoch values could not be offset by {} {}", failures, epochMillis.length, amount,
+                 units.getUnits());
+      }
+      return failures;
+   }
+
+   /**
+    * @param epochMillis input
+    * @param period      ISO 8601 period, see {@link IsoPeriod}
+    * @param result      output, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochMillis(final long[] epochMillis, final String period, final long[] result)
+   {
+      final int[] failure = new int[1];
+      final IsoPeriod compiled = periodCache.get(period, failure);
+      if (compiled == null)
+      {
+         metrics.failure(failure[0]);
+         logger.error("\"{}\" is not a ISO 8601 formatted period string: {}", period,
+                 OffsetError.decode(failure[0]).getReason());
+         return unchanged(epochMillis, result);
+      }
+      return offsetEpochMillis(epochMillis, compiled, result);
+   }
+
+   /**
+    * @param epochMillis input
+    * @param period      compiled ISO 8601 period
+    * @param result      output, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochMillis(final long[] epochMillis, final IsoPeriod period, final long[] result)
+   {
+      final long start = metrics.start();
+      metrics.period(period);
+      final int failures = plusPeriodMillis(epochMillis, period, result);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_PERIOD, start);
+      return failures;
+   }
+
+   private int plusPeriodMillis(final long[] epochMillis, final IsoPeriod period, final long[] result)
+   {
+      checkLength(epochMillis.length, result.length);
+      final long timeMillis;
+      try
+      {
+         timeMillis = Math.addExact(Math.multiplyExact(period.getSeconds(), MILLIS_PER_SECOND),
+                 period.getNanos() / NANOS_PER_MILLI);
+      }
+      catch (final ArithmeticException e)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), epochMillis.length);
+         logger.error("Error offsetting {} epoch values by {}: {}", epochMillis.length, period, e.getMessage());
+         return unchanged(epochMillis, result);
+      }
+      final int failures = period.hasDatePart()
+              ? plusMillis(epochMillis, period.toTotalMonths(), period.getDays(), timeMillis, result)
+              : plusMillis(epochMillis, timeMillis, result);
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} epoch values could not be offset by {}", failures, epochMillis.length, period);
+      }
+      return failures;
+   }
+
+   /**
+    * Fixed length offset, written so the JIT can vectorize it: overflow is detected for the whole batch and only
+    * then the values are revisited one by one.
+    */
+   private static int plusMillis(final long[] epochMillis, final long delta, final long[] result)
+   {
+      final int length = epochMillis.length;
+      long overflow = 0;
+      for (int i = 0; i < length; i++)
+      {
+         final long value = epochMillis[i];
+         final long sum = value + delta;
+         overflow |= (value ^ sum) & (delta ^ sum);
+         result[i] = sum;
+      }
+      if (overflow >= 0)
+      {
+         return 0;
+      }
+      int failures = 0;
+      for (int i = 0; i < length; i++)
+      {
+         // undo the (wrapped) addition, works for in-place calls too
+         final long value = result[i] - delta;
+         final long sum = value + delta;
+         if (((value ^ sum) & (delta ^ sum)) < 0)
+         {
+            result[i] = value;
+            failures++;
+         }
+      }
+      return failures;
+   }
+
+   /**
+    * Calendar offset: local date-time in the offset, plus months, plus days, back to the epoch, plus the time part
+    */
+   private int plusMillis(final long[] epochMillis, final long months, final long days, final long timeMillis,
+           final long[] result)
+   {
+      int failures = 0;
+      for (int i = 0, length = epochMillis.length; i < length; i++)
+      {
+         final long value = epochMillis[i];
+         try
+         {
+            final long local = Math.addExact(value, offsetMillis);
+            long epochDay = Math.floorDiv(local, EpochDays.MILLIS_PER_DAY);
+            final long millisOfDay = Math.floorMod(local, EpochDays.MILLIS_PER_DAY);
+            epochDay = EpochDays.plusDays(EpochDays.plusMonths(epochDay, months), days);
+            final long localResult = Math.addExact(Math.multiplyExact(epochDay, EpochDays.MILLIS_PER_DAY),
+                    millisOfDay);
+            result[i] = Math.addExact(Math.subtractExact(localResult, offsetMillis), timeMillis);
+         }
+         catch (final ArithmeticException | DateTimeException e)
+         {
+            result[i] = value;
+            failures++;
+         }
+      }
+      return failures;
+   }
+
+   private static long deltaMillis(final ChronoUnit unit, final long amount)
+   {
+      if (unit == ChronoUnit.NANOS)
+      {
+         return Math.floorDiv(amount, NANOS_PER_MILLI);
+      }
+      return amount * unit.getDuration().toMillis();
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // epoch seconds and nanos
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @param epochSeconds  input seconds
+    * @param nanos         input nano of second, 0 to 999,999,999
+    * @param amount        of units (positive or negative)
+    * @param units         name, see {@link DateAndTimeOffsetFunctionImpl}
+    * @param resultSeconds output seconds, at least as long as the input
+    * @param resultNanos   output nano of second, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochSeconds(final long[] epochSeconds, final int[] nanos, final int amount, final String units,
+           final long[] resultSeconds, final int[] resultNanos)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         final BusinessUnits business = BusinessUnits.fromUnits(units);
+         final BusinessCalendar calendar = calendar(business, units);
+         if (calendar == null)
+         {
+            unchanged(nanos, resultNanos);
+            return unchanged(epochSeconds, resultSeconds);
+         }
+         return offsetEpochSeconds(epochSeconds, nanos, amount, business, calendar, resultSeconds, resultNanos);
+      }
+      return offsetEpochSeconds(epochSeconds, nanos, amount, function, resultSeconds, resultNanos);
+   }
+
+   /**
+    * Business days or hours, one index lookup per value whatever the amount, see {@link BusinessCalendar}
+    *
+    * @param epochSeconds  input seconds
+    * @param nanos         input nano of second, 0 to 999,999,999
+    * @param amount        of units (positive or negative)
+    * @param units         unit
+    * @param calendar      of the business days
+    * @param resultSeconds output seconds, at least as long as the input
+    * @param resultNanos   output nano of second, at least as long as the input
+    * @return number of values left unchanged, those outside the years of the calendar
+    */
+   public int offsetEpochSeconds(final long[] epochSeconds, final int[] nanos, final int amount,
+           final BusinessUnits units, final BusinessCalendar calendar, final long[] resultSeconds,
+           final int[] resultNanos)
+   {
+      final long start = metrics.start();
+      checkLength(epochSeconds.length, nanos.length, resultSeconds.length, resultNanos.length);
+      int failures = 0;
+      for (int i = 0; i < epochSeconds.length; i++)
+      {
+         final long second = epochSeconds[i];
+         final int nano = nanos[i];
+         try
+         {
+            final long localSecond = Math.addExact(second, offsetSeconds);
+            final int resultNano = units.nano(calendar, localSecond, nano, amount);
+            resultSeconds[i] = units.plus(calendar, localSecond, resultNano, amount) - offsetSeconds;
+            resultNanos[i] = resultNano;
+         }
+         catch (final DateTimeException | ArithmeticException e)
+         {
+            resultSeconds[i] = second;
+            resultNanos[i] = nano;
+            failures++;
+         }
+      }
+      businessFailures(failures, epochSeconds.length, amount, units, calendar);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_UNITS, start);
+      return failures;
+   }
+
+   /**
+    * @param epochSeconds  input seconds
+    * @param nanos         input nano of second, 0 to 999,999,999
+    * @param amount        of units (positive or negative)
+    * @param units         unit
+    * @param resultSeconds output seconds, at least as long as the input
+    * @param resultNanos   output nano of second, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochSeconds(final long[] epochSeconds, final int[] nanos, final int amount,
+           final DateAndTimeOffsetFunctionImpl units, final long[] resultSeconds, final int[] resultNanos)
+   {
+      final long start = metrics.start();
+      metrics.unitCall(units);
+      final int failures = plusUnitsSeconds(epochSeconds, nanos, amount, units, resultSeconds, resultNanos);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_UNITS, start);
+      return failures;
+   }
+
+   private int plusUnitsSeconds(final long[] epochSeconds, final int[] nanos, final int amount,
+           final DateAndTimeOffsetFunctionImpl units, final long[] resultSeconds, final int[] resultNanos)
+   {
+      checkLength(epochSeconds.length, nanos.length, resultSeconds.length, resultNanos.length);
+      final ChronoUnit unit = units.getUnit();
+      final int failures;
+      if (unit == ChronoUnit.MONTHS || unit == ChronoUnit.YEARS)
+      {
+         final long months = unit == ChronoUnit.YEARS ? amount * 12L : amount;
+         failures = plusSeconds(epochSeconds, nanos, months, 0, 0, 0, resultSeconds, resultNanos);
+      }
+      else if (unit == ChronoUnit.NANOS)
+      {
+         failures = plusSeconds(epochSeconds, nanos, Math.floorDiv(amount, NANOS_PER_SECOND),
+                 (int) Math.floorMod(amount, NANOS_PER_SECOND), resultSeconds, resultNanos);
+      }
+      else if (unit == ChronoUnit.MILLIS)
+      {
+         failures = plusSeconds(epochSeconds, nanos, Math.floorDiv(amount, MILLIS_PER_SECOND),
+                 (int) (Math.floorMod(amount, MILLIS_PER_SECOND) * NANOS_PER_MILLI), resultSeconds, resultNanos);
+      }
+      else
+      {
+         failures = plusSeconds(epochSeconds, nanos, amount * unit.getDuration().getSeconds(), 0, resultSeconds,
+                 resultNanos);
+      }
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} epoch values could not be offset by {} {}", failures, epochSeconds.length, amount,
+                 units.getUnits());
+      }
+      return failures;
+   }
+
+   /**
+    * @param epochSeconds  input seconds
+    * @param nanos         input nano of second, 0 to 999,999,999
+    * @param period        ISO 8601 period, see {@link IsoPeriod}
+    * @param resultSeconds output seconds, at least as long as the input
+    * @param resultNanos   output nano of second, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochSeconds(final long[] epochSeconds, final int[] nanos, final String period,
+           final long[] resultSeconds, final int[] resultNanos)
+   {
+      final int[] failure = new int[1];
+      final IsoPeriod compiled = periodCache.get(period, failure);
+      if (compiled == null)
+      {
+         metrics.failure(failure[0]);
+         logger.error("\"{}\" is not a ISO 8601 formatted period string: {}", period,
+                 OffsetError.decode(failure[0]).getReason());
+         unchanged(nanos, resultNanos);
+         return unchanged(epochSeconds, resultSeconds);
+      }
+      return offsetEpochSeconds(epochSeconds, nanos, compiled, resultSeconds, resultNanos);
+   }
+
+   /**
+    * @param epochSeconds  input seconds
+    * @param nanos         input nano of second, 0 to 999,999,999
+    * @param period        compiled ISO 8601 period
+    * @param resultSeconds output seconds, at least as long as the input
+    * @param resultNanos   output nano of second, at least as long as the input
+    * @return number of values left unchanged
+    */
+   public int offsetEpochSeconds(final long[] epochSeconds, final int[] nanos, final IsoPeriod period,
+           final long[] resultSeconds, final int[] resultNanos)
+   {
+      final long start = metrics.start();
+      metrics.period(period);
+      final int failures = plusPeriodSeconds(epochSeconds, nanos, period, resultSeconds, resultNanos);
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_PERIOD, start);
+      return failures;
+   }
+
+   private int plusPeriodSeconds(final long[] epochSeconds, final int[] nanos, final IsoPeriod period,
+           final long[] resultSeconds, final int[] resultNanos)
+   {
+      checkLength(epochSeconds.length, nanos.length, resultSeconds.length, resultNanos.length);
+      final int failures = period.hasDatePart()
+              ? plusSeconds(epochSeconds, nanos, period.toTotalMonths(), period.getDays(), period.getSeconds(),
+              period.getNanos(), resultSeconds, resultNanos)
+              : plusSeconds(epochSeconds, nanos, period.getSeconds(), period.getNanos(), resultSeconds, resultNanos);
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} epoch values could not be offset by {}", failures, epochSeconds.length, period);
+      }
+      return failures;
+   }
+
+   /**
+    * Fixed length offset, written so the JIT can vectorize it: blocks small enough to stay in the L1 cache are
+    * checked for overflow, invalid nanos and the supported range first, then written in one tight loop. Only a block
+    * that does not pass the check is revisited value by value.
+    */
+   private int plusSeconds(final long[] epochSeconds, final int[] nanos, final long deltaSeconds,
+           final int deltaNanos, final long[] resultSeconds, final int[] resultNanos)
+   {
+      int failures = 0;
+      for (int from = 0, length = epochSeconds.length; from < length; from += BLOCK_LENGTH)
+      {
+         final int to = Math.min(length, from + BLOCK_LENGTH);
+         if (isPlain(epochSeconds, nanos, from, to, deltaSeconds, deltaNanos))
+         {
+            for (int i = from; i < to; i++)
+            {
+               final long nanoSum = nanos[i] + (long) deltaNanos;
+               final long carry = (NANOS_PER_SECOND - 1 - nanoSum) >>> 63;
+               resultSeconds[i] = epochSeconds[i] + deltaSeconds + carry;
+               resultNanos[i] = (int) (nanoSum - carry * NANOS_PER_SECOND);
+            }
+         }
+         else
+         {
+            failures += plusSecondsChecked(epochSeconds, nanos, from, to, deltaSeconds, deltaNanos, resultSeconds,
+                    resultNanos);
+         }
+      }
+      return failures;
+   }
+
+   /**
+    * @return true when no value of the block overflows, has invalid nanos or leaves the supported range
+    */
+   private boolean isPlain(final long[] epochSeconds, final int[] nanos, final int from, final int to,
+           final long deltaSeconds, final int deltaNanos)
+   {
+      long invalid = 0;
+      long min = Long.MAX_VALUE;
+      long max = Long.MIN_VALUE;
+      for (int i = from; i < to; i++)
+      {
+         final long seconds = epochSeconds[i];
+         final long nano = nanos[i];
+         final long carry = (NANOS_PER_SECOND - 1 - (nano + deltaNanos)) >>> 63;
+         final long sum = seconds + deltaSeconds;
+         final long total = sum + carry;
+         invalid |= nano | (NANOS_PER_SECOND - 1 - nano) | ((seconds ^ sum) & (deltaSeconds ^ sum))
+                 | ((sum ^ total) & (carry ^ total));
+         min = Math.min(min, Math.min(seconds, total));
+         max = Math.max(max, Math.max(seconds, total));
+      }
+      return invalid >= 0 && isSupported(min) && isSupported(max);
+   }
+
+   private int plusSecondsChecked(final long[] epochSeconds, final int[] nanos, final int from, final int to,
+           final long deltaSeconds, final int deltaNanos, final long[] resultSeconds, final int[] resultNanos)
+   {
+      int failures = 0;
+      for (int i = from; i < to; i++)
+      {
+         final long seconds = epochSeconds[i];
+         final int nano = nanos[i];
+         try
+         {
+            checkNano(nano);
+            final long nanoSum = (long) nano + deltaNanos;
+            resultSeconds[i] = checkSupported(Math.addExact(Math.addExact(checkSupported(seconds), deltaSeconds),
+                    nanoSum / NANOS_PER_SECOND));
+            resultNanos[i] = (int) (nanoSum % NANOS_PER_SECOND);
+         }
+         catch (final ArithmeticException | DateTimeException e)
+         {
+            resultSeconds[i] = seconds;
+            resultNanos[i] = nano;
+            failures++;
+         }
+      }
+      return failures;
+   }
+
+   /**
+    * Calendar offset: local date-time in the offset, plus months, plus days, back to the epoch, plus the time part
+    */
+   private int plusSeconds(final long[] epochSeconds, final int[] nanos, final long months, final long days,
+           final long deltaSeconds, final int deltaNanos, final long[] resultSeconds, final int[] resultNanos)
+   {
+      int failures = 0;
+      for (int i = 0, length = epochSeconds.length; i < length; i++)
+      {
+         final long seconds = epochSeconds[i];
+         final int nano = nanos[i];
+         try
+         {
+            checkNano(nano);
+            final long local = Math.addExact(checkSupported(seconds), offsetSeconds);
+            long epochDay = Math.floorDiv(local, EpochDays.SECONDS_PER_DAY);
+            final long secondOfDay = Math.floorMod(local, EpochDays.SECONDS_PER_DAY);
+            epochDay = EpochDays.plusDays(EpochDays.plusMonths(epochDay, months), days);
+            final long nanoSum = (long) nano + deltaNanos;
+            final long instant = epochDay * EpochDays.SECONDS_PER_DAY + secondOfDay - offsetSeconds;
+            resultSeconds[i] = checkSupported(Math.addExact(Math.addExact(instant, deltaSeconds),
+                    nanoSum / NANOS_PER_SECOND));
+            resultNanos[i] = (int) (nanoSum % NANOS_PER_SECOND);
+         }
+         catch (final ArithmeticException | DateTimeException e)
+         {
+            resultSeconds[i] = seconds;
+            resultNanos[i] = nano;
+            failures++;
+         }
+      }
+      return failures;
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // between epoch values, the inverse of the offsets
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @param from   input start
+    * @param to     input end, as long as the start
+    * @param units  name, see {@link DateAndTimeOffsetFunctionImpl}
+    * @param result output, at least as long as the input
+    * @return number of values that could not be computed, set to {@link #NO_RESULT}
+    */
+   public int unitsBetweenEpochMillis(final long[] from, final long[] to, final String units, final long[] result)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         checkLength(from.length, to.length, result.length);
+         metrics.failure(OffsetError.UNKNOWN_UNITS.encode(0));
+         logger.error("No methods exists for units: {}", units);
+         Arrays.fill(result, 0, from.length, NO_RESULT);
+         return from.length;
+      }
+      return unitsBetweenEpochMillis(from, to, function, result);
+   }
+
+   /**
+    * Whole units from start to end, truncated towards zero: {@code ZonedDateTime.until(end, unit)} in the offset.
+    * Units of a fixed length count the time passed, days and longer count the local dates: a day is whole when the
+    * time of day of the start is reached again.
+    *
+    * @param from   input start
+    * @param to     input end, as long as the start
+    * @param units  unit
+    * @param result output, at least as long as the input
+    * @return number of values that could not be computed (overflow), set to {@link #NO_RESULT}
+    */
+   public int unitsBetweenEpochMillis(final long[] from, final long[] to, final DateAndTimeOffsetFunctionImpl units,
+           final long[] result)
+   {
+      final long start = metrics.start();
+      metrics.unitCall(units);
+      checkLength(from.length, to.length, result.length);
+      final ChronoUnit unit = units.getUnit();
+      int failures = 0;
+      if (unit.isTimeBased())
+      {
+         final long unitMillis = unit == ChronoUnit.NANOS ? 1 : unit.getDuration().toMillis();
+         final long factor = unit == ChronoUnit.NANOS ? NANOS_PER_MILLI : 1;
+         for (int i = 0, length = from.length; i < length; i++)
+         {
+            try
+            {
+               result[i] = Math.multiplyExact(Math.subtractExact(to[i], from[i]), factor) / unitMillis;
+            }
+            catch (final ArithmeticException e)
+            {
+               result[i] = NO_RESULT;
+               failures++;
+            }
+         }
+      }
+      else
+      {
+         for (int i = 0, length = from.length; i < length; i++)
+         {
+            try
+            {
+               final long fromLocal = Math.addExact(from[i], offsetMillis);
+               final long toLocal = Math.addExact(to[i], offsetMillis);
+               final long fromDay = Math.floorDiv(fromLocal, EpochDays.MILLIS_PER_DAY);
+               final long toDay = wholeDaysEnd(fromDay, Math.floorMod(fromLocal, EpochDays.MILLIS_PER_DAY),
+                       Math.floorDiv(toLocal, EpochDays.MILLIS_PER_DAY),
+                       Math.floorMod(toLocal, EpochDays.MILLIS_PER_DAY));
+               result[i] = dateUnitsBetween(unit, fromDay, toDay);
+            }
+            catch (final ArithmeticException e)
+            {
+               result[i] = NO_RESULT;
+               failures++;
+            }
+         }
+      }
+      betweenFailures(failures, from.length, units.getUnits());
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_BETWEEN, start);
+      return failures;
+   }
+
+   /**
+    * The normalized ISO period from start to end, in columns: total months (years * 12 + months), days and the
+    * time left in milliseconds. Each part is what the part before leaves, in whole units truncated towards zero like
+    * {@link #unitsBetweenEpochMillis(long[], long[], DateAndTimeOffsetFunctionImpl, long[])}, so that all parts
+    * have the same sign and offsetting the start by the period answers the end:
+    * <pre>
+    *    2022-01-31T10:00 to 2022-03-31T10:00    2 months                   P2M
+    *    2022-01-31T10:00 to 2022-03-01T09:00    28 days and 23 hours       P28DT23H
+    *    2022-03-01T09:00 to 2022-01-31T10:00    -1 month and -23 hours     P-1MT-23H
+    * </pre>
+    * See {@link #periodBetweenEpochMillis(long, long)} for the {@link IsoPeriod} of one pair.
+    *
+    * @param from       input start
+    * @param to         input end, as long as the start
+    * @param months     output total months, at least as long as the input
+    * @param days       output days, -30 to 30
+    * @param timeMillis output time left, less than a day
+    * @return number of values that could not be computed (overflow), set to {@link #NO_RESULT} and 0
+    */
+   public int periodsBetweenEpochMillis(final long[] from, final long[] to, final long[] months, final int[] days,
+           final long[] timeMillis)
+   {
+      final long start = metrics.start();
+      checkLength(from.length, to.length, months.length, days.length, timeMillis.length);
+      int failures = 0;
+      for (int i = 0, length = from.length; i < length; i++)
+      {
+         try
+         {
+            final long fromLocal = Math.addExact(from[i], offsetMillis);
+            final long toLocal = Math.addExact(to[i], offsetMillis);
+            final long fromDay = Math.floorDiv(fromLocal, EpochDays.MILLIS_PER_DAY);
+            final long fromTime = Math.floorMod(fromLocal, EpochDays.MILLIS_PER_DAY);
+            final long toDay = Math.floorDiv(toLocal, EpochDays.MILLIS_PER_DAY);
+            final long toTime = Math.floorMod(toLocal, EpochDays.MILLIS_PER_DAY);
+            final long monthCount = EpochDays.monthsBetween(fromDay, wholeDaysEnd(fromDay, fromTime, toDay, toTime));
+            // the months never pass the end, the days are counted from there
+            final long monthsDay = EpochDays.plusMonths(fromDay, monthCount);
+            final long dayCount = wholeDaysEnd(monthsDay, fromTime, toDay, toTime) - monthsDay;
+            months[i] = monthCount;
+            days[i] = (int) dayCount;
+            timeMillis[i] = toLocal - ((monthsDay + dayCount) * EpochDays.MILLIS_PER_DAY + fromTime);
+         }
+         catch (final ArithmeticException | DateTimeException e)
+         {
+            months[i] = NO_RESULT;
+            days[i] = 0;
+            timeMillis[i] = 0;
+            failures++;
+         }
+      }
+      betweenFailures(failures, from.length, "period");
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_BETWEEN, start);
+      return failures;
+   }
+
+   /**
+    * @return the normalized ISO period from start to end, see
+    *       {@link #periodsBetweenEpochMillis(long[], long[], long[], int[], long[])}
+    * @throws ArithmeticException when the period overflows
+    */
+   public IsoPeriod periodBetweenEpochMillis(final long from, final long to)
+   {
+      final long[] months = new long[1];
+      final int[] days = new int[1];
+      final long[] timeMillis = new long[1];
+      if (periodsBetweenEpochMillis(new long[]{from}, new long[]{to}, months, days, timeMillis) > 0)
+      {
+         throw new ArithmeticException("No period between epoch milliseconds " + from + " and " + to);
+      }
+      return IsoPeriod.of(Period.of(Math.toIntExact(months[0] / 12), (int) (months[0] % 12), days[0]),
+              Duration.ofMillis(timeMillis[0]));
+   }
+
+   /**
+    * @param fromSeconds input start seconds
+    * @param fromNanos   input start nano of second, 0 to 999,999,999
+    * @param toSeconds   input end seconds
+    * @param toNanos     input end nano of second, 0 to 999,999,999
+    * @param units       name, see {@link DateAndTimeOffsetFunctionImpl}
+    * @param result      output, at least as long as the input
+    * @return number of values that could not be computed, set to {@link #NO_RESULT}
+    */
+   public int unitsBetweenEpochSeconds(final long[] fromSeconds, final int[] fromNanos, final long[] toSeconds,
+           final int[] toNanos, final String units, final long[] result)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         checkLength(fromSeconds.length, fromNanos.length, toSeconds.length, toNanos.length, result.length);
+         metrics.failure(OffsetError.UNKNOWN_UNITS.encode(0));
+         logger.error("No methods exists for units: {}", units);
+         Arrays.fill(result, 0, fromSeconds.length, NO_RESULT);
+         return fromSeconds.length;
+      }
+      return unitsBetweenEpochSeconds(fromSeconds, fromNanos, toSeconds, toNanos, function, result);
+   }
+
+   /**
+    * Same as {@link #unitsBetweenEpochMillis(long[], long[], DateAndTimeOffsetFunctionImpl, long[])} in nanosecond
+    * precision
+    *
+    * @param fromSeconds input start seconds
+    * @param fromNanos   input start nano of second, 0 to 999,999,999
+    * @param toSeconds   input end seconds
+    * @param toNanos     input end nano of second, 0 to 999,999,999
+    * @param units       unit
+    * @param result      output, at least as long as the input
+    * @return number of values that could not be computed (overflow, nano out of range), set to {@link #NO_RESULT}
+    */
+   public int unitsBetweenEpochSeconds(final long[] fromSeconds, final int[] fromNanos, final long[] toSeconds,
+           final int[] toNanos, final DateAndTimeOffsetFunctionImpl units, final long[] result)
+   {
+      final long start = metrics.start();
+      metrics.unitCall(units);
+      checkLength(fromSeconds.length, fromNanos.length, toSeconds.length, toNanos.length, result.length);
+      final ChronoUnit unit = units.getUnit();
+      int failures = 0;
+      for (int i = 0, length = fromSeconds.length; i < length; i++)
+      {
+         try
+         {
+            checkNano(fromNanos[i]);
+            checkNano(toNanos[i]);
+            result[i] = unit.isTimeBased()
+                    ? timeUnitsBetween(unit, fromSeconds[i], fromNanos[i], toSeconds[i], toNanos[i])
+                    : dateUnitsBetween(unit, fromSeconds[i], fromNanos[i], toSeconds[i], toNanos[i]);
+         }
+         catch (final ArithmeticException | DateTimeException e)
+         {
+            result[i] = NO_RESULT;
+            failures++;
+         }
+      }
+      betweenFailures(failures, fromSeconds.length, units.getUnits());
+      metrics.stop(OffsetMetrics.EntryPoint.BATCH_BETWEEN, start);
+      return failures;
+   }
+
+   private static long timeUnitsBetween(final ChronoUnit unit, final long fromSecond, final int fromNano,
+           final long toSecond, final int toNano)
+   {
+      long seconds = Math.subtractExact(toSecond, fromSecond);
+      long nanos = toNano - fromNano;
+      // both parts towards zero, like Duration
+      if (seconds > 0 && nanos < 0)
+      {
+         seconds--;
+         nanos += NANOS_PER_SECOND;
+      }
+      else if (seconds < 0 && nanos > 0)
+      {
+         seconds++;
+         nanos -= NANOS_PER_SECOND;
+      }
+      switch (unit)
+      {
+         case NANOS:
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), nanos);
+         case MILLIS:
+            return Math.addExact(Math.multiplyExact(seconds, MILLIS_PER_SECOND), nanos / NANOS_PER_MILLI);
+         default:
+            return seconds / unit.getDuration().getSeconds();
+      }
+   }
+
+   private long dateUnitsBetween(final ChronoUnit unit, final long fromSecond, final int fromNano,
+           final long toSecond, final int toNano)
+   {
+      final long fromLocal = Math.addExact(fromSecond, offsetSeconds);
+      final long toLocal = Math.addExact(toSecond, offsetSeconds);
+      final long fromDay = Math.floorDiv(fromLocal, EpochDays.SECONDS_PER_DAY);
+      final long fromTime = Math.floorMod(fromLocal, EpochDays.SECONDS_PER_DAY) * NANOS_PER_SECOND + fromNano;
+      final long toDay = Math.floorDiv(toLocal, EpochDays.SECONDS_PER_DAY);
+      final long toTime = Math.floorMod(toLocal, EpochDays.SECONDS_PER_DAY) * NANOS_PER_SECOND + toNano;
+      return dateUnitsBetween(unit, fromDay, wholeDaysEnd(fromDay, fromTime, toDay, toTime));
+   }
+
+   /**
+    * @return the end day for counting whole days like {@code LocalDateTime.until}: one day less (more) when the
+    *       end is on a later (earlier) date but before (after) the time of day of the start
+    */
+   private static long wholeDaysEnd(final long fromDay, final long fromTime, final long toDay, final long toTime)
+   {
+      if (toDay > fromDay && toTime < fromTime)
+      {
+         return toDay - 1;
+      }
+      if (toDay < fromDay && toTime > fromTime)
+      {
+         return toDay + 1;
+      }
+      return toDay;
+   }
+
+   private static long dateUnitsBetween(final ChronoUnit unit, final long fromDay, final long toDay)
+   {
+      switch (unit)
+      {
+         case DAYS:
+            return toDay - fromDay;
+         case WEEKS:
+            return (toDay - fromDay) / 7;
+         case MONTHS:
+            return EpochDays.monthsBetween(fromDay, toDay);
+         case YEARS:
+            return EpochDays.monthsBetween(fromDay, toDay) / 12;
+         default:
+            throw new IllegalArgumentException("Not a date unit: " + unit);
+      }
+   }
+
+   private void betweenFailures(final int failures, final int length, final String what)
+   {
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} {} between epoch values could not be computed", failures, length, what);
+      }
+   }
+
+   /**
+    * @return true when the local date of the epoch second in this offset is within the supported range
+    */
+   private boolean isSupported(final long epochSecond)
+   {
+      final long epochDay = Math.floorDiv(epochSecond + offsetSeconds, EpochDays.SECONDS_PER_DAY);
+      return epochDay >= EpochDays.MIN_EPOCH_DAY && epochDay <= EpochDays.MAX_EPOCH_DAY;
+   }
+
+   private long checkSupported(final long epochSecond)
+   {
+      if (!isSupported(epochSecond))
+      {
+         throw new DateTimeException("Instant exceeds minimum or maximum date-time: " + epochSecond);
+      }
+      return epochSecond;
+   }
+
+   private static void checkNano(final int nano)
+   {
+      if (nano < 0 || nano >= NANOS_PER_SECOND)
+      {
+         throw new DateTimeException("Invalid value for NanoOfSecond: " + nano);
+      }
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @return calendar of the business units, null after recording the units as unknown
+    */
+   private BusinessCalendar calendar(final BusinessUnits business, final String units)
+   {
+      final BusinessCalendar calendar = business == null ? null : BusinessUnits.calendar(units);
+      if (calendar == null)
+      {
+         final int position = business == null ? 0 : units.indexOf(BusinessUnits.CALENDAR_SEPARATOR) + 1;
+         metrics.failure(OffsetError.UNKNOWN_UNITS.encode(position));
+         logger.error("No methods exists for units: {}", units);
+      }
+      return calendar;
+   }
+
+   private void businessFailures(final int failures, final int length, final int amount, final BusinessUnits units,
+           final BusinessCalendar calendar)
+   {
+      if (failures > 0)
+      {
+         metrics.failures(OffsetError.RESULT_OUT_OF_RANGE.encode(0), failures);
+         logger.error("{} of {} epoch values could not be offset by {} {}@{}", failures, length, amount,
+                 units.getUnits(), calendar.getName());
+      }
+   }
+
+   private static void checkLength(final int inputLength, final int... outputLengths)
+   {
+      for (final int outputLength : outputLengths)
+      {
+         if (outputLength < inputLength)
+         {
+            throw new IllegalArgumentException("Array length " + outputLength + " is shorter than the input " +
+                    "length " + inputLength);
+         }
+      }
+   }
+
+   private static int unchanged(final long[] input, final long[] result)
+   {
+      checkLength(input.length, result.length);
+      System.arraycopy(input, 0, result, 0, input.length);
+      return input.length;
+   }
+
+   private static void unchanged(final int[] input, final int[] result)
+   {
+      checkLength(input.length, result.length);
+      System.arraycopy(input, 0, result, 0, input.length);
+   }
+
+}
@@ -3,12 +3,11 @@ package el.dude.java.basics.enumerations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
-import java.time.Duration;
-import java.time.Period;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.Objects;
 
 /**
  * Author: Gabriel Inäbnit - 2022-02-04
@@ -19,22 +18,100 @@ import java.util.Objects;
  * <p>
  * We're limiting the type to integer for the amount values. For the purpose of the namespace object, lifespans in
  * the sub-seconds realm are not required.
+ * <p>
+ * Date and time values with a fixed offset ("Z", "+01:00") are offset with integer arithmetic on the epoch, see
+ * {@link EpochDateTime}. Region zones ("[Europe/Zurich]") take the same path, their offsets are looked up in a
+ * precomputed table of the zone's transitions ({@link ZoneOffsetTable}); outside the years of the table they go
+ * through {@link ZonedDateTime}. All give the same results.
+ * <p>
+ * Besides the units of {@link DateAndTimeOffsetFunctionImpl}, amounts may be business days or hours of a
+ * {@link BusinessCalendar}: "businessdays", "businesshours@zurich", see {@link BusinessUnits}.
+ * <p>
+ * Every offsetBy method comes with overloads writing the result straight into a {@link StringBuilder}, a
+ * {@code char[]} or a {@link ByteBuffer} (ASCII), identical to {@link ZonedDateTime#toString()} but without the
+ * intermediate strings, see {@link IsoDateTimeFormatter}. On error the unchanged date and time is written.
+ * <p>
+ * Errors are not thrown: {@link #tryOffsetBy(int, String)} and {@link #tryOffsetBy(String)} answer an
+ * {@link OffsetResult} with the {@link OffsetError} and the position of the offending character, all other offsetBy
+ * methods write the unchanged date and time. Errors are counted and their log lines rate-limited per kind of error,
+ * see {@link OffsetErrorLog}.
+ * <p>
+ * Calls per unit, period shapes, failures and latencies are recorded in {@link OffsetMetrics}.
  */
 public class DateAndTimeCalculation
 {
 
    private static final Logger logger = LoggerFactory.getLogger(DateAndTimeCalculation.class);
 
-   private static final String PERIOD_DURATION_SEPARATOR = "T";
-   private static final String DURATION_ONLY_PREFIX      = "PT";
+   private final String         dateAndTime;
+   private final IsoPeriodCache periodCache;
+   private final OffsetErrorLog errorLog;
+   private final OffsetMetrics  metrics;
+
+   /**
+    * Fast path for fixed offsets ("Z", "+01:00", ...) and region zones covered by their table, null otherwise
+    */
+   private final EpochDateTime epochDateTime;
 
-   private final String        dateAndTime;
+   /**
+    * Anything the fast path does not take, null otherwise
+    */
    private final ZonedDateTime parsedDateAndTime;
 
+   /**
+    * Longest possible formatted result
+    */
+   private final int maxLength;
+
    DateAndTimeCalculation(final String dateAndTime) throws DateTimeParseException
+   {
+      this(dateAndTime, IsoPeriodCache.getDefault());
+   }
+
+   /**
+    * @param dateAndTime ISO date and time
+    * @param periodCache compiled ISO periods used by {@link #offsetBy(String)}
+    */
+   DateAndTimeCalculation(final String dateAndTime, final IsoPeriodCache periodCache) throws DateTimeParseException
+   {
+      this(dateAndTime, periodCache, OffsetErrorLog.getDefault());
+   }
+
+   /**
+    * @param dateAndTime ISO date and time
+    * @param periodCache compiled ISO periods used by {@link #offsetBy(String)}
+    * @param errorLog    counts and logs the errors
+    */
+   DateAndTimeCalculation(final String dateAndTime, final IsoPeriodCache periodCache, final OffsetErrorLog errorLog)
+           throws DateTimeParseException
+   {
+      this(dateAndTime, periodCache, errorLog, OffsetMetrics.getDefault());
+   }
+
+   /**
+    * @param dateAndTime ISO date and time
+    * @param periodCache compiled ISO periods used by {@link #offsetBy(String)}
+    * @param errorLog    counts and logs the errors
+    * @param metrics     records calls and latencies
+    */
+   DateAndTimeCalculation(final String dateAndTime, final IsoPeriodCache periodCache, final OffsetErrorLog errorLog,
+           final OffsetMetrics metrics) throws DateTimeParseException
    {
       this.dateAndTime = dateAndTime;
-      this.parsedDateAndTime = ZonedDateTime.parse(dateAndTime);
+      this.periodCache = periodCache;
+      this.errorLog = errorLog;
+      this.metrics = metrics;
+      EpochDateTime epoch = EpochDateTime.parse(dateAndTime);
+      ZonedDateTime parsed = null;
+      if (epoch == null)
+      {
+         // region zones go through their transition table as long as it covers the date and time
+         parsed = ZonedDateTime.parse(dateAndTime);
+         epoch = EpochDateTime.of(parsed);
+      }
+      this.epochDateTime = epoch;
+      this.parsedDateAndTime = epoch == null ? parsed : null;
+      this.maxLength = IsoDateTimeFormatter.maxLength(epoch == null ? parsed.getZone() : epoch.getZone());
    }
 
    /**
@@ -46,23 +123,145 @@ public class DateAndTimeCalculation
     */
    public String offsetBy(final int amount, final String units)
    {
-      final DateAndTimeOffsetFunction function = DateAndTimeOffsetFunctionImpl.getFunction(units);
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return value(buffer, offsetBy(amount, units, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(int, String)}, telling what went wrong instead of just returning the unchanged date
+    * and time
+    *
+    * @param amount of units (positive or negative)
+    * @param units  name
+    * @return ISO date and time with offset applied or the error with the position in the units
+    */
+   public OffsetResult tryOffsetBy(final int amount, final String units)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return result(buffer, offsetBy(amount, units, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(int, String)}, appending the result to the sink
+    *
+    * @return the sink
+    */
+   public StringBuilder offsetBy(final int amount, final String units, final StringBuilder sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return appendTo(buffer, offsetBy(amount, units, buffer), sink);
+   }
+
+   /**
+    * Same as {@link #offsetBy(int, String)}, writing the result into the sink starting at the position
+    *
+    * @return position after the last character written
+    * @throws IndexOutOfBoundsException when the sink is too short
+    */
+   public int offsetBy(final int amount, final String units, final char[] sink, final int position)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return copyTo(buffer, offsetBy(amount, units, buffer), sink, position);
+   }
+
+   /**
+    * Same as {@link #offsetBy(int, String)}, putting the result as ASCII bytes at the sink's position
+    *
+    * @return the sink
+    * @throws java.nio.BufferOverflowException when the sink has not enough room left
+    */
+   public ByteBuffer offsetBy(final int amount, final String units, final ByteBuffer sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return putTo(buffer, offsetBy(amount, units, buffer), sink);
+   }
+
+   /**
+    * Writes the result into the buffer, which must have room for {@link #getMaxLength()} bytes
+    *
+    * @return number of bytes written into the buffer or the negative {@link OffsetError#encode(int) code} of the
+    * error when the date and time is left unchanged
+    */
+   int offsetBy(final int amount, final String units, final byte[] buffer)
+   {
+      final long start = metrics.start();
+      final int length = plus(amount, units, buffer);
+      metrics.stop(OffsetMetrics.EntryPoint.UNITS, start);
+      return length;
+   }
+
+   /**
+    * Same as {@link #offsetBy(int, String, byte[])} with units resolved already, e.g. by a {@link UnitsResolver}
+    */
+   int offsetBy(final int amount, final DateAndTimeOffsetFunctionImpl units, final byte[] buffer)
+   {
+      final long start = metrics.start();
+      final int length = plus(amount, units, buffer);
+      metrics.stop(OffsetMetrics.EntryPoint.UNITS, start);
+      return length;
+   }
+
+   private int plus(final int amount, final String units, final byte[] buffer)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         final BusinessUnits business = BusinessUnits.fromUnits(units);
+         return business != null ? plus(amount, business, units, buffer)
+                 : failure(OffsetError.UNKNOWN_UNITS.encode(0), units);
+      }
+      return plus(amount, function, buffer);
+   }
+
+   private int plus(final int amount, final DateAndTimeOffsetFunctionImpl function, final byte[] buffer)
+   {
+      metrics.unitCall(function);
       try
       {
-         Objects.requireNonNull(function);
-         return parsedDateAndTime.plus(function.offsetBy(amount)).toString();
+         if (epochDateTime != null)
+         {
+            return epochDateTime.plus(amount, function, buffer);
+         }
+         return IsoDateTimeFormatter.format(parsedDateAndTime.plus(function.offsetBy(amount)), buffer);
       }
-      catch (final NullPointerException e)
+      catch (final DateTimeException | ArithmeticException e)
+      {
+         // beyond +/-999999999 years, too rare to be worth checking ahead
+         return failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), function.getUnits());
+      }
+   }
+
+   /**
+    * Business days or hours of the calendar named in the units, see {@link BusinessUnits}
+    */
+   private int plus(final int amount, final BusinessUnits units, final String argument, final byte[] buffer)
+   {
+      final BusinessCalendar calendar = BusinessUnits.calendar(argument);
+      if (calendar == null)
+      {
+         return failure(OffsetError.UNKNOWN_UNITS.encode(argument.indexOf(BusinessUnits.CALENDAR_SEPARATOR) + 1),
+                 argument);
+      }
+      try
+      {
+         if (epochDateTime != null)
+         {
+            return epochDateTime.plus(amount, units, calendar, buffer);
+         }
+         return IsoDateTimeFormatter.format(units.addTo(parsedDateAndTime, amount, calendar), buffer);
+      }
+      catch (final DateTimeException | ArithmeticException e)
       {
-         logger.error("No methods exists for units: {}", units);
+         // outside the years of the calendar
+         return failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), argument);
       }
-      return dateAndTime;
    }
 
    /**
     * Offsetting a given ISO date and time by a given ISO period.
-    * Under the hood {@code java.time.Period} and {@code java.time.Duration} are used to handle the full ISO period specification.
-    * To fully apply a ISO period, both classes may have to be employed.
+    * Under the hood the period string is compiled into an {@link IsoPeriod} in a single pass, which applies the
+    * {@code java.time.Period} and the {@code java.time.Duration} part of the full ISO period specification.
+    * Compiled periods are kept in an {@link IsoPeriodCache}.
     * <p>
     * Example ISO 8601 periods:
     * <pre>
@@ -78,49 +277,386 @@ public class DateAndTimeCalculation
     */
    public String offsetBy(final String period)
    {
-      if (period == null || !(period.startsWith("P")))
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return value(buffer, offsetBy(period, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(String)}, telling what went wrong instead of just returning the unchanged date and
+    * time
+    *
+    * @param period ISO string
+    * @return ISO date and time with period applied or the error with the position in the period
+    */
+   public OffsetResult tryOffsetBy(final String period)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return result(buffer, offsetBy(period, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(String)}, appending the result to the sink
+    *
+    * @return the sink
+    */
+   public StringBuilder offsetBy(final String period, final StringBuilder sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return appendTo(buffer, offsetBy(period, buffer), sink);
+   }
+
+   /**
+    * Same as {@link #offsetBy(String)}, writing the result into the sink starting at the position
+    *
+    * @return position after the last character written
+    * @throws IndexOutOfBoundsException when the sink is too short
+    */
+   public int offsetBy(final String period, final char[] sink, final int position)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return copyTo(buffer, offsetBy(period, buffer), sink, position);
+   }
+
+   /**
+    * Same as {@link #offsetBy(String)}, putting the result as ASCII bytes at the sink's position
+    *
+    * @return the sink
+    * @throws java.nio.BufferOverflowException when the sink has not enough room left
+    */
+   public ByteBuffer offsetBy(final String period, final ByteBuffer sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return putTo(buffer, offsetBy(period, buffer), sink);
+   }
+
+   /**
+    * Writes the result into the buffer, which must have room for {@link #getMaxLength()} bytes
+    *
+    * @return number of bytes written into the buffer or the negative {@link OffsetError#encode(int) code} of the
+    * error when the date and time is left unchanged
+    */
+   int offsetBy(final String period, final byte[] buffer)
+   {
+      final long start = metrics.start();
+      final int length = plus(period, buffer);
+      metrics.stop(OffsetMetrics.EntryPoint.PERIOD, start);
+      return length;
+   }
+
+   private int plus(final String period, final byte[] buffer)
+   {
+      final int[] failure = new int[1];
+      final IsoPeriod compiled = periodCache.get(period, failure);
+      if (compiled == null)
+      {
+         return failure(failure[0], period);
+      }
+      metrics.period(compiled);
+      try
+      {
+         if (epochDateTime != null)
+         {
+            return epochDateTime.plus(compiled, buffer);
+         }
+         return IsoDateTimeFormatter.format(parsedDateAndTime.plus(compiled), buffer);
+      }
+      catch (final DateTimeException | ArithmeticException e)
       {
-         logger.error("\"{}\" is not a ISO 8601 formatted period string", period);
-         return dateAndTime;
+         // beyond +/-999999999 years, too rare to be worth checking ahead
+         return failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), period);
       }
+   }
+
+   /**
+    * Offsetting a given ISO date and time by a compiled chain of offsets, e.g. "P1M - PT3H + 2 weeks" or
+    * "startOf(day) + PT6H", see {@link OffsetExpression}. All steps run on the one parsed date and time, the result
+    * is the same as offsetting step by step.
+    *
+    * @param expression compiled once, shared between date and times and threads
+    * @return ISO date and time string with all offsets applied
+    */
+   public String offsetBy(final OffsetExpression expression)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return value(buffer, offsetBy(expression, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(OffsetExpression)}, telling what went wrong instead of just returning the unchanged
+    * date and time
+    *
+    * @param expression compiled offsets
+    * @return ISO date and time with all offsets applied or the error
+    */
+   public OffsetResult tryOffsetBy(final OffsetExpression expression)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return result(buffer, offsetBy(expression, buffer));
+   }
+
+   /**
+    * Same as {@link #offsetBy(OffsetExpression)}, appending the result to the sink
+    *
+    * @return the sink
+    */
+   public StringBuilder offsetBy(final OffsetExpression expression, final StringBuilder sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return appendTo(buffer, offsetBy(expression, buffer), sink);
+   }
+
+   /**
+    * Same as {@link #offsetBy(OffsetExpression)}, writing the result into the sink starting at the position
+    *
+    * @return position after the last character written
+    * @throws IndexOutOfBoundsException when the sink is too short
+    */
+   public int offsetBy(final OffsetExpression expression, final char[] sink, final int position)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return copyTo(buffer, offsetBy(expression, buffer), sink, position);
+   }
+
+   /**
+    * Same as {@link #offsetBy(OffsetExpression)}, putting the result as ASCII bytes at the sink's position
+    *
+    * @return the sink
+    * @throws java.nio.BufferOverflowException when the sink has not enough room left
+    */
+   public ByteBuffer offsetBy(final OffsetExpression expression, final ByteBuffer sink)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      return putTo(buffer, offsetBy(expression, buffer), sink);
+   }
+
+   /**
+    * Writes the result into the buffer, which must have room for {@link #getMaxLength()} bytes
+    *
+    * @return number of bytes written into the buffer or the negative {@link OffsetError#encode(int) code} of the
+    * error when the date and time is left unchanged
+    */
+   int offsetBy(final OffsetExpression expression, final byte[] buffer)
+   {
+      final long start = metrics.start();
+      final int length = plus(expression, buffer);
+      metrics.stop(OffsetMetrics.EntryPoint.EXPRESSION, start);
+      return length;
+   }
+
+   private int plus(final OffsetExpression expression, final byte[] buffer)
+   {
       try
       {
-         ZonedDateTime result = parsedDateAndTime;
-         final String[] periodParts = period.split(PERIOD_DURATION_SEPARATOR);
-         // period and duration
-         if (periodParts.length == 2)
+         if (epochDateTime != null)
+         {
+            return epochDateTime.plus(expression, buffer);
+         }
+         return IsoDateTimeFormatter.format(expression.applyTo(parsedDateAndTime), buffer);
+      }
+      catch (final DateTimeException | ArithmeticException e)
+      {
+         return failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), expression.toString());
+      }
+   }
+
+   /**
+    * Fan-out: offsets the date and time by many amounts of units in one call, e.g. the warn, grace and hard expiry
+    * of one creation time. Each result is the same as {@link #tryOffsetBy(int, String)} would answer.
+    * <p>
+    * The offsets are decomposed into their date part (months, days) and their time part (seconds, nanos) first.
+    * Offsets with the same date part resolve it once against the parsed date and time, the time parts are added
+    * to that instant and all results are formatted into the one reusable output structure.
+    *
+    * @param amounts of units (positive or negative)
+    * @param units   names, same length as the amounts
+    * @param results receives one result per offset, reused from call to call
+    * @return the results
+    * @throws IllegalArgumentException when the arrays differ in length
+    */
+   public OffsetResults offsetsBy(final int[] amounts, final String[] units, final OffsetResults results)
+   {
+      if (amounts.length != units.length)
+      {
+         throw new IllegalArgumentException(
+                 "Array length " + units.length + " differs from the amounts length " + amounts.length);
+      }
+      final long start = metrics.start();
+      results.reset(amounts.length, maxLength, dateAndTime);
+      for (int i = 0; i < amounts.length; i++)
+      {
+         final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units[i]);
+         if (function == null)
          {
-            final String periodPart = periodParts[0];
-            final String durationPart = periodParts[1];
-            if (periodPart.length() > 1)
+            final BusinessUnits business = BusinessUnits.fromUnits(units[i]);
+            results.datedSeconds[i] = ZoneOffsetTable.NOT_COVERED;
+            if (business == null)
             {
-               result = result.plus(Period.parse(periodPart));
+               results.fail(i, failure(OffsetError.UNKNOWN_UNITS.encode(0), units[i]));
+               continue;
             }
-            if (durationPart.length() > 1)
+            // no date part to share, offset on its own
+            final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+            final int length = plus(amounts[i], business, units[i], buffer);
+            if (length < 0)
             {
-               result = result.plus(Duration.parse(DURATION_ONLY_PREFIX + durationPart));
+               results.fail(i, length);
             }
+            else
+            {
+               results.set(i, buffer, length);
+            }
+            continue;
          }
-         // period or duration
-         else if (periodParts.length == 1)
+         metrics.unitCall(function);
+         if (!EpochDateTime.decompose(amounts[i], function, i, results.months, results.days, results.seconds,
+                 results.nanos))
          {
-            final String part = periodParts[0];
-            if (part.startsWith(DURATION_ONLY_PREFIX))
+            results.fail(i, failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), units[i]));
+            continue;
+         }
+         results.datedSeconds[i] = ZoneOffsetTable.NOT_COVERED;
+         fanOut(results, i, units[i]);
+      }
+      metrics.stop(OffsetMetrics.EntryPoint.FAN_OUT, start);
+      return results;
+   }
+
+   /**
+    * Fan-out: offsets the date and time by many ISO periods in one call, see
+    * {@link #offsetsBy(int[], String[], OffsetResults)}. Each result is the same as {@link #tryOffsetBy(String)}
+    * would answer.
+    *
+    * @param periods ISO strings
+    * @param results receives one result per period, reused from call to call
+    * @return the results
+    */
+   public OffsetResults offsetsBy(final String[] periods, final OffsetResults results)
+   {
+      final long start = metrics.start();
+      results.reset(periods.length, maxLength, dateAndTime);
+      final int[] failure = new int[1];
+      for (int i = 0; i < periods.length; i++)
+      {
+         final IsoPeriod compiled = periodCache.get(periods[i], failure);
+         if (compiled == null)
+         {
+            results.fail(i, failure(failure[0], periods[i]));
+            continue;
+         }
+         metrics.period(compiled);
+         results.months[i] = compiled.toTotalMonths();
+         results.days[i] = compiled.getDays();
+         results.seconds[i] = compiled.getSeconds();
+         results.nanos[i] = compiled.getNanos();
+         results.datedSeconds[i] = ZoneOffsetTable.NOT_COVERED;
+         fanOut(results, i, periods[i]);
+      }
+      metrics.stop(OffsetMetrics.EntryPoint.FAN_OUT, start);
+      return results;
+   }
+
+   /**
+    * Applies the decomposed offset at the index, resolving its date part only when no earlier offset of the call
+    * had the same one
+    */
+   private void fanOut(final OffsetResults results, final int index, final String argument)
+   {
+      final long months = results.months[index];
+      final long days = results.days[index];
+      final byte[] buffer = IsoDateTimeFormatter.scratch(maxLength);
+      try
+      {
+         int length = EpochDateTime.NOT_COVERED;
+         if (epochDateTime != null)
+         {
+            long datedSecond = ZoneOffsetTable.NOT_COVERED;
+            for (int i = 0; i < index && datedSecond == ZoneOffsetTable.NOT_COVERED; i++)
             {
-               result = result.plus(Duration.parse(part));
+               if (!results.failed(i) && results.months[i] == months && results.days[i] == days)
+               {
+                  datedSecond = results.datedSeconds[i];
+               }
             }
-            else
+            if (datedSecond == ZoneOffsetTable.NOT_COVERED)
             {
-               result = result.plus(Period.parse(part));
+               datedSecond = epochDateTime.plusDatePart(months, days);
             }
+            results.datedSeconds[index] = datedSecond;
+            if (datedSecond != ZoneOffsetTable.NOT_COVERED)
+            {
+               length = epochDateTime.plusTimePart(datedSecond, results.seconds[index], results.nanos[index],
+                       buffer);
+            }
+         }
+         if (length == EpochDateTime.NOT_COVERED)
+         {
+            final ZonedDateTime base = epochDateTime == null ? parsedDateAndTime : epochDateTime.toZonedDateTime();
+            length = IsoDateTimeFormatter.format(EpochDateTime.plus(base, months, days, results.seconds[index],
+                    results.nanos[index]), buffer);
          }
-         return result.toString();
+         results.set(index, buffer, length);
       }
       catch (final DateTimeException | ArithmeticException e)
       {
-         logger.error("Error {} offsetting by {}: {}", dateAndTime, period, e.getMessage());
+         // beyond +/-999999999 years, too rare to be worth checking ahead
+         results.fail(index, failure(OffsetError.RESULT_OUT_OF_RANGE.encode(0), argument));
       }
-      return dateAndTime;
+   }
+
+   /**
+    * Counts and (rate-limited) logs the error
+    *
+    * @param code     negative code, see {@link OffsetError#encode(int)}
+    * @param argument units, period or expression string
+    * @return the code
+    */
+   private int failure(final int code, final String argument)
+   {
+      metrics.failure(code);
+      errorLog.record(logger, code, dateAndTime, argument);
+      return code;
+   }
+
+   /**
+    * Same as {@code result(buffer, length).getValue()}, the String methods do not pay for the result object
+    */
+   private String value(final byte[] buffer, final int length)
+   {
+      return length < 0 ? dateAndTime : IsoDateTimeFormatter.toString(buffer, length);
+   }
+
+   private OffsetResult result(final byte[] buffer, final int length)
+   {
+      return length < 0 ? OffsetResult.failure(dateAndTime, length) : OffsetResult.success(value(buffer, length));
+   }
+
+   /**
+    * @return longest possible formatted result
+    */
+   int getMaxLength()
+   {
+      return maxLength;
+   }
+
+   private StringBuilder appendTo(final byte[] buffer, final int length, final StringBuilder sink)
+   {
+      return length < 0 ? sink.append(dateAndTime) : IsoDateTimeFormatter.appendTo(buffer, length, sink);
+   }
+
+   private int copyTo(final byte[] buffer, final int length, final char[] sink, final int position)
+   {
+      if (length < 0)
+      {
+         dateAndTime.getChars(0, dateAndTime.length(), sink, position);
+         return position + dateAndTime.length();
+      }
+      return IsoDateTimeFormatter.copyTo(buffer, length, sink, position);
+   }
+
+   private ByteBuffer putTo(final byte[] buffer, final int length, final ByteBuffer sink)
+   {
+      return length < 0 ? sink.put(dateAndTime.getBytes(StandardCharsets.ISO_8859_1))
+              : IsoDateTimeFormatter.putTo(buffer, length, sink);
    }
 
 }
@@ -3,8 +3,10 @@ package el.dude.java.basics.enumerations;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.Period;
@@ -14,6 +16,8 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Author: Gabriel Inäbnit - 2022-02-03
@@ -25,6 +29,11 @@ import java.util.Objects;
  * We cannot add/subtract months or years this way. When attempted we get this exception:
  * java.time.temporal.UnsupportedTemporalTypeException: Unsupported unit: Months
  * <p>
+ * The methods are still looked up by name, but bound once when the enum is initialized: through
+ * {@link LambdaMetafactory} into an {@link IntFunction} (or a {@link Function} for the parse methods), the same kind
+ * of call site as the lambdas of {@link DateAndTimeOffsetFunctionImpl}. No boxing, no argument array, no reflective
+ * access check per call, and the JIT can inline the target.
+ * <p>
  * Explanation why we need to make an extra effort to calculate years and months and inspiration for this
  * implementation:
  *
@@ -64,8 +73,9 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
       }
    }
 
-   private final String units;
-   private final Method method;
+   private final String                                 units;
+   private final IntFunction<TemporalAmount>            amountFunction;
+   private final Function<CharSequence, TemporalAmount> parseFunction;
 
    /**
     * Enum constructor
@@ -78,19 +88,72 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
    DateAndTimeOffsetCalculationNonLambdaApproach(final String units, final Class<?> clazz, final String methodName,
            final Class<?>... parameterTypes)
    {
-      Method establishMethod;
+      IntFunction<TemporalAmount> establishAmountFunction = null;
+      Function<CharSequence, TemporalAmount> establishParseFunction = null;
       this.units = units;
       try
       {
-         establishMethod = clazz.getMethod(methodName, parameterTypes);
+         final MethodHandles.Lookup caller = MethodHandles.lookup();
+         final MethodHandle target = caller.unreflect(clazz.getMethod(methodName, parameterTypes));
+         if (parameterTypes[0] == CharSequence.class)
+         {
+            establishParseFunction = bindParseFunction(caller, target);
+         }
+         else
+         {
+            establishAmountFunction = bindAmountFunction(caller, target);
+         }
       }
       catch (final NoSuchMethodException e)
       {
-         establishMethod = null;
          final Logger constructorLogger = LoggerFactory.getLogger(DateAndTimeOffsetCalculationNonLambdaApproach.class);
          constructorLogger.error("Class {} has no method named {}", clazz.getName(), methodName);
       }
-      this.method = establishMethod;
+      catch (final Error e)
+      {
+         throw e;
+      }
+      catch (final Throwable e)
+      {
+         final Logger constructorLogger = LoggerFactory.getLogger(DateAndTimeOffsetCalculationNonLambdaApproach.class);
+         constructorLogger.error("Cannot bind {}.{}: {}", clazz.getName(), methodName, e.getMessage());
+      }
+      this.amountFunction = establishAmountFunction;
+      this.parseFunction = establishParseFunction;
+   }
+
+   /**
+    * {@code amount -> Duration.ofMinutes(amount)} and alike, the int widened to long where needed
+    */
+   @SuppressWarnings("unchecked")
+   private static IntFunction<TemporalAmount> bindAmountFunction(final MethodHandles.Lookup caller,
+           final MethodHandle target) throws Throwable
+   {
+      return (IntFunction<TemporalAmount>) LambdaMetafactory.metafactory(caller, "apply",
+              MethodType.methodType(IntFunction.class), MethodType.methodType(Object.class, int.class), target,
+              MethodType.methodType(TemporalAmount.class, int.class)).getTarget().invoke();
+   }
+
+   /**
+    * {@code text -> Period.parse(text)} and alike
+    */
+   @SuppressWarnings("unchecked")
+   private static Function<CharSequence, TemporalAmount> bindParseFunction(final MethodHandles.Lookup caller,
+           final MethodHandle target) throws Throwable
+   {
+      return (Function<CharSequence, TemporalAmount>) LambdaMetafactory.metafactory(caller, "apply",
+              MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class), target,
+              MethodType.methodType(TemporalAmount.class, CharSequence.class)).getTarget().invoke();
+   }
+
+   /**
+    * @param amount of units (positive or negative)
+    * @return Duration or Period of the units
+    * @throws NullPointerException when the units have no amount method
+    */
+   TemporalAmount offsetBy(final int amount)
+   {
+      return amountFunction.apply(amount);
    }
 
    /**
@@ -104,20 +167,23 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
    public static String getResultingDateAndTime(final String from, final int amount, final String units)
    {
       final DateAndTimeOffsetCalculationNonLambdaApproach function = lookup.get(units);
+      final TemporalAmount offset;
       try
       {
-         Objects.requireNonNull(function.method);
-         return ZonedDateTime.parse(from).plus((TemporalAmount) function.method.invoke(null, amount)).toString();
+         Objects.requireNonNull(function.amountFunction);
+         offset = function.offsetBy(amount);
       }
       catch (final NullPointerException e)
       {
          logger.error("No methods exists for units: {}", units);
+         return from;
       }
-      catch (final IllegalAccessException | InvocationTargetException e)
+      catch (final ArithmeticException e)
       {
          logger.error("Error {} offsetting by {} {}: {}", from, amount, units, e.getMessage());
+         return from;
       }
-      return from;
+      return ZonedDateTime.parse(from).plus(offset).toString();
    }
 
    /**
@@ -131,13 +197,15 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
    public static String getResultingDateAndTime(final String from, final String period, final String units)
    {
       final DateAndTimeOffsetCalculationNonLambdaApproach function = lookup.get(units);
+      final TemporalAmount offset;
       try
       {
          switch (function.units)
          {
             case "duration":
             case "period":
-               return ZonedDateTime.parse(from).plus((TemporalAmount) function.method.invoke(null, period)).toString();
+               offset = function.parseFunction.apply(period);
+               break;
             default:
                return from;
          }
@@ -145,17 +213,20 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
       catch (final NullPointerException e)
       {
          logger.error("No parse method exists for {}", units);
+         return from;
       }
-      catch (final IllegalAccessException | InvocationTargetException e)
+      catch (final DateTimeException e)
       {
-         logger.error("\"{}\" {}", period, e.getCause().getMessage());
+         logger.error("\"{}\" {}", period, e.getMessage());
+         return from;
       }
-      return from;
+      return ZonedDateTime.parse(from).plus(offset).toString();
    }
 
    /**
     * Offsetting a given ISO date and time by a given ISO period.
-    * Note: java.time.Period and java.time.Duration are used to handle the full ISO period specification.
+    * Note: the period string is compiled by {@link IsoPeriod} which handles the full ISO period specification, the
+    * compiled periods are shared through {@link IsoPeriodCache#getDefault()}.
     * <p>
     * Example ISO periods:
     * <pre>
@@ -177,36 +248,7 @@ public enum DateAndTimeOffsetCalculationNonLambdaApproach
       }
       try
       {
-         ZonedDateTime result = ZonedDateTime.parse(from);
-         final String[] periodParts = isoPeriod.split("T");
-         // period and duration
-         if (periodParts.length == 2)
-         {
-            final String period = periodParts[0];
-            final String duration = periodParts[1];
-            if (period.length() > 1)
-            {
-               result = result.plus(Period.parse(period));
-            }
-            if (duration.length() > 1)
-            {
-               result = result.plus(Duration.parse("PT" + duration));
-            }
-         }
-         // period or duration
-         else if (periodParts.length == 1)
-         {
-            final String part = periodParts[0];
-            if (part.startsWith("PT"))
-            {
-               result = result.plus(Duration.parse(part));
-            }
-            else
-            {
-               result = result.plus(Period.parse(part));
-            }
-         }
-         return result.toString();
+         return ZonedDateTime.parse(from).plus(IsoPeriodCache.getDefault().get(isoPeriod)).toString();
       }
       catch (final DateTimeException | ArithmeticException e)
       {
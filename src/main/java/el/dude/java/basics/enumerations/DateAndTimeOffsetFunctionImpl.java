@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Period;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAmount;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -30,15 +31,15 @@ public enum DateAndTimeOffsetFunctionImpl implements DateAndTimeOffsetFunction
 {
 
    //@formatter:off
-   DAYS           ("days",       Period::ofDays),
-   WEEKS          ("weeks",      Period::ofWeeks),
-   MONTHS         ("months",     Period::ofMonths),
-   YEARS          ("years",      Period::ofYears),
-   NANOS          ("nanos",      Duration::ofNanos),
-   MILLIS         ("millis",     Duration::ofMillis),
-   SECONDS        ("seconds",    Duration::ofSeconds),
-   MINUTES        ("minutes",    Duration::ofMinutes),
-   HOURS          ("hours",      Duration::ofHours),
+   DAYS           ("days",       ChronoUnit.DAYS,     Period::ofDays),
+   WEEKS          ("weeks",      ChronoUnit.WEEKS,    Period::ofWeeks),
+   MONTHS         ("months",     ChronoUnit.MONTHS,   Period::ofMonths),
+   YEARS          ("years",      ChronoUnit.YEARS,    Period::ofYears),
+   NANOS          ("nanos",      ChronoUnit.NANOS,    Duration::ofNanos),
+   MILLIS         ("millis",     ChronoUnit.MILLIS,   Duration::ofMillis),
+   SECONDS        ("seconds",    ChronoUnit.SECONDS,  Duration::ofSeconds),
+   MINUTES        ("minutes",    ChronoUnit.MINUTES,  Duration::ofMinutes),
+   HOURS          ("hours",      ChronoUnit.HOURS,    Duration::ofHours),
    ;
    //@formatter:on
 
@@ -56,6 +57,7 @@ public enum DateAndTimeOffsetFunctionImpl implements DateAndTimeOffsetFunction
    }
 
    private final String                    units;
+   private final ChronoUnit                unit;
    private final DateAndTimeOffsetFunction function;
 
 
@@ -63,10 +65,12 @@ public enum DateAndTimeOffsetFunctionImpl implements DateAndTimeOffsetFunction
     * Enum constructor
     *
     * @param units name of unit
+    * @param unit  java.time unit the function offsets by
     */
-   DateAndTimeOffsetFunctionImpl(final String units, final DateAndTimeOffsetFunction function)
+   DateAndTimeOffsetFunctionImpl(final String units, final ChronoUnit unit, final DateAndTimeOffsetFunction function)
    {
       this.units = units;
+      this.unit = unit;
       this.function = function;
    }
 
@@ -81,4 +85,36 @@ public enum DateAndTimeOffsetFunctionImpl implements DateAndTimeOffsetFunction
       return lookup.get(units);
    }
 
+   /**
+    * Same as {@link #getFunction(String)}, but typed
+    *
+    * @param units name
+    * @return enum constant or null when there is none for the units
+    */
+   public static DateAndTimeOffsetFunctionImpl fromUnits(final String units)
+   {
+      return lookup.get(units);
+   }
+
+   /**
+    * Days, weeks, months and years are date based ({@link java.time.Period}), the others are fixed length
+    * ({@link java.time.Duration}).
+    *
+    * @return java.time unit
+    */
+   public ChronoUnit getUnit()
+   {
+      return unit;
+   }
+
+   /**
+    * Simple enum method
+    *
+    * @return units name
+    */
+   public String getUnits()
+   {
+      return units;
+   }
+
 }
@@ -0,0 +1,564 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * An ISO date and time with a fixed offset ("Z", "+01:00", ...) decomposed into epoch second, nano of second and
+ * offset. Offsetting it is integer arithmetic on the epoch ({@link EpochDays}) followed by formatting straight from
+ * the primitives ({@link IsoDateTimeFormatter}), with results identical to {@link ZonedDateTime#plus} and
+ * {@link ZonedDateTime#toString()} - month-end clamping included.
+ * <p>
+ * {@link #parse(CharSequence)} only takes the common shape {@code yyyy-MM-ddTHH:mm[:ss[.fffffffff]]offset}, for
+ * anything else (region zones such as "[Europe/Zurich]", years beyond 9999, lenient offsets, invalid values) it
+ * returns null and the caller falls back to {@link ZonedDateTime}.
+ * <p>
+ * A date and time in a region zone is taken {@link #of(ZonedDateTime) from a parsed ZonedDateTime} and resolves its
+ * local results and offsets through the zone's {@link ZoneOffsetTable}. Results outside the years of the table fall
+ * back to {@link ZonedDateTime#plus}.
+ */
+final class EpochDateTime
+{
+
+   /**
+    * Answer of the buffer methods when the zone's table does not cover the result
+    */
+   static final int NOT_COVERED = -1;
+
+   private static final long NANOS_PER_SECOND = 1_000_000_000L;
+   private static final int  MAX_OFFSET       = 18 * 3600;
+
+   private final long            epochSecond;
+   private final int             nano;
+   private final ZoneOffset      offset;
+   /**
+    * Transitions of the region zone, null for a fixed offset
+    */
+   private final ZoneOffsetTable table;
+
+   private EpochDateTime(final long epochSecond, final int nano, final ZoneOffset offset,
+                         final ZoneOffsetTable table)
+   {
+      this.epochSecond = epochSecond;
+      this.nano = nano;
+      this.offset = offset;
+      this.table = table;
+   }
+
+   /**
+    * @param dateTime date and time with a fixed offset or a region zone
+    * @return decomposed date and time or null when the zone's table does not cover it
+    */
+   static EpochDateTime of(final ZonedDateTime dateTime)
+   {
+      final ZoneId zone = dateTime.getZone();
+      final long epochSecond = dateTime.toEpochSecond();
+      if (zone instanceof ZoneOffset)
+      {
+         return new EpochDateTime(epochSecond, dateTime.getNano(), dateTime.getOffset(), null);
+      }
+      final ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+      if (!table.covers(epochSecond))
+      {
+         return null;
+      }
+      return new EpochDateTime(epochSecond, dateTime.getNano(), dateTime.getOffset(), table);
+   }
+
+   /**
+    * @param text ISO date and time
+    * @return decomposed date and time or null when the text is not in the fast path shape
+    */
+   static EpochDateTime parse(final CharSequence text)
+   {
+      final int length = text.length();
+      // yyyy-MM-ddTHH:mmZ
+      if (length < 17 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+              || text.charAt(13) != ':')
+      {
+         return null;
+      }
+      final int year = number(text, 0, 4);
+      final int month = number(text, 5, 2);
+      final int day = number(text, 8, 2);
+      final int hour = number(text, 11, 2);
+      final int minute = number(text, 14, 2);
+      if (year < 0 || month < 1 || month > 12 || day < 1 || day > EpochDays.lengthOfMonth(year, month) || hour < 0
+              || hour > 23 || minute < 0 || minute > 59)
+      {
+         return null;
+      }
+      int position = 16;
+      int second = 0;
+      int nano = 0;
+      if (text.charAt(position) == ':')
+      {
+         second = number(text, position + 1, 2);
+         if (second < 0 || second > 59)
+         {
+            return null;
+         }
+         position += 3;
+         if (position < length && text.charAt(position) == '.')
+         {
+            position++;
+            final int fractionStart = position;
+            while (position < length && position - fractionStart < 9 && isDigit(text.charAt(position)))
+            {
+               nano = nano * 10 + (text.charAt(position++) - '0');
+            }
+            if (position == fractionStart)
+            {
+               return null;
+            }
+            for (int digits = position - fractionStart; digits < 9; digits++)
+            {
+               nano *= 10;
+            }
+         }
+      }
+      final int offsetSeconds = offset(text, position, length);
+      if (offsetSeconds == Integer.MIN_VALUE)
+      {
+         return null;
+      }
+      final long epochDay = EpochDays.of(year, month, day);
+      final long epochSecond = epochDay * EpochDays.SECONDS_PER_DAY + hour * 3600 + minute * 60 + second
+              - offsetSeconds;
+      return new EpochDateTime(epochSecond, nano, ZoneOffset.ofTotalSeconds(offsetSeconds), null);
+   }
+
+   /**
+    * "Z", "+HH:MM" or "+HH:MM:SS" up to the end of the text
+    *
+    * @return offset in seconds or {@code Integer.MIN_VALUE} when there is no such offset
+    */
+   private static int offset(final CharSequence text, final int position, final int length)
+   {
+      if (position >= length)
+      {
+         return Integer.MIN_VALUE;
+      }
+      final char sign = text.charAt(position);
+      if (sign == 'Z')
+      {
+         return position + 1 == length ? 0 : Integer.MIN_VALUE;
+      }
+      if ((sign != '+' && sign != '-') || (length != position + 6 && length != position + 9)
+              || text.charAt(position + 3) != ':')
+      {
+         return Integer.MIN_VALUE;
+      }
+      final int hours = number(text, position + 1, 2);
+      final int minutes = number(text, position + 4, 2);
+      int seconds = 0;
+      if (length == position + 9)
+      {
+         if (text.charAt(position + 6) != ':')
+         {
+            return Integer.MIN_VALUE;
+         }
+         seconds = number(text, position + 7, 2);
+      }
+      if (hours < 0 || minutes < 0 || minutes > 59 || seconds < 0 || seconds > 59)
+      {
+         return Integer.MIN_VALUE;
+      }
+      final int total = hours * 3600 + minutes * 60 + seconds;
+      if (total > MAX_OFFSET)
+      {
+         return Integer.MIN_VALUE;
+      }
+      return sign == '-' ? -total : total;
+   }
+
+   /**
+    * @return value of the ASCII digits or -1 when there is a non-digit
+    */
+   private static int number(final CharSequence text, final int start, final int count)
+   {
+      if (start + count > text.length())
+      {
+         return -1;
+      }
+      int value = 0;
+      for (int position = start; position < start + count; position++)
+      {
+         final char c = text.charAt(position);
+         if (!isDigit(c))
+         {
+            return -1;
+         }
+         value = value * 10 + (c - '0');
+      }
+      return value;
+   }
+
+   private static boolean isDigit(final char c)
+   {
+      return c >= '0' && c <= '9';
+   }
+
+   /**
+    * Same as {@code ZonedDateTime.plus(units.offsetBy(amount)).toString()}
+    *
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   String plus(final int amount, final DateAndTimeOffsetFunctionImpl units)
+   {
+      final byte[] buffer = new byte[IsoDateTimeFormatter.maxLength(getZone())];
+      return IsoDateTimeFormatter.toString(buffer, plus(amount, units, buffer));
+   }
+
+   /**
+    * Writes {@code ZonedDateTime.plus(units.offsetBy(amount)).toString()} into the buffer, which must have room for
+    * {@link IsoDateTimeFormatter#maxLength(ZoneId)} bytes of the zone
+    *
+    * @return number of bytes written
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   int plus(final int amount, final DateAndTimeOffsetFunctionImpl units, final byte[] buffer)
+   {
+      final int length = plusUnits(amount, units, buffer);
+      if (length == NOT_COVERED)
+      {
+         return IsoDateTimeFormatter.format(toZonedDateTime().plus(units.offsetBy(amount)), buffer);
+      }
+      return length;
+   }
+
+   private int plusUnits(final int amount, final DateAndTimeOffsetFunctionImpl units, final byte[] buffer)
+   {
+      switch (units.getUnit())
+      {
+         case NANOS:
+            return plus(0, 0, Math.floorDiv(amount, NANOS_PER_SECOND), (int) Math.floorMod(amount, NANOS_PER_SECOND),
+                    buffer);
+         case MILLIS:
+            return plus(0, 0, Math.floorDiv(amount, 1000), Math.floorMod(amount, 1000) * 1_000_000, buffer);
+         case SECONDS:
+            return plus(0, 0, amount, 0, buffer);
+         case MINUTES:
+            return plus(0, 0, amount * 60L, 0, buffer);
+         case HOURS:
+            return plus(0, 0, amount * 3600L, 0, buffer);
+         case DAYS:
+            return plus(0, amount, 0, 0, buffer);
+         case WEEKS:
+            // Period.ofWeeks
+            return plus(0, Math.multiplyExact(amount, 7), 0, 0, buffer);
+         case MONTHS:
+            return plus(amount, 0, 0, 0, buffer);
+         case YEARS:
+            return plus(amount * 12L, 0, 0, 0, buffer);
+         default:
+            return NOT_COVERED;
+      }
+   }
+
+   /**
+    * Writes {@code units.addTo(ZonedDateTime, amount, calendar).toString()} into the buffer, which must have room
+    * for {@link IsoDateTimeFormatter#maxLength(ZoneId)} bytes of the zone
+    *
+    * @return number of bytes written
+    * @throws DateTimeException   when the result leaves the years of the calendar
+    * @throws ArithmeticException on numeric overflow
+    */
+   int plus(final int amount, final BusinessUnits units, final BusinessCalendar calendar, final byte[] buffer)
+   {
+      final int offsetSeconds = offset.getTotalSeconds();
+      final long localSecond = epochSecond + offsetSeconds;
+      final int resultNano = units.nano(calendar, localSecond, nano, amount);
+      final long resultSecond = resolve(units.plus(calendar, localSecond, resultNano, amount), offsetSeconds, table);
+      final ZoneOffset resultOffset = resultSecond == ZoneOffsetTable.NOT_COVERED ? null
+              : offsetAt(resultSecond, offset, table);
+      if (resultOffset == null)
+      {
+         return IsoDateTimeFormatter.format(units.addTo(toZonedDateTime(), amount, calendar), buffer);
+      }
+      return format(resultSecond, resultNano, resultOffset, table, buffer);
+   }
+
+   /**
+    * Same as {@code ZonedDateTime.plus(period).toString()}
+    *
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   String plus(final IsoPeriod period)
+   {
+      final byte[] buffer = new byte[IsoDateTimeFormatter.maxLength(getZone())];
+      return IsoDateTimeFormatter.toString(buffer, plus(period, buffer));
+   }
+
+   /**
+    * Writes {@code ZonedDateTime.plus(period).toString()} into the buffer, which must have room for
+    * {@link IsoDateTimeFormatter#maxLength(ZoneId)} bytes of the zone
+    *
+    * @return number of bytes written
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   int plus(final IsoPeriod period, final byte[] buffer)
+   {
+      final int length = plus(period.toTotalMonths(), period.getDays(), period.getSeconds(), period.getNanos(), buffer);
+      if (length == NOT_COVERED)
+      {
+         return IsoDateTimeFormatter.format((ZonedDateTime) period.addTo(toZonedDateTime()), buffer);
+      }
+      return length;
+   }
+
+   /**
+    * Same as {@code expression.applyTo(ZonedDateTime).toString()}
+    *
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   String plus(final OffsetExpression expression)
+   {
+      final byte[] buffer = new byte[IsoDateTimeFormatter.maxLength(getZone())];
+      return IsoDateTimeFormatter.toString(buffer, plus(expression, buffer));
+   }
+
+   /**
+    * Writes {@code expression.applyTo(ZonedDateTime).toString()} into the buffer, which must have room for
+    * {@link IsoDateTimeFormatter#maxLength(ZoneId)} bytes of the zone
+    *
+    * @return number of bytes written
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   int plus(final OffsetExpression expression, final byte[] buffer)
+   {
+      final int length = expression.applyTo(this, buffer);
+      if (length == NOT_COVERED)
+      {
+         return IsoDateTimeFormatter.format(expression.applyTo(toZonedDateTime()), buffer);
+      }
+      return length;
+   }
+
+   /**
+    * The date part is added to the local date, the time part to the instant
+    *
+    * @return number of bytes written or {@link #NOT_COVERED} when the zone's table does not cover the result
+    */
+   private int plus(final long months, final long days, final long seconds, final int nanos, final byte[] buffer)
+   {
+      final long datedSecond = plusDatePart(months, days);
+      return datedSecond == ZoneOffsetTable.NOT_COVERED ? NOT_COVERED
+              : plusTimePart(datedSecond, seconds, nanos, buffer);
+   }
+
+   /**
+    * Adds the months and then the days to the local date and resolves it against the zone, keeping the offset where
+    * it is valid
+    *
+    * @return epoch second or {@link ZoneOffsetTable#NOT_COVERED} when the zone's table does not cover the result
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   long plusDatePart(final long months, final long days)
+   {
+      if (months == 0 && days == 0)
+      {
+         return epochSecond;
+      }
+      final int offsetSeconds = offset.getTotalSeconds();
+      return resolve(plusDate(epochSecond + offsetSeconds, months, days), offsetSeconds, table);
+   }
+
+   /**
+    * Adds the seconds and nanos to the instant of {@link #plusDatePart(long, long)} and writes the result into the
+    * buffer
+    *
+    * @param datedSecond epoch second with the date part added
+    * @return number of bytes written or {@link #NOT_COVERED} when the zone's table does not cover the result
+    * @throws DateTimeException   when the result leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   int plusTimePart(final long datedSecond, final long seconds, final int nanos, final byte[] buffer)
+   {
+      final long nanoSum = (long) nano + nanos;
+      final long resultSecond = Math.addExact(Math.addExact(datedSecond, seconds), nanoSum / NANOS_PER_SECOND);
+      final ZoneOffset resultOffset = offsetAt(resultSecond, offset, table);
+      if (resultOffset == null)
+      {
+         return NOT_COVERED;
+      }
+      return format(resultSecond, (int) (nanoSum % NANOS_PER_SECOND), resultOffset, table, buffer);
+   }
+
+   /**
+    * Same steps on a {@link ZonedDateTime}: the date part resolved once against the zone rules, the time part
+    * added to the instant
+    */
+   static ZonedDateTime plus(final ZonedDateTime dateTime, final long months, final long days, final long seconds,
+           final int nanos)
+   {
+      ZonedDateTime result = dateTime;
+      if (months != 0 || days != 0)
+      {
+         result = ZonedDateTime.ofLocal(result.toLocalDateTime().plusMonths(months).plusDays(days),
+                 result.getZone(), result.getOffset());
+      }
+      return result.plusSeconds(seconds).plusNanos(nanos);
+   }
+
+   /**
+    * Decomposes {@code units.offsetBy(amount)} into the date part (months, days) and the time part (seconds, nanos)
+    * at the index of the arrays
+    *
+    * @return false when the amount of weeks overflows, like {@link java.time.Period#ofWeeks(int)}
+    */
+   static boolean decompose(final int amount, final DateAndTimeOffsetFunctionImpl units, final int index,
+           final long[] months, final long[] days, final long[] seconds, final int[] nanos)
+   {
+      months[index] = 0;
+      days[index] = 0;
+      seconds[index] = 0;
+      nanos[index] = 0;
+      switch (units.getUnit())
+      {
+         case NANOS:
+            seconds[index] = Math.floorDiv(amount, NANOS_PER_SECOND);
+            nanos[index] = (int) Math.floorMod(amount, NANOS_PER_SECOND);
+            return true;
+         case MILLIS:
+            seconds[index] = Math.floorDiv(amount, 1000);
+            nanos[index] = Math.floorMod(amount, 1000) * 1_000_000;
+            return true;
+         case SECONDS:
+            seconds[index] = amount;
+            return true;
+         case MINUTES:
+            seconds[index] = amount * 60L;
+            return true;
+         case HOURS:
+            seconds[index] = amount * 3600L;
+            return true;
+         case DAYS:
+            days[index] = amount;
+            return true;
+         case WEEKS:
+            days[index] = amount * 7L;
+            return days[index] == (int) days[index];
+         case MONTHS:
+            months[index] = amount;
+            return true;
+         case YEARS:
+            months[index] = amount * 12L;
+            return true;
+         default:
+            return false;
+      }
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @return local date and time with the months and then the days added to its date, month-end clamped
+    */
+   static long plusDate(final long localSecond, final long months, final long days)
+   {
+      final long epochDay = EpochDays.plusDays(
+              EpochDays.plusMonths(Math.floorDiv(localSecond, EpochDays.SECONDS_PER_DAY), months), days);
+      return epochDay * EpochDays.SECONDS_PER_DAY + Math.floorMod(localSecond, EpochDays.SECONDS_PER_DAY);
+   }
+
+   /**
+    * Same as {@code ZonedDateTime.ofLocal(localDateTime, zone, preferredOffset).toEpochSecond()}
+    *
+    * @param table zone's transitions, null for the fixed offset
+    * @return epoch second or {@link ZoneOffsetTable#NOT_COVERED}
+    */
+   static long resolve(final long localSecond, final int offsetSeconds, final ZoneOffsetTable table)
+   {
+      return table == null ? localSecond - offsetSeconds : table.toEpochSecond(localSecond, offsetSeconds);
+   }
+
+   /**
+    * @param table zone's transitions, null for the fixed offset
+    * @return offset at the instant or null when the table does not cover it
+    */
+   static ZoneOffset offsetAt(final long epochSecond, final ZoneOffset offset, final ZoneOffsetTable table)
+   {
+      if (table == null)
+      {
+         return offset;
+      }
+      final int index = table.offsetIndexAt(epochSecond);
+      return index < 0 ? null : table.offset(index);
+   }
+
+   /**
+    * Checks the range and writes the date and time, followed by the region zone when there is a table
+    *
+    * @return number of bytes written
+    * @throws DateTimeException when the date leaves the supported range
+    */
+   static int format(final long epochSecond, final int nano, final ZoneOffset offset, final ZoneOffsetTable table,
+           final byte[] buffer)
+   {
+      EpochDays.checkEpochDay(Math.floorDiv(Math.addExact(epochSecond, offset.getTotalSeconds()),
+              EpochDays.SECONDS_PER_DAY));
+      final int length = IsoDateTimeFormatter.format(epochSecond, nano, offset, buffer);
+      return table == null ? length : IsoDateTimeFormatter.appendZone(table.getZone(), buffer, length);
+   }
+
+   ZonedDateTime toZonedDateTime()
+   {
+      return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), getZone());
+   }
+
+   long getEpochSecond()
+   {
+      return epochSecond;
+   }
+
+   int getNano()
+   {
+      return nano;
+   }
+
+   ZoneOffset getOffset()
+   {
+      return offset;
+   }
+
+   /**
+    * @return transitions of the region zone, null for a fixed offset
+    */
+   ZoneOffsetTable getTable()
+   {
+      return table;
+   }
+
+   /**
+    * @return region zone or the offset
+    */
+   ZoneId getZone()
+   {
+      return table == null ? offset : table.getZone();
+   }
+
+   @Override
+   public String toString()
+   {
+      if (table == null)
+      {
+         return IsoDateTimeFormatter.format(epochSecond, nano, offset);
+      }
+      final byte[] buffer = new byte[IsoDateTimeFormatter.maxLength(table.getZone())];
+      return IsoDateTimeFormatter.toString(buffer, IsoDateTimeFormatter.appendZone(table.getZone(), buffer,
+              IsoDateTimeFormatter.format(epochSecond, nano, offset, buffer)));
+   }
+
+}
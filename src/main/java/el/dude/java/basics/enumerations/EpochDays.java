@@ -0,0 +1,160 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Proleptic ISO calendar arithmetic on epoch days (days since 1970-01-01) with primitives only.
+ * <p>
+ * A date is handed around as one packed {@code long}: {@code year << 9 | month << 5 | day}, decoded by
+ * {@link #year(long)}, {@link #month(long)} and {@link #day(long)}.
+ *
+ * @see <a href="https://howardhinnant.github.io/date_algorithms.html">chrono-Compatible Low-Level Date Algorithms</a>
+ */
+final class EpochDays
+{
+
+   static final long SECONDS_PER_DAY = 86_400L;
+   static final long MILLIS_PER_DAY  = SECONDS_PER_DAY * 1_000L;
+
+   static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+   static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+   /**
+    * Days of a 400 years cycle
+    */
+   private static final long DAYS_PER_ERA = 146_097L;
+
+   /**
+    * Days from 0000-03-01 to 1970-01-01
+    */
+   private static final long DAYS_0000_TO_1970 = 719_468L;
+
+   private EpochDays()
+   {
+   }
+
+   /**
+    * @return epoch day of the given date, not validated
+    */
+   static long of(final long year, final int month, final int day)
+   {
+      final long y = month <= 2 ? year - 1 : year;
+      final long era = Math.floorDiv(y, 400);
+      final long yearOfEra = y - era * 400;
+      final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+      final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+      return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+   }
+
+   /**
+    * @return packed year, month and day of the epoch day
+    */
+   static long toDate(final long epochDay)
+   {
+      final long z = epochDay + DAYS_0000_TO_1970;
+      final long era = Math.floorDiv(z, DAYS_PER_ERA);
+      final long dayOfEra = z - era * DAYS_PER_ERA;
+      final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+      final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+      final long shiftedMonth = (5 * dayOfYear + 2) / 153;
+      final long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+      final long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+      final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+      return year << 9 | month << 5 | day;
+   }
+
+   static long year(final long date)
+   {
+      return date >> 9;
+   }
+
+   static int month(final long date)
+   {
+      return (int) (date >> 5) & 0xF;
+   }
+
+   static int day(final long date)
+   {
+      return (int) date & 0x1F;
+   }
+
+   static int lengthOfMonth(final long year, final int month)
+   {
+      switch (month)
+      {
+         case 2:
+            return Year.isLeap(year) ? 29 : 28;
+         case 4:
+         case 6:
+         case 9:
+         case 11:
+            return 30;
+         default:
+            return 31;
+      }
+   }
+
+   /**
+    * Same as {@link LocalDate#plusMonths(long)}: the day of month is clamped to the last valid day, e.g.
+    * January 31st plus one month is February 28th (or 29th).
+    *
+    * @throws DateTimeException   when the year leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   static long plusMonths(final long epochDay, final long months)
+   {
+      if (months == 0)
+      {
+         return epochDay;
+      }
+      final long date = toDate(epochDay);
+      final long monthCount = year(date) * 12 + (month(date) - 1);
+      final long calculatedMonths = Math.addExact(monthCount, months);
+      final long year = Math.floorDiv(calculatedMonths, 12);
+      if (year < Year.MIN_VALUE || year > Year.MAX_VALUE)
+      {
+         throw new DateTimeException("Invalid value for Year: " + year);
+      }
+      final int month = Math.floorMod(calculatedMonths, 12) + 1;
+      return of(year, month, Math.min(day(date), lengthOfMonth(year, month)));
+   }
+
+   /**
+    * Same as {@link LocalDate#plusDays(long)}
+    *
+    * @throws DateTimeException   when the date leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   static long plusDays(final long epochDay, final long days)
+   {
+      return checkEpochDay(Math.addExact(epochDay, days));
+   }
+
+   /**
+    * Same as {@link LocalDate#until(java.time.chrono.ChronoLocalDate, java.time.temporal.TemporalUnit)} in months:
+    * the whole months from the one epoch day to the other, truncated towards zero
+    */
+   static long monthsBetween(final long fromEpochDay, final long toEpochDay)
+   {
+      final long from = toDate(fromEpochDay);
+      final long to = toDate(toEpochDay);
+      // day of month in the low 5 bits, a month not reached yet rounds towards zero
+      final long fromMonths = (year(from) * 12 + month(from) - 1) * 32 + day(from);
+      final long toMonths = (year(to) * 12 + month(to) - 1) * 32 + day(to);
+      return (toMonths - fromMonths) / 32;
+   }
+
+   static long checkEpochDay(final long epochDay)
+   {
+      if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY)
+      {
+         throw new DateTimeException("Invalid value for EpochDay: " + epochDay);
+      }
+      return epochDay;
+   }
+
+}
@@ -0,0 +1,468 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Acts on computed lifespans: objects are registered with their expiry, typically the result of
+ * {@link DateAndTimeCalculation#offsetBy(String)}, and handed to the listener in batches once expired.
+ * <p>
+ * Pending expirations are kept in a hierarchical timing wheel: 11 levels of 64 slots, level {@code n} slots span
+ * {@code 64^n} ticks. An expiry goes to the level of the highest 6 bit group in which its tick differs from the current
+ * tick and is moved down a level whenever the wheel reaches the start of its slot, so it always fires on its own tick:
+ * never before the expiry, at most one tick after. Registration and cancellation are O(1), advancing the wheel skips
+ * empty slots with one occupancy bitmap per level.
+ * <p>
+ * Entries are kept in parallel primitive arrays linked by index, about 26 bytes per pending expiration plus the
+ * object itself, no per entry objects. The arrays grow with the number of pending expirations and are reused.
+ * <p>
+ * The wheel is advanced either by {@link #start()} (a daemon thread ticking on the clock) or explicitly by
+ * {@link #advanceTo(long)}. The listener is called outside the wheel's lock, in the advancing thread; registering
+ * and cancelling from the listener is fine.
+ *
+ * @param <T> registered objects
+ */
+public final class ExpiryScheduler<T> implements AutoCloseable
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(ExpiryScheduler.class);
+
+   /**
+    * Returned when nothing was registered, never a valid handle
+    */
+   public static final long NO_HANDLE = 0L;
+
+   public static final long DEFAULT_TICK_MILLIS = 10L;
+   public static final int  DEFAULT_BATCH_SIZE  = 1024;
+
+   private static final int SLOT_BITS = 6;
+   private static final int SLOTS     = 1 << SLOT_BITS;
+   private static final int SLOT_MASK = SLOTS - 1;
+   private static final int LEVELS    = (Long.SIZE + SLOT_BITS - 1) / SLOT_BITS;
+
+   /**
+    * Bucket of the expirations due at the next advance
+    */
+   private static final short DUE  = LEVELS * SLOTS;
+   private static final short FREE = -1;
+   private static final int   NIL  = -1;
+
+   private final long                     tickMillis;
+   private final int                      batchSize;
+   private final Consumer<List<T>>        listener;
+   private final Clock                    clock;
+   private final Object                   lock     = new Object();
+   private final int[]                    heads    = new int[DUE + 1];
+   private final long[]                   occupied = new long[LEVELS];
+   private       ScheduledExecutorService driver;
+
+   // entries, indexed by the lower 32 bits of the handle
+   private long[]   deadlines   = new long[0];
+   private int[]    next        = new int[0];
+   private int[]    previous    = new int[0];
+   private int[]    generations = new int[0];
+   private short[]  buckets     = new short[0];
+   private Object[] objects     = new Object[0];
+
+   private int  freeList = NIL;
+   private int  used;
+   private int  size;
+   private long currentTick;
+
+   /**
+    * System clock, {@link #DEFAULT_TICK_MILLIS} ticks and batches of up to {@link #DEFAULT_BATCH_SIZE} objects
+    *
+    * @param listener receives the expired objects
+    */
+   public ExpiryScheduler(final Consumer<List<T>> listener)
+   {
+      this(DEFAULT_TICK_MILLIS, DEFAULT_BATCH_SIZE, listener, Clock.systemUTC());
+   }
+
+   /**
+    * @param tickMillis resolution in milliseconds, objects expire at most this late
+    * @param batchSize  maximum number of objects per listener call
+    * @param listener   receives the expired objects
+    * @param clock      time source of {@link #start()} and the initial position of the wheel
+    */
+   public ExpiryScheduler(final long tickMillis, final int batchSize, final Consumer<List<T>> listener,
+           final Clock clock)
+   {
+      if (tickMillis < 1 || batchSize < 1)
+      {
+         throw new IllegalArgumentException(
+                 "tickMillis and batchSize must be positive: " + tickMillis + ", " + batchSize);
+      }
+      this.tickMillis = tickMillis;
+      this.batchSize = batchSize;
+      this.listener = listener;
+      this.clock = clock;
+      this.currentTick = Math.max(0, Math.floorDiv(clock.millis(), tickMillis));
+      Arrays.fill(heads, NIL);
+   }
+
+   /**
+    * @param object     to expire
+    * @param expiryTime ISO date and time, e.g. the result of {@link DateAndTimeCalculation#offsetBy(int, String)}
+    * @return handle for {@link #cancel(long)} or {@link #NO_HANDLE} when the expiry time cannot be parsed
+    */
+   public long schedule(final T object, final String expiryTime)
+   {
+      try
+      {
+         return schedule(object, epochMillis(expiryTime));
+      }
+      catch (final DateTimeParseException e)
+      {
+         logger.error("\"{}\" is not a ISO 8601 formatted date and time: {}", expiryTime, e.getMessage());
+      }
+      return NO_HANDLE;
+   }
+
+   /**
+    * Registers the object with the expiry {@code from.offsetBy(amount, units)}
+    *
+    * @return handle for {@link #cancel(long)} or {@link #NO_HANDLE} when the offset cannot be applied
+    */
+   public long schedule(final T object, final DateAndTimeCalculation from, final int amount, final String units)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(from.getMaxLength());
+      final int length = from.offsetBy(amount, units, buffer);
+      return length < 0 ? NO_HANDLE : schedule(object, IsoDateTimeFormatter.toString(buffer, length));
+   }
+
+   /**
+    * Registers the object with the expiry {@code from.offsetBy(period)}
+    *
+    * @return handle for {@link #cancel(long)} or {@link #NO_HANDLE} when the period cannot be applied
+    */
+   public long schedule(final T object, final DateAndTimeCalculation from, final String period)
+   {
+      final byte[] buffer = IsoDateTimeFormatter.scratch(from.getMaxLength());
+      final int length = from.offsetBy(period, buffer);
+      return length < 0 ? NO_HANDLE : schedule(object, IsoDateTimeFormatter.toString(buffer, length));
+   }
+
+   /**
+    * @param object            to expire
+    * @param expiryEpochMillis milliseconds since the epoch, objects already expired go out with the next advance
+    * @return handle for {@link #cancel(long)}
+    */
+   public long schedule(final T object, final long expiryEpochMillis)
+   {
+      // rounded up: never expire early
+      final long tick = Math.floorDiv(expiryEpochMillis, tickMillis)
+              + (Math.floorMod(expiryEpochMillis, tickMillis) == 0 ? 0 : 1);
+      synchronized (lock)
+      {
+         final int index = allocate();
+         deadlines[index] = tick;
+         objects[index] = object;
+         size++;
+         insert(index);
+         return (long) generations[index] << 32 | index;
+      }
+   }
+
+   /**
+    * @return true when the object was pending and is now removed, false when it already expired or was cancelled
+    */
+   public boolean cancel(final long handle)
+   {
+      final int index = (int) handle;
+      final int generation = (int) (handle >>> 32);
+      synchronized (lock)
+      {
+         if (index < 0 || index >= used || generations[index] != generation || buckets[index] == FREE)
+         {
+            return false;
+         }
+         unlink(index);
+         release(index);
+         return true;
+      }
+   }
+
+   /**
+    * Moves the wheel to the given time and hands all objects expired until then to the listener
+    *
+    * @param epochMillis current time, an earlier time than the previous one only hands out objects registered as
+    *                    already expired
+    * @return number of expired objects
+    */
+   public int advanceTo(final long epochMillis)
+   {
+      final List<T> expired = new ArrayList<>();
+      synchronized (lock)
+      {
+         final long target = Math.floorDiv(epochMillis, tickMillis);
+         expire(DUE, expired);
+         while (currentTick < target)
+         {
+            final long event = nextEvent();
+            if (event > target)
+            {
+               currentTick = target;
+               break;
+            }
+            currentTick = event;
+            // higher levels first, their expirations may move down to a slot of this very tick
+            for (int level = LEVELS - 1; level > 0; level--)
+            {
+               final int shift = level * SLOT_BITS;
+               if ((event & ((1L << shift) - 1)) == 0)
+               {
+                  cascade(level * SLOTS + (int) (event >>> shift & SLOT_MASK));
+               }
+            }
+            expire((int) (event & SLOT_MASK), expired);
+            expire(DUE, expired);
+         }
+      }
+      for (int from = 0; from < expired.size(); from += batchSize)
+      {
+         try
+         {
+            listener.accept(expired.subList(from, Math.min(expired.size(), from + batchSize)));
+         }
+         catch (final RuntimeException e)
+         {
+            logger.error("Expiry listener failed: {}", e.getMessage(), e);
+         }
+      }
+      return expired.size();
+   }
+
+   /**
+    * Starts a daemon thread advancing the wheel on the clock every tick
+    */
+   public synchronized void start()
+   {
+      if (driver == null)
+      {
+         driver = Executors.newSingleThreadScheduledExecutor(runnable ->
+         {
+            final Thread thread = new Thread(runnable, "expiry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+         });
+         driver.scheduleAtFixedRate(() -> advanceTo(clock.millis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   /**
+    * Stops the thread started by {@link #start()}, pending expirations are kept
+    */
+   @Override
+   public synchronized void close()
+   {
+      if (driver != null)
+      {
+         driver.shutdownNow();
+         driver = null;
+      }
+   }
+
+   /**
+    * @return number of pending expirations
+    */
+   public int size()
+   {
+      synchronized (lock)
+      {
+         return size;
+      }
+   }
+
+   public long getTickMillis()
+   {
+      return tickMillis;
+   }
+
+   /**
+    * Milliseconds since the epoch rounded up, fixed offsets without {@link ZonedDateTime}
+    */
+   private static long epochMillis(final String dateAndTime)
+   {
+      final EpochDateTime epochDateTime = EpochDateTime.parse(dateAndTime);
+      final long epochSecond;
+      final int nano;
+      if (epochDateTime != null)
+      {
+         epochSecond = epochDateTime.getEpochSecond();
+         nano = epochDateTime.getNano();
+      }
+      else
+      {
+         final ZonedDateTime parsed = ZonedDateTime.parse(dateAndTime);
+         epochSecond = parsed.toEpochSecond();
+         nano = parsed.getNano();
+      }
+      return epochSecond * 1000 + (nano + 999_999) / 1_000_000;
+   }
+
+   /**
+    * Puts the entry into the bucket for its deadline relative to the current tick
+    */
+   private void insert(final int index)
+   {
+      final long deadline = deadlines[index];
+      if (deadline <= currentTick)
+      {
+         link(index, DUE);
+         return;
+      }
+      final int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(deadline ^ currentTick)) / SLOT_BITS;
+      final int slot = (int) (deadline >>> (level * SLOT_BITS) & SLOT_MASK);
+      link(index, level * SLOTS + slot);
+      occupied[level] |= 1L << slot;
+   }
+
+   /**
+    * @return first tick after the current one at which a slot expires or cascades
+    */
+   private long nextEvent()
+   {
+      long event = Long.MAX_VALUE;
+      for (int level = 0; level < LEVELS; level++)
+      {
+         final int shift = level * SLOT_BITS;
+         final int digit = (int) (currentTick >>> shift & SLOT_MASK);
+         final long later = occupied[level] & (-2L << digit);
+         if (later == 0)
+         {
+            continue;
+         }
+         final int upperShift = shift + SLOT_BITS;
+         final long upper = upperShift >= Long.SIZE ? 0 : currentTick >>> upperShift << upperShift;
+         event = Math.min(event, upper | (long) Long.numberOfTrailingZeros(later) << shift);
+      }
+      return event;
+   }
+
+   /**
+    * Re-inserts the entries of a higher level slot relative to the current tick
+    */
+   private void cascade(final int bucket)
+   {
+      int index = detach(bucket);
+      while (index != NIL)
+      {
+         final int following = next[index];
+         insert(index);
+         index = following;
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private void expire(final int bucket, final List<T> expired)
+   {
+      int index = detach(bucket);
+      while (index != NIL)
+      {
+         final int following = next[index];
+         expired.add((T) objects[index]);
+         release(index);
+         index = following;
+      }
+   }
+
+   /**
+    * Empties the bucket
+    *
+    * @return first entry of the detached list
+    */
+   private int detach(final int bucket)
+   {
+      final int first = heads[bucket];
+      heads[bucket] = NIL;
+      if (bucket != DUE)
+      {
+         occupied[bucket / SLOTS] &= ~(1L << (bucket % SLOTS));
+      }
+      return first;
+   }
+
+   private void link(final int index, final int bucket)
+   {
+      final int head = heads[bucket];
+      next[index] = head;
+      previous[index] = NIL;
+      if (head != NIL)
+      {
+         previous[head] = index;
+      }
+      heads[bucket] = index;
+      buckets[index] = (short) bucket;
+   }
+
+   private void unlink(final int index)
+   {
+      final int bucket = buckets[index];
+      if (previous[index] != NIL)
+      {
+         next[previous[index]] = next[index];
+      }
+      else
+      {
+         heads[bucket] = next[index];
+         if (next[index] == NIL && bucket != DUE)
+         {
+            occupied[bucket / SLOTS] &= ~(1L << (bucket % SLOTS));
+         }
+      }
+      if (next[index] != NIL)
+      {
+         previous[next[index]] = previous[index];
+      }
+   }
+
+   private int allocate()
+   {
+      if (freeList != NIL)
+      {
+         final int index = freeList;
+         freeList = next[index];
+         return index;
+      }
+      if (used == deadlines.length)
+      {
+         final int capacity = Math.max(1024, used * 2);
+         deadlines = Arrays.copyOf(deadlines, capacity);
+         next = Arrays.copyOf(next, capacity);
+         previous = Arrays.copyOf(previous, capacity);
+         generations = Arrays.copyOf(generations, capacity);
+         buckets = Arrays.copyOf(buckets, capacity);
+         objects = Arrays.copyOf(objects, capacity);
+      }
+      generations[used] = 1;
+      return used++;
+   }
+
+   /**
+    * Frees the entry, handles of it become invalid
+    */
+   private void release(final int index)
+   {
+      objects[index] = null;
+      buckets[index] = FREE;
+      generations[index] = generations[index] == Integer.MAX_VALUE ? 1 : generations[index] + 1;
+      next[index] = freeList;
+      freeList = index;
+      size--;
+   }
+
+}
@@ -0,0 +1,272 @@
+package el.dude.java.basics.enumerations;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Formats an epoch second, nano of second and offset exactly like {@link ZonedDateTime#toString()} does for a
+ * zoned date and time whose zone is a {@link ZoneOffset}, e.g.
+ * <pre>
+ *    2022-02-02T12:34Z
+ *    2022-02-02T12:34:56.789+01:00
+ *    +10000-01-01T00:00:00.000000001-05:30
+ * </pre>
+ * Seconds are left out when both seconds and nanos are zero, the fraction is written in groups of 3 digits. A
+ * region zone is appended in brackets, e.g. "2022-02-02T12:34+01:00[Europe/Zurich]".
+ * <p>
+ * The characters are written as ASCII bytes into a buffer, usually the per thread {@link #scratch(int) scratch
+ * buffer}, and copied from there into the caller's sink ({@link StringBuilder}, {@code char[]} or
+ * {@link ByteBuffer}) without intermediate strings.
+ */
+final class IsoDateTimeFormatter
+{
+
+   /**
+    * Longest possible result: "+999999999-12-31T23:59:59.999999999+18:00:00"
+    */
+   static final int MAX_LENGTH = 46;
+
+   /**
+    * Large enough for any fixed offset and the region zones of the time zone database
+    */
+   private static final int SCRATCH_LENGTH = 128;
+
+   private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_LENGTH]);
+
+   private IsoDateTimeFormatter()
+   {
+   }
+
+   /**
+    * @return longest possible result for a date and time in the given zone
+    */
+   static int maxLength(final ZoneId zone)
+   {
+      return zone instanceof ZoneOffset ? MAX_LENGTH : MAX_LENGTH + zone.getId().length() + 2;
+   }
+
+   /**
+    * @param length minimum number of bytes, see {@link #maxLength(ZoneId)}
+    * @return buffer reused by the calling thread, or a new one when the length exceeds the reused one
+    */
+   static byte[] scratch(final int length)
+   {
+      return length <= SCRATCH_LENGTH ? SCRATCH.get() : new byte[length];
+   }
+
+   /**
+    * @return ISO date and time, same as {@code dateTime.toString()}
+    */
+   static String format(final ZonedDateTime dateTime)
+   {
+      final byte[] buffer = new byte[maxLength(dateTime.getZone())];
+      return toString(buffer, format(dateTime, buffer));
+   }
+
+   /**
+    * @return ISO date and time, same as {@code ZonedDateTime.toString()}
+    */
+   static String format(final long epochSecond, final int nano, final ZoneOffset offset)
+   {
+      final byte[] buffer = new byte[MAX_LENGTH];
+      return toString(buffer, format(epochSecond, nano, offset, buffer));
+   }
+
+   /**
+    * Writes the ASCII characters into the buffer, which must have room for {@link #maxLength(ZoneId)} bytes of the
+    * date and time's zone
+    *
+    * @return number of bytes written
+    */
+   static int format(final ZonedDateTime dateTime, final byte[] buffer)
+   {
+      final int position = format(dateTime.toEpochSecond(), dateTime.getNano(), dateTime.getOffset(), buffer);
+      final ZoneId zone = dateTime.getZone();
+      return zone instanceof ZoneOffset ? position : appendZone(zone, buffer, position);
+   }
+
+   /**
+    * Writes the region zone in brackets at the position
+    *
+    * @return position after the closing bracket
+    */
+   static int appendZone(final ZoneId zone, final byte[] buffer, final int position)
+   {
+      final String id = zone.getId();
+      int next = position;
+      buffer[next++] = '[';
+      for (int i = 0; i < id.length(); i++)
+      {
+         buffer[next++] = (byte) id.charAt(i);
+      }
+      buffer[next++] = ']';
+      return next;
+   }
+
+   /**
+    * Writes the ASCII characters into the buffer, which must have room for {@link #MAX_LENGTH} bytes
+    *
+    * @return number of bytes written
+    */
+   static int format(final long epochSecond, final int nano, final ZoneOffset offset, final byte[] buffer)
+   {
+      final long local = epochSecond + offset.getTotalSeconds();
+      final long date = EpochDays.toDate(Math.floorDiv(local, EpochDays.SECONDS_PER_DAY));
+      final int secondOfDay = (int) Math.floorMod(local, EpochDays.SECONDS_PER_DAY);
+      int position = 0;
+
+      // date, see LocalDate.toString()
+      final long year = EpochDays.year(date);
+      if (Math.abs(year) < 1000)
+      {
+         if (year < 0)
+         {
+            buffer[position++] = '-';
+         }
+         position = digits(Math.abs(year), 4, buffer, position);
+      }
+      else
+      {
+         if (year > 9999)
+         {
+            buffer[position++] = '+';
+         }
+         else if (year < 0)
+         {
+            buffer[position++] = '-';
+         }
+         position = digits(Math.abs(year), digitCount(Math.abs(year)), buffer, position);
+      }
+      buffer[position++] = '-';
+      position = digits(EpochDays.month(date), 2, buffer, position);
+      buffer[position++] = '-';
+      position = digits(EpochDays.day(date), 2, buffer, position);
+
+      // time, see LocalTime.toString()
+      buffer[position++] = 'T';
+      position = digits(secondOfDay / 3600, 2, buffer, position);
+      buffer[position++] = ':';
+      position = digits(secondOfDay / 60 % 60, 2, buffer, position);
+      final int second = secondOfDay % 60;
+      if (second > 0 || nano > 0)
+      {
+         buffer[position++] = ':';
+         position = digits(second, 2, buffer, position);
+         if (nano > 0)
+         {
+            buffer[position++] = '.';
+            if (nano % 1_000_000 == 0)
+            {
+               position = digits(nano / 1_000_000, 3, buffer, position);
+            }
+            else if (nano % 1_000 == 0)
+            {
+               position = digits(nano / 1_000, 6, buffer, position);
+            }
+            else
+            {
+               position = digits(nano, 9, buffer, position);
+            }
+         }
+      }
+
+      // offset, see ZoneOffset.getId()
+      final int totalSeconds = offset.getTotalSeconds();
+      if (totalSeconds == 0)
+      {
+         buffer[position++] = 'Z';
+      }
+      else
+      {
+         final int absoluteSeconds = Math.abs(totalSeconds);
+         buffer[position++] = (byte) (totalSeconds < 0 ? '-' : '+');
+         position = digits(absoluteSeconds / 3600, 2, buffer, position);
+         buffer[position++] = ':';
+         position = digits(absoluteSeconds / 60 % 60, 2, buffer, position);
+         if (absoluteSeconds % 60 != 0)
+         {
+            buffer[position++] = ':';
+            position = digits(absoluteSeconds % 60, 2, buffer, position);
+         }
+      }
+      return position;
+   }
+
+   static String toString(final byte[] buffer, final int length)
+   {
+      return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+   }
+
+   /**
+    * Appends the first {@code length} bytes of the buffer as characters
+    */
+   static StringBuilder appendTo(final byte[] buffer, final int length, final StringBuilder sink)
+   {
+      sink.ensureCapacity(sink.length() + length);
+      for (int i = 0; i < length; i++)
+      {
+         sink.append((char) buffer[i]);
+      }
+      return sink;
+   }
+
+   /**
+    * Copies the first {@code length} bytes of the buffer as characters into the sink starting at the position
+    *
+    * @return position after the last character written
+    * @throws ArrayIndexOutOfBoundsException when the sink is too short
+    */
+   static int copyTo(final byte[] buffer, final int length, final char[] sink, final int position)
+   {
+      if (position < 0 || length > sink.length - position)
+      {
+         throw new ArrayIndexOutOfBoundsException(
+                 "Cannot write " + length + " characters at " + position + " into char[" + sink.length + "]");
+      }
+      for (int i = 0; i < length; i++)
+      {
+         sink[position + i] = (char) buffer[i];
+      }
+      return position + length;
+   }
+
+   /**
+    * Puts the first {@code length} bytes of the buffer at the sink's position
+    *
+    * @throws java.nio.BufferOverflowException when the sink has not enough room left
+    */
+   static ByteBuffer putTo(final byte[] buffer, final int length, final ByteBuffer sink)
+   {
+      return sink.put(buffer, 0, length);
+   }
+
+   /**
+    * Writes the non-negative value zero padded to the given number of digits
+    */
+   private static int digits(final long value, final int count, final byte[] buffer, final int position)
+   {
+      long remaining = value;
+      for (int i = position + count - 1; i >= position; i--)
+      {
+         buffer[i] = (byte) ('0' + remaining % 10);
+         remaining /= 10;
+      }
+      return position + count;
+   }
+
+   private static int digitCount(final long value)
+   {
+      int count = 1;
+      for (long remaining = value / 10; remaining > 0; remaining /= 10)
+      {
+         count++;
+      }
+      return count;
+   }
+
+}
@@ -0,0 +1,562 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.List;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * A compiled ISO 8601 period: the {@link Period} part ({@code PnYnMnWnD}) and the {@link Duration} part
+ * ({@code TnHnMn.nS}) of a period string in one immutable object.
+ * <p>
+ * The string is scanned once, left to right, without {@code split}, substrings or regular expressions. The
+ * accepted grammar is the one {@link DateAndTimeCalculation#offsetBy(String)} always accepted:
+ * <pre>
+ *    P1Y2M3DT4H5M6.789S -- 1 year, 2 months, 3 days, 4 hours, 5 minutes, 6.789 seconds
+ *    P1Y2M3D            -- 1 year, 2 months, 3 days
+ *    P2W                -- 14 days
+ *    PT4H5M6.789S       -- 4 hours, 5 minutes, 6.789 seconds
+ *    PT-4H5M-6.789S     -- minus 4 hours, plus 5 minutes, minus 6.789 seconds
+ *    P1Y2M3DT           -- trailing "T"s do not do any harm
+ * </pre>
+ * The leading "P" and the "T" separator are upper case, the unit letters are case-insensitive, "," may replace
+ * "." in the seconds fraction and every field carries an optional sign - just like {@link Period#parse} and
+ * {@link Duration#parse}.
+ * <p>
+ * Applying it is the same as applying the {@link Period} first and the {@link Duration} second.
+ */
+public final class IsoPeriod implements TemporalAmount
+{
+
+   public static final IsoPeriod ZERO = new IsoPeriod(0, 0, 0, 0, 0);
+
+   private static final List<TemporalUnit> UNITS = List.of(ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.DAYS,
+           ChronoUnit.SECONDS, ChronoUnit.NANOS);
+
+   private static final long NANOS_PER_SECOND = 1_000_000_000L;
+   private static final int  FRACTION_DIGITS  = 9;
+
+   private final int  years;
+   private final int  months;
+   private final int  days;
+   private final long seconds;
+   private final int  nanos;
+
+   private IsoPeriod(final int years, final int months, final int days, final long seconds, final int nanos)
+   {
+      this.years = years;
+      this.months = months;
+      this.days = days;
+      this.seconds = seconds;
+      this.nanos = nanos;
+   }
+
+   /**
+    * @param period  date part
+    * @param duration time part
+    * @return compiled period applying {@code period} first and {@code duration} second
+    */
+   public static IsoPeriod of(final Period period, final Duration duration)
+   {
+      return create(period.getYears(), period.getMonths(), period.getDays(), duration.getSeconds(),
+              duration.getNano());
+   }
+
+   /**
+    * Single pass ISO 8601 period scanner.
+    *
+    * @param text ISO 8601 period, see class comment
+    * @return compiled period
+    * @throws DateTimeParseException when the text is not an ISO 8601 period or a field overflows
+    */
+   public static IsoPeriod parse(final CharSequence text)
+   {
+      if (text == null)
+      {
+         throw new DateTimeParseException("Text cannot be parsed to a period: null", "", 0);
+      }
+      final int[] failure = new int[1];
+      final IsoPeriod period = parse(text, failure);
+      if (period == null)
+      {
+         throw new DateTimeParseException(
+                 "Text cannot be parsed to a period: " + OffsetError.decode(failure[0]).getReason(), text,
+                 OffsetError.position(failure[0]));
+      }
+      return period;
+   }
+
+   /**
+    * Same as {@link #parse(CharSequence)}, without throwing
+    *
+    * @param text    ISO 8601 period, see class comment
+    * @param failure receives the {@link OffsetError#encode(int) code} of the error at index 0
+    * @return compiled period or null when the text is not an ISO 8601 period or a field overflows
+    */
+   static IsoPeriod parse(final CharSequence text, final int[] failure)
+   {
+      if (text == null)
+      {
+         return fail(failure, OffsetError.NOT_A_PERIOD, 0);
+      }
+      failure[0] = 0;
+      // trailing "T"s do not do any harm
+      int length = text.length();
+      while (length > 1 && text.charAt(length - 1) == 'T')
+      {
+         length--;
+      }
+      if (length == 0 || text.charAt(0) != 'P')
+      {
+         return fail(failure, OffsetError.NOT_A_PERIOD, 0);
+      }
+      int position = 1;
+
+      // date part: [n Y][n M][n W][n D]
+      long years = 0, months = 0, weeks = 0, days = 0;
+      int datePartOrder = 0;
+      while (position < length && text.charAt(position) != 'T')
+      {
+         final int fieldStart = position;
+         final int numberEnd = scanNumber(text, position, length, failure);
+         final long value = numberEnd < 0 ? 0
+                 : parseNumber(text, position, numberEnd, Integer.MIN_VALUE, Integer.MAX_VALUE, failure);
+         if (numberEnd < 0 || failure[0] != 0)
+         {
+            return null;
+         }
+         if (numberEnd >= length)
+         {
+            return fail(failure, OffsetError.MISSING_UNIT, numberEnd);
+         }
+         final int order;
+         switch (text.charAt(numberEnd))
+         {
+            case 'Y':
+            case 'y':
+               order = 1;
+               years = value;
+               break;
+            case 'M':
+            case 'm':
+               order = 2;
+               months = value;
+               break;
+            case 'W':
+            case 'w':
+               order = 3;
+               weeks = value;
+               break;
+            case 'D':
+            case 'd':
+               order = 4;
+               days = value;
+               break;
+            default:
+               return fail(failure, OffsetError.UNKNOWN_DATE_UNIT, numberEnd);
+         }
+         if (order <= datePartOrder)
+         {
+            return fail(failure, OffsetError.DATE_UNITS_OUT_OF_ORDER, fieldStart);
+         }
+         datePartOrder = order;
+         position = numberEnd + 1;
+      }
+
+      // time part: T[n H][n M][n[.n] S]
+      long hours = 0, minutes = 0, wholeSeconds = 0;
+      int fraction = 0;
+      int timePartOrder = 0;
+      if (position < length)
+      {
+         position++; // T
+         while (position < length)
+         {
+            final int fieldStart = position;
+            final int numberEnd = scanNumber(text, position, length, failure);
+            final long value = numberEnd < 0 ? 0
+                    : parseNumber(text, position, numberEnd, Long.MIN_VALUE, Long.MAX_VALUE, failure);
+            if (numberEnd < 0 || failure[0] != 0)
+            {
+               return null;
+            }
+            int unitPosition = numberEnd;
+            int fractionValue = 0;
+            boolean hasFraction = false;
+            if (unitPosition < length && (text.charAt(unitPosition) == '.' || text.charAt(unitPosition) == ','))
+            {
+               hasFraction = true;
+               unitPosition++;
+               int digits = 0;
+               while (unitPosition < length && isDigit(text.charAt(unitPosition)))
+               {
+                  if (++digits > FRACTION_DIGITS)
+                  {
+                     return fail(failure, OffsetError.FRACTION_DIGITS, unitPosition);
+                  }
+                  fractionValue = fractionValue * 10 + (text.charAt(unitPosition) - '0');
+                  unitPosition++;
+               }
+               for (; digits < FRACTION_DIGITS; digits++)
+               {
+                  fractionValue *= 10;
+               }
+            }
+            if (unitPosition >= length)
+            {
+               return fail(failure, OffsetError.MISSING_UNIT, unitPosition);
+            }
+            final int order;
+            switch (text.charAt(unitPosition))
+            {
+               case 'H':
+               case 'h':
+                  order = 1;
+                  hours = value;
+                  break;
+               case 'M':
+               case 'm':
+                  order = 2;
+                  minutes = value;
+                  break;
+               case 'S':
+               case 's':
+                  order = 3;
+                  wholeSeconds = value;
+                  fraction = text.charAt(fieldStart) == '-' ? -fractionValue : fractionValue;
+                  break;
+               default:
+                  return fail(failure, OffsetError.UNKNOWN_TIME_UNIT, unitPosition);
+            }
+            if (hasFraction && order != 3)
+            {
+               return fail(failure, OffsetError.FRACTION_NOT_SECONDS, numberEnd);
+            }
+            if (order <= timePartOrder)
+            {
+               return fail(failure, OffsetError.TIME_UNITS_OUT_OF_ORDER, fieldStart);
+            }
+            timePartOrder = order;
+            position = unitPosition + 1;
+         }
+      }
+      else if (datePartOrder == 0)
+      {
+         return fail(failure, OffsetError.EMPTY_PERIOD, position);
+      }
+
+      try
+      {
+         final int totalDays = Math.addExact((int) days, Math.multiplyExact((int) weeks, 7));
+         final long totalSeconds = Math.addExact(Math.multiplyExact(hours, 3600L),
+                 Math.addExact(Math.multiplyExact(minutes, 60L), wholeSeconds));
+         return create((int) years, (int) months, totalDays, totalSeconds, fraction);
+      }
+      catch (final ArithmeticException e)
+      {
+         return fail(failure, OffsetError.PERIOD_OVERFLOW, 0);
+      }
+   }
+
+   private static IsoPeriod create(final int years, final int months, final int days, final long seconds,
+           final long nanoAdjustment)
+   {
+      final long normalizedSeconds = Math.addExact(seconds, Math.floorDiv(nanoAdjustment, NANOS_PER_SECOND));
+      final int normalizedNanos = (int) Math.floorMod(nanoAdjustment, NANOS_PER_SECOND);
+      if ((years | months | days | normalizedSeconds | normalizedNanos) == 0)
+      {
+         return ZERO;
+      }
+      return new IsoPeriod(years, months, days, normalizedSeconds, normalizedNanos);
+   }
+
+   /**
+    * @return index of the first character after an optionally signed run of ASCII digits, -1 when there are none
+    */
+   private static int scanNumber(final CharSequence text, final int start, final int length, final int[] failure)
+   {
+      int position = start;
+      if (position < length && (text.charAt(position) == '-' || text.charAt(position) == '+'))
+      {
+         position++;
+      }
+      final int digitsStart = position;
+      while (position < length && isDigit(text.charAt(position)))
+      {
+         position++;
+      }
+      if (position == digitsStart)
+      {
+         failure[0] = OffsetError.DIGIT_EXPECTED.encode(position);
+         return -1;
+      }
+      return position;
+   }
+
+   /**
+    * Accumulates negatively, the same way {@link Long#parseLong(String)} does, so the minimum value fits.
+    *
+    * @return number or 0 with the code in {@code failure[0]} when it is out of range
+    */
+   private static long parseNumber(final CharSequence text, final int start, final int end, final long min,
+           final long max, final int[] failure)
+   {
+      final boolean negative = text.charAt(start) == '-';
+      final long limit = negative ? min : -max;
+      long result = 0;
+      for (int position = isDigit(text.charAt(start)) ? start : start + 1; position < end; position++)
+      {
+         final int digit = text.charAt(position) - '0';
+         if (result < (limit + digit) / 10)
+         {
+            failure[0] = OffsetError.NUMBER_OUT_OF_RANGE.encode(start);
+            return 0;
+         }
+         result = result * 10 - digit;
+      }
+      return negative ? result : -result;
+   }
+
+   private static boolean isDigit(final char c)
+   {
+      return c >= '0' && c <= '9';
+   }
+
+   /**
+    * @return null, the code of the error at the position in {@code failure[0]}
+    */
+   private static IsoPeriod fail(final int[] failure, final OffsetError error, final int position)
+   {
+      failure[0] = error.encode(position);
+      return null;
+   }
+
+   public int getYears()
+   {
+      return years;
+   }
+
+   public int getMonths()
+   {
+      return months;
+   }
+
+   public int getDays()
+   {
+      return days;
+   }
+
+   public long getSeconds()
+   {
+      return seconds;
+   }
+
+   public int getNanos()
+   {
+      return nanos;
+   }
+
+   /**
+    * @return years and months as months
+    */
+   public long toTotalMonths()
+   {
+      return years * 12L + months;
+   }
+
+   /**
+    * @return true when there is a years, months or days part
+    */
+   public boolean hasDatePart()
+   {
+      return (years | months | days) != 0;
+   }
+
+   /**
+    * @return true when there is a hours, minutes or seconds part
+    */
+   public boolean hasTimePart()
+   {
+      return (seconds | nanos) != 0;
+   }
+
+   public Period toPeriod()
+   {
+      return Period.of(years, months, days);
+   }
+
+   public Duration toDuration()
+   {
+      return Duration.ofSeconds(seconds, nanos);
+   }
+
+   @Override
+   public long get(final TemporalUnit unit)
+   {
+      if (unit == ChronoUnit.YEARS)
+      {
+         return years;
+      }
+      if (unit == ChronoUnit.MONTHS)
+      {
+         return months;
+      }
+      if (unit == ChronoUnit.DAYS)
+      {
+         return days;
+      }
+      if (unit == ChronoUnit.SECONDS)
+      {
+         return seconds;
+      }
+      if (unit == ChronoUnit.NANOS)
+      {
+         return nanos;
+      }
+      throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+   }
+
+   @Override
+   public List<TemporalUnit> getUnits()
+   {
+      return UNITS;
+   }
+
+   /**
+    * Same as adding the {@link Period} and then the {@link Duration}. Like {@link ZonedDateTime#plus(TemporalAmount)}
+    * a zoned date and time resolves the date part against its zone rules once, not once per unit.
+    */
+   @Override
+   public Temporal addTo(final Temporal temporal)
+   {
+      if (temporal instanceof ZonedDateTime)
+      {
+         ZonedDateTime result = (ZonedDateTime) temporal;
+         if (hasDatePart())
+         {
+            result = ZonedDateTime.ofLocal(plusDatePart(result.toLocalDateTime(), 1), result.getZone(),
+                    result.getOffset());
+         }
+         return plusTimePart(result, 1);
+      }
+      return plusTimePart(plusDatePart(temporal, 1), 1);
+   }
+
+   /**
+    * Same as subtracting the {@link Period} and then the {@link Duration}.
+    */
+   @Override
+   public Temporal subtractFrom(final Temporal temporal)
+   {
+      if (temporal instanceof ZonedDateTime)
+      {
+         ZonedDateTime result = (ZonedDateTime) temporal;
+         if (hasDatePart())
+         {
+            result = ZonedDateTime.ofLocal(plusDatePart(result.toLocalDateTime(), -1), result.getZone(),
+                    result.getOffset());
+         }
+         return plusTimePart(result, -1);
+      }
+      return plusTimePart(plusDatePart(temporal, -1), -1);
+   }
+
+   /**
+    * Same steps as {@link Period#addTo(Temporal)} and {@link Period#subtractFrom(Temporal)}
+    */
+   @SuppressWarnings("unchecked")
+   private <T extends Temporal> T plusDatePart(final T temporal, final int sign)
+   {
+      Temporal result = temporal;
+      if (months == 0)
+      {
+         if (years != 0)
+         {
+            result = sign > 0 ? result.plus(years, ChronoUnit.YEARS) : result.minus(years, ChronoUnit.YEARS);
+         }
+      }
+      else if (toTotalMonths() != 0)
+      {
+         result = sign > 0 ? result.plus(toTotalMonths(), ChronoUnit.MONTHS)
+                 : result.minus(toTotalMonths(), ChronoUnit.MONTHS);
+      }
+      if (days != 0)
+      {
+         result = sign > 0 ? result.plus(days, ChronoUnit.DAYS) : result.minus(days, ChronoUnit.DAYS);
+      }
+      return (T) result;
+   }
+
+   /**
+    * Same steps as {@link Duration#addTo(Temporal)} and {@link Duration#subtractFrom(Temporal)}
+    */
+   private Temporal plusTimePart(final Temporal temporal, final int sign)
+   {
+      Temporal result = temporal;
+      if (seconds != 0)
+      {
+         result = sign > 0 ? result.plus(seconds, ChronoUnit.SECONDS) : result.minus(seconds, ChronoUnit.SECONDS);
+      }
+      if (nanos != 0)
+      {
+         result = sign > 0 ? result.plus(nanos, ChronoUnit.NANOS) : result.minus(nanos, ChronoUnit.NANOS);
+      }
+      return result;
+   }
+
+   @Override
+   public boolean equals(final Object other)
+   {
+      if (this == other)
+      {
+         return true;
+      }
+      if (!(other instanceof IsoPeriod))
+      {
+         return false;
+      }
+      final IsoPeriod that = (IsoPeriod) other;
+      return years == that.years && months == that.months && days == that.days && seconds == that.seconds
+              && nanos == that.nanos;
+   }
+
+   @Override
+   public int hashCode()
+   {
+      return 31 * (31 * (31 * (31 * years + months) + days) + Long.hashCode(seconds)) + nanos;
+   }
+
+   @Override
+   public String toString()
+   {
+      if (this == ZERO)
+      {
+         return "PT0S";
+      }
+      final StringBuilder builder = new StringBuilder(24);
+      if (hasDatePart())
+      {
+         builder.append(toPeriod());
+      }
+      else
+      {
+         builder.append('P');
+      }
+      if (hasTimePart())
+      {
+         // Duration.toString() starts with "PT"
+         final String duration = toDuration().toString();
+         builder.append(duration, 1, duration.length());
+      }
+      return builder.toString();
+   }
+
+}
@@ -0,0 +1,198 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.format.DateTimeParseException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Bounded, thread-safe cache of compiled ISO 8601 periods keyed by the period string. Lifespans are typically
+ * taken from a handful of strings ("P30D", "PT15M", "P1Y"), so a repeated period costs a map lookup instead of a
+ * parse.
+ * <p>
+ * Only valid periods are cached, a malformed one is parsed (and rejected) every time. The size bound is kept
+ * approximately under concurrent inserts: it may be exceeded by the number of threads inserting at the same time.
+ * <p>
+ * The size of the {@link #getDefault() default cache} is taken from the system property
+ * {@code el.dude.java.basics.enumerations.IsoPeriodCache.maximumSize} (default 1024).
+ */
+public final class IsoPeriodCache
+{
+
+   /**
+    * What happens when a new period arrives at a full cache
+    */
+   public enum Eviction
+   {
+      /**
+       * The oldest cached period makes room for the new one
+       */
+      FIFO,
+      /**
+       * The new period is parsed but not cached, the cached periods stay
+       */
+      NONE,
+   }
+
+   public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+   private static final IsoPeriodCache DEFAULT = new IsoPeriodCache(
+           Integer.getInteger(IsoPeriodCache.class.getName() + ".maximumSize", DEFAULT_MAXIMUM_SIZE), Eviction.FIFO);
+
+   private final int                                   maximumSize;
+   private final Eviction                              eviction;
+   private final ConcurrentHashMap<String, IsoPeriod> periods;
+   private final Queue<String>                         insertionOrder = new ConcurrentLinkedQueue<>();
+   private final LongAdder                             hits           = new LongAdder();
+   private final LongAdder                             misses         = new LongAdder();
+   private final LongAdder                             evictions      = new LongAdder();
+
+   /**
+    * @param maximumSize number of periods kept, 0 disables caching
+    * @param eviction    policy once the cache is full
+    */
+   public IsoPeriodCache(final int maximumSize, final Eviction eviction)
+   {
+      if (maximumSize < 0)
+      {
+         throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+      }
+      this.maximumSize = maximumSize;
+      this.eviction = eviction;
+      this.periods = new ConcurrentHashMap<>(Math.min(maximumSize, DEFAULT_MAXIMUM_SIZE));
+   }
+
+   /**
+    * @return cache shared by {@link DateAndTimeCalculation} and {@link DateAndTimeOffsetCalculationNonLambdaApproach}
+    */
+   public static IsoPeriodCache getDefault()
+   {
+      return DEFAULT;
+   }
+
+   /**
+    * @param period ISO 8601 period string
+    * @return compiled period, cached or freshly parsed
+    * @throws DateTimeParseException when the period cannot be parsed
+    */
+   public IsoPeriod get(final String period)
+   {
+      if (period == null)
+      {
+         return IsoPeriod.parse(null);
+      }
+      IsoPeriod compiled = periods.get(period);
+      if (compiled != null)
+      {
+         hits.increment();
+         return compiled;
+      }
+      misses.increment();
+      compiled = IsoPeriod.parse(period);
+      return put(period, compiled);
+   }
+
+   /**
+    * Same as {@link #get(String)}, without throwing
+    *
+    * @param period  ISO 8601 period string
+    * @param failure receives the {@link OffsetError#encode(int) code} of the error at index 0
+    * @return compiled period, cached or freshly parsed, or null when the period cannot be parsed
+    */
+   IsoPeriod get(final String period, final int[] failure)
+   {
+      if (period == null)
+      {
+         return IsoPeriod.parse(null, failure);
+      }
+      IsoPeriod compiled = periods.get(period);
+      if (compiled != null)
+      {
+         hits.increment();
+         return compiled;
+      }
+      misses.increment();
+      compiled = IsoPeriod.parse(period, failure);
+      return compiled == null ? null : put(period, compiled);
+   }
+
+   private IsoPeriod put(final String period, final IsoPeriod compiled)
+   {
+      if (maximumSize == 0 || (eviction == Eviction.NONE && periods.size() >= maximumSize))
+      {
+         return compiled;
+      }
+      if (periods.putIfAbsent(period, compiled) == null)
+      {
+         insertionOrder.add(period);
+         evict();
+      }
+      return compiled;
+   }
+
+   private void evict()
+   {
+      while (periods.size() > maximumSize)
+      {
+         final String eldest = insertionOrder.poll();
+         if (eldest == null)
+         {
+            return;
+         }
+         if (periods.remove(eldest) != null)
+         {
+            evictions.increment();
+         }
+      }
+   }
+
+   /**
+    * Drops all cached periods, the counters are kept
+    */
+   public void clear()
+   {
+      periods.clear();
+      insertionOrder.clear();
+   }
+
+   public int size()
+   {
+      return periods.size();
+   }
+
+   public int getMaximumSize()
+   {
+      return maximumSize;
+   }
+
+   public Eviction getEviction()
+   {
+      return eviction;
+   }
+
+   public long getHits()
+   {
+      return hits.sum();
+   }
+
+   public long getMisses()
+   {
+      return misses.sum();
+   }
+
+   public long getEvictions()
+   {
+      return evictions.sum();
+   }
+
+   @Override
+   public String toString()
+   {
+      return "IsoPeriodCache{size=" + size() + ", maximumSize=" + maximumSize + ", eviction=" + eviction + ", hits="
+              + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + '}';
+   }
+
+}
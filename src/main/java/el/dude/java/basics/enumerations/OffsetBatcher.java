@@ -0,0 +1,265 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Coalesces single offset requests of concurrent callers into micro-batches for the fan-out methods
+ * {@link DateAndTimeCalculation#offsetsBy(int[], String[], OffsetResults)} and
+ * {@link DateAndTimeCalculation#offsetsBy(String[], OffsetResults)}.
+ * <p>
+ * Callers get a {@link CompletableFuture} right away, one daemon thread takes whatever is queued (up to
+ * {@link #DEFAULT_MAX_BATCH_SIZE} requests), groups it by date and time and offsets each group with one parse of
+ * the date and time and one fan-out call. There is no waiting for a batch to fill: an idle batcher handles a
+ * request as soon as it arrives, under load the batches grow by themselves with the requests queued while the
+ * previous batch was offset. Latency thus stays flat while the throughput grows with the batch size.
+ * <p>
+ * Each result is the same as {@link DateAndTimeCalculation#tryOffsetBy(int, String)} or
+ * {@link DateAndTimeCalculation#tryOffsetBy(String)} would answer, a date and time that cannot be parsed
+ * completes the future exceptionally with the {@link DateTimeParseException}.
+ */
+public final class OffsetBatcher implements AutoCloseable
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetBatcher.class);
+
+   public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+   /**
+    * Same date and time next to each other, amounts of units before periods
+    */
+   private static final Comparator<Request> GROUPS = Comparator.<Request, String>comparing(
+           request -> request.dateAndTime).thenComparing(request -> request.period == null ? 0 : 1);
+
+   private final int                    maxBatchSize;
+   private final BlockingQueue<Request> queue    = new LinkedBlockingQueue<>();
+   private final LongAdder              requests = new LongAdder();
+   private final LongAdder              batches  = new LongAdder();
+   private final Thread                 drainer;
+   private volatile boolean             closed;
+
+   public OffsetBatcher()
+   {
+      this(DEFAULT_MAX_BATCH_SIZE);
+   }
+
+   /**
+    * @param maxBatchSize maximum number of requests offset in one go
+    */
+   public OffsetBatcher(final int maxBatchSize)
+   {
+      if (maxBatchSize < 1)
+      {
+         throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+      }
+      this.maxBatchSize = maxBatchSize;
+      this.drainer = new Thread(this::drain, "offset-batcher");
+      drainer.setDaemon(true);
+      drainer.start();
+   }
+
+   /**
+    * @param dateAndTime ISO date and time
+    * @param amount      of units (positive or negative)
+    * @param units       name
+    * @return completed with the same as {@link DateAndTimeCalculation#tryOffsetBy(int, String)} answers
+    * @throws NullPointerException when there is no date and time
+    */
+   public CompletableFuture<OffsetResult> offsetBy(final String dateAndTime, final int amount, final String units)
+   {
+      return submit(new Request(dateAndTime, amount, units, null));
+   }
+
+   /**
+    * @param dateAndTime ISO date and time
+    * @param period      ISO string
+    * @return completed with the same as {@link DateAndTimeCalculation#tryOffsetBy(String)} answers
+    * @throws NullPointerException when there is no date and time
+    */
+   public CompletableFuture<OffsetResult> offsetBy(final String dateAndTime, final String period)
+   {
+      return submit(new Request(dateAndTime, 0, null, period));
+   }
+
+   private CompletableFuture<OffsetResult> submit(final Request request)
+   {
+      if (!closed)
+      {
+         queue.add(request);
+         // closed meanwhile: the drainer may be gone already
+         if (!closed || !queue.remove(request))
+         {
+            return request;
+         }
+      }
+      request.completeExceptionally(new IllegalStateException("OffsetBatcher is closed"));
+      return request;
+   }
+
+   private void drain()
+   {
+      final List<Request> batch = new ArrayList<>(maxBatchSize);
+      final OffsetResults results = new OffsetResults(maxBatchSize);
+      try
+      {
+         while (!closed)
+         {
+            batch.add(queue.take());
+            queue.drainTo(batch, maxBatchSize - 1);
+            // counted before the callers see their results
+            requests.add(batch.size());
+            batches.increment();
+            offset(batch, results);
+            batch.clear();
+         }
+      }
+      catch (final InterruptedException e)
+      {
+         logger.debug("Stopped with {} requests pending", queue.size());
+      }
+      final IllegalStateException closedException = new IllegalStateException("OffsetBatcher is closed");
+      batch.forEach(request -> request.completeExceptionally(closedException));
+      Request request;
+      while ((request = queue.poll()) != null)
+      {
+         request.completeExceptionally(closedException);
+      }
+   }
+
+   /**
+    * Offsets the requests grouped by date and time, completes every one of them
+    *
+    * @param batch   reordered
+    * @param results reused for every group
+    */
+   static void offset(final List<Request> batch, final OffsetResults results)
+   {
+      batch.sort(GROUPS);
+      int from = 0;
+      while (from < batch.size())
+      {
+         final Request first = batch.get(from);
+         int to = from + 1;
+         while (to < batch.size() && GROUPS.compare(first, batch.get(to)) == 0)
+         {
+            to++;
+         }
+         try
+         {
+            offset(batch, from, to, results);
+         }
+         catch (final DateTimeParseException e)
+         {
+            for (int i = from; i < to; i++)
+            {
+               batch.get(i).completeExceptionally(e);
+            }
+         }
+         catch (final RuntimeException e)
+         {
+            logger.error("Cannot offset \"{}\": {}", first.dateAndTime, e.toString());
+            for (int i = from; i < to; i++)
+            {
+               batch.get(i).completeExceptionally(e);
+            }
+         }
+         from = to;
+      }
+   }
+
+   /**
+    * One parse of the date and time and one fan-out call for the requests from (inclusive) to (exclusive)
+    */
+   private static void offset(final List<Request> batch, final int from, final int to, final OffsetResults results)
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(batch.get(from).dateAndTime);
+      if (batch.get(from).period == null)
+      {
+         final int[] amounts = new int[to - from];
+         final String[] units = new String[to - from];
+         for (int i = from; i < to; i++)
+         {
+            amounts[i - from] = batch.get(i).amount;
+            units[i - from] = batch.get(i).units;
+         }
+         calculation.offsetsBy(amounts, units, results);
+      }
+      else
+      {
+         final String[] periods = new String[to - from];
+         for (int i = from; i < to; i++)
+         {
+            periods[i - from] = batch.get(i).period;
+         }
+         calculation.offsetsBy(periods, results);
+      }
+      for (int i = from; i < to; i++)
+      {
+         batch.get(i).complete(results.get(i - from));
+      }
+   }
+
+   /**
+    * @return number of requests offset so far
+    */
+   public long getRequests()
+   {
+      return requests.sum();
+   }
+
+   /**
+    * @return number of batches offset so far, {@link #getRequests()} per batch is the mean batch size
+    */
+   public long getBatches()
+   {
+      return batches.sum();
+   }
+
+   /**
+    * Stops the batching thread, pending requests complete exceptionally and so do the ones submitted afterwards
+    */
+   @Override
+   public void close()
+   {
+      closed = true;
+      drainer.interrupt();
+   }
+
+   /**
+    * A single offset and its outcome
+    */
+   static final class Request extends CompletableFuture<OffsetResult>
+   {
+
+      final String dateAndTime;
+      final int    amount;
+      final String units;
+      final String period;
+
+      /**
+       * @param units  null for a period
+       * @param period null for an amount of units
+       */
+      Request(final String dateAndTime, final int amount, final String units, final String period)
+      {
+         this.dateAndTime = Objects.requireNonNull(dateAndTime, "dateAndTime");
+         this.amount = amount;
+         this.units = units;
+         this.period = period;
+      }
+
+   }
+
+}
@@ -0,0 +1,85 @@
+package el.dude.java.basics.enumerations;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Why a date and time could not be offset, see {@link OffsetResult}. The position is the index of the offending
+ * character in the units, period or {@link OffsetExpression expression} string.
+ * <p>
+ * Internally an error and its position travel as one negative int ({@link #encode(int)}), so the byte buffer
+ * methods of {@link DateAndTimeCalculation} keep returning "length or negative" and a failing period scan neither
+ * allocates nor throws.
+ */
+public enum OffsetError
+{
+
+   //@formatter:off
+   UNKNOWN_UNITS              ("unknown units"),
+   NOT_A_PERIOD               ("must start with 'P'"),
+   EMPTY_PERIOD               ("empty period"),
+   DIGIT_EXPECTED             ("digit expected"),
+   MISSING_UNIT               ("missing unit"),
+   UNKNOWN_DATE_UNIT          ("unknown date unit"),
+   UNKNOWN_TIME_UNIT          ("unknown time unit"),
+   DATE_UNITS_OUT_OF_ORDER    ("date units out of order"),
+   TIME_UNITS_OUT_OF_ORDER    ("time units out of order"),
+   FRACTION_DIGITS            ("more than 9 fraction digits"),
+   FRACTION_NOT_SECONDS       ("fraction only allowed for seconds"),
+   NUMBER_OUT_OF_RANGE        ("number out of range"),
+   PERIOD_OVERFLOW            ("overflow"),
+   RESULT_OUT_OF_RANGE        ("result out of range"),
+   TERM_EXPECTED              ("period, amount of units or startOf(units) expected"),
+   OPERATOR_EXPECTED          ("'+' or '-' expected"),
+   PARENTHESIS_EXPECTED       ("parenthesis expected"),
+   START_OF_SUBTRACTED        ("startOf cannot be subtracted"),
+   ;
+   //@formatter:on
+
+   private static final int            ORDINAL_BITS = 5;
+   private static final int            ORDINAL_MASK = (1 << ORDINAL_BITS) - 1;
+   private static final OffsetError[] VALUES       = values();
+
+   private final String reason;
+
+   OffsetError(final String reason)
+   {
+      this.reason = reason;
+   }
+
+   /**
+    * @param position index of the offending character, 0 or positive
+    * @return negative code of this error at the position
+    */
+   int encode(final int position)
+   {
+      return ~(position << ORDINAL_BITS | ordinal());
+   }
+
+   /**
+    * @param code negative code, see {@link #encode(int)}
+    * @return error of the code
+    */
+   static OffsetError decode(final int code)
+   {
+      return VALUES[~code & ORDINAL_MASK];
+   }
+
+   /**
+    * @param code negative code, see {@link #encode(int)}
+    * @return position of the code
+    */
+   static int position(final int code)
+   {
+      return ~code >>> ORDINAL_BITS;
+   }
+
+   /**
+    * @return short description, same as the messages of {@link IsoPeriod#parse(CharSequence)} and
+    * {@link OffsetExpression#compile(CharSequence)}
+    */
+   public String getReason()
+   {
+      return reason;
+   }
+
+}
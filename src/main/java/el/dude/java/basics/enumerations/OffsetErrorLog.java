@@ -0,0 +1,164 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Counts offset errors per {@link OffsetError} and rate-limits their log lines: per kind of error at most one line
+ * per interval, the first one right away. The next line that makes it tells how many were suppressed in between.
+ * <pre>
+ *    ERROR ... unknown units: "boom" at 0 offsetting 2022-02-02T12:34:56.789Z
+ *    ERROR ... unknown units: "boom" at 0 offsetting 2022-02-02T12:34:56.789Z (41872 more suppressed)
+ * </pre>
+ * A burst of bad input thus costs a counter increment and a clock read per error, not a log line. Arguments are
+ * only put together when a line is actually written.
+ * <p>
+ * The interval of the {@link #getDefault() default log} is taken from the system property
+ * {@code el.dude.java.basics.enumerations.OffsetErrorLog.intervalMillis} (default 1000), 0 logs every error.
+ */
+public final class OffsetErrorLog
+{
+
+   public static final long DEFAULT_INTERVAL_MILLIS = 1000;
+
+   private static final OffsetError[] ERRORS = OffsetError.values();
+
+   private static final OffsetErrorLog DEFAULT = new OffsetErrorLog(
+           Long.getLong(OffsetErrorLog.class.getName() + ".intervalMillis", DEFAULT_INTERVAL_MILLIS),
+           TimeUnit.MILLISECONDS);
+
+   private final long         intervalNanos;
+   private final LongSupplier nanoTime;
+   private final LongAdder[]  counts     = new LongAdder[ERRORS.length];
+   private final LongAdder[]  suppressed = new LongAdder[ERRORS.length];
+
+   /**
+    * {@link System#nanoTime()} from which on the next line of an error may be written
+    */
+   private final AtomicLongArray nextLine = new AtomicLongArray(ERRORS.length);
+
+   /**
+    * @param interval between two lines of the same error, 0 logs every error
+    * @param unit     of the interval
+    */
+   public OffsetErrorLog(final long interval, final TimeUnit unit)
+   {
+      this(unit.toNanos(interval), System::nanoTime);
+   }
+
+   OffsetErrorLog(final long intervalNanos, final LongSupplier nanoTime)
+   {
+      if (intervalNanos < 0)
+      {
+         throw new IllegalArgumentException("interval must not be negative: " + intervalNanos);
+      }
+      this.intervalNanos = intervalNanos;
+      this.nanoTime = nanoTime;
+      final long now = nanoTime.getAsLong();
+      for (int i = 0; i < ERRORS.length; i++)
+      {
+         counts[i] = new LongAdder();
+         suppressed[i] = new LongAdder();
+         nextLine.set(i, now);
+      }
+   }
+
+   /**
+    * @return log shared by all {@link DateAndTimeCalculation}s
+    */
+   public static OffsetErrorLog getDefault()
+   {
+      return DEFAULT;
+   }
+
+   /**
+    * Counts the error and writes a line unless one was written within the interval
+    *
+    * @param logger      to write to
+    * @param code        negative code, see {@link OffsetError#encode(int)}
+    * @param dateAndTime that could not be offset
+    * @param argument    units or period string
+    * @return true when a line was written
+    */
+   boolean record(final Logger logger, final int code, final String dateAndTime, final String argument)
+   {
+      final OffsetError error = OffsetError.decode(code);
+      final int kind = error.ordinal();
+      counts[kind].increment();
+      if (intervalNanos > 0)
+      {
+         final long now = nanoTime.getAsLong();
+         final long next = nextLine.get(kind);
+         if (now - next < 0 || !nextLine.compareAndSet(kind, next, now + intervalNanos))
+         {
+            suppressed[kind].increment();
+            return false;
+         }
+      }
+      final long suppressedSince = suppressed[kind].sumThenReset();
+      if (suppressedSince == 0)
+      {
+         logger.error("{}: \"{}\" at {} offsetting {}", error.getReason(), argument, OffsetError.position(code),
+                 dateAndTime);
+      }
+      else
+      {
+         logger.error("{}: \"{}\" at {} offsetting {} ({} more suppressed)", error.getReason(), argument,
+                 OffsetError.position(code), dateAndTime, suppressedSince);
+      }
+      return true;
+   }
+
+   /**
+    * @return errors of the kind so far, logged or not
+    */
+   public long getCount(final OffsetError error)
+   {
+      return counts[error.ordinal()].sum();
+   }
+
+   /**
+    * @return errors of the kind not logged since the last line
+    */
+   public long getSuppressed(final OffsetError error)
+   {
+      return suppressed[error.ordinal()].sum();
+   }
+
+   /**
+    * @return errors so far by kind, kinds that did not occur left out
+    */
+   public Map<OffsetError, Long> getCounts()
+   {
+      final Map<OffsetError, Long> snapshot = new EnumMap<>(OffsetError.class);
+      for (final OffsetError error : ERRORS)
+      {
+         final long count = getCount(error);
+         if (count > 0)
+         {
+            snapshot.put(error, count);
+         }
+      }
+      return snapshot;
+   }
+
+   public long getIntervalMillis()
+   {
+      return TimeUnit.NANOSECONDS.toMillis(intervalNanos);
+   }
+
+   @Override
+   public String toString()
+   {
+      return "OffsetErrorLog{intervalMillis=" + getIntervalMillis() + ", counts=" + getCounts() + '}';
+   }
+
+}
@@ -0,0 +1,276 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Mutable slot of an {@link OffsetRingBuffer}: one offset request - the base date and time as epoch second, nano
+ * of second and zone, and either an amount of units or a compiled {@link IsoPeriod} - and its result fields. The
+ * slots are allocated once with the ring buffer and overwritten by the producer for every request.
+ * <p>
+ * The result is the same instant, nano and offset {@code ZonedDateTime.plus} would answer, computed with the
+ * integer arithmetic of {@link EpochDateTime} on the primitives of the slot: fixed offsets directly, region zones
+ * through their {@link ZoneOffsetTable}, falling back to {@link ZonedDateTime} outside the years of the table.
+ * <p>
+ * The fields are written by the producer before {@link OffsetRingBuffer#publish(long)}, the result fields by a
+ * worker before it moves on; the sequences of the ring buffer order the writes, the fields are plain.
+ */
+public final class OffsetEvent
+{
+
+   private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+   // request
+   private long                          epochSecond;
+   private int                           nano;
+   private ZoneId                        zone;
+   private ZoneOffsetTable               table;
+   private int                           amount;
+   private DateAndTimeOffsetFunctionImpl units;
+   private IsoPeriod                     period;
+
+   // result
+   private long        resultEpochSecond;
+   private int         resultNano;
+   private ZoneOffset  resultOffset;
+   private OffsetError error;
+
+   OffsetEvent()
+   {
+   }
+
+   /**
+    * Offset by an amount of units
+    *
+    * @param zone fixed offset or region zone
+    * @return this slot
+    * @throws NullPointerException when the zone or the units are null, on the producer rather than the worker
+    */
+   public OffsetEvent set(final long epochSecond, final int nano, final ZoneId zone, final int amount,
+           final DateAndTimeOffsetFunctionImpl units)
+   {
+      Objects.requireNonNull(units, "units");
+      base(epochSecond, nano, zone);
+      this.amount = amount;
+      this.units = units;
+      this.period = null;
+      return this;
+   }
+
+   /**
+    * Offset by a compiled ISO period
+    *
+    * @param zone fixed offset or region zone
+    * @return this slot
+    * @throws NullPointerException when the zone or the period are null, on the producer rather than the worker
+    */
+   public OffsetEvent set(final long epochSecond, final int nano, final ZoneId zone, final IsoPeriod period)
+   {
+      Objects.requireNonNull(period, "period");
+      base(epochSecond, nano, zone);
+      this.amount = 0;
+      this.units = null;
+      this.period = period;
+      return this;
+   }
+
+   private void base(final long epochSecond, final int nano, final ZoneId zone)
+   {
+      Objects.requireNonNull(zone, "zone");
+      this.epochSecond = epochSecond;
+      this.nano = nano;
+      if (zone != this.zone)
+      {
+         // the table is looked up once per change of zone, not per request
+         this.table = ZoneOffsetTable.of(zone);
+         this.zone = zone;
+      }
+   }
+
+   /**
+    * Computes the result fields, run by a worker of the ring buffer
+    *
+    * @param scratch of the worker, holds the decomposed offset
+    */
+   void offset(final Scratch scratch)
+   {
+      error = null;
+      try
+      {
+         if (!scratch.decompose(this))
+         {
+            fail();
+            return;
+         }
+         final long months = scratch.months[0];
+         final long days = scratch.days[0];
+         final long seconds = scratch.seconds[0];
+         final int nanos = scratch.nanos[0];
+         final ZoneOffset offset = EpochDateTime.offsetAt(epochSecond, zoneOffset(), table);
+         if (offset == null || !offsetBy(offset, months, days, seconds, nanos))
+         {
+            final ZonedDateTime result = EpochDateTime.plus(
+                    ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zone), months, days, seconds,
+                    nanos);
+            resultEpochSecond = result.toEpochSecond();
+            resultNano = result.getNano();
+            resultOffset = result.getOffset();
+         }
+      }
+      catch (final DateTimeException | ArithmeticException e)
+      {
+         fail();
+      }
+      catch (final RuntimeException e)
+      {
+         // a slot filled wrongly must not stop the worker, the ring buffer would wait for it forever
+         fail();
+      }
+   }
+
+   /**
+    * @return false when the zone's table does not cover the result
+    */
+   private boolean offsetBy(final ZoneOffset offset, final long months, final long days, final long seconds,
+           final int nanos)
+   {
+      long datedSecond = epochSecond;
+      if (months != 0 || days != 0)
+      {
+         final int offsetSeconds = offset.getTotalSeconds();
+         datedSecond = EpochDateTime.resolve(EpochDateTime.plusDate(epochSecond + offsetSeconds, months, days),
+                 offsetSeconds, table);
+         if (datedSecond == ZoneOffsetTable.NOT_COVERED)
+         {
+            return false;
+         }
+      }
+      final long nanoSum = (long) nano + nanos;
+      final long resultSecond = Math.addExact(Math.addExact(datedSecond, seconds), nanoSum / NANOS_PER_SECOND);
+      final ZoneOffset offsetAfter = EpochDateTime.offsetAt(resultSecond, offset, table);
+      if (offsetAfter == null)
+      {
+         return false;
+      }
+      EpochDays.checkEpochDay(Math.floorDiv(Math.addExact(resultSecond, offsetAfter.getTotalSeconds()),
+              EpochDays.SECONDS_PER_DAY));
+      resultEpochSecond = resultSecond;
+      resultNano = (int) (nanoSum % NANOS_PER_SECOND);
+      resultOffset = offsetAfter;
+      return true;
+   }
+
+   private void fail()
+   {
+      error = OffsetError.RESULT_OUT_OF_RANGE;
+      resultEpochSecond = epochSecond;
+      resultNano = nano;
+      resultOffset = null;
+   }
+
+   private ZoneOffset zoneOffset()
+   {
+      return zone instanceof ZoneOffset ? (ZoneOffset) zone : null;
+   }
+
+   public boolean isSuccess()
+   {
+      return error == null;
+   }
+
+   /**
+    * @return {@link OffsetError#RESULT_OUT_OF_RANGE} when the result leaves the supported range, null on success
+    */
+   public OffsetError getError()
+   {
+      return error;
+   }
+
+   /**
+    * @return epoch second of the result, the base one on failure
+    */
+   public long getResultEpochSecond()
+   {
+      return resultEpochSecond;
+   }
+
+   /**
+    * @return nano of second of the result, the base one on failure
+    */
+   public int getResultNano()
+   {
+      return resultNano;
+   }
+
+   /**
+    * @return offset of the result, null on failure
+    */
+   public ZoneOffset getResultOffset()
+   {
+      return resultOffset;
+   }
+
+   /**
+    * @return the result as {@link ZonedDateTime}, null on failure
+    */
+   public ZonedDateTime toZonedDateTime()
+   {
+      return error != null ? null
+              : ZonedDateTime.ofInstant(Instant.ofEpochSecond(resultEpochSecond, resultNano), zone);
+   }
+
+   /**
+    * Writes the result as {@link ZonedDateTime#toString()} does, the buffer must have room for
+    * {@link IsoDateTimeFormatter#maxLength(ZoneId)} bytes of the zone
+    *
+    * @return number of bytes written or the negative {@link OffsetError#encode(int) code} of the error
+    */
+   public int formatResult(final byte[] buffer)
+   {
+      return error != null ? error.encode(0)
+              : EpochDateTime.format(resultEpochSecond, resultNano, resultOffset, table, buffer);
+   }
+
+   @Override
+   public String toString()
+   {
+      return error != null ? "OffsetEvent[" + error + ']' : String.valueOf(toZonedDateTime());
+   }
+
+   /**
+    * Decomposed offset of the event being processed, one per worker
+    */
+   static final class Scratch
+   {
+
+      final long[] months  = new long[1];
+      final long[] days    = new long[1];
+      final long[] seconds = new long[1];
+      final int[]  nanos   = new int[1];
+
+      /**
+       * @return false when the amount of weeks overflows, like {@link java.time.Period#ofWeeks(int)}
+       */
+      boolean decompose(final OffsetEvent event)
+      {
+         final IsoPeriod period = event.period;
+         if (period == null)
+         {
+            return EpochDateTime.decompose(event.amount, event.units, 0, months, days, seconds, nanos);
+         }
+         months[0] = period.toTotalMonths();
+         days[0] = period.getDays();
+         seconds[0] = period.getSeconds();
+         nanos[0] = period.getNanos();
+         return true;
+      }
+
+   }
+
+}
@@ -0,0 +1,490 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * A compiled chain of offsets, applied left to right to one date and time:
+ * <pre>
+ *    P1M - PT3H + 2 weeks     -- plus 1 month, minus 3 hours, plus 2 weeks
+ *    startOf(day) + PT6H      -- 06:00 of the same day
+ *    -P1D + startOf(month)    -- first of the month of yesterday
+ * </pre>
+ * Terms are ISO periods ({@link IsoPeriod}), an amount followed by units ("2 weeks", "1 day", see
+ * {@link DateAndTimeOffsetFunctionImpl}) or {@code startOf(units)}, which truncates the local date and time to the
+ * start of the second, minute, hour, day, week (Monday), month or year. Terms are joined by '+' and '-', spaces are
+ * optional. Within a period a sign belongs to the period unless it is followed by another term, e.g. "P1M-PT3H",
+ * "P1M+2 weeks" and "PT6H+startOf(day)" but "PT-3H".
+ * <p>
+ * The result is the same as offsetting step by step with {@link DateAndTimeCalculation#offsetBy(String)} and
+ * {@link DateAndTimeCalculation#offsetBy(int, String)}, see {@link #applyTo(ZonedDateTime)}, without parsing and
+ * formatting the date and time in between: compiling turns every term into one primitive step (months and days
+ * added to the local date, seconds and nanos added to the instant, or a truncation) and
+ * {@link DateAndTimeCalculation#offsetBy(OffsetExpression)} runs all steps on the epoch of the one parsed date and
+ * time.
+ * <p>
+ * Compiled expressions are immutable and can be shared between threads and date and times.
+ */
+public final class OffsetExpression
+{
+
+   private static final long NANOS_PER_SECOND = 1_000_000_000L;
+   private static final int  NANOS_PER_MILLI  = 1_000_000;
+
+   private final String text;
+
+   // one step per term: a truncation when startOf[i] is set, otherwise months and days added to the local date and
+   // seconds and nanos added to the instant
+   private final DateAndTimeOffsetFunctionImpl[] startOf;
+   private final long[]                          months;
+   private final long[]                          days;
+   private final long[]                          seconds;
+   private final int[]                           nanos;
+
+   private OffsetExpression(final String text, final int steps, final DateAndTimeOffsetFunctionImpl[] startOf,
+           final long[] months, final long[] days, final long[] seconds, final int[] nanos)
+   {
+      this.text = text;
+      this.startOf = Arrays.copyOf(startOf, steps);
+      this.months = Arrays.copyOf(months, steps);
+      this.days = Arrays.copyOf(days, steps);
+      this.seconds = Arrays.copyOf(seconds, steps);
+      this.nanos = Arrays.copyOf(nanos, steps);
+   }
+
+   /**
+    * @param text expression, see class comment
+    * @return compiled expression
+    * @throws DateTimeParseException when the text is not an expression or a term overflows
+    */
+   public static OffsetExpression compile(final CharSequence text)
+   {
+      if (text == null)
+      {
+         throw new DateTimeParseException("Text cannot be parsed to an offset expression: null", "", 0);
+      }
+      final int[] failure = new int[1];
+      final OffsetExpression expression = compile(text, failure);
+      if (expression == null)
+      {
+         throw new DateTimeParseException(
+                 "Text cannot be parsed to an offset expression: " + OffsetError.decode(failure[0]).getReason(),
+                 text, OffsetError.position(failure[0]));
+      }
+      return expression;
+   }
+
+   /**
+    * Same as {@link #compile(CharSequence)}, without throwing
+    *
+    * @param text    expression, see class comment
+    * @param failure receives the {@link OffsetError#encode(int) code} of the error at index 0
+    * @return compiled expression or null when the text is not an expression or a term overflows
+    */
+   static OffsetExpression compile(final CharSequence text, final int[] failure)
+   {
+      failure[0] = 0;
+      final int length = text.length();
+      // at most one term per character
+      final DateAndTimeOffsetFunctionImpl[] startOf = new DateAndTimeOffsetFunctionImpl[length];
+      final long[] months = new long[length];
+      final long[] days = new long[length];
+      final long[] seconds = new long[length];
+      final int[] nanos = new int[length];
+      int steps = 0;
+
+      int position = skipSpaces(text, 0, length);
+      int sign = 1;
+      if (position < length && (text.charAt(position) == '+' || text.charAt(position) == '-'))
+      {
+         sign = text.charAt(position) == '-' ? -1 : 1;
+         position = skipSpaces(text, position + 1, length);
+      }
+      while (true)
+      {
+         if (position == length)
+         {
+            return fail(failure, OffsetError.TERM_EXPECTED, position);
+         }
+         final int termStart = position;
+         final char c = text.charAt(position);
+         if (c == 'P')
+         {
+            position = periodEnd(text, position, length);
+            final IsoPeriod period = IsoPeriod.parse(text.subSequence(termStart, position), failure);
+            if (period == null)
+            {
+               return fail(failure, OffsetError.decode(failure[0]), termStart + OffsetError.position(failure[0]));
+            }
+            months[steps] = period.toTotalMonths();
+            days[steps] = period.getDays();
+            seconds[steps] = period.getSeconds();
+            nanos[steps] = period.getNanos();
+            if (sign < 0)
+            {
+               if (period.getSeconds() == Long.MIN_VALUE && period.getNanos() == 0)
+               {
+                  return fail(failure, OffsetError.PERIOD_OVERFLOW, termStart);
+               }
+               months[steps] = -months[steps];
+               days[steps] = -days[steps];
+               // -(seconds + nanos) with the nanos kept positive, e.g. -1.5 = -2 + 0.5
+               seconds[steps] = nanos[steps] == 0 ? -seconds[steps] : ~seconds[steps];
+               nanos[steps] = nanos[steps] == 0 ? 0 : (int) (NANOS_PER_SECOND - nanos[steps]);
+            }
+         }
+         else if (isDigit(c))
+         {
+            long amount = 0;
+            while (position < length && isDigit(text.charAt(position)))
+            {
+               amount = amount * 10 + (text.charAt(position++) - '0');
+               if (amount > Integer.MAX_VALUE)
+               {
+                  return fail(failure, OffsetError.NUMBER_OUT_OF_RANGE, termStart);
+               }
+            }
+            position = skipSpaces(text, position, length);
+            final int unitsStart = position;
+            position = skipLetters(text, position, length);
+            if (position == unitsStart)
+            {
+               return fail(failure, OffsetError.MISSING_UNIT, position);
+            }
+            final DateAndTimeOffsetFunctionImpl units = units(text, unitsStart, position);
+            if (units == null)
+            {
+               return fail(failure, OffsetError.UNKNOWN_UNITS, unitsStart);
+            }
+            if (!EpochDateTime.decompose((int) (sign * amount), units, steps, months, days, seconds, nanos))
+            {
+               return fail(failure, OffsetError.NUMBER_OUT_OF_RANGE, termStart);
+            }
+         }
+         else if (startsWith(text, position, length, "startOf"))
+         {
+            if (sign < 0)
+            {
+               return fail(failure, OffsetError.START_OF_SUBTRACTED, termStart);
+            }
+            position = skipSpaces(text, position + "startOf".length(), length);
+            if (position == length || text.charAt(position) != '(')
+            {
+               return fail(failure, OffsetError.PARENTHESIS_EXPECTED, position);
+            }
+            position = skipSpaces(text, position + 1, length);
+            final int unitsStart = position;
+            position = skipLetters(text, position, length);
+            if (position == unitsStart)
+            {
+               return fail(failure, OffsetError.MISSING_UNIT, position);
+            }
+            startOf[steps] = units(text, unitsStart, position);
+            if (startOf[steps] == null)
+            {
+               return fail(failure, OffsetError.UNKNOWN_UNITS, unitsStart);
+            }
+            position = skipSpaces(text, position, length);
+            if (position == length || text.charAt(position) != ')')
+            {
+               return fail(failure, OffsetError.PARENTHESIS_EXPECTED, position);
+            }
+            position++;
+         }
+         else
+         {
+            return fail(failure, OffsetError.TERM_EXPECTED, position);
+         }
+         steps++;
+
+         position = skipSpaces(text, position, length);
+         if (position == length)
+         {
+            return new OffsetExpression(text.toString(), steps, startOf, months, days, seconds, nanos);
+         }
+         final char operator = text.charAt(position);
+         if (operator != '+' && operator != '-')
+         {
+            return fail(failure, OffsetError.OPERATOR_EXPECTED, position);
+         }
+         sign = operator == '-' ? -1 : 1;
+         position = skipSpaces(text, position + 1, length);
+      }
+   }
+
+   /**
+    * Writes the result into the buffer, which must have room for {@link IsoDateTimeFormatter#maxLength} bytes of
+    * the date and time's zone
+    *
+    * @return number of bytes written or {@link EpochDateTime#NOT_COVERED} when the zone's table does not cover a
+    * step
+    * @throws java.time.DateTimeException when a step leaves the supported range
+    * @throws ArithmeticException         on numeric overflow
+    */
+   int applyTo(final EpochDateTime dateTime, final byte[] buffer)
+   {
+      final ZoneOffsetTable table = dateTime.getTable();
+      long epochSecond = dateTime.getEpochSecond();
+      int nano = dateTime.getNano();
+      ZoneOffset offset = dateTime.getOffset();
+      for (int i = 0; i < startOf.length; i++)
+      {
+         final int offsetSeconds = offset.getTotalSeconds();
+         if (startOf[i] == null)
+         {
+            if (months[i] != 0 || days[i] != 0)
+            {
+               epochSecond = EpochDateTime.resolve(
+                       EpochDateTime.plusDate(epochSecond + offsetSeconds, months[i], days[i]), offsetSeconds,
+                       table);
+               if (epochSecond == ZoneOffsetTable.NOT_COVERED)
+               {
+                  return EpochDateTime.NOT_COVERED;
+               }
+            }
+            final long nanoSum = (long) nano + nanos[i];
+            epochSecond = Math.addExact(Math.addExact(epochSecond, seconds[i]), nanoSum / NANOS_PER_SECOND);
+            nano = (int) (nanoSum % NANOS_PER_SECOND);
+         }
+         else
+         {
+            switch (startOf[i].getUnit())
+            {
+               case NANOS:
+                  break;
+               case MILLIS:
+                  nano -= nano % NANOS_PER_MILLI;
+                  break;
+               case SECONDS:
+                  nano = 0;
+                  break;
+               default:
+                  epochSecond = EpochDateTime.resolve(startOf(epochSecond + offsetSeconds, startOf[i]),
+                          offsetSeconds, table);
+                  if (epochSecond == ZoneOffsetTable.NOT_COVERED)
+                  {
+                     return EpochDateTime.NOT_COVERED;
+                  }
+                  nano = 0;
+            }
+         }
+         offset = EpochDateTime.offsetAt(epochSecond, offset, table);
+         if (offset == null)
+         {
+            return EpochDateTime.NOT_COVERED;
+         }
+         // every step stays in range, like ZonedDateTime does
+         EpochDays.checkEpochDay(Math.floorDiv(Math.addExact(epochSecond, offset.getTotalSeconds()),
+                 EpochDays.SECONDS_PER_DAY));
+      }
+      return EpochDateTime.format(epochSecond, nano, offset, table, buffer);
+   }
+
+   /**
+    * Applies the steps one after the other, the same as offsetting step by step: months and days are added to the
+    * local date and resolved once against the zone rules, keeping the offset where it is valid
+    * ({@link ZonedDateTime#ofLocal}), seconds and nanos are added to the instant, truncations resolve the truncated
+    * local date and time like {@link ZonedDateTime#truncatedTo} does.
+    *
+    * @return offset date and time
+    * @throws java.time.DateTimeException when a step leaves the supported range
+    * @throws ArithmeticException         on numeric overflow
+    */
+   public ZonedDateTime applyTo(final ZonedDateTime dateTime)
+   {
+      ZonedDateTime result = dateTime;
+      for (int i = 0; i < startOf.length; i++)
+      {
+         if (startOf[i] == null)
+         {
+            result = EpochDateTime.plus(result, months[i], days[i], seconds[i], nanos[i]);
+         }
+         else
+         {
+            result = ZonedDateTime.ofLocal(startOf(result.toLocalDateTime(), startOf[i]), result.getZone(),
+                    result.getOffset());
+         }
+      }
+      return result;
+   }
+
+   /**
+    * @param localSecond local date and time as seconds since 1970-01-01T00:00
+    * @param units       minutes or longer
+    * @return start of the local minute, hour, day, week, month or year
+    */
+   private static long startOf(final long localSecond, final DateAndTimeOffsetFunctionImpl units)
+   {
+      final long epochDay = Math.floorDiv(localSecond, EpochDays.SECONDS_PER_DAY);
+      switch (units.getUnit())
+      {
+         case MINUTES:
+            return localSecond - Math.floorMod(localSecond, 60);
+         case HOURS:
+            return localSecond - Math.floorMod(localSecond, 3600);
+         case DAYS:
+            return epochDay * EpochDays.SECONDS_PER_DAY;
+         case WEEKS:
+            // 1970-01-01 is a Thursday
+            return (epochDay - Math.floorMod(epochDay + 3, 7)) * EpochDays.SECONDS_PER_DAY;
+         case MONTHS:
+         {
+            final long date = EpochDays.toDate(epochDay);
+            return EpochDays.of(EpochDays.year(date), EpochDays.month(date), 1) * EpochDays.SECONDS_PER_DAY;
+         }
+         case YEARS:
+            return EpochDays.of(EpochDays.year(EpochDays.toDate(epochDay)), 1, 1) * EpochDays.SECONDS_PER_DAY;
+         default:
+            throw new IllegalArgumentException("startOf(" + units + ")");
+      }
+   }
+
+   private static LocalDateTime startOf(final LocalDateTime dateTime, final DateAndTimeOffsetFunctionImpl units)
+   {
+      switch (units.getUnit())
+      {
+         case WEEKS:
+            return dateTime.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+         case MONTHS:
+            return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+         case YEARS:
+            return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+         default:
+            return dateTime.truncatedTo(units.getUnit());
+      }
+   }
+
+   /**
+    * @return units by name, singular names ("day") included
+    */
+   private static DateAndTimeOffsetFunctionImpl units(final CharSequence text, final int start, final int end)
+   {
+      final String name = text.subSequence(start, end).toString();
+      final DateAndTimeOffsetFunctionImpl units = DateAndTimeOffsetFunctionImpl.fromUnits(name);
+      return units != null || name.endsWith("s") ? units : DateAndTimeOffsetFunctionImpl.fromUnits(name + 's');
+   }
+
+   /**
+    * A period ends at a space, at the end or at a sign followed by the next term
+    */
+   private static int periodEnd(final CharSequence text, final int start, final int length)
+   {
+      int position = start + 1;
+      while (position < length)
+      {
+         final char c = text.charAt(position);
+         if (c == ' ' || ((c == '+' || c == '-') && isTerm(text, position + 1, length)))
+         {
+            return position;
+         }
+         position++;
+      }
+      return position;
+   }
+
+   /**
+    * @return true when a period, {@code startOf} or an amount followed by known units starts at the position, the
+    * sign of "PT-3H" is followed by an amount with the designator of a period
+    */
+   private static boolean isTerm(final CharSequence text, final int start, final int length)
+   {
+      int position = skipSpaces(text, start, length);
+      if (position == length)
+      {
+         return false;
+      }
+      if (text.charAt(position) == 'P' || startsWith(text, position, length, "startOf"))
+      {
+         return true;
+      }
+      if (!isDigit(text.charAt(position)))
+      {
+         return false;
+      }
+      while (position < length && isDigit(text.charAt(position)))
+      {
+         position++;
+      }
+      position = skipSpaces(text, position, length);
+      final int unitsStart = position;
+      position = skipLetters(text, position, length);
+      return position > unitsStart && units(text, unitsStart, position) != null;
+   }
+
+   private static boolean startsWith(final CharSequence text, final int start, final int length,
+           final String prefix)
+   {
+      if (length - start < prefix.length())
+      {
+         return false;
+      }
+      for (int i = 0; i < prefix.length(); i++)
+      {
+         if (text.charAt(start + i) != prefix.charAt(i))
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static int skipSpaces(final CharSequence text, final int start, final int length)
+   {
+      int position = start;
+      while (position < length && text.charAt(position) == ' ')
+      {
+         position++;
+      }
+      return position;
+   }
+
+   private static int skipLetters(final CharSequence text, final int start, final int length)
+   {
+      int position = start;
+      while (position < length && Character.isLetter(text.charAt(position)))
+      {
+         position++;
+      }
+      return position;
+   }
+
+   private static boolean isDigit(final char c)
+   {
+      return c >= '0' && c <= '9';
+   }
+
+   /**
+    * @return null, the code of the error at the position in {@code failure[0]}
+    */
+   private static OffsetExpression fail(final int[] failure, final OffsetError error, final int position)
+   {
+      failure[0] = error.encode(position);
+      return null;
+   }
+
+   /**
+    * @return number of steps, one per term
+    */
+   public int size()
+   {
+      return startOf.length;
+   }
+
+   /**
+    * @return the compiled text
+    */
+   @Override
+   public String toString()
+   {
+      return text;
+   }
+
+}
@@ -0,0 +1,845 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Bulk mode: offsets every row of a CSV or NDJSON file and writes the rows with their result, in input order.
+ * <pre>
+ *    CSV     2022-02-02T12:34:56.789Z,3,days             -- 2022-02-02T12:34:56.789Z,3,days,2022-02-05T12:34:56.789Z
+ *            2022-02-02T12:34:56.789Z,P1M                -- 2022-02-02T12:34:56.789Z,P1M,2022-03-02T12:34:56.789Z
+ *    NDJSON  {"timestamp":"2022-02-02T12:34Z","period":"P1M"}
+ *            -- {"timestamp":"2022-02-02T12:34Z","period":"P1M","result":"2022-03-02T12:34Z"}
+ * </pre>
+ * CSV fields may be quoted, a first field named "timestamp" marks a header row (written with ",result"). NDJSON
+ * rows are flat objects with "timestamp" and either "period" or "amount" and "unit" (or "units"). Blank lines are
+ * dropped.
+ * <p>
+ * The input is memory-mapped and split on line boundaries into chunks of about {@link #DEFAULT_CHUNK_SIZE} bytes,
+ * the chunks are processed in parallel on a {@link ForkJoinPool} and written as soon as all chunks before them are
+ * written. At most two chunks per worker thread are held in memory, so files of any size (beyond 2GB too) can be
+ * processed.
+ * <p>
+ * Each row goes through {@link DateAndTimeCalculation}, with the result formatted straight into the chunk's output
+ * buffer. What happens to rows that cannot be offset (unparsable timestamp, amount or period, unknown units) is
+ * decided by {@link BadRows}, the {@link Report} tells how many rows there were.
+ * <p>
+ * Standalone: {@code java el.dude.java.basics.enumerations.OffsetFileProcessor input output [SKIP|UNCHANGED|FAIL]},
+ * the format is taken from the input file extension (".ndjson", ".jsonl" or ".json" for NDJSON, CSV otherwise).
+ */
+public final class OffsetFileProcessor
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetFileProcessor.class);
+
+   public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+   private static final byte[] CSV_RESULT    = ",".getBytes(StandardCharsets.ISO_8859_1);
+   private static final byte[] CSV_HEADER    = ",result".getBytes(StandardCharsets.ISO_8859_1);
+   private static final byte[] NDJSON_RESULT = ",\"result\":\"".getBytes(StandardCharsets.ISO_8859_1);
+
+   public enum Format
+   {
+      CSV,
+      NDJSON;
+
+      /**
+       * @return NDJSON for ".ndjson", ".jsonl" and ".json" files, CSV otherwise
+       */
+      public static Format of(final Path file)
+      {
+         final String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+         return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json") ? NDJSON : CSV;
+      }
+   }
+
+   /**
+    * What happens to a row that cannot be offset
+    */
+   public enum BadRows
+   {
+      /**
+       * Left out of the output
+       */
+      SKIP,
+      /**
+       * Written with the unchanged timestamp as result, same as {@link DateAndTimeCalculation#offsetBy(String)}
+       * does (an empty result when there is no timestamp at all)
+       */
+      UNCHANGED,
+      /**
+       * Processing stops with an {@link IllegalArgumentException} naming the row, the output is incomplete
+       */
+      FAIL,
+   }
+
+   private final ForkJoinPool pool;
+   private final int          chunkSize;
+   private final BadRows      badRows;
+
+   /**
+    * Common pool, default chunk size, bad rows written unchanged
+    */
+   public OffsetFileProcessor()
+   {
+      this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, BadRows.UNCHANGED);
+   }
+
+   /**
+    * @param pool      processes the chunks
+    * @param chunkSize approximate number of bytes per chunk, at most 1GB
+    * @param badRows   what happens to rows that cannot be offset
+    */
+   public OffsetFileProcessor(final ForkJoinPool pool, final int chunkSize, final BadRows badRows)
+   {
+      if (chunkSize < 1 || chunkSize > 1 << 30)
+      {
+         throw new IllegalArgumentException("chunkSize must be between 1 and 1GB: " + chunkSize);
+      }
+      this.pool = pool;
+      this.chunkSize = chunkSize;
+      this.badRows = badRows;
+   }
+
+   /**
+    * Same as {@link #process(Path, Format, Path)} with the format taken from the input file extension
+    */
+   public Report process(final Path input, final Path output) throws IOException
+   {
+      return process(input, Format.of(input), output);
+   }
+
+   /**
+    * @param input  CSV or NDJSON rows
+    * @param format of the input and the output
+    * @param output created or truncated
+    * @return row counts and timing
+    * @throws IllegalArgumentException on the first bad row when bad rows {@link BadRows#FAIL fail}
+    */
+   public Report process(final Path input, final Format format, final Path output) throws IOException
+   {
+      final long start = System.nanoTime();
+      long rows = 0;
+      long bad = 0;
+      long firstBadRow = -1;
+      try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+           FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                   StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         final long size = in.size();
+         final int window = Math.max(2, pool.getParallelism() * 2);
+         final Deque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>(window);
+         long position = 0;
+         try
+         {
+            while (position < size || !pending.isEmpty())
+            {
+               while (position < size && pending.size() < window)
+               {
+                  final long end = lineStart(in, Math.min(size, position + chunkSize), size);
+                  pending.add(pool.submit(new ChunkTask(in, format, position, end)));
+                  position = end;
+               }
+               final Chunk chunk = pending.poll().join();
+               final ByteBuffer buffer = ByteBuffer.wrap(chunk.output, 0, chunk.length);
+               while (buffer.hasRemaining())
+               {
+                  out.write(buffer);
+               }
+               if (chunk.failure != null)
+               {
+                  throw new IllegalArgumentException(chunk.failure);
+               }
+               rows += chunk.rows;
+               bad += chunk.badRows;
+               if (firstBadRow < 0)
+               {
+                  firstBadRow = chunk.firstBadRow;
+               }
+            }
+         }
+         catch (final UncheckedIOException e)
+         {
+            throw e.getCause();
+         }
+         finally
+         {
+            pending.forEach(task -> task.cancel(true));
+         }
+         final Report report = new Report(input, rows, bad, firstBadRow, badRows, size, System.nanoTime() - start);
+         logger.info("{}", report);
+         return report;
+      }
+   }
+
+   /**
+    * @return position of the first line starting at or after the given position
+    */
+   private static long lineStart(final FileChannel channel, final long position, final long size) throws IOException
+   {
+      if (position == 0 || position >= size)
+      {
+         return position;
+      }
+      final ByteBuffer buffer = ByteBuffer.allocate(4096);
+      long current = position - 1;
+      while (current < size)
+      {
+         buffer.clear();
+         final int read = channel.read(buffer, current);
+         if (read < 0)
+         {
+            break;
+         }
+         for (int i = 0; i < read; i++)
+         {
+            if (buffer.get(i) == '\n')
+            {
+               return current + i + 1;
+            }
+         }
+         current += read;
+      }
+      return size;
+   }
+
+   /**
+    * Result of one chunk
+    */
+   private static final class Chunk
+   {
+      byte[] output;
+      int    length;
+      long   rows;
+      long   badRows;
+      long   firstBadRow = -1;
+      /**
+       * Bad row when bad rows fail, the chunk ends before it
+       */
+      String failure;
+
+      void write(final byte[] bytes, final int from, final int count)
+      {
+         ensureCapacity(count);
+         System.arraycopy(bytes, from, output, length, count);
+         length += count;
+      }
+
+      void write(final byte value)
+      {
+         ensureCapacity(1);
+         output[length++] = value;
+      }
+
+      void ensureCapacity(final int count)
+      {
+         if (length + count > output.length)
+         {
+            output = Arrays.copyOf(output, Math.max(length + count, output.length * 2));
+         }
+      }
+   }
+
+   /**
+    * Fields of one row, reused
+    */
+   private static final class Row
+   {
+      String                        timestamp;
+      boolean                       hasAmount;
+      int                           amount;
+      /**
+       * Units resolved from the bytes of a CSV field, units other than the enum's (e.g. business days) in units
+       */
+      DateAndTimeOffsetFunctionImpl function;
+      String                        units;
+      String                        period;
+      boolean                       header;
+      /**
+       * NDJSON: position of the closing brace
+       */
+      int                           end;
+      /**
+       * CSV: bounds of the last field trimmed by {@link #trim(byte[], int, int, Row)}
+       */
+      int                           fieldStart;
+      int                           fieldEnd;
+
+      void clear()
+      {
+         timestamp = null;
+         hasAmount = false;
+         amount = 0;
+         function = null;
+         units = null;
+         period = null;
+         header = false;
+         end = -1;
+      }
+   }
+
+   private final class ChunkTask extends ForkJoinTask<Chunk>
+   {
+      private static final long serialVersionUID = 1L;
+
+      private final FileChannel channel;
+      private final Format      format;
+      private final long        start;
+      private final long        end;
+      private       Chunk       result;
+
+      ChunkTask(final FileChannel channel, final Format format, final long start, final long end)
+      {
+         this.channel = channel;
+         this.format = format;
+         this.start = start;
+         this.end = end;
+      }
+
+      @Override
+      public Chunk getRawResult()
+      {
+         return result;
+      }
+
+      @Override
+      protected void setRawResult(final Chunk value)
+      {
+         result = value;
+      }
+
+      @Override
+      protected boolean exec()
+      {
+         try
+         {
+            result = process(channel.map(FileChannel.MapMode.READ_ONLY, start, end - start));
+            return true;
+         }
+         catch (final IOException e)
+         {
+            throw new UncheckedIOException(e);
+         }
+      }
+
+      private Chunk process(final MappedByteBuffer mapped)
+      {
+         final Chunk chunk = new Chunk();
+         final int size = mapped.limit();
+         chunk.output = new byte[size + size / 2 + 64];
+         final Row row = new Row();
+         byte[] line = new byte[256];
+         int position = 0;
+         while (position < size)
+         {
+            int length = 0;
+            final int lineStart = position;
+            byte b;
+            while (position < size && (b = mapped.get(position++)) != '\n')
+            {
+               if (length == line.length)
+               {
+                  line = Arrays.copyOf(line, length * 2);
+               }
+               line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r')
+            {
+               length--;
+            }
+            if (isBlank(line, length))
+            {
+               continue;
+            }
+            row.clear();
+            final boolean parsed = format == Format.CSV ? parseCsv(line, length, row) : parseJson(line, length, row);
+            if (row.header)
+            {
+               chunk.write(line, 0, length);
+               chunk.write(CSV_HEADER, 0, CSV_HEADER.length);
+               chunk.write((byte) '\n');
+               continue;
+            }
+            chunk.rows++;
+            if (!(parsed && offset(line, length, row, chunk)))
+            {
+               badRow(line, length, row, chunk, start + lineStart);
+               if (chunk.failure != null)
+               {
+                  break;
+               }
+            }
+         }
+         return chunk;
+      }
+
+      /**
+       * @return false when the row cannot be offset, nothing written then
+       */
+      private boolean offset(final byte[] line, final int length, final Row row, final Chunk chunk)
+      {
+         final DateAndTimeCalculation calculation;
+         try
+         {
+            calculation = new DateAndTimeCalculation(row.timestamp);
+         }
+         catch (final DateTimeParseException e)
+         {
+            return false;
+         }
+         final byte[] buffer = IsoDateTimeFormatter.scratch(calculation.getMaxLength());
+         final int resultLength = row.period != null ? calculation.offsetBy(row.period, buffer)
+                 : row.function != null ? calculation.offsetBy(row.amount, row.function, buffer)
+                 : calculation.offsetBy(row.amount, row.units, buffer);
+         if (resultLength < 0)
+         {
+            return false;
+         }
+         writeRow(line, length, row, buffer, resultLength, chunk);
+         return true;
+      }
+
+      private void badRow(final byte[] line, final int length, final Row row, final Chunk chunk,
+              final long position)
+      {
+         chunk.badRows++;
+         if (chunk.firstBadRow < 0)
+         {
+            chunk.firstBadRow = position;
+         }
+         if (badRows == BadRows.FAIL)
+         {
+            // thrown by the thread writing the output, right after the rows before it
+            chunk.failure = "Bad row at byte " + position + ": " + new String(line, 0, length, StandardCharsets.UTF_8);
+         }
+         if (badRows == BadRows.UNCHANGED)
+         {
+            final byte[] timestamp = row.timestamp == null ? new byte[0]
+                    : row.timestamp.getBytes(StandardCharsets.UTF_8);
+            writeRow(line, length, row, timestamp, timestamp.length, chunk);
+         }
+      }
+
+      private void writeRow(final byte[] line, final int length, final Row row, final byte[] result,
+              final int resultLength, final Chunk chunk)
+      {
+         if (format == Format.NDJSON && row.end >= 0)
+         {
+            chunk.write(line, 0, row.end);
+            chunk.write(NDJSON_RESULT, 0, NDJSON_RESULT.length);
+            chunk.write(result, 0, resultLength);
+            chunk.write((byte) '"');
+            chunk.write(line, row.end, length - row.end);
+         }
+         else if (format == Format.NDJSON)
+         {
+            // not even an object, written as it is
+            chunk.write(line, 0, length);
+         }
+         else
+         {
+            chunk.write(line, 0, length);
+            chunk.write(CSV_RESULT, 0, CSV_RESULT.length);
+            chunk.write(result, 0, resultLength);
+         }
+         chunk.write((byte) '\n');
+      }
+   }
+
+   private static boolean isBlank(final byte[] line, final int length)
+   {
+      for (int i = 0; i < length; i++)
+      {
+         if (line[i] != ' ' && line[i] != '\t')
+         {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * timestamp,amount,units or timestamp,period - fields optionally quoted. The amount and the units are read from
+    * the bytes, only the timestamp, a period and units other than the enum's become Strings.
+    */
+   private static boolean parseCsv(final byte[] line, final int length, final Row row)
+   {
+      int first = -1;
+      int second = -1;
+      for (int i = 0; i < length; i++)
+      {
+         if (line[i] == ',')
+         {
+            if (first < 0)
+            {
+               first = i;
+            }
+            else if (second < 0)
+            {
+               second = i;
+            }
+            else
+            {
+               return false;
+            }
+         }
+      }
+      trim(line, 0, first < 0 ? length : first, row);
+      if (row.fieldStart == row.fieldEnd)
+      {
+         // like a JSON row without timestamp
+         return false;
+      }
+      row.timestamp = field(line, row);
+      if ("timestamp".equalsIgnoreCase(row.timestamp))
+      {
+         row.header = true;
+         return true;
+      }
+      if (first < 0)
+      {
+         return false;
+      }
+      if (second < 0)
+      {
+         trim(line, first + 1, length, row);
+         row.period = field(line, row);
+         return true;
+      }
+      trim(line, second + 1, length, row);
+      row.function = UnitsResolver.exact().resolve(line, row.fieldStart, row.fieldEnd - row.fieldStart);
+      if (row.function == null)
+      {
+         row.units = field(line, row);
+      }
+      trim(line, first + 1, second, row);
+      return amount(line, row.fieldStart, row.fieldEnd, row);
+   }
+
+   /**
+    * Sets the bounds of the field without the spaces around it and its quotes
+    */
+   private static void trim(final byte[] line, final int from, final int to, final Row row)
+   {
+      int start = from;
+      int end = to;
+      while (start < end && line[start] == ' ')
+      {
+         start++;
+      }
+      while (end > start && line[end - 1] == ' ')
+      {
+         end--;
+      }
+      if (end - start >= 2 && line[start] == '"' && line[end - 1] == '"')
+      {
+         start++;
+         end--;
+      }
+      row.fieldStart = start;
+      row.fieldEnd = end;
+   }
+
+   private static String field(final byte[] line, final Row row)
+   {
+      return new String(line, row.fieldStart, row.fieldEnd - row.fieldStart, StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Flat object, string values without escapes and number values
+    */
+   private static boolean parseJson(final byte[] line, final int length, final Row row)
+   {
+      int i = skipBlanks(line, 0, length);
+      if (i == length || line[i++] != '{')
+      {
+         return false;
+      }
+      while (true)
+      {
+         i = skipBlanks(line, i, length);
+         if (i < length && line[i] == '}')
+         {
+            row.end = i;
+            return skipBlanks(line, i + 1, length) == length && complete(row);
+         }
+         if (i == length || line[i] != '"')
+         {
+            return false;
+         }
+         final int keyEnd = stringEnd(line, i + 1, length);
+         if (keyEnd < 0)
+         {
+            return false;
+         }
+         final String key = new String(line, i + 1, keyEnd - i - 1, StandardCharsets.UTF_8);
+         i = skipBlanks(line, keyEnd + 1, length);
+         if (i == length || line[i] != ':')
+         {
+            return false;
+         }
+         i = skipBlanks(line, i + 1, length);
+         final String value;
+         if (i < length && line[i] == '"')
+         {
+            final int valueEnd = stringEnd(line, i + 1, length);
+            if (valueEnd < 0)
+            {
+               return false;
+            }
+            value = new String(line, i + 1, valueEnd - i - 1, StandardCharsets.UTF_8);
+            i = valueEnd + 1;
+         }
+         else
+         {
+            final int valueStart = i;
+            while (i < length && line[i] != ',' && line[i] != '}' && line[i] != ' ')
+            {
+               i++;
+            }
+            value = new String(line, valueStart, i - valueStart, StandardCharsets.UTF_8);
+         }
+         if (!assign(key, value, row))
+         {
+            return false;
+         }
+         i = skipBlanks(line, i, length);
+         if (i < length && line[i] == ',')
+         {
+            i++;
+         }
+         else if (i == length || line[i] != '}')
+         {
+            return false;
+         }
+      }
+   }
+
+   private static boolean assign(final String key, final String value, final Row row)
+   {
+      switch (key)
+      {
+         case "timestamp":
+            row.timestamp = value;
+            return true;
+         case "amount":
+            return amount(value, row);
+         case "unit":
+         case "units":
+            row.units = value;
+            return true;
+         case "period":
+            row.period = value;
+            return true;
+         default:
+            // other fields are passed through
+            return true;
+      }
+   }
+
+   private static boolean complete(final Row row)
+   {
+      return row.timestamp != null && (row.period != null || (row.hasAmount && row.units != null));
+   }
+
+   /**
+    * Same as {@link #amount(String, Row)} on the bytes
+    */
+   private static boolean amount(final byte[] line, final int from, final int to, final Row row)
+   {
+      int start = from;
+      int end = to;
+      // like String.trim
+      while (start < end && (line[start] & 0xFF) <= ' ')
+      {
+         start++;
+      }
+      while (end > start && (line[end - 1] & 0xFF) <= ' ')
+      {
+         end--;
+      }
+      final boolean negative = start < end && line[start] == '-';
+      if (start < end && (line[start] == '-' || line[start] == '+'))
+      {
+         start++;
+      }
+      if (start == end)
+      {
+         return false;
+      }
+      long value = 0;
+      for (int i = start; i < end; i++)
+      {
+         final int digit = line[i] - '0';
+         if (digit < 0 || digit > 9)
+         {
+            return false;
+         }
+         value = value * 10 + digit;
+         if (value > Integer.MAX_VALUE + 1L)
+         {
+            return false;
+         }
+      }
+      if (!negative && value > Integer.MAX_VALUE)
+      {
+         return false;
+      }
+      row.amount = (int) (negative ? -value : value);
+      row.hasAmount = true;
+      return true;
+   }
+
+   private static boolean amount(final String value, final Row row)
+   {
+      try
+      {
+         row.amount = Integer.parseInt(value.trim());
+         row.hasAmount = true;
+         return true;
+      }
+      catch (final NumberFormatException e)
+      {
+         return false;
+      }
+   }
+
+   private static int skipBlanks(final byte[] line, final int from, final int length)
+   {
+      int i = from;
+      while (i < length && (line[i] == ' ' || line[i] == '\t'))
+      {
+         i++;
+      }
+      return i;
+   }
+
+   /**
+    * @return position of the closing quote or -1 when missing or escapes are used
+    */
+   private static int stringEnd(final byte[] line, final int from, final int length)
+   {
+      for (int i = from; i < length; i++)
+      {
+         if (line[i] == '"')
+         {
+            return i;
+         }
+         if (line[i] == '\\')
+         {
+            return -1;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Row counts and timing of one file
+    */
+   public static final class Report
+   {
+      private final Path    input;
+      private final long    rows;
+      private final long    badRows;
+      private final long    firstBadRow;
+      private final BadRows handling;
+      private final long    bytes;
+      private final long    elapsedNanos;
+
+      Report(final Path input, final long rows, final long badRows, final long firstBadRow, final BadRows handling,
+              final long bytes, final long elapsedNanos)
+      {
+         this.input = input;
+         this.rows = rows;
+         this.badRows = badRows;
+         this.firstBadRow = firstBadRow;
+         this.handling = handling;
+         this.bytes = bytes;
+         this.elapsedNanos = elapsedNanos;
+      }
+
+      /**
+       * @return data rows processed, header and blank lines not counted
+       */
+      public long getRows()
+      {
+         return rows;
+      }
+
+      public long getBadRows()
+      {
+         return badRows;
+      }
+
+      /**
+       * @return byte position of the first bad row in the input or -1 when there was none
+       */
+      public long getFirstBadRow()
+      {
+         return firstBadRow;
+      }
+
+      /**
+       * @return how the bad rows were handled
+       */
+      public BadRows getHandling()
+      {
+         return handling;
+      }
+
+      public long getBytes()
+      {
+         return bytes;
+      }
+
+      public long getElapsedNanos()
+      {
+         return elapsedNanos;
+      }
+
+      public double getRowsPerSecond()
+      {
+         return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+      }
+
+      @Override
+      public String toString()
+      {
+         return String.format(Locale.ROOT,
+                 "%s: %d rows (%d bad, %s, first at byte %d), %d bytes in %.3f s, %.0f rows/s", input, rows,
+                 badRows, handling, firstBadRow, bytes, elapsedNanos / 1e9, getRowsPerSecond());
+      }
+   }
+
+   public static void main(final String[] args) throws IOException
+   {
+      if (args.length < 2)
+      {
+         logger.error("Usage: OffsetFileProcessor input output [SKIP|UNCHANGED|FAIL]");
+         return;
+      }
+      final BadRows badRows = args.length > 2 ? BadRows.valueOf(args[2].toUpperCase(Locale.ROOT)) : BadRows.UNCHANGED;
+      new OffsetFileProcessor(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, badRows)
+              .process(Paths.get(args[0]), Paths.get(args[1]));
+   }
+
+}
@@ -0,0 +1,264 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Local load test of the {@link OffsetServer}: a number of concurrent clients each send their share of the requests
+ * one after the other (closed loop) and the latency of every request is recorded.
+ * <pre>
+ *    Target.http(uri)       -- through the HTTP stack, on the loopback address
+ *    Target.of(batcher)     -- straight into the {@link OffsetBatcher}, no sockets at all
+ * </pre>
+ * The requests offset a handful of date and times (fixed offsets and a region zone) by random amounts of units or
+ * periods, the same ones for the same seed. Clients run on virtual threads when the JVM has them, see
+ * {@link OffsetServer#newExecutor(String, int)}.
+ * <p>
+ * Standalone: {@code java el.dude.java.basics.enumerations.OffsetLoadGenerator [clients] [requests] [uri]}, without
+ * a uri a server is started on an ephemeral loopback port. A first run warms up, the second one is reported.
+ */
+public final class OffsetLoadGenerator
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetLoadGenerator.class);
+
+   private static final String[] DATE_AND_TIMES = {"2022-02-02T12:34:56.789Z", "2022-02-02T13:34:56.789+01:00",
+           "2022-03-26T12:00+01:00[Europe/Zurich]", "2022-10-29T23:59:59.999999999+02:00[Europe/Zurich]"};
+
+   private static final String[] UNITS = {"seconds", "minutes", "hours", "days", "weeks", "months", "years"};
+
+   private static final String[] PERIODS = {"PT1H", "P1D", "P1M", "P1DT12H", "P1Y2M3DT4H5M6.789S", "P-1W"};
+
+   /**
+    * Where the requests go
+    */
+   @FunctionalInterface
+   public interface Target
+   {
+
+      /**
+       * @param period null for an amount of units
+       * @return whether the date and time was offset
+       */
+      boolean offset(String dateAndTime, int amount, String units, String period) throws Exception;
+
+      /**
+       * @param batcher offsets the requests in process
+       */
+      static Target of(final OffsetBatcher batcher)
+      {
+         return (dateAndTime, amount, units, period) -> (period == null ? batcher.offsetBy(dateAndTime, amount, units)
+                 : batcher.offsetBy(dateAndTime, period)).get().isSuccess();
+      }
+
+      /**
+       * @param uri of the server, e.g. "http://127.0.0.1:8086"
+       */
+      static Target http(final URI uri)
+      {
+         final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+         return (dateAndTime, amount, units, period) ->
+         {
+            final String query = "dateAndTime=" + URLEncoder.encode(dateAndTime, StandardCharsets.UTF_8)
+                    + (period == null ? "&amount=" + amount + "&units=" + units
+                    : "&period=" + URLEncoder.encode(period, StandardCharsets.UTF_8));
+            final HttpRequest request = HttpRequest.newBuilder(uri.resolve("/offset?" + query)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+         };
+      }
+
+   }
+
+   private final int  clients;
+   private final int  requests;
+   private final long seed;
+
+   /**
+    * @param clients  sending concurrently
+    * @param requests in total, shared by the clients
+    * @param seed     of the random offsets
+    */
+   public OffsetLoadGenerator(final int clients, final int requests, final long seed)
+   {
+      if (clients < 1 || requests < clients)
+      {
+         throw new IllegalArgumentException(
+                 "clients must be positive and at most requests: " + clients + ", " + requests);
+      }
+      this.clients = clients;
+      this.requests = requests;
+      this.seed = seed;
+   }
+
+   /**
+    * @return counts, throughput and latency percentiles
+    * @throws ExecutionException when a request could not be sent at all
+    */
+   public Report run(final Target target) throws InterruptedException, ExecutionException
+   {
+      final long[] latencies = new long[requests];
+      final int[] failures = new int[clients];
+      final ExecutorService executor = OffsetServer.newExecutor("offset-load", clients);
+      try
+      {
+         final long start = System.nanoTime();
+         final List<Future<?>> running = new ArrayList<>(clients);
+         for (int client = 0; client < clients; client++)
+         {
+            final int id = client;
+            running.add(executor.submit(() ->
+            {
+               final Random random = new Random(seed + id);
+               // every client records its own stripe of the latencies
+               for (int i = id; i < requests; i += clients)
+               {
+                  final boolean byUnits = random.nextBoolean();
+                  final String dateAndTime = DATE_AND_TIMES[random.nextInt(DATE_AND_TIMES.length)];
+                  final int amount = random.nextInt(2001) - 1000;
+                  final String unit = UNITS[random.nextInt(UNITS.length)];
+                  final String period = byUnits ? null : PERIODS[random.nextInt(PERIODS.length)];
+                  final long sent = System.nanoTime();
+                  if (!target.offset(dateAndTime, amount, unit, period))
+                  {
+                     failures[id]++;
+                  }
+                  latencies[i] = System.nanoTime() - sent;
+               }
+               return null;
+            }));
+         }
+         for (final Future<?> client : running)
+         {
+            client.get();
+         }
+         final long elapsed = System.nanoTime() - start;
+         Arrays.sort(latencies);
+         return new Report(latencies, Arrays.stream(failures).sum(), elapsed);
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * Outcome of one {@link #run(Target)}
+    */
+   public static final class Report
+   {
+
+      private final long[] latencies;
+      private final long   failures;
+      private final long   elapsedNanos;
+
+      /**
+       * @param latencies sorted, in nanoseconds
+       */
+      private Report(final long[] latencies, final long failures, final long elapsedNanos)
+      {
+         this.latencies = latencies;
+         this.failures = failures;
+         this.elapsedNanos = elapsedNanos;
+      }
+
+      public long getRequests()
+      {
+         return latencies.length;
+      }
+
+      /**
+       * @return requests answered with anything but a result
+       */
+      public long getFailures()
+      {
+         return failures;
+      }
+
+      public long getElapsedNanos()
+      {
+         return elapsedNanos;
+      }
+
+      public double getRequestsPerSecond()
+      {
+         return latencies.length * 1e9 / Math.max(1, elapsedNanos);
+      }
+
+      /**
+       * @param percentile between 0 and 100, e.g. 99.9
+       * @return latency in nanoseconds at or below which the percentile of the requests was answered
+       */
+      public long getLatencyNanos(final double percentile)
+      {
+         final int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+         return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+      }
+
+      @Override
+      public String toString()
+      {
+         return String.format("%d requests (%d failed) in %.1f ms, %.0f/s, p50 %.1f us, p99 %.1f us, p99.9 %.1f us,"
+                         + " max %.1f us", getRequests(), failures, elapsedNanos / 1e6, getRequestsPerSecond(),
+                 getLatencyNanos(50) / 1e3, getLatencyNanos(99) / 1e3, getLatencyNanos(99.9) / 1e3,
+                 getLatencyNanos(100) / 1e3);
+      }
+
+   }
+
+   public static void main(final String[] args) throws IOException, InterruptedException, ExecutionException
+   {
+      final int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+      final int requests = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+      final OffsetLoadGenerator generator = new OffsetLoadGenerator(clients, requests, 4711);
+      OffsetServer server = null;
+      try
+      {
+         final URI uri;
+         if (args.length > 2)
+         {
+            uri = URI.create(args[2]);
+         }
+         else
+         {
+            OffsetServer.enableNoDelay();
+            server = new OffsetServer(0);
+            server.start();
+            uri = URI.create("http://127.0.0.1:" + server.getPort());
+         }
+         final Target target = Target.http(uri);
+         logger.info("Warm-up: {}", generator.run(target));
+         logger.info("{}: {}", uri, generator.run(target));
+         if (server != null)
+         {
+            final OffsetBatcher batcher = server.getBatcher();
+            logger.info("In process: {}", generator.run(Target.of(batcher)));
+            logger.info("{} requests in {} batches", batcher.getRequests(), batcher.getBatches());
+         }
+      }
+      finally
+      {
+         if (server != null)
+         {
+            server.close();
+         }
+      }
+   }
+
+}
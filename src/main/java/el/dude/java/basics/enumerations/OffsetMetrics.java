@@ -0,0 +1,517 @@
+package el.dude.java.basics.enumerations;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Counters and latency histograms of the offset engine:
+ * <pre>
+ *    unit calls     -- per {@link DateAndTimeOffsetFunctionImpl} constant
+ *    period shapes  -- date part only, time part only, both, zero; see {@link PeriodShape}
+ *    failures       -- per {@link OffsetError}
+ *    latencies      -- per {@link EntryPoint}, power of two buckets of nanoseconds
+ * </pre>
+ * All of them are {@link LongAdder}s: an update is a striped increment, contended threads do not share a cache
+ * line. Reading is pull style, either through {@link #snapshot()} or through JMX ({@link #register()}), a snapshot
+ * is consistent per counter but not across counters.
+ * <p>
+ * The counters are exact. Latencies cost two {@link System#nanoTime()} reads, about as much as the date math
+ * itself, so only a random sample of calls is timed: one in {@link #getSampling()}. The histograms thus count
+ * sampled calls, their percentiles and means stand for all calls. The sampling of the {@link #getDefault() default
+ * metrics} is taken from the system property {@code el.dude.java.basics.enumerations.OffsetMetrics.sampling}
+ * (default 64, 1 times every call, 0 none).
+ */
+public final class OffsetMetrics implements OffsetMetricsMXBean
+{
+
+   /**
+    * How a period applied to a date and time looks like
+    */
+   public enum PeriodShape
+   {
+      /**
+       * Years, months, weeks or days only, e.g. "P1Y2M3D"
+       */
+      DATE,
+      /**
+       * Hours, minutes or seconds only, e.g. "PT4H"
+       */
+      TIME,
+      /**
+       * Both, e.g. "P1DT4H"
+       */
+      MIXED,
+      /**
+       * Neither, e.g. "P0D"
+       */
+      ZERO,
+      ;
+
+      static PeriodShape of(final IsoPeriod period)
+      {
+         if (period.hasDatePart())
+         {
+            return period.hasTimePart() ? MIXED : DATE;
+         }
+         return period.hasTimePart() ? TIME : ZERO;
+      }
+   }
+
+   /**
+    * What was called
+    */
+   public enum EntryPoint
+   {
+      /**
+       * {@link DateAndTimeCalculation#offsetBy(int, String)} and its overloads
+       */
+      UNITS,
+      /**
+       * {@link DateAndTimeCalculation#offsetBy(String)} and its overloads
+       */
+      PERIOD,
+      /**
+       * {@link DateAndTimeBatchCalculation} by an amount of units, per array
+       */
+      BATCH_UNITS,
+      /**
+       * {@link DateAndTimeBatchCalculation} by a period, per array
+       */
+      BATCH_PERIOD,
+      /**
+       * {@link DateAndTimeBatchCalculation} units or period between epoch values, per array
+       */
+      BATCH_BETWEEN,
+      /**
+       * {@link DateAndTimeCalculation#offsetBy(OffsetExpression)} and its overloads
+       */
+      EXPRESSION,
+      /**
+       * {@link DateAndTimeCalculation#offsetsBy(int[], String[], OffsetResults)} and
+       * {@link DateAndTimeCalculation#offsetsBy(String[], OffsetResults)}, per call
+       */
+      FAN_OUT,
+   }
+
+   public static final String OBJECT_NAME = "el.dude.java.basics.enumerations:type=OffsetMetrics";
+
+   private static final DateAndTimeOffsetFunctionImpl[] UNITS        = DateAndTimeOffsetFunctionImpl.values();
+   private static final PeriodShape[]                   SHAPES       = PeriodShape.values();
+   private static final OffsetError[]                   ERRORS       = OffsetError.values();
+   private static final EntryPoint[]                    ENTRY_POINTS = EntryPoint.values();
+
+   /**
+    * Bucket b counts the latencies of b significant bits: 0, 1, 2..3, 4..7, ... nanoseconds
+    */
+   private static final int BUCKETS = Long.SIZE + 1;
+
+   public static final int DEFAULT_SAMPLING = 64;
+
+   private static final OffsetMetrics DEFAULT = new OffsetMetrics(
+           Integer.getInteger(OffsetMetrics.class.getName() + ".sampling", DEFAULT_SAMPLING));
+
+   private final int           sampling;
+   private final int           sampleMask;
+   private final LongAdder[]   unitCalls    = adders(UNITS.length);
+   private final LongAdder[]   periodShapes = adders(SHAPES.length);
+   private final LongAdder[]   failures     = adders(ERRORS.length);
+   private final LongAdder[][] latencies    = new LongAdder[ENTRY_POINTS.length][];
+   private final LongAdder[]   latencySums  = adders(ENTRY_POINTS.length);
+
+   /**
+    * @param sampling one in how many calls is timed: a power of two, 1 times every call, 0 none
+    */
+   public OffsetMetrics(final int sampling)
+   {
+      if (sampling < 0 || Integer.bitCount(sampling) > 1)
+      {
+         throw new IllegalArgumentException("sampling must be 0 or a power of two: " + sampling);
+      }
+      this.sampling = sampling;
+      this.sampleMask = sampling - 1;
+      for (int i = 0; i < latencies.length; i++)
+      {
+         latencies[i] = adders(BUCKETS);
+      }
+   }
+
+   private static LongAdder[] adders(final int length)
+   {
+      final LongAdder[] adders = new LongAdder[length];
+      for (int i = 0; i < length; i++)
+      {
+         adders[i] = new LongAdder();
+      }
+      return adders;
+   }
+
+   /**
+    * @return metrics shared by all calculations
+    */
+   public static OffsetMetrics getDefault()
+   {
+      return DEFAULT;
+   }
+
+   /**
+    * Registers the {@link #getDefault() default metrics} with the platform MBean server, once
+    *
+    * @return name registered
+    * @throws IllegalStateException when JMX refuses the registration
+    */
+   public static ObjectName register()
+   {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name;
+      try
+      {
+         name = new ObjectName(OBJECT_NAME);
+         if (!server.isRegistered(name))
+         {
+            server.registerMBean(DEFAULT, name);
+         }
+      }
+      catch (final InstanceAlreadyExistsException e)
+      {
+         // registered concurrently
+         return register();
+      }
+      catch (final JMException e)
+      {
+         throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+      }
+      return name;
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // recording
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @return start of a timed call, 0 when the call is not sampled
+    */
+   long start()
+   {
+      if (sampling == 0 || (ThreadLocalRandom.current().nextInt() & sampleMask) != 0)
+      {
+         return 0;
+      }
+      return System.nanoTime();
+   }
+
+   /**
+    * @param start from {@link #start()}
+    */
+   void stop(final EntryPoint entryPoint, final long start)
+   {
+      if (start != 0)
+      {
+         latency(entryPoint, Math.max(0, System.nanoTime() - start));
+      }
+   }
+
+   void latency(final EntryPoint entryPoint, final long nanos)
+   {
+      latencies[entryPoint.ordinal()][Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+      latencySums[entryPoint.ordinal()].add(nanos);
+   }
+
+   void unitCall(final DateAndTimeOffsetFunctionImpl units)
+   {
+      unitCalls[units.ordinal()].increment();
+   }
+
+   void period(final IsoPeriod period)
+   {
+      periodShapes[PeriodShape.of(period).ordinal()].increment();
+   }
+
+   /**
+    * @param code negative code, see {@link OffsetError#encode(int)}
+    */
+   void failure(final int code)
+   {
+      failures[OffsetError.decode(code).ordinal()].increment();
+   }
+
+   /**
+    * @param code  negative code, see {@link OffsetError#encode(int)}
+    * @param count of values that failed
+    */
+   void failures(final int code, final long count)
+   {
+      failures[OffsetError.decode(code).ordinal()].add(count);
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // reading
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * @return current values of all counters
+    */
+   public Snapshot snapshot()
+   {
+      final Map<DateAndTimeOffsetFunctionImpl, Long> units = new EnumMap<>(DateAndTimeOffsetFunctionImpl.class);
+      for (final DateAndTimeOffsetFunctionImpl unit : UNITS)
+      {
+         units.put(unit, unitCalls[unit.ordinal()].sum());
+      }
+      final Map<PeriodShape, Long> shapes = new EnumMap<>(PeriodShape.class);
+      for (final PeriodShape shape : SHAPES)
+      {
+         shapes.put(shape, periodShapes[shape.ordinal()].sum());
+      }
+      final Map<OffsetError, Long> errors = new EnumMap<>(OffsetError.class);
+      for (final OffsetError error : ERRORS)
+      {
+         errors.put(error, failures[error.ordinal()].sum());
+      }
+      final Map<EntryPoint, Latency> latency = new EnumMap<>(EntryPoint.class);
+      for (final EntryPoint entryPoint : ENTRY_POINTS)
+      {
+         final long[] buckets = new long[BUCKETS];
+         for (int b = 0; b < BUCKETS; b++)
+         {
+            buckets[b] = latencies[entryPoint.ordinal()][b].sum();
+         }
+         latency.put(entryPoint, new Latency(buckets, latencySums[entryPoint.ordinal()].sum()));
+      }
+      return new Snapshot(units, shapes, errors, latency);
+   }
+
+   @Override
+   public void reset()
+   {
+      for (final LongAdder[] adders : new LongAdder[][]{unitCalls, periodShapes, failures, latencySums})
+      {
+         for (final LongAdder adder : adders)
+         {
+            adder.reset();
+         }
+      }
+      for (final LongAdder[] buckets : latencies)
+      {
+         for (final LongAdder bucket : buckets)
+         {
+            bucket.reset();
+         }
+      }
+   }
+
+   @Override
+   public Map<String, Long> getUnitCalls()
+   {
+      final Map<String, Long> view = new LinkedHashMap<>();
+      snapshot().getUnitCalls().forEach((unit, count) -> view.put(unit.getUnits(), count));
+      return view;
+   }
+
+   @Override
+   public Map<String, Long> getPeriodShapes()
+   {
+      return names(snapshot().getPeriodShapes());
+   }
+
+   @Override
+   public Map<String, Long> getFailures()
+   {
+      return names(snapshot().getFailures());
+   }
+
+   @Override
+   public Map<String, Latency> getLatencies()
+   {
+      return names(snapshot().getLatencies());
+   }
+
+   private static <E extends Enum<E>, V> Map<String, V> names(final Map<E, V> map)
+   {
+      final Map<String, V> view = new LinkedHashMap<>();
+      map.forEach((key, value) -> view.put(key.name(), value));
+      return view;
+   }
+
+   @Override
+   public int getSampling()
+   {
+      return sampling;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "OffsetMetrics{" + snapshot() + '}';
+   }
+
+   // ---------------------------------------------------------------------------------------------------------------
+   // snapshots
+   // ---------------------------------------------------------------------------------------------------------------
+
+   /**
+    * Counters at the time of {@link #snapshot()}, immutable
+    */
+   public static final class Snapshot
+   {
+
+      private final Map<DateAndTimeOffsetFunctionImpl, Long> unitCalls;
+      private final Map<PeriodShape, Long>                   periodShapes;
+      private final Map<OffsetError, Long>                   failures;
+      private final Map<EntryPoint, Latency>                 latencies;
+
+      private Snapshot(final Map<DateAndTimeOffsetFunctionImpl, Long> unitCalls,
+              final Map<PeriodShape, Long> periodShapes, final Map<OffsetError, Long> failures,
+              final Map<EntryPoint, Latency> latencies)
+      {
+         this.unitCalls = Collections.unmodifiableMap(unitCalls);
+         this.periodShapes = Collections.unmodifiableMap(periodShapes);
+         this.failures = Collections.unmodifiableMap(failures);
+         this.latencies = Collections.unmodifiableMap(latencies);
+      }
+
+      public Map<DateAndTimeOffsetFunctionImpl, Long> getUnitCalls()
+      {
+         return unitCalls;
+      }
+
+      public long getUnitCalls(final DateAndTimeOffsetFunctionImpl units)
+      {
+         return unitCalls.get(units);
+      }
+
+      public Map<PeriodShape, Long> getPeriodShapes()
+      {
+         return periodShapes;
+      }
+
+      public long getPeriodShapes(final PeriodShape shape)
+      {
+         return periodShapes.get(shape);
+      }
+
+      public Map<OffsetError, Long> getFailures()
+      {
+         return failures;
+      }
+
+      public long getFailures(final OffsetError error)
+      {
+         return failures.get(error);
+      }
+
+      public Map<EntryPoint, Latency> getLatencies()
+      {
+         return latencies;
+      }
+
+      public Latency getLatency(final EntryPoint entryPoint)
+      {
+         return latencies.get(entryPoint);
+      }
+
+      @Override
+      public String toString()
+      {
+         return "unitCalls=" + unitCalls + ", periodShapes=" + periodShapes + ", failures=" + failures
+                 + ", latencies=" + latencies;
+      }
+
+   }
+
+   /**
+    * Latency histogram of the sampled calls of one entry point, immutable. Percentiles are the upper bound of the
+    * power of two bucket they fall in, i.e. at most twice the real value.
+    */
+   public static final class Latency
+   {
+
+      private final long[] buckets;
+      private final long   count;
+      private final long   totalNanos;
+
+      private Latency(final long[] buckets, final long totalNanos)
+      {
+         this.buckets = buckets;
+         this.totalNanos = totalNanos;
+         long sum = 0;
+         for (final long bucket : buckets)
+         {
+            sum += bucket;
+         }
+         this.count = sum;
+      }
+
+      public long getCount()
+      {
+         return count;
+      }
+
+      public long getTotalNanos()
+      {
+         return totalNanos;
+      }
+
+      public long getMeanNanos()
+      {
+         return count == 0 ? 0 : totalNanos / count;
+      }
+
+      public long getP50Nanos()
+      {
+         return percentileNanos(50);
+      }
+
+      public long getP99Nanos()
+      {
+         return percentileNanos(99);
+      }
+
+      public long getMaxNanos()
+      {
+         return percentileNanos(100);
+      }
+
+      /**
+       * @param percentile 0 to 100
+       * @return upper bound of the bucket the percentile falls in, 0 without any calls
+       */
+      public long percentileNanos(final double percentile)
+      {
+         if (percentile < 0 || percentile > 100)
+         {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+         }
+         final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+         long seen = 0;
+         for (int b = 0; b < buckets.length; b++)
+         {
+            seen += buckets[b];
+            if (seen >= rank)
+            {
+               return b == 0 ? 0 : b >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << b) - 1;
+            }
+         }
+         return 0;
+      }
+
+      @Override
+      public String toString()
+      {
+         return "{count=" + count + ", mean=" + getMeanNanos() + "ns, p50=" + getP50Nanos() + "ns, p99="
+                 + getP99Nanos() + "ns, max=" + getMaxNanos() + "ns}";
+      }
+
+   }
+
+}
@@ -0,0 +1,44 @@
+package el.dude.java.basics.enumerations;
+
+import java.util.Map;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * JMX view of {@link OffsetMetrics}, registered as {@value OffsetMetrics#OBJECT_NAME} by
+ * {@link OffsetMetrics#register()}. Every attribute read takes a fresh {@link OffsetMetrics#snapshot()}.
+ */
+public interface OffsetMetricsMXBean
+{
+
+   /**
+    * @return calls by units name, e.g. "days"
+    */
+   Map<String, Long> getUnitCalls();
+
+   /**
+    * @return applied periods by shape, e.g. "DATE"
+    */
+   Map<String, Long> getPeriodShapes();
+
+   /**
+    * @return failures by {@link OffsetError}, e.g. "UNKNOWN_UNITS"
+    */
+   Map<String, Long> getFailures();
+
+   /**
+    * @return latencies of the sampled calls by entry point, e.g. "UNITS"
+    */
+   Map<String, OffsetMetrics.Latency> getLatencies();
+
+   /**
+    * @return one in how many calls is timed, 0 none
+    */
+   int getSampling();
+
+   /**
+    * Starts counting from zero
+    */
+   void reset();
+
+}
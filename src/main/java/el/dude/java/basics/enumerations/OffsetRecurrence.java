@@ -0,0 +1,389 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * The occurrences {@code base + k * offset} of an amount of units or an ISO period, k = 0, 1, 2, ... e.g. the
+ * renewal dates of a contract:
+ * <pre>
+ *    OffsetRecurrence.of(start, 1, "months").until(end).epochMillis()   -- every month from start to end
+ *    OffsetRecurrence.of(start, "P1Y2M").limit(10).stream()            -- ten ZonedDateTimes
+ * </pre>
+ * Every occurrence is computed from the base, not from the occurrence before: January 31st plus k months is the
+ * last day of every month, the clamping to February 28th does not carry over to March. The k-th occurrence is the
+ * same as {@code base.plus(units.offsetBy(k * amount))}: the date part (months, days) is added to the local date
+ * and resolved against the zone keeping the offset of the base where it is valid, the time part is added to the
+ * instant.
+ * <p>
+ * Nothing is computed before it is asked for. The k-th occurrence costs the same whatever k, so the
+ * {@link Spliterator} splits its range of k in halves without walking it and parallel streams split down to
+ * single occurrences. The arithmetic is the one of {@link EpochDateTime}: integers on the epoch, region zones
+ * through their {@link ZoneOffsetTable}, {@link ZonedDateTime} only outside the years of the table.
+ * <p>
+ * Without {@link #limit(long)} or {@link #until(ZonedDateTime)} a recurrence is unbounded, its streams fail with
+ * {@link DateTimeException} once they leave the supported range. Immutable and thread-safe.
+ */
+public final class OffsetRecurrence
+{
+
+   private static final long NANOS_PER_SECOND  = 1_000_000_000L;
+   private static final long NANOS_PER_MILLI   = 1_000_000L;
+   private static final long MILLIS_PER_SECOND = 1_000L;
+
+   /**
+    * Count of an unbounded recurrence
+    */
+   public static final long UNBOUNDED = Long.MAX_VALUE;
+
+   private final ZonedDateTime   base;
+   private final long            baseSecond;
+   private final int             baseNano;
+   private final int             offsetSeconds;
+   /**
+    * Transitions of the region zone, null for a fixed offset
+    */
+   private final ZoneOffsetTable table;
+
+   private final long months;
+   private final long days;
+   private final long seconds;
+   private final long nanos;
+   private final long count;
+
+   private OffsetRecurrence(final ZonedDateTime base, final long months, final long days, final long seconds,
+           final long nanos, final long count)
+   {
+      this.base = base;
+      this.baseSecond = base.toEpochSecond();
+      this.baseNano = base.getNano();
+      this.offsetSeconds = base.getOffset().getTotalSeconds();
+      this.table = ZoneOffsetTable.of(base.getZone());
+      this.months = months;
+      this.days = days;
+      this.seconds = seconds;
+      this.nanos = nanos;
+      this.count = count;
+   }
+
+   /**
+    * @param units name, see {@link DateAndTimeOffsetFunctionImpl}
+    * @throws IllegalArgumentException when there are no such units
+    */
+   public static OffsetRecurrence of(final ZonedDateTime base, final int amount, final String units)
+   {
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      if (function == null)
+      {
+         throw new IllegalArgumentException("No methods exists for units: " + units);
+      }
+      return of(base, amount, function);
+   }
+
+   /**
+    * @throws ArithmeticException when the amount of weeks overflows
+    */
+   public static OffsetRecurrence of(final ZonedDateTime base, final int amount,
+           final DateAndTimeOffsetFunctionImpl units)
+   {
+      final long[] months = new long[1];
+      final long[] days = new long[1];
+      final long[] seconds = new long[1];
+      final int[] nanos = new int[1];
+      if (!EpochDateTime.decompose(amount, units, 0, months, days, seconds, nanos))
+      {
+         throw new ArithmeticException("Amount of " + units.getUnits() + " overflows: " + amount);
+      }
+      return new OffsetRecurrence(base, months[0], days[0], seconds[0], nanos[0], UNBOUNDED);
+   }
+
+   /**
+    * @param period ISO 8601 period, see {@link IsoPeriod}
+    * @throws java.time.format.DateTimeParseException when the period cannot be parsed
+    */
+   public static OffsetRecurrence of(final ZonedDateTime base, final String period)
+   {
+      return of(base, IsoPeriod.parse(period));
+   }
+
+   public static OffsetRecurrence of(final ZonedDateTime base, final IsoPeriod period)
+   {
+      return new OffsetRecurrence(base, period.toTotalMonths(), period.getDays(), period.getSeconds(),
+              period.getNanos(), UNBOUNDED);
+   }
+
+   /**
+    * @return the first occurrences only, the base included
+    */
+   public OffsetRecurrence limit(final long count)
+   {
+      if (count < 0)
+      {
+         throw new IllegalArgumentException("count must not be negative: " + count);
+      }
+      return new OffsetRecurrence(base, months, days, seconds, nanos, Math.min(this.count, count));
+   }
+
+   /**
+    * Occurrences up to the end, inclusive: those not after it for a positive offset, those not before it for a
+    * negative one. Found by bisecting k, no occurrence before the end is visited.
+    *
+    * @throws IllegalArgumentException when the parts of the offset have different signs, e.g. "P1M-30D", or the
+    *                                  offset is zero: its occurrences do not move steadily towards the end
+    */
+   public OffsetRecurrence until(final ZonedDateTime end)
+   {
+      final int direction = direction();
+      final long endSecond = end.toEpochSecond();
+      final int endNano = end.getNano();
+      if (count == 0 || !isWithin(0, direction, endSecond, endNano))
+      {
+         return limit(0);
+      }
+      // occurrence low is within the end, high is not or is the count
+      long low = 0;
+      long high = 1;
+      while (high < count && isWithin(high, direction, endSecond, endNano))
+      {
+         low = high;
+         high = high > count / 2 ? count : high * 2;
+      }
+      while (high - low > 1)
+      {
+         final long middle = low + (high - low) / 2;
+         if (isWithin(middle, direction, endSecond, endNano))
+         {
+            low = middle;
+         }
+         else
+         {
+            high = middle;
+         }
+      }
+      return limit(high);
+   }
+
+   private int direction()
+   {
+      // the nanos of a period are never negative, the seconds carry the sign of the time part
+      final long time = seconds != 0 ? Long.signum(seconds) : Long.signum(nanos);
+      final boolean positive = months >= 0 && days >= 0 && time >= 0;
+      final boolean negative = months <= 0 && days <= 0 && time <= 0;
+      // both for a zero offset
+      if (positive == negative)
+      {
+         throw new IllegalArgumentException("Offset does not move steadily in one direction: " + this);
+      }
+      return positive ? 1 : -1;
+   }
+
+   private boolean isWithin(final long k, final int direction, final long endSecond, final int endNano)
+   {
+      final long second;
+      try
+      {
+         second = epochSecond(k);
+      }
+      catch (final DateTimeException | ArithmeticException e)
+      {
+         // beyond the supported range, so beyond the end too
+         return false;
+      }
+      final int compare = second != endSecond ? Long.compare(second, endSecond) : Integer.compare(nano(k), endNano);
+      return compare * direction <= 0;
+   }
+
+   public ZonedDateTime getBase()
+   {
+      return base;
+   }
+
+   /**
+    * @return number of occurrences, {@link #UNBOUNDED} without limit
+    */
+   public long size()
+   {
+      return count;
+   }
+
+   /**
+    * @return epoch second of the k-th occurrence, k = 0 for the base
+    * @throws DateTimeException   when the occurrence leaves the supported range
+    * @throws ArithmeticException on numeric overflow
+    */
+   public long epochSecond(final long k)
+   {
+      long datedSecond = baseSecond;
+      if (months != 0 || days != 0)
+      {
+         datedSecond = EpochDateTime.resolve(EpochDateTime.plusDate(baseSecond + offsetSeconds,
+                 Math.multiplyExact(months, k), Math.multiplyExact(days, k)), offsetSeconds, table);
+         if (datedSecond == ZoneOffsetTable.NOT_COVERED)
+         {
+            return get(k).toEpochSecond();
+         }
+      }
+      final long nanoSum = Math.addExact(baseNano, Math.multiplyExact(nanos, k));
+      final long epochSecond = Math.addExact(Math.addExact(datedSecond, Math.multiplyExact(seconds, k)),
+              Math.floorDiv(nanoSum, NANOS_PER_SECOND));
+      EpochDays.checkEpochDay(Math.floorDiv(epochSecond + offsetSeconds, EpochDays.SECONDS_PER_DAY));
+      return epochSecond;
+   }
+
+   /**
+    * @return nano of second of the k-th occurrence
+    */
+   public int nano(final long k)
+   {
+      return (int) Math.floorMod(Math.addExact(baseNano, Math.multiplyExact(nanos, k)), NANOS_PER_SECOND);
+   }
+
+   /**
+    * @return epoch milliseconds of the k-th occurrence, the nanos truncated towards the past
+    */
+   public long epochMilli(final long k)
+   {
+      return Math.addExact(Math.multiplyExact(epochSecond(k), MILLIS_PER_SECOND), nano(k) / NANOS_PER_MILLI);
+   }
+
+   /**
+    * @return the k-th occurrence in the zone of the base
+    */
+   public ZonedDateTime get(final long k)
+   {
+      final long nanoSum = Math.addExact(baseNano, Math.multiplyExact(nanos, k));
+      return EpochDateTime.plus(base.withNano(0), Math.multiplyExact(months, k), Math.multiplyExact(days, k),
+              Math.addExact(Math.multiplyExact(seconds, k), Math.floorDiv(nanoSum, NANOS_PER_SECOND)),
+              (int) Math.floorMod(nanoSum, NANOS_PER_SECOND));
+   }
+
+   /**
+    * @return lazy epoch milliseconds of the occurrences
+    */
+   public LongStream epochMillis()
+   {
+      return StreamSupport.longStream(spliterator(), false);
+   }
+
+   /**
+    * @return lazy epoch seconds of the occurrences
+    */
+   public LongStream epochSeconds()
+   {
+      return StreamSupport.longStream(new Occurrences(0, count, false), false);
+   }
+
+   /**
+    * @return lazy occurrences as {@link ZonedDateTime}s
+    */
+   public Stream<ZonedDateTime> stream()
+   {
+      return LongStream.range(0, count).mapToObj(this::get);
+   }
+
+   /**
+    * @return epoch milliseconds of the occurrences, splitting in halves of k
+    */
+   public Spliterator.OfLong spliterator()
+   {
+      return new Occurrences(0, count, true);
+   }
+
+   /**
+    * @return epoch milliseconds of the occurrences
+    */
+   public PrimitiveIterator.OfLong iterator()
+   {
+      return Spliterators.iterator(spliterator());
+   }
+
+   @Override
+   public String toString()
+   {
+      return "OffsetRecurrence[" + base + " + k * (" + months + " months, " + days + " days, " + seconds + "."
+              + nanos + " seconds), " + (count == UNBOUNDED ? "unbounded" : count + " occurrences") + ']';
+   }
+
+   /**
+    * Occurrences k of a range, epoch milliseconds or seconds
+    */
+   private final class Occurrences implements Spliterator.OfLong
+   {
+
+      private       long    from;
+      private final long    to;
+      private final boolean millis;
+
+      private Occurrences(final long from, final long to, final boolean millis)
+      {
+         this.from = from;
+         this.to = to;
+         this.millis = millis;
+      }
+
+      private long occurrence(final long k)
+      {
+         return millis ? epochMilli(k) : epochSecond(k);
+      }
+
+      @Override
+      public boolean tryAdvance(final LongConsumer action)
+      {
+         if (from >= to)
+         {
+            return false;
+         }
+         action.accept(occurrence(from++));
+         return true;
+      }
+
+      @Override
+      public void forEachRemaining(final LongConsumer action)
+      {
+         final long end = to;
+         for (long k = from; k < end; k++)
+         {
+            action.accept(occurrence(k));
+         }
+         from = end;
+      }
+
+      @Override
+      public Spliterator.OfLong trySplit()
+      {
+         final long middle = from + (to - from) / 2;
+         if (middle == from || to == UNBOUNDED)
+         {
+            return null;
+         }
+         final Occurrences prefix = new Occurrences(from, middle, millis);
+         from = middle;
+         return prefix;
+      }
+
+      @Override
+      public long estimateSize()
+      {
+         return to - from;
+      }
+
+      @Override
+      public int characteristics()
+      {
+         final int characteristics = Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+         return to == UNBOUNDED ? characteristics
+                 : characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+      }
+
+   }
+
+}
@@ -0,0 +1,104 @@
+package el.dude.java.basics.enumerations;
+
+import java.util.Objects;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Outcome of {@link DateAndTimeCalculation#tryOffsetBy(int, String)} and
+ * {@link DateAndTimeCalculation#tryOffsetBy(String)}: the offset date and time, or an {@link OffsetError} with the
+ * position of the offending character. Nothing is thrown, no stack trace is taken.
+ * <pre>
+ *    success  -- getValue() is the offset ISO date and time, getError() is null, getPosition() is -1
+ *    failure  -- getValue() is the unchanged ISO date and time, getError() tells why, getPosition() where
+ * </pre>
+ * {@link #getValue()} therefore always answers what {@link DateAndTimeCalculation#offsetBy(int, String)} returns.
+ */
+public final class OffsetResult
+{
+
+   private final String      value;
+   private final OffsetError error;
+   private final int         position;
+
+   private OffsetResult(final String value, final OffsetError error, final int position)
+   {
+      this.value = value;
+      this.error = error;
+      this.position = position;
+   }
+
+   /**
+    * @param value offset ISO date and time
+    */
+   static OffsetResult success(final String value)
+   {
+      return new OffsetResult(value, null, -1);
+   }
+
+   /**
+    * @param unchanged ISO date and time that could not be offset
+    * @param code      negative code, see {@link OffsetError#encode(int)}
+    */
+   static OffsetResult failure(final String unchanged, final int code)
+   {
+      return new OffsetResult(unchanged, OffsetError.decode(code), OffsetError.position(code));
+   }
+
+   public boolean isSuccess()
+   {
+      return error == null;
+   }
+
+   /**
+    * @return offset ISO date and time, the unchanged one on failure
+    */
+   public String getValue()
+   {
+      return value;
+   }
+
+   /**
+    * @return why the date and time could not be offset, null on success
+    */
+   public OffsetError getError()
+   {
+      return error;
+   }
+
+   /**
+    * @return index of the offending character in the units or period string, -1 on success
+    */
+   public int getPosition()
+   {
+      return position;
+   }
+
+   @Override
+   public boolean equals(final Object other)
+   {
+      if (this == other)
+      {
+         return true;
+      }
+      if (!(other instanceof OffsetResult))
+      {
+         return false;
+      }
+      final OffsetResult that = (OffsetResult) other;
+      return position == that.position && error == that.error && Objects.equals(value, that.value);
+   }
+
+   @Override
+   public int hashCode()
+   {
+      return Objects.hash(value, error, position);
+   }
+
+   @Override
+   public String toString()
+   {
+      return isSuccess() ? value : value + " (" + error + " at " + position + ')';
+   }
+
+}
@@ -0,0 +1,242 @@
+package el.dude.java.basics.enumerations;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Reusable outcome of the fan-out methods {@link DateAndTimeCalculation#offsetsBy(int[], String[], OffsetResults)}
+ * and {@link DateAndTimeCalculation#offsetsBy(String[], OffsetResults)}: one result per offset, in the order of
+ * the offsets. Each result is the same as the corresponding {@link DateAndTimeCalculation#tryOffsetBy} would
+ * answer.
+ * <p>
+ * The formatted results are kept as ASCII bytes in fixed size slots of one array, read them with
+ * {@link #getValue(int)} or copy them into a sink without intermediate strings. The arrays grow as needed and are
+ * reused by the next call, so a thread fanning out again and again keeps one instance. Not thread-safe.
+ */
+public final class OffsetResults
+{
+
+   private static final int DEFAULT_CAPACITY = 16;
+
+   private String unchanged = "";
+   private int    size;
+   private int    slot;
+   private byte[] bytes     = new byte[0];
+   private int[]  lengths;
+
+   // decomposed offsets of the current call, see DateAndTimeCalculation
+   long[] months;
+   long[] days;
+   long[] seconds;
+   int[]  nanos;
+   /**
+    * Epoch second with the date part added, {@link ZoneOffsetTable#NOT_COVERED} until resolved
+    */
+   long[] datedSeconds;
+
+   public OffsetResults()
+   {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * @param capacity number of offsets expected per call, grows when exceeded
+    */
+   public OffsetResults(final int capacity)
+   {
+      allocate(capacity);
+   }
+
+   private void allocate(final int capacity)
+   {
+      lengths = new int[capacity];
+      months = new long[capacity];
+      days = new long[capacity];
+      seconds = new long[capacity];
+      nanos = new int[capacity];
+      datedSeconds = new long[capacity];
+   }
+
+   /**
+    * Makes room for the results of the next call
+    *
+    * @param count     number of offsets
+    * @param maxLength longest possible formatted result
+    * @param unchanged date and time being offset
+    */
+   void reset(final int count, final int maxLength, final String unchanged)
+   {
+      if (count > lengths.length)
+      {
+         allocate(Math.max(count, lengths.length * 2));
+      }
+      if ((long) count * maxLength > bytes.length)
+      {
+         bytes = new byte[Math.multiplyExact(Math.max(count, lengths.length), maxLength)];
+      }
+      this.unchanged = unchanged;
+      this.size = count;
+      this.slot = maxLength;
+   }
+
+   /**
+    * @param index  of the offset
+    * @param buffer formatted result
+    * @param length number of bytes in the buffer or the negative {@link OffsetError#encode(int) code} of the error
+    */
+   void set(final int index, final byte[] buffer, final int length)
+   {
+      if (length > 0)
+      {
+         System.arraycopy(buffer, 0, bytes, index * slot, length);
+      }
+      lengths[index] = length;
+   }
+
+   /**
+    * @param code negative {@link OffsetError#encode(int) code} of the error
+    */
+   void fail(final int index, final int code)
+   {
+      lengths[index] = code;
+   }
+
+   /**
+    * @return whether the offset at the index failed already
+    */
+   boolean failed(final int index)
+   {
+      return lengths[index] < 0;
+   }
+
+   /**
+    * @return number of results
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   public boolean isSuccess(final int index)
+   {
+      return length(index) >= 0;
+   }
+
+   /**
+    * @return why the date and time could not be offset, null on success
+    */
+   public OffsetError getError(final int index)
+   {
+      final int length = length(index);
+      return length < 0 ? OffsetError.decode(length) : null;
+   }
+
+   /**
+    * @return index of the offending character in the units or period string, -1 on success
+    */
+   public int getPosition(final int index)
+   {
+      final int length = length(index);
+      return length < 0 ? OffsetError.position(length) : -1;
+   }
+
+   /**
+    * @return offset ISO date and time, the unchanged one on failure
+    */
+   public String getValue(final int index)
+   {
+      final int length = length(index);
+      return length < 0 ? unchanged : new String(bytes, index * slot, length, StandardCharsets.ISO_8859_1);
+   }
+
+   /**
+    * @return same as the corresponding {@link DateAndTimeCalculation#tryOffsetBy} answers
+    */
+   public OffsetResult get(final int index)
+   {
+      final int length = length(index);
+      return length < 0 ? OffsetResult.failure(unchanged, length) : OffsetResult.success(getValue(index));
+   }
+
+   /**
+    * Appends the result at the index, the unchanged date and time on failure
+    *
+    * @return the sink
+    */
+   public StringBuilder appendTo(final int index, final StringBuilder sink)
+   {
+      final int length = length(index);
+      if (length < 0)
+      {
+         return sink.append(unchanged);
+      }
+      sink.ensureCapacity(sink.length() + length);
+      for (int i = index * slot; i < index * slot + length; i++)
+      {
+         sink.append((char) bytes[i]);
+      }
+      return sink;
+   }
+
+   /**
+    * Writes the result at the index into the sink starting at the position, the unchanged date and time on failure
+    *
+    * @return position after the last character written
+    * @throws IndexOutOfBoundsException when the sink is too short
+    */
+   public int copyTo(final int index, final char[] sink, final int position)
+   {
+      final int length = length(index);
+      if (length < 0)
+      {
+         unchanged.getChars(0, unchanged.length(), sink, position);
+         return position + unchanged.length();
+      }
+      if (position < 0 || length > sink.length - position)
+      {
+         throw new ArrayIndexOutOfBoundsException(
+                 "Cannot write " + length + " characters at " + position + " into char[" + sink.length + "]");
+      }
+      for (int i = 0; i < length; i++)
+      {
+         sink[position + i] = (char) bytes[index * slot + i];
+      }
+      return position + length;
+   }
+
+   /**
+    * Puts the result at the index as ASCII bytes at the sink's position, the unchanged date and time on failure
+    *
+    * @return the sink
+    * @throws java.nio.BufferOverflowException when the sink has not enough room left
+    */
+   public ByteBuffer putTo(final int index, final ByteBuffer sink)
+   {
+      final int length = length(index);
+      return length < 0 ? sink.put(unchanged.getBytes(StandardCharsets.ISO_8859_1))
+              : sink.put(bytes, index * slot, length);
+   }
+
+   private int length(final int index)
+   {
+      if (index < 0 || index >= size)
+      {
+         throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+      }
+      return lengths[index];
+   }
+
+   @Override
+   public String toString()
+   {
+      final StringBuilder builder = new StringBuilder("OffsetResults[");
+      for (int i = 0; i < size; i++)
+      {
+         builder.append(i == 0 ? "" : ", ").append(get(i));
+      }
+      return builder.append(']').toString();
+   }
+
+}
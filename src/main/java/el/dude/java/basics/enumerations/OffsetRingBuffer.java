@@ -0,0 +1,395 @@
+package el.dude.java.basics.enumerations;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * In-process pipeline for offset requests, in the spirit of the LMAX Disruptor: one producer thread, a pool of
+ * worker threads and an optional result handler, connected by a pre-allocated ring of {@link OffsetEvent} slots
+ * and sequence barriers instead of queues, locks and futures.
+ * <pre>
+ *    producer       next() - fill the slot - publish()      cursor
+ *    workers        each event offset by exactly one worker  worker sequences, their minimum is the barrier
+ *    result handler every event in sequence order            result sequence
+ * </pre>
+ * The producer claims slot after slot and publishes it by moving the cursor. A worker claims the next sequence
+ * from a shared counter, waits for the cursor to reach it and computes the result in the slot. The result handler
+ * follows the minimum of the worker sequences and hands the events to its {@link ResultHandler} in sequence order.
+ * The producer in turn waits for the result handler (without one: for the workers) before it reuses a slot, so a
+ * slot is overwritten only after its result was taken.
+ * <p>
+ * Nothing is allocated per request. How a thread waits for a sequence is set by the {@link WaitStrategy}: busy
+ * spinning has the lowest latency and burns a core per waiting thread, parking the highest latency and no CPU.
+ * <p>
+ * Not thread-safe on the producer side: {@link #next()} and {@link #publish(long)} are called by one thread only.
+ */
+public final class OffsetRingBuffer implements AutoCloseable
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetRingBuffer.class);
+
+   /**
+    * How threads wait for a sequence to be reached
+    */
+   public enum WaitStrategy
+   {
+
+      //@formatter:off
+      BUSY_SPIN   (WaitStrategy::spin),
+      YIELDING    (WaitStrategy::yieldAfterSpinning),
+      PARKING     (WaitStrategy::parkAfterSpinning),
+      ;
+      //@formatter:on
+
+      private static final int  SPINS      = 100;
+      private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+      private final IntUnaryOperator idle;
+
+      /**
+       * @param idle waits once, gets and answers the number of times waited for the same sequence
+       */
+      WaitStrategy(final IntUnaryOperator idle)
+      {
+         this.idle = idle;
+      }
+
+      private static int spin(final int counter)
+      {
+         Thread.onSpinWait();
+         return counter + 1;
+      }
+
+      private static int yieldAfterSpinning(final int counter)
+      {
+         if (counter < SPINS)
+         {
+            return spin(counter);
+         }
+         Thread.yield();
+         return counter;
+      }
+
+      private static int parkAfterSpinning(final int counter)
+      {
+         if (counter < SPINS)
+         {
+            return spin(counter);
+         }
+         LockSupport.parkNanos(PARK_NANOS);
+         return counter;
+      }
+
+      int idle(final int counter)
+      {
+         return idle.applyAsInt(counter);
+      }
+
+   }
+
+   /**
+    * Receives the offset events in sequence order, on the result handler thread
+    */
+   @FunctionalInterface
+   public interface ResultHandler
+   {
+
+      /**
+       * @param event      with the result fields set, overwritten once the call returns
+       * @param sequence   of the event, in the order published
+       * @param endOfBatch whether no further result is available right now
+       */
+      void onResult(OffsetEvent event, long sequence, boolean endOfBatch);
+
+   }
+
+   private final OffsetEvent[]   slots;
+   private final int             mask;
+   private final WaitStrategy    waitStrategy;
+   private final ResultHandler   handler;
+   private final Sequence        cursor         = new Sequence();
+   private final Sequence        workSequence   = new Sequence();
+   private final Sequence[]      workerSequences;
+   private final Sequence        resultSequence = new Sequence();
+   private final Thread[]        threads;
+   private volatile boolean      running;
+
+   // producer only
+   private long nextSequence = Sequence.INITIAL;
+   private long cachedGating = Sequence.INITIAL;
+
+   /**
+    * @param size         number of slots, a power of two
+    * @param workers      number of worker threads
+    * @param waitStrategy of all threads, the producer's included
+    * @param handler      receives the results in order, null to read them from the slots without a result stage
+    */
+   public OffsetRingBuffer(final int size, final int workers, final WaitStrategy waitStrategy,
+           final ResultHandler handler)
+   {
+      if (size < 1 || Integer.bitCount(size) != 1 || workers < 1)
+      {
+         throw new IllegalArgumentException(
+                 "size must be a power of two and workers positive: " + size + ", " + workers);
+      }
+      this.slots = new OffsetEvent[size];
+      for (int i = 0; i < size; i++)
+      {
+         slots[i] = new OffsetEvent();
+      }
+      this.mask = size - 1;
+      this.waitStrategy = waitStrategy;
+      this.handler = handler;
+      this.workerSequences = new Sequence[workers];
+      this.threads = new Thread[handler == null ? workers : workers + 1];
+      for (int i = 0; i < workers; i++)
+      {
+         final Sequence sequence = new Sequence();
+         workerSequences[i] = sequence;
+         threads[i] = new Thread(() -> work(sequence), "offset-ring-worker-" + i);
+      }
+      if (handler != null)
+      {
+         threads[workers] = new Thread(this::handleResults, "offset-ring-results");
+      }
+   }
+
+   /**
+    * Starts the worker and result handler threads (daemons)
+    */
+   public synchronized void start()
+   {
+      if (!running)
+      {
+         running = true;
+         for (final Thread thread : threads)
+         {
+            thread.setDaemon(true);
+            thread.start();
+         }
+      }
+   }
+
+   /**
+    * Claims the next slot, waiting for its previous event to be done with
+    *
+    * @return sequence of the slot, see {@link #get(long)}
+    * @throws IllegalStateException when the ring buffer is not running
+    */
+   public long next()
+   {
+      final long sequence = ++nextSequence;
+      final long wrapPoint = sequence - slots.length;
+      int counter = 0;
+      while (wrapPoint > cachedGating)
+      {
+         if (!running)
+         {
+            nextSequence--;
+            throw new IllegalStateException("OffsetRingBuffer is not running");
+         }
+         cachedGating = handler == null ? minimum(workerSequences) : resultSequence.get();
+         if (wrapPoint > cachedGating)
+         {
+            counter = waitStrategy.idle(counter);
+         }
+      }
+      return sequence;
+   }
+
+   /**
+    * @return the slot of the sequence, fill it between {@link #next()} and {@link #publish(long)}
+    */
+   public OffsetEvent get(final long sequence)
+   {
+      return slots[(int) sequence & mask];
+   }
+
+   /**
+    * Hands the slot of the sequence to the workers
+    */
+   public void publish(final long sequence)
+   {
+      cursor.lazySet(sequence);
+   }
+
+   /**
+    * Claims, fills and publishes a slot for an offset by an amount of units
+    *
+    * @return sequence of the event
+    */
+   public long publish(final long epochSecond, final int nano, final ZoneId zone, final int amount,
+           final DateAndTimeOffsetFunctionImpl units)
+   {
+      // checked before claiming, a claimed slot that is never published stops the workers
+      Objects.requireNonNull(zone, "zone");
+      Objects.requireNonNull(units, "units");
+      final long sequence = next();
+      get(sequence).set(epochSecond, nano, zone, amount, units);
+      publish(sequence);
+      return sequence;
+   }
+
+   /**
+    * Claims, fills and publishes a slot for an offset by a compiled ISO period
+    *
+    * @return sequence of the event
+    */
+   public long publish(final long epochSecond, final int nano, final ZoneId zone, final IsoPeriod period)
+   {
+      Objects.requireNonNull(zone, "zone");
+      Objects.requireNonNull(period, "period");
+      final long sequence = next();
+      get(sequence).set(epochSecond, nano, zone, period);
+      publish(sequence);
+      return sequence;
+   }
+
+   /**
+    * Without a result handler: waits until the results of all events up to the sequence are in their slots. Read
+    * them before claiming slots beyond {@code sequence + size}.
+    *
+    * @return highest sequence with its result and all before it done, at least the given one
+    * @throws IllegalStateException when the ring buffer stops meanwhile
+    */
+   public long waitForResults(final long sequence)
+   {
+      long done;
+      int counter = 0;
+      while ((done = minimum(workerSequences)) < sequence)
+      {
+         if (!running)
+         {
+            throw new IllegalStateException("OffsetRingBuffer is not running");
+         }
+         counter = waitStrategy.idle(counter);
+      }
+      return done;
+   }
+
+   /**
+    * @return number of slots
+    */
+   public int size()
+   {
+      return slots.length;
+   }
+
+   private void work(final Sequence sequence)
+   {
+      final OffsetEvent.Scratch scratch = new OffsetEvent.Scratch();
+      long available = Sequence.INITIAL;
+      while (running)
+      {
+         // everything claimed before is done
+         final long claimed = workSequence.incrementAndGet();
+         sequence.lazySet(claimed - 1);
+         int counter = 0;
+         while (available < claimed)
+         {
+            available = cursor.get();
+            if (available < claimed)
+            {
+               if (!running)
+               {
+                  return;
+               }
+               counter = waitStrategy.idle(counter);
+            }
+         }
+         get(claimed).offset(scratch);
+      }
+   }
+
+   private void handleResults()
+   {
+      long next = resultSequence.get() + 1;
+      while (running)
+      {
+         final long available = minimum(workerSequences);
+         if (available < next)
+         {
+            int counter = 0;
+            while (running && minimum(workerSequences) < next)
+            {
+               counter = waitStrategy.idle(counter);
+            }
+            continue;
+         }
+         for (long sequence = next; sequence <= available; sequence++)
+         {
+            try
+            {
+               handler.onResult(get(sequence), sequence, sequence == available);
+            }
+            catch (final RuntimeException e)
+            {
+               logger.error("Result handler failed on sequence {}: {}", sequence, e.toString());
+            }
+         }
+         resultSequence.lazySet(available);
+         next = available + 1;
+      }
+   }
+
+   private static long minimum(final Sequence[] sequences)
+   {
+      long minimum = Long.MAX_VALUE;
+      for (final Sequence sequence : sequences)
+      {
+         minimum = Math.min(minimum, sequence.get());
+      }
+      return minimum;
+   }
+
+   /**
+    * Stops the threads, events not yet offset or handled are dropped
+    */
+   @Override
+   public synchronized void close()
+   {
+      running = false;
+      for (final Thread thread : threads)
+      {
+         try
+         {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+         }
+         catch (final InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+            return;
+         }
+      }
+   }
+
+   /**
+    * Sequence padded against false sharing with the neighbouring sequences
+    */
+   @SuppressWarnings("unused")
+   private static final class Sequence extends AtomicLong
+   {
+
+      private static final long serialVersionUID = 1L;
+
+      static final long INITIAL = -1L;
+
+      private long p1, p2, p3, p4, p5, p6, p7;
+
+      Sequence()
+      {
+         super(INITIAL);
+      }
+
+   }
+
+}
@@ -0,0 +1,342 @@
+package el.dude.java.basics.enumerations;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Server mode: one shared local service offsetting date and times over HTTP, on the JDK's built-in
+ * {@link HttpServer}.
+ * <pre>
+ *    GET  /offset?dateAndTime=2022-02-02T12:34Z&amp;amount=3&amp;units=days        -- 2022-02-05T12:34Z
+ *    GET  /offset?dateAndTime=2022-02-02T12:34Z&amp;period=P1M                   -- 2022-03-02T12:34Z
+ *    GET  /offset?dateAndTime=2022-02-02T12:34Z&amp;expression=startOf(day)%2BPT6H -- 2022-02-02T06:00Z
+ *    POST /batch   2022-02-02T12:34Z,3,days                                    -- 2022-02-05T12:34Z
+ *                  2022-02-02T12:34Z,P1M                                       -- 2022-03-02T12:34Z
+ * </pre>
+ * Query parameters are URL encoded, mind the '+' of offsets and expressions ("%2B"). A single offset answers
+ * {@code 200} with the result, or {@code 400} with the unchanged date and time, the {@link OffsetError} and its
+ * position ({@link OffsetResult#toString()}) or the reason the request is malformed. A batch has one CSV row per
+ * line, as {@link OffsetFileProcessor} reads them, and answers one result per line in the same order; rows that
+ * cannot be offset answer their unchanged date and time, blank lines are dropped.
+ * <p>
+ * Single amounts of units and periods of concurrent requests are coalesced into micro-batches by an
+ * {@link OffsetBatcher}, a batch request is grouped the same way in its own handler thread. Expressions are
+ * compiled and applied per request.
+ * <p>
+ * Requests are handled on virtual threads, one per request, when the JVM has them (Java 21 onwards). The code
+ * stays on Java 11 and looks them up at runtime, older JVMs handle requests on a fixed pool of
+ * {@link #PLATFORM_THREADS} daemon threads.
+ * <p>
+ * Standalone: {@code java el.dude.java.basics.enumerations.OffsetServer [port]}, see {@link OffsetLoadGenerator}
+ * for a local load test.
+ */
+public final class OffsetServer implements AutoCloseable
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetServer.class);
+
+   public static final int DEFAULT_PORT = 8086;
+
+   /**
+    * Handler threads without virtual threads, the handlers wait for their batch
+    */
+   public static final int PLATFORM_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+
+   private static final String TEXT_PLAIN = "text/plain; charset=US-ASCII";
+
+   private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+
+   private final HttpServer      server;
+   private final ExecutorService executor;
+   private final OffsetBatcher   batcher;
+
+   /**
+    * Turns off Nagle's algorithm for every {@link HttpServer} of the JVM, unless the system property
+    * {@code sun.net.httpserver.nodelay} is set already. The server writes headers and body separately, without
+    * this every keep-alive response waits for the client's delayed ACK (40ms). The property is read once, by the
+    * first server of the JVM: call this before creating any, {@link #main(String[])} does.
+    */
+   public static void enableNoDelay()
+   {
+      if (System.getProperty(NO_DELAY) == null)
+      {
+         System.setProperty(NO_DELAY, "true");
+      }
+   }
+
+   /**
+    * Listens on the loopback address, see {@link #start()}. Keep-alive responses are delayed unless
+    * {@link #enableNoDelay()} was called before.
+    *
+    * @param port 0 for an ephemeral one
+    */
+   public OffsetServer(final int port) throws IOException
+   {
+      this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), new OffsetBatcher());
+   }
+
+   /**
+    * Keep-alive responses are delayed unless {@link #enableNoDelay()} was called before
+    *
+    * @param address to listen on
+    * @param batcher coalesces the single requests, closed with the server
+    */
+   public OffsetServer(final InetSocketAddress address, final OffsetBatcher batcher) throws IOException
+   {
+      this.batcher = batcher;
+      this.executor = newExecutor("offset-server", PLATFORM_THREADS);
+      this.server = HttpServer.create(address, 0);
+      server.setExecutor(executor);
+      server.createContext("/offset", this::offset);
+      server.createContext("/batch", this::batch);
+   }
+
+   /**
+    * @param name            of the platform threads
+    * @param platformThreads without virtual threads
+    * @return virtual thread per task when the JVM has them, a fixed pool of daemon platform threads otherwise
+    */
+   static ExecutorService newExecutor(final String name, final int platformThreads)
+   {
+      try
+      {
+         return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      }
+      catch (final ReflectiveOperationException e)
+      {
+         logger.info("No virtual threads in Java {}, {} uses {} platform threads",
+                 System.getProperty("java.specification.version"), name, platformThreads);
+      }
+      final AtomicInteger count = new AtomicInteger();
+      return Executors.newFixedThreadPool(platformThreads, runnable ->
+      {
+         final Thread thread = new Thread(runnable, name + '-' + count.incrementAndGet());
+         thread.setDaemon(true);
+         return thread;
+      });
+   }
+
+   public void start()
+   {
+      server.start();
+      logger.info("Listening on {}", server.getAddress());
+   }
+
+   /**
+    * @return the port listened on, the actual one when an ephemeral port was asked for
+    */
+   public int getPort()
+   {
+      return server.getAddress().getPort();
+   }
+
+   public OffsetBatcher getBatcher()
+   {
+      return batcher;
+   }
+
+   private void offset(final HttpExchange exchange) throws IOException
+   {
+      if (!"GET".equals(exchange.getRequestMethod()))
+      {
+         respond(exchange, 405, "GET only");
+         return;
+      }
+      final Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+      final String dateAndTime = parameters.get("dateAndTime");
+      final String period = parameters.get("period");
+      final String expression = parameters.get("expression");
+      final String amount = parameters.get("amount");
+      final String units = parameters.get("units");
+      if (dateAndTime == null)
+      {
+         respond(exchange, 400, "dateAndTime missing");
+         return;
+      }
+      try
+      {
+         final OffsetResult result;
+         if (expression != null)
+         {
+            result = new DateAndTimeCalculation(dateAndTime).tryOffsetBy(OffsetExpression.compile(expression));
+         }
+         else if (period != null)
+         {
+            result = batcher.offsetBy(dateAndTime, period).get();
+         }
+         else if (amount != null && units != null)
+         {
+            result = batcher.offsetBy(dateAndTime, Integer.parseInt(amount), units).get();
+         }
+         else
+         {
+            respond(exchange, 400, "period, expression or amount and units missing");
+            return;
+         }
+         respond(exchange, result.isSuccess() ? 200 : 400, result.toString());
+      }
+      catch (final DateTimeParseException | NumberFormatException e)
+      {
+         respond(exchange, 400, e.getMessage());
+      }
+      catch (final ExecutionException e)
+      {
+         respond(exchange, e.getCause() instanceof DateTimeParseException ? 400 : 503, e.getCause().getMessage());
+      }
+      catch (final InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         respond(exchange, 503, "interrupted");
+      }
+   }
+
+   private void batch(final HttpExchange exchange) throws IOException
+   {
+      if (!"POST".equals(exchange.getRequestMethod()))
+      {
+         respond(exchange, 405, "POST only");
+         return;
+      }
+      final String[] rows;
+      try (InputStream body = exchange.getRequestBody())
+      {
+         rows = new String(body.readAllBytes(), StandardCharsets.ISO_8859_1).split("\r?\n");
+      }
+      final List<OffsetBatcher.Request> requests = new ArrayList<>(rows.length);
+      final OffsetBatcher.Request[] byRow = new OffsetBatcher.Request[rows.length];
+      for (int i = 0; i < rows.length; i++)
+      {
+         byRow[i] = request(rows[i]);
+         if (byRow[i] != null)
+         {
+            requests.add(byRow[i]);
+         }
+      }
+      OffsetBatcher.offset(requests, new OffsetResults(requests.size()));
+      final StringBuilder response = new StringBuilder(rows.length * 32);
+      for (int i = 0; i < rows.length; i++)
+      {
+         if (rows[i].trim().isEmpty())
+         {
+            continue;
+         }
+         if (byRow[i] == null)
+         {
+            final int comma = rows[i].indexOf(',');
+            response.append(comma < 0 ? rows[i] : rows[i].substring(0, comma).trim());
+         }
+         else
+         {
+            // completed by now, exceptionally when the date and time cannot be parsed
+            response.append(byRow[i].isCompletedExceptionally() ? byRow[i].dateAndTime : byRow[i].join().getValue());
+         }
+         response.append('\n');
+      }
+      respond(exchange, 200, response.toString());
+   }
+
+   /**
+    * @param row "dateAndTime,amount,units" or "dateAndTime,period"
+    * @return null when the row is malformed
+    */
+   private static OffsetBatcher.Request request(final String row)
+   {
+      final String[] fields = row.split(",", -1);
+      try
+      {
+         if (fields.length == 3)
+         {
+            return new OffsetBatcher.Request(fields[0].trim(), Integer.parseInt(fields[1].trim()), fields[2].trim(),
+                    null);
+         }
+         if (fields.length == 2)
+         {
+            return new OffsetBatcher.Request(fields[0].trim(), 0, null, fields[1].trim());
+         }
+      }
+      catch (final NumberFormatException e)
+      {
+         logger.debug("\"{}\" is not an amount: {}", row, e.getMessage());
+      }
+      return null;
+   }
+
+   private static Map<String, String> parameters(final String query)
+   {
+      final Map<String, String> parameters = new HashMap<>();
+      if (query != null)
+      {
+         for (final String parameter : query.split("&"))
+         {
+            final int equals = parameter.indexOf('=');
+            if (equals > 0)
+            {
+               parameters.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                       URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+         }
+      }
+      return parameters;
+   }
+
+   private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException
+   {
+      final byte[] bytes = body.getBytes(StandardCharsets.ISO_8859_1);
+      exchange.getResponseHeaders().set("Content-Type", TEXT_PLAIN);
+      exchange.sendResponseHeaders(status, bytes.length);
+      try (OutputStream out = exchange.getResponseBody())
+      {
+         out.write(bytes);
+      }
+   }
+
+   /**
+    * Stops listening, waits up to a second for the requests being handled and closes the batcher
+    */
+   @Override
+   public void close()
+   {
+      server.stop(0);
+      executor.shutdown();
+      try
+      {
+         executor.awaitTermination(1, TimeUnit.SECONDS);
+      }
+      catch (final InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+      }
+      batcher.close();
+   }
+
+   public static void main(final String[] args) throws IOException
+   {
+      enableNoDelay();
+      final OffsetServer server = new OffsetServer(args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::close, "offset-server-shutdown"));
+      server.start();
+   }
+
+}
@@ -0,0 +1,278 @@
+package el.dude.java.basics.enumerations;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Resolves unit names to {@link DateAndTimeOffsetFunctionImpl} constants straight from a {@link CharSequence}, a
+ * {@code char[]} range or an ASCII byte range of a {@code byte[]} or a {@link ByteBuffer}, without creating a
+ * String.
+ * <p>
+ * The names are kept in a table indexed by length and first letter, a lookup compares the few names sharing the slot
+ * (at most three, e.g. "millis", "minute" and "months" of the lenient table) character by character. Case is folded
+ * on ASCII letters only.
+ * <pre>
+ *    exact()    -- the names of {@link DateAndTimeOffsetFunctionImpl#getUnits()}, case-sensitive, same as fromUnits
+ *    lenient()  -- any case, singular and abbreviations too, e.g. "h", "hr", "hrs", "hour", "Hours"
+ * </pre>
+ * Resolvers are immutable and thread-safe.
+ */
+public final class UnitsResolver
+{
+
+   private static final int LETTERS = 26;
+
+   private static final UnitsResolver EXACT   = new UnitsResolver(false, false);
+   private static final UnitsResolver LENIENT = new UnitsResolver(true, true);
+
+   private final boolean ignoreCase;
+   private final int     maxLength;
+
+   /**
+    * Names by {@code length * 26 + first letter}, null when there is none
+    */
+   private final char[][][]                        names;
+   private final DateAndTimeOffsetFunctionImpl[][] functions;
+
+   /**
+    * @param ignoreCase ASCII letters in any case
+    * @param aliases    singular and abbreviated names besides the names of the units
+    */
+   public UnitsResolver(final boolean ignoreCase, final boolean aliases)
+   {
+      this.ignoreCase = ignoreCase;
+      final List<String> allNames = new ArrayList<>();
+      final List<DateAndTimeOffsetFunctionImpl> allFunctions = new ArrayList<>();
+      for (final DateAndTimeOffsetFunctionImpl function : DateAndTimeOffsetFunctionImpl.values())
+      {
+         allNames.add(function.getUnits());
+         allFunctions.add(function);
+         for (final String alias : aliases ? aliases(function) : new String[0])
+         {
+            allNames.add(alias);
+            allFunctions.add(function);
+         }
+      }
+      int longest = 0;
+      for (final String name : allNames)
+      {
+         longest = Math.max(longest, name.length());
+      }
+      this.maxLength = longest;
+      this.names = new char[(longest + 1) * LETTERS][][];
+      this.functions = new DateAndTimeOffsetFunctionImpl[(longest + 1) * LETTERS][];
+      for (int slot = 0; slot < names.length; slot++)
+      {
+         final List<char[]> slotNames = new ArrayList<>();
+         final List<DateAndTimeOffsetFunctionImpl> slotFunctions = new ArrayList<>();
+         for (int i = 0; i < allNames.size(); i++)
+         {
+            final String name = allNames.get(i).toLowerCase(Locale.ROOT);
+            if (name.length() * LETTERS + (name.charAt(0) - 'a') == slot)
+            {
+               slotNames.add(name.toCharArray());
+               slotFunctions.add(allFunctions.get(i));
+            }
+         }
+         if (!slotNames.isEmpty())
+         {
+            names[slot] = slotNames.toArray(new char[0][]);
+            functions[slot] = slotFunctions.toArray(new DateAndTimeOffsetFunctionImpl[0]);
+         }
+      }
+   }
+
+   /**
+    * @return singular and abbreviated names of the units
+    */
+   private static String[] aliases(final DateAndTimeOffsetFunctionImpl function)
+   {
+      switch (function)
+      {
+         case NANOS:
+            return new String[]{"nano", "ns", "nanosecond", "nanoseconds"};
+         case MILLIS:
+            return new String[]{"milli", "ms", "millisecond", "milliseconds"};
+         case SECONDS:
+            return new String[]{"second", "sec", "secs", "s"};
+         case MINUTES:
+            return new String[]{"minute", "min", "mins"};
+         case HOURS:
+            return new String[]{"hour", "hr", "hrs", "h"};
+         case DAYS:
+            return new String[]{"day", "d"};
+         case WEEKS:
+            return new String[]{"week", "wk", "wks", "w"};
+         case MONTHS:
+            return new String[]{"month", "mo", "mon", "mons"};
+         case YEARS:
+            return new String[]{"year", "yr", "yrs", "y"};
+         default:
+            return new String[0];
+      }
+   }
+
+   /**
+    * @return unit names only, case-sensitive
+    */
+   public static UnitsResolver exact()
+   {
+      return EXACT;
+   }
+
+   /**
+    * @return unit names and aliases in any case
+    */
+   public static UnitsResolver lenient()
+   {
+      return LENIENT;
+   }
+
+   /**
+    * @return enum constant or null when the text is no unit name
+    */
+   public DateAndTimeOffsetFunctionImpl resolve(final CharSequence text)
+   {
+      if (text == null)
+      {
+         return null;
+      }
+      final int length = text.length();
+      final int slot = slot(length, length == 0 ? 0 : text.charAt(0));
+      if (slot < 0)
+      {
+         return null;
+      }
+      final char[][] candidates = names[slot];
+      for (int candidate = 0; candidate < candidates.length; candidate++)
+      {
+         final char[] name = candidates[candidate];
+         int i = 1;
+         while (i < length && matches(text.charAt(i), name[i]))
+         {
+            i++;
+         }
+         if (i == length)
+         {
+            return functions[slot][candidate];
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @return enum constant or null when the characters are no unit name
+    */
+   public DateAndTimeOffsetFunctionImpl resolve(final char[] text, final int offset, final int length)
+   {
+      final int slot = slot(length, length == 0 ? 0 : text[offset]);
+      if (slot < 0)
+      {
+         return null;
+      }
+      final char[][] candidates = names[slot];
+      for (int candidate = 0; candidate < candidates.length; candidate++)
+      {
+         final char[] name = candidates[candidate];
+         int i = 1;
+         while (i < length && matches(text[offset + i], name[i]))
+         {
+            i++;
+         }
+         if (i == length)
+         {
+            return functions[slot][candidate];
+         }
+      }
+      return null;
+   }
+
+   /**
+    * ASCII bytes, e.g. a field of a line read from a file
+    *
+    * @return enum constant or null when the bytes are no unit name
+    */
+   public DateAndTimeOffsetFunctionImpl resolve(final byte[] text, final int offset, final int length)
+   {
+      final int slot = slot(length, length == 0 ? 0 : (char) (text[offset] & 0xFF));
+      if (slot < 0)
+      {
+         return null;
+      }
+      final char[][] candidates = names[slot];
+      for (int candidate = 0; candidate < candidates.length; candidate++)
+      {
+         final char[] name = candidates[candidate];
+         int i = 1;
+         while (i < length && matches((char) (text[offset + i] & 0xFF), name[i]))
+         {
+            i++;
+         }
+         if (i == length)
+         {
+            return functions[slot][candidate];
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Reads the ASCII bytes at absolute positions, the buffer's position is left as it is
+    *
+    * @return enum constant or null when the bytes are no unit name
+    */
+   public DateAndTimeOffsetFunctionImpl resolve(final ByteBuffer buffer, final int offset, final int length)
+   {
+      final int slot = slot(length, length == 0 ? 0 : (char) (buffer.get(offset) & 0xFF));
+      if (slot < 0)
+      {
+         return null;
+      }
+      final char[][] candidates = names[slot];
+      for (int candidate = 0; candidate < candidates.length; candidate++)
+      {
+         final char[] name = candidates[candidate];
+         int i = 1;
+         while (i < length && matches((char) (buffer.get(offset + i) & 0xFF), name[i]))
+         {
+            i++;
+         }
+         if (i == length)
+         {
+            return functions[slot][candidate];
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @return table slot of the length and first character or -1 when there are no names
+    */
+   private int slot(final int length, final char first)
+   {
+      if (length < 1 || length > maxLength)
+      {
+         return -1;
+      }
+      final int letter = (ignoreCase ? first | 0x20 : first) - 'a';
+      if (letter < 0 || letter >= LETTERS)
+      {
+         return -1;
+      }
+      final int slot = length * LETTERS + letter;
+      return names[slot] == null ? -1 : slot;
+   }
+
+   /**
+    * @param expected lower case letter
+    */
+   private boolean matches(final char c, final char expected)
+   {
+      return c == expected || (ignoreCase && (c | 0x20) == expected);
+   }
+
+}
@@ -0,0 +1,228 @@
+package el.dude.java.basics.enumerations;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * The offset transitions of a region zone ("Europe/Zurich") between two years, laid out in sorted primitive arrays:
+ * <pre>
+ *    transitions[i]  -- epoch second of transition i
+ *    offsets[i]      -- offset in seconds before transition i, offsets[n] after the last one
+ *    localStarts[i]  -- first local epoch second of the gap or overlap of transition i
+ *    localEnds[i]    -- first local epoch second after the gap or overlap of transition i
+ * </pre>
+ * Offsets are looked up by binary search, by instant or by local date and time, instead of going through
+ * {@link ZoneRules} and its transition objects for each result.
+ * <p>
+ * Local date and times are resolved exactly like {@link ZonedDateTime#ofLocal} does for {@link ZonedDateTime#plus}:
+ * <ul>
+ *    <li>in a gap the local date and time is moved forward by the length of the gap, i.e. the instant keeps the
+ *    offset before the gap</li>
+ *    <li>in an overlap the preferred offset (the one of the date and time being offset) is kept when it is one of
+ *    the two, otherwise the earlier offset is taken</li>
+ * </ul>
+ * Outside the years covered the table answers "not covered" and the caller falls back to {@link ZonedDateTime}. The
+ * years of the {@link #of(ZoneId) shared tables} are taken from the system properties
+ * {@code el.dude.java.basics.enumerations.ZoneOffsetTable.fromYear} and {@code ...toYear} (default 1900 to 2100).
+ */
+final class ZoneOffsetTable
+{
+
+   static final int DEFAULT_FROM_YEAR = 1900;
+   static final int DEFAULT_TO_YEAR   = 2100;
+
+   /**
+    * Answer of {@link #toEpochSecond(long, int)} for local date and times outside the years covered
+    */
+   static final long NOT_COVERED = Long.MIN_VALUE;
+
+   private static final int MAX_OFFSET = 18 * 3600;
+
+   private static final int FROM_YEAR = Integer.getInteger(ZoneOffsetTable.class.getName() + ".fromYear",
+           DEFAULT_FROM_YEAR);
+   private static final int TO_YEAR   = Integer.getInteger(ZoneOffsetTable.class.getName() + ".toYear",
+           DEFAULT_TO_YEAR);
+
+   private static final ConcurrentHashMap<String, ZoneOffsetTable> tables = new ConcurrentHashMap<>();
+
+   private final ZoneId       zone;
+   private final long         coverStart;
+   private final long         coverEnd;
+   private final long[]       transitions;
+   private final int[]        offsets;
+   private final ZoneOffset[] zoneOffsets;
+   private final long[]       localStarts;
+   private final long[]       localEnds;
+
+   /**
+    * @param zone     region zone
+    * @param fromYear first year covered
+    * @param toYear   last year covered
+    */
+   ZoneOffsetTable(final ZoneId zone, final int fromYear, final int toYear)
+   {
+      if (fromYear > toYear)
+      {
+         throw new IllegalArgumentException("fromYear " + fromYear + " is after toYear " + toYear);
+      }
+      this.zone = zone;
+      this.coverStart = EpochDays.of(fromYear, 1, 1) * EpochDays.SECONDS_PER_DAY;
+      this.coverEnd = EpochDays.of(toYear + 1L, 1, 1) * EpochDays.SECONDS_PER_DAY;
+      final ZoneRules rules = zone.getRules();
+      final List<ZoneOffsetTransition> found = new ArrayList<>();
+      ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(coverStart - 1));
+      while (transition != null && transition.toEpochSecond() < coverEnd)
+      {
+         found.add(transition);
+         transition = rules.nextTransition(transition.getInstant());
+      }
+      final int n = found.size();
+      transitions = new long[n];
+      offsets = new int[n + 1];
+      zoneOffsets = new ZoneOffset[n + 1];
+      localStarts = new long[n];
+      localEnds = new long[n];
+      zoneOffsets[0] = rules.getOffset(Instant.ofEpochSecond(coverStart - 1));
+      offsets[0] = zoneOffsets[0].getTotalSeconds();
+      for (int i = 0; i < n; i++)
+      {
+         final ZoneOffsetTransition t = found.get(i);
+         transitions[i] = t.toEpochSecond();
+         zoneOffsets[i + 1] = t.getOffsetAfter();
+         offsets[i + 1] = zoneOffsets[i + 1].getTotalSeconds();
+         localStarts[i] = transitions[i] + Math.min(offsets[i], offsets[i + 1]);
+         localEnds[i] = transitions[i] + Math.max(offsets[i], offsets[i + 1]);
+      }
+   }
+
+   /**
+    * @return shared table of the zone covering the configured years, null for a {@link ZoneOffset}
+    */
+   static ZoneOffsetTable of(final ZoneId zone)
+   {
+      if (zone instanceof ZoneOffset)
+      {
+         return null;
+      }
+      return tables.computeIfAbsent(zone.getId(), id -> new ZoneOffsetTable(zone, FROM_YEAR, TO_YEAR));
+   }
+
+   /**
+    * @return whether the instant lies within the years covered
+    */
+   boolean covers(final long epochSecond)
+   {
+      return epochSecond >= coverStart && epochSecond < coverEnd;
+   }
+
+   /**
+    * @return index of the offset at the instant, -1 when the instant is not covered
+    */
+   int offsetIndexAt(final long epochSecond)
+   {
+      if (!covers(epochSecond))
+      {
+         return -1;
+      }
+      // number of transitions at or before the instant
+      int low = 0;
+      int high = transitions.length;
+      while (low < high)
+      {
+         final int middle = (low + high) >>> 1;
+         if (transitions[middle] <= epochSecond)
+         {
+            low = middle + 1;
+         }
+         else
+         {
+            high = middle;
+         }
+      }
+      return low;
+   }
+
+   /**
+    * Same as {@code ZonedDateTime.ofLocal(localDateTime, zone, preferredOffset).toEpochSecond()}
+    *
+    * @param localSecond            local date and time as seconds since 1970-01-01T00:00
+    * @param preferredOffsetSeconds kept in an overlap when valid
+    * @return epoch second or {@link #NOT_COVERED}
+    */
+   long toEpochSecond(final long localSecond, final int preferredOffsetSeconds)
+   {
+      if (localSecond < coverStart + MAX_OFFSET || localSecond >= coverEnd - MAX_OFFSET)
+      {
+         return NOT_COVERED;
+      }
+      // last transition whose gap or overlap starts at or before the local date and time
+      int low = 0;
+      int high = localStarts.length;
+      while (low < high)
+      {
+         final int middle = (low + high) >>> 1;
+         if (localStarts[middle] <= localSecond)
+         {
+            low = middle + 1;
+         }
+         else
+         {
+            high = middle;
+         }
+      }
+      final int i = low - 1;
+      if (i >= 0 && localSecond < localEnds[i])
+      {
+         final int before = offsets[i];
+         final int after = offsets[i + 1];
+         if (after > before)
+         {
+            // gap: moved forward by its length, which keeps the offset before
+            return localSecond - before;
+         }
+         // overlap
+         return localSecond - (preferredOffsetSeconds == after ? after : before);
+      }
+      return localSecond - offsets[i + 1];
+   }
+
+   int offsetSeconds(final int index)
+   {
+      return offsets[index];
+   }
+
+   ZoneOffset offset(final int index)
+   {
+      return zoneOffsets[index];
+   }
+
+   ZoneId getZone()
+   {
+      return zone;
+   }
+
+   /**
+    * @return number of transitions in the years covered
+    */
+   int size()
+   {
+      return transitions.length;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "ZoneOffsetTable{zone=" + zone + ", transitions=" + transitions.length + ", from="
+              + Instant.ofEpochSecond(coverStart) + ", to=" + Instant.ofEpochSecond(coverEnd) + '}';
+   }
+
+}
@@ -0,0 +1,583 @@
+package el.dude.java.basics.inheritance;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Bulk operations over many {@link IValue}s: count, sum, min, max and mean ({@link Statistics}), histograms and the
+ * half value transform of {@link LocalValue#getHalfValue()}. They take arrays and lists of value objects, primitive
+ * arrays and {@link ValueStore}s.
+ * <p>
+ * Calling {@link IValue#getValue()} through the interface in the loop that adds up the values is the slow way: the
+ * call site sees several classes, the call is not inlined and the loop cannot be vectorized. Here the values are
+ * first gathered into a primitive block of {@link #BLOCK_SIZE} doubles and the aggregation runs over the block:
+ * <ul>
+ *    <li>{@link Value} and {@link LocalValue} (the exact classes, neither overrides getValue) are read through a
+ *    call site on {@code Value.getValue()}, which the JIT binds and inlines; other implementations go through the
+ *    interface</li>
+ *    <li>the block loops keep four independent sums, minimums and maximums, so they are not bound by the latency
+ *    of one dependency chain and the JIT can use vector instructions; the half value loop is a plain multiply</li>
+ * </ul>
+ * Inputs of more than {@link #PARALLEL_THRESHOLD} values are split into ranges and aggregated in parallel on the
+ * {@link ForkJoinPool#commonPool() common pool}. The sum of a parallel aggregation is added up in a different order
+ * and may differ from the sequential one in the last bits.
+ */
+public final class ValueAggregations
+{
+
+   public static final int PARALLEL_THRESHOLD = 1 << 15;
+
+   static final int BLOCK_SIZE = 1024;
+
+   private ValueAggregations()
+   {
+   }
+
+   /**
+    * Count, sum, minimum, maximum and mean
+    */
+   public static final class Statistics
+   {
+
+      private static final Statistics EMPTY = new Statistics(0, 0, Double.POSITIVE_INFINITY,
+              Double.NEGATIVE_INFINITY);
+
+      private final long   count;
+      private final double sum;
+      private final double min;
+      private final double max;
+
+      private Statistics(final long count, final double sum, final double min, final double max)
+      {
+         this.count = count;
+         this.sum = sum;
+         this.min = min;
+         this.max = max;
+      }
+
+      public long getCount()
+      {
+         return count;
+      }
+
+      public double getSum()
+      {
+         return sum;
+      }
+
+      /**
+       * @return smallest value, positive infinity when there is none, NaN when a value is NaN
+       */
+      public double getMin()
+      {
+         return min;
+      }
+
+      /**
+       * @return largest value, negative infinity when there is none, NaN when a value is NaN
+       */
+      public double getMax()
+      {
+         return max;
+      }
+
+      /**
+       * @return arithmetic mean, NaN when there is no value
+       */
+      public double getMean()
+      {
+         return count == 0 ? Double.NaN : sum / count;
+      }
+
+      /**
+       * @return statistics of both
+       */
+      public Statistics combine(final Statistics other)
+      {
+         return new Statistics(count + other.count, sum + other.sum, Math.min(min, other.min),
+                 Math.max(max, other.max));
+      }
+
+      @Override
+      public String toString()
+      {
+         return "Statistics[count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max + ", mean="
+                 + getMean() + ']';
+      }
+
+   }
+
+   public static Statistics statistics(final double[] values)
+   {
+      return statistics(new ArraySource(values));
+   }
+
+   public static Statistics statistics(final IValue[] values)
+   {
+      return statistics(new ObjectSource(Arrays.asList(values)));
+   }
+
+   public static Statistics statistics(final List<? extends IValue> values)
+   {
+      return statistics(ObjectSource.of(values));
+   }
+
+   public static Statistics statistics(final ValueStore values)
+   {
+      return statistics(new StoreSource(values));
+   }
+
+   /**
+    * Counts the values per bucket of equal width between min and max
+    *
+    * @return counts, values below min in the first bucket, values at or above max in the last, NaN in none
+    */
+   public static long[] histogram(final double[] values, final double min, final double max, final int buckets)
+   {
+      return histogram(new ArraySource(values), min, max, buckets);
+   }
+
+   /**
+    * @see #histogram(double[], double, double, int)
+    */
+   public static long[] histogram(final IValue[] values, final double min, final double max, final int buckets)
+   {
+      return histogram(new ObjectSource(Arrays.asList(values)), min, max, buckets);
+   }
+
+   /**
+    * @see #histogram(double[], double, double, int)
+    */
+   public static long[] histogram(final List<? extends IValue> values, final double min, final double max,
+           final int buckets)
+   {
+      return histogram(ObjectSource.of(values), min, max, buckets);
+   }
+
+   /**
+    * @see #histogram(double[], double, double, int)
+    */
+   public static long[] histogram(final ValueStore values, final double min, final double max, final int buckets)
+   {
+      return histogram(new StoreSource(values), min, max, buckets);
+   }
+
+   /**
+    * @return {@link LocalValue#getHalfValue()} of every value, in order
+    */
+   public static double[] halfValues(final IValue[] values)
+   {
+      return halfValues(new ObjectSource(Arrays.asList(values)));
+   }
+
+   /**
+    * @return {@link LocalValue#getHalfValue()} of every value, in order
+    */
+   public static double[] halfValues(final List<? extends IValue> values)
+   {
+      return halfValues(ObjectSource.of(values));
+   }
+
+   /**
+    * @return new store with {@link LocalValue#getHalfValue()} of every value, in order
+    */
+   public static ValueStore halfValues(final ValueStore values)
+   {
+      final ValueStore halves = new ValueStore();
+      final double[] block = new double[BLOCK_SIZE];
+      for (long from = 0; from < values.size(); from += BLOCK_SIZE)
+      {
+         halves.addAll(block, 0, values.getHalfValues(from, block, 0, BLOCK_SIZE));
+      }
+      return halves;
+   }
+
+   private static Statistics statistics(final Source source)
+   {
+      final StatisticsTask task = new StatisticsTask(source, 0, source.size());
+      return source.size() > PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+   }
+
+   private static long[] histogram(final Source source, final double min, final double max, final int buckets)
+   {
+      if (buckets < 1 || !(min < max))
+      {
+         throw new IllegalArgumentException("buckets must be positive and min below max: " + buckets + ", " + min
+                 + ", " + max);
+      }
+      final HistogramTask task = new HistogramTask(source, 0, source.size(), min, max, buckets);
+      return source.size() > PARALLEL_THRESHOLD ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+   }
+
+   private static double[] halfValues(final Source source)
+   {
+      final double[] halves = new double[Math.toIntExact(source.size())];
+      final HalfValuesTask task = new HalfValuesTask(source, 0, halves.length, halves);
+      if (halves.length > PARALLEL_THRESHOLD)
+      {
+         ForkJoinPool.commonPool().invoke(task);
+      }
+      else
+      {
+         task.compute();
+      }
+      return halves;
+   }
+
+   /**
+    * Four independent chains, see the class comment
+    */
+   static Statistics statistics(final double[] block, final int length)
+   {
+      double sum0 = 0;
+      double sum1 = 0;
+      double sum2 = 0;
+      double sum3 = 0;
+      double min0 = Double.POSITIVE_INFINITY;
+      double min1 = Double.POSITIVE_INFINITY;
+      double max0 = Double.NEGATIVE_INFINITY;
+      double max1 = Double.NEGATIVE_INFINITY;
+      int i = 0;
+      for (; i + 3 < length; i += 4)
+      {
+         final double a = block[i];
+         final double b = block[i + 1];
+         final double c = block[i + 2];
+         final double d = block[i + 3];
+         sum0 += a;
+         sum1 += b;
+         sum2 += c;
+         sum3 += d;
+         min0 = a < min0 ? a : min0;
+         min1 = b < min1 ? b : min1;
+         min0 = c < min0 ? c : min0;
+         min1 = d < min1 ? d : min1;
+         max0 = a > max0 ? a : max0;
+         max1 = b > max1 ? b : max1;
+         max0 = c > max0 ? c : max0;
+         max1 = d > max1 ? d : max1;
+      }
+      for (; i < length; i++)
+      {
+         final double a = block[i];
+         sum0 += a;
+         min0 = a < min0 ? a : min0;
+         max0 = a > max0 ? a : max0;
+      }
+      final double sum = (sum0 + sum1) + (sum2 + sum3);
+      // the selects skip NaN, the sum does not: NaN in min and max too, like Math.min and Math.max
+      if (sum != sum && hasNaN(block, length))
+      {
+         return new Statistics(length, sum, Double.NaN, Double.NaN);
+      }
+      return new Statistics(length, sum, Math.min(min0, min1), Math.max(max0, max1));
+   }
+
+   private static boolean hasNaN(final double[] block, final int length)
+   {
+      for (int i = 0; i < length; i++)
+      {
+         if (block[i] != block[i])
+         {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Where the values come from, copied block by block
+    */
+   private interface Source
+   {
+
+      long size();
+
+      /**
+       * Copies the values from the index on into the block
+       */
+      void copy(long from, double[] block, int length);
+
+   }
+
+   private static final class ArraySource implements Source
+   {
+
+      private final double[] values;
+
+      private ArraySource(final double[] values)
+      {
+         this.values = values;
+      }
+
+      @Override
+      public long size()
+      {
+         return values.length;
+      }
+
+      @Override
+      public void copy(final long from, final double[] block, final int length)
+      {
+         System.arraycopy(values, (int) from, block, 0, length);
+      }
+
+   }
+
+   private static final class ObjectSource implements Source
+   {
+
+      private final List<? extends IValue> values;
+
+      private ObjectSource(final List<? extends IValue> values)
+      {
+         this.values = values;
+      }
+
+      /**
+       * Lists without constant time access by index are copied into an array first
+       */
+      private static ObjectSource of(final List<? extends IValue> values)
+      {
+         return new ObjectSource(values instanceof RandomAccess ? values : Arrays.asList(values.toArray(
+                 new IValue[0])));
+      }
+
+      @Override
+      public long size()
+      {
+         return values.size();
+      }
+
+      @Override
+      public void copy(final long from, final double[] block, final int length)
+      {
+         for (int i = 0; i < length; i++)
+         {
+            final IValue value = values.get((int) from + i);
+            final Class<?> type = value.getClass();
+            // bound to Value.getValue and inlined, the interface call only for other implementations
+            block[i] = type == Value.class || type == LocalValue.class ? ((Value) value).getValue() : value.getValue();
+         }
+      }
+
+   }
+
+   private static final class StoreSource implements Source
+   {
+
+      private final ValueStore values;
+
+      private StoreSource(final ValueStore values)
+      {
+         this.values = values;
+      }
+
+      @Override
+      public long size()
+      {
+         return values.size();
+      }
+
+      @Override
+      public void copy(final long from, final double[] block, final int length)
+      {
+         values.getValues(from, block, 0, length);
+      }
+
+   }
+
+   /**
+    * Range of a source, split in halves down to {@link #PARALLEL_THRESHOLD} values
+    */
+   private abstract static class RangeTask<T> extends RecursiveTask<T>
+   {
+
+      private static final long serialVersionUID = 1L;
+
+      final Source source;
+      final long   from;
+      final long   to;
+
+      RangeTask(final Source source, final long from, final long to)
+      {
+         this.source = source;
+         this.from = from;
+         this.to = to;
+      }
+
+      @Override
+      protected T compute()
+      {
+         if (to - from <= PARALLEL_THRESHOLD)
+         {
+            final double[] block = new double[(int) Math.min(BLOCK_SIZE, to - from)];
+            T result = null;
+            for (long start = from; start < to; start += BLOCK_SIZE)
+            {
+               final int length = (int) Math.min(BLOCK_SIZE, to - start);
+               source.copy(start, block, length);
+               result = block(result, block, length);
+            }
+            return result == null ? block(null, block, 0) : result;
+         }
+         final long middle = (from + to) >>> 1;
+         final RangeTask<T> prefix = split(from, middle);
+         prefix.fork();
+         final T suffix = split(middle, to).compute();
+         return combine(prefix.join(), suffix);
+      }
+
+      abstract RangeTask<T> split(long from, long to);
+
+      /**
+       * @param result of the blocks before, null for the first block
+       */
+      abstract T block(T result, double[] block, int length);
+
+      abstract T combine(T prefix, T suffix);
+
+   }
+
+   private static final class StatisticsTask extends RangeTask<Statistics>
+   {
+
+      private static final long serialVersionUID = 1L;
+
+      StatisticsTask(final Source source, final long from, final long to)
+      {
+         super(source, from, to);
+      }
+
+      @Override
+      StatisticsTask split(final long from, final long to)
+      {
+         return new StatisticsTask(source, from, to);
+      }
+
+      @Override
+      Statistics block(final Statistics result, final double[] block, final int length)
+      {
+         final Statistics statistics = statistics(block, length);
+         return result == null ? statistics : result.combine(statistics);
+      }
+
+      @Override
+      Statistics combine(final Statistics prefix, final Statistics suffix)
+      {
+         return prefix.combine(suffix);
+      }
+
+      @Override
+      protected Statistics compute()
+      {
+         final Statistics statistics = super.compute();
+         return statistics.count == 0 ? Statistics.EMPTY : statistics;
+      }
+
+   }
+
+   private static final class HistogramTask extends RangeTask<long[]>
+   {
+
+      private static final long serialVersionUID = 1L;
+
+      private final double min;
+      private final double max;
+      private final int    buckets;
+
+      HistogramTask(final Source source, final long from, final long to, final double min, final double max,
+              final int buckets)
+      {
+         super(source, from, to);
+         this.min = min;
+         this.max = max;
+         this.buckets = buckets;
+      }
+
+      @Override
+      HistogramTask split(final long from, final long to)
+      {
+         return new HistogramTask(source, from, to, min, max, buckets);
+      }
+
+      @Override
+      long[] block(final long[] result, final double[] block, final int length)
+      {
+         final long[] counts = result == null ? new long[buckets] : result;
+         final double scale = buckets / (max - min);
+         final int last = buckets - 1;
+         for (int i = 0; i < length; i++)
+         {
+            final double value = block[i];
+            if (value == value)
+            {
+               // the cast saturates, out of range values end up in the first or last bucket
+               final int bucket = (int) ((value - min) * scale);
+               counts[bucket < 0 ? 0 : bucket > last ? last : bucket]++;
+            }
+         }
+         return counts;
+      }
+
+      @Override
+      long[] combine(final long[] prefix, final long[] suffix)
+      {
+         for (int i = 0; i < prefix.length; i++)
+         {
+            prefix[i] += suffix[i];
+         }
+         return prefix;
+      }
+
+   }
+
+   private static final class HalfValuesTask extends RecursiveAction
+   {
+
+      private static final long serialVersionUID = 1L;
+
+      private final Source   source;
+      private final int      from;
+      private final int      to;
+      private final double[] halves;
+
+      HalfValuesTask(final Source source, final int from, final int to, final double[] halves)
+      {
+         this.source = source;
+         this.from = from;
+         this.to = to;
+         this.halves = halves;
+      }
+
+      @Override
+      protected void compute()
+      {
+         if (to - from <= PARALLEL_THRESHOLD)
+         {
+            final double[] block = new double[BLOCK_SIZE];
+            for (int start = from; start < to; start += BLOCK_SIZE)
+            {
+               final int length = Math.min(BLOCK_SIZE, to - start);
+               source.copy(start, block, length);
+               // the same as getValue() / 2, halving is exact
+               for (int i = 0; i < length; i++)
+               {
+                  halves[start + i] = block[i] * 0.5;
+               }
+            }
+            return;
+         }
+         final int middle = (from + to) >>> 1;
+         invokeAll(new HalfValuesTask(source, from, middle, halves), new HalfValuesTask(source, middle, to, halves));
+      }
+
+   }
+
+}
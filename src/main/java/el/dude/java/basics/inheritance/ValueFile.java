@@ -0,0 +1,461 @@
+package el.dude.java.basics.inheritance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Binary file of {@link Value}s and {@link LocalValue}s, read through read-only memory mappings instead of parsing
+ * text and creating an object per value. All numbers are little-endian:
+ * <pre>
+ *    offset  length     content
+ *    0       4          magic "JBVF"
+ *    4       4          version, {@link #VERSION}
+ *    8       8          count of values
+ *    16      8          offset of the value column
+ *    24      8          offset of the type column
+ *    32      8 * count  value column, the doubles of {@link IValue#getValue()}
+ *    ...     count      type column, one {@link Type} tag per value
+ * </pre>
+ * Opening maps the columns without reading them, a file of 10GB opens as fast as one of 10 bytes; the operating
+ * system pages the values in as they are read. {@link #get(long)} answers a small view on the mapped value, of the
+ * type the value was written as, and {@link #cursor()} a reusable one; neither copies the value out of the file.
+ * <p>
+ * A later format bumps {@link #VERSION}, older readers fail on it with a message instead of
+ * misreading it. Thread-safe, the mappings are read-only. Java 11 cannot unmap a buffer: there is nothing to
+ * close, the mappings are released by the garbage collector once the file and its views are no longer referenced.
+ */
+public final class ValueFile
+{
+
+   public static final int VERSION = 1;
+
+   /**
+    * "JBVF" read as little-endian int
+    */
+   static final int MAGIC = 0x4656424A;
+
+   static final int HEADER_SIZE = 32;
+
+   /**
+    * Values per mapping, one mapping holds at most 2GB: 1GB of doubles
+    */
+   private static final int DEFAULT_SEGMENT_SIZE = 1 << 27;
+
+   private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+   /**
+    * What a value was written as, the tag in the type column
+    */
+   public enum Type
+   {
+
+      //@formatter:off
+      VALUE         ((byte) 0),
+      LOCAL_VALUE   ((byte) 1),
+      ;
+      //@formatter:on
+
+      private final byte tag;
+
+      Type(final byte tag)
+      {
+         this.tag = tag;
+      }
+
+      /**
+       * @return {@link #LOCAL_VALUE} for an {@link ILocalValue}, else {@link #VALUE}
+       */
+      public static Type of(final IValue value)
+      {
+         return value instanceof ILocalValue ? LOCAL_VALUE : VALUE;
+      }
+
+      static Type of(final byte tag)
+      {
+         // a switch on the tag, values() would copy the array on every call
+         switch (tag)
+         {
+            case 0:
+               return VALUE;
+            case 1:
+               return LOCAL_VALUE;
+            default:
+               throw new IllegalStateException("Unknown type tag " + tag);
+         }
+      }
+
+   }
+
+   private final Path           path;
+   private final long           count;
+   private final int            segmentShift;
+   private final int            segmentMask;
+   private final DoubleBuffer[] values;
+   private final ByteBuffer[]   types;
+
+   private ValueFile(final Path path, final long count, final int segmentSize, final DoubleBuffer[] values,
+           final ByteBuffer[] types)
+   {
+      this.path = path;
+      this.count = count;
+      this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+      this.segmentMask = segmentSize - 1;
+      this.values = values;
+      this.types = types;
+   }
+
+   /**
+    * Writes the values and their types, replacing the file
+    *
+    * @return number of values written
+    */
+   public static long write(final Path path, final Collection<? extends IValue> values) throws IOException
+   {
+      final long count = values.size();
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+         buffer.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(HEADER_SIZE)
+                 .putLong(HEADER_SIZE + count * Double.BYTES);
+         for (final IValue value : values)
+         {
+            if (buffer.remaining() < Double.BYTES)
+            {
+               drain(channel, buffer);
+            }
+            buffer.putDouble(value.getValue());
+         }
+         for (final IValue value : values)
+         {
+            if (!buffer.hasRemaining())
+            {
+               drain(channel, buffer);
+            }
+            buffer.put(Type.of(value).tag);
+         }
+         drain(channel, buffer);
+         if (channel.size() != HEADER_SIZE + count * (Double.BYTES + 1))
+         {
+            throw new IOException("Values changed while writing " + path);
+         }
+      }
+      return count;
+   }
+
+   private static void drain(final FileChannel channel, final ByteBuffer buffer) throws IOException
+   {
+      buffer.flip();
+      while (buffer.hasRemaining())
+      {
+         channel.write(buffer);
+      }
+      buffer.clear();
+   }
+
+   /**
+    * Maps the file read-only, the values are not read
+    *
+    * @throws IOException when the file cannot be read or is no value file of a supported version
+    */
+   public static ValueFile open(final Path path) throws IOException
+   {
+      return open(path, DEFAULT_SEGMENT_SIZE);
+   }
+
+   /**
+    * @param segmentSize values per mapping, a power of two
+    */
+   static ValueFile open(final Path path, final int segmentSize) throws IOException
+   {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+      {
+         final long fileSize = channel.size();
+         final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+         while (header.hasRemaining())
+         {
+            if (channel.read(header, header.position()) < 0)
+            {
+               break;
+            }
+         }
+         if (header.hasRemaining() || header.getInt(0) != MAGIC)
+         {
+            throw new IOException(path + " is not a value file");
+         }
+         final int version = header.getInt(4);
+         if (version < 1 || version > VERSION)
+         {
+            throw new IOException(path + " has version " + version + ", supported up to " + VERSION);
+         }
+         final long count = header.getLong(8);
+         final long valuesOffset = header.getLong(16);
+         final long typesOffset = header.getLong(24);
+         if (count < 0 || count > fileSize || valuesOffset < HEADER_SIZE
+                 || typesOffset - valuesOffset != count * Double.BYTES || typesOffset + count > fileSize)
+         {
+            throw new IOException(path + " is truncated or corrupt: " + count + " values, " + fileSize + " bytes");
+         }
+         // mapping reserves address space only, the mappings outlive the channel
+         final int segments = (int) ((count + segmentSize - 1) / segmentSize);
+         final DoubleBuffer[] values = new DoubleBuffer[segments];
+         final ByteBuffer[] types = new ByteBuffer[segments];
+         for (int i = 0; i < segments; i++)
+         {
+            final long first = (long) i * segmentSize;
+            final long length = Math.min(segmentSize, count - first);
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                    valuesOffset + first * Double.BYTES, length * Double.BYTES);
+            values[i] = mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            types[i] = channel.map(FileChannel.MapMode.READ_ONLY, typesOffset + first, length);
+         }
+         return new ValueFile(path, count, segmentSize, values, types);
+      }
+   }
+
+   public Path getPath()
+   {
+      return path;
+   }
+
+   /**
+    * @return number of values
+    */
+   public long size()
+   {
+      return count;
+   }
+
+   /**
+    * Same as {@link IValue#getValue()} of the value at the index
+    */
+   public double getValue(final long index)
+   {
+      checkIndex(index);
+      return values[(int) (index >>> segmentShift)].get((int) index & segmentMask);
+   }
+
+   public Type getType(final long index)
+   {
+      checkIndex(index);
+      return Type.of(types[(int) (index >>> segmentShift)].get((int) index & segmentMask));
+   }
+
+   /**
+    * Copies the values from the index on into the array
+    *
+    * @return number of values copied, less than the length at the end of the file
+    */
+   public int getValues(final long from, final double[] into, final int offset, final int length)
+   {
+      if (from < 0 || from > count || length < 0)
+      {
+         throw new IndexOutOfBoundsException("Range " + from + "+" + length + " out of bounds for size " + count);
+      }
+      final int total = (int) Math.min(length, count - from);
+      int copied = 0;
+      while (copied < total)
+      {
+         final long index = from + copied;
+         final DoubleBuffer segment = values[(int) (index >>> segmentShift)];
+         final int position = (int) index & segmentMask;
+         final int n = Math.min(total - copied, segment.capacity() - position);
+         // absolute bulk get is Java 13+
+         segment.duplicate().position(position).get(into, offset + copied, n);
+         copied += n;
+      }
+      return total;
+   }
+
+   /**
+    * View of the value at the index, reading it from the mapping on every call
+    *
+    * @return an {@link ILocalValue} for a {@link LocalValue}, an {@link IValue} only for a {@link Value}
+    */
+   public IValue get(final long index)
+   {
+      return getType(index) == Type.LOCAL_VALUE ? new LocalView(index) : new View(index);
+   }
+
+   /**
+    * @return new object of the type written, holding a copy of the value
+    */
+   public Value toValue(final long index)
+   {
+      final double value = getValue(index);
+      return getType(index) == Type.LOCAL_VALUE ? new LocalValue(value) : new Value(value);
+   }
+
+   /**
+    * @return flyweight view, before the first value
+    */
+   public Cursor cursor()
+   {
+      return new Cursor();
+   }
+
+   /**
+    * Copies the values into a store, e.g. to modify them
+    */
+   public ValueStore toStore()
+   {
+      final ValueStore store = new ValueStore();
+      final double[] block = new double[ValueAggregations.BLOCK_SIZE];
+      for (long from = 0; from < count; from += block.length)
+      {
+         store.addAll(block, 0, getValues(from, block, 0, block.length));
+      }
+      return store;
+   }
+
+   private void checkIndex(final long index)
+   {
+      if (index < 0 || index >= count)
+      {
+         throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + count);
+      }
+   }
+
+   @Override
+   public String toString()
+   {
+      return "ValueFile[" + path + ", " + count + " values]";
+   }
+
+   /**
+    * {@link Value} in the file
+    */
+   private class View implements IValue
+   {
+
+      private final DoubleBuffer segment;
+      private final int          position;
+
+      private View(final long index)
+      {
+         this.segment = values[(int) (index >>> segmentShift)];
+         this.position = (int) index & segmentMask;
+      }
+
+      @Override
+      public double getValue()
+      {
+         return segment.get(position);
+      }
+
+      @Override
+      public String toString()
+      {
+         return String.valueOf(getValue());
+      }
+
+   }
+
+   /**
+    * {@link LocalValue} in the file
+    */
+   private final class LocalView extends View implements ILocalValue
+   {
+
+      private LocalView(final long index)
+      {
+         super(index);
+      }
+
+      @Override
+      public double getHalfValue()
+      {
+         return getValue() / 2;
+      }
+
+   }
+
+   /**
+    * Reusable view of one value of the file at a time, not thread-safe
+    */
+   public final class Cursor implements ILocalValue
+   {
+
+      private long         index = -1;
+      private DoubleBuffer segment;
+      private int          position;
+
+      private Cursor()
+      {
+      }
+
+      /**
+       * Moves to the next value
+       *
+       * @return false at the end of the file
+       */
+      public boolean next()
+      {
+         if (index + 1 >= count)
+         {
+            return false;
+         }
+         index++;
+         position = (int) index & segmentMask;
+         if (position == 0 || segment == null)
+         {
+            segment = values[(int) (index >>> segmentShift)];
+         }
+         return true;
+      }
+
+      /**
+       * @return this cursor on the value at the index
+       */
+      public Cursor at(final long index)
+      {
+         checkIndex(index);
+         this.segment = values[(int) (index >>> segmentShift)];
+         this.index = index;
+         this.position = (int) index & segmentMask;
+         return this;
+      }
+
+      public long getIndex()
+      {
+         return index;
+      }
+
+      /**
+       * @return what the current value was written as
+       */
+      public Type getType()
+      {
+         return ValueFile.this.getType(index);
+      }
+
+      @Override
+      public double getValue()
+      {
+         return segment.get(position);
+      }
+
+      @Override
+      public double getHalfValue()
+      {
+         return segment.get(position) / 2;
+      }
+
+      @Override
+      public String toString()
+      {
+         return index < 0 ? "Cursor[before first]" : "Cursor[" + index + ": " + getValue() + ']';
+      }
+
+   }
+
+}
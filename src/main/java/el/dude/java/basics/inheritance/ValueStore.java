@@ -0,0 +1,398 @@
+package el.dude.java.basics.inheritance;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Columnar store of {@link IValue} and {@link ILocalValue} data: the doubles are kept side by side off-heap, in
+ * direct {@link DoubleBuffer}s, instead of one {@link Value} or {@link LocalValue} object per double. That saves the
+ * object header and the reference of every value (about 24 bytes on top of the 8 of the double) and keeps the
+ * garbage collector out of it, iterating reads memory sequentially instead of following references.
+ * <pre>
+ *    store.add(4.2)                       -- index 0
+ *    store.cursor().at(0).getHalfValue()  -- 2.1, the same as new LocalValue(4.2).getHalfValue()
+ *    store.getHalfValues(0, into, 0, n)   -- n half values at once
+ *    store.values(true).max()             -- parallel stream over the values
+ * </pre>
+ * The values are read through a {@link Cursor}: one reusable flyweight {@link ILocalValue} moved from index to index,
+ * no object per value. The bulk methods copy whole ranges straight from the backing memory.
+ * <p>
+ * One direct buffer holds at most 2GB, the store is split into chunks of {@link #DEFAULT_CHUNK_SIZE} doubles and
+ * indexed by long, so it holds billions of values. Chunks are allocated as the store grows and released by the
+ * garbage collector with the store. Not thread-safe for writing, any number of threads may read with their own
+ * cursors once the values are written (and safely published).
+ */
+public final class ValueStore
+{
+
+   /**
+    * Doubles per chunk, 8MB
+    */
+   public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+   /**
+    * Largest power of two of doubles a direct buffer holds, 1GB
+    */
+   private static final int MAX_CHUNK_SIZE = 1 << 27;
+
+   private final int            chunkShift;
+   private final int            chunkMask;
+   private       DoubleBuffer[] chunks = new DoubleBuffer[0];
+   private       long           size;
+
+   public ValueStore()
+   {
+      this(DEFAULT_CHUNK_SIZE);
+   }
+
+   /**
+    * @param chunkSize doubles per chunk, a power of two of at most 2^27 (1GB)
+    */
+   ValueStore(final int chunkSize)
+   {
+      if (chunkSize < 1 || Integer.bitCount(chunkSize) != 1 || chunkSize > MAX_CHUNK_SIZE)
+      {
+         throw new IllegalArgumentException("chunkSize must be a power of two up to 2^27: " + chunkSize);
+      }
+      this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+      this.chunkMask = chunkSize - 1;
+   }
+
+   /**
+    * @return index of the value
+    */
+   public long add(final double value)
+   {
+      final long index = size;
+      ensureCapacity(index + 1);
+      chunks[(int) (index >>> chunkShift)].put((int) index & chunkMask, value);
+      size = index + 1;
+      return index;
+   }
+
+   /**
+    * Copies the values of the objects, e.g. to move a collection of {@link Value}s off the heap
+    *
+    * @return index of the first value
+    */
+   public long addAll(final Iterable<? extends IValue> values)
+   {
+      final long first = size;
+      for (final IValue value : values)
+      {
+         add(value.getValue());
+      }
+      return first;
+   }
+
+   /**
+    * @return index of the first value
+    */
+   public long addAll(final double[] values, final int offset, final int length)
+   {
+      final long first = size;
+      ensureCapacity(first + length);
+      int copied = 0;
+      while (copied < length)
+      {
+         final long index = first + copied;
+         final DoubleBuffer chunk = chunk(index);
+         final int position = (int) index & chunkMask;
+         final int count = Math.min(length - copied, chunk.capacity() - position);
+         // absolute bulk put is Java 13+
+         chunk.duplicate().position(position).put(values, offset + copied, count);
+         copied += count;
+      }
+      size = first + length;
+      return first;
+   }
+
+   public void set(final long index, final double value)
+   {
+      chunk(checkIndex(index)).put((int) index & chunkMask, value);
+   }
+
+   /**
+    * @return number of values
+    */
+   public long size()
+   {
+      return size;
+   }
+
+   /**
+    * Same as {@link IValue#getValue()} of the value at the index
+    */
+   public double getValue(final long index)
+   {
+      return chunk(checkIndex(index)).get((int) index & chunkMask);
+   }
+
+   /**
+    * Same as {@link LocalValue#getHalfValue()} of the value at the index
+    */
+   public double getHalfValue(final long index)
+   {
+      return getValue(index) / 2;
+   }
+
+   /**
+    * Copies the values from the index on into the array
+    *
+    * @return number of values copied, less than the length at the end of the store
+    */
+   public int getValues(final long from, final double[] into, final int offset, final int length)
+   {
+      final int count = count(from, length);
+      int copied = 0;
+      while (copied < count)
+      {
+         final long index = from + copied;
+         final DoubleBuffer chunk = chunk(index);
+         final int position = (int) index & chunkMask;
+         final int n = Math.min(count - copied, chunk.capacity() - position);
+         chunk.duplicate().position(position).get(into, offset + copied, n);
+         copied += n;
+      }
+      return count;
+   }
+
+   /**
+    * Same as {@link #getValues(long, double[], int, int)} with each value halved, like
+    * {@link LocalValue#getHalfValue()}
+    *
+    * @return number of half values written
+    */
+   public int getHalfValues(final long from, final double[] into, final int offset, final int length)
+   {
+      final int count = getValues(from, into, offset, length);
+      for (int i = offset; i < offset + count; i++)
+      {
+         into[i] /= 2;
+      }
+      return count;
+   }
+
+   /**
+    * @return flyweight view, before the first value
+    */
+   public Cursor cursor()
+   {
+      return new Cursor();
+   }
+
+   /**
+    * @return the values from the first to the last, splitting in halves for parallel streams; the size is taken
+    * when the spliterator is created, values added later are not reported, values set later may or may not be
+    */
+   public Spliterator.OfDouble spliterator()
+   {
+      return new RangeSpliterator(0, size);
+   }
+
+   /**
+    * @param parallel whether the stream splits the store across the common pool
+    * @return stream of the values
+    */
+   public DoubleStream values(final boolean parallel)
+   {
+      return StreamSupport.doubleStream(spliterator(), parallel);
+   }
+
+   private int count(final long from, final int length)
+   {
+      if (from < 0 || from > size || length < 0)
+      {
+         throw new IndexOutOfBoundsException("Range " + from + "+" + length + " out of bounds for size " + size);
+      }
+      return (int) Math.min(length, size - from);
+   }
+
+   private long checkIndex(final long index)
+   {
+      if (index < 0 || index >= size)
+      {
+         throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+      }
+      return index;
+   }
+
+   private DoubleBuffer chunk(final long index)
+   {
+      return chunks[(int) (index >>> chunkShift)];
+   }
+
+   private void ensureCapacity(final long capacity)
+   {
+      final long needed = (capacity + chunkMask) >>> chunkShift;
+      if (needed > chunks.length)
+      {
+         final int count = chunks.length;
+         chunks = Arrays.copyOf(chunks, Math.toIntExact(needed));
+         for (int i = count; i < chunks.length; i++)
+         {
+            chunks[i] = ByteBuffer.allocateDirect((chunkMask + 1) * Double.BYTES).order(ByteOrder.nativeOrder())
+                    .asDoubleBuffer();
+         }
+      }
+   }
+
+   /**
+    * Reusable view of one value of the store at a time, not thread-safe
+    */
+   public final class Cursor implements ILocalValue
+   {
+
+      private long         index = -1;
+      private DoubleBuffer chunk;
+      private int          position;
+
+      private Cursor()
+      {
+      }
+
+      /**
+       * Moves to the next value
+       *
+       * @return false at the end of the store
+       */
+      public boolean next()
+      {
+         if (index + 1 >= size)
+         {
+            return false;
+         }
+         index++;
+         position = (int) index & chunkMask;
+         if (position == 0 || chunk == null)
+         {
+            chunk = chunk(index);
+         }
+         return true;
+      }
+
+      /**
+       * @return this cursor on the value at the index
+       */
+      public Cursor at(final long index)
+      {
+         this.chunk = chunk(checkIndex(index));
+         this.index = index;
+         this.position = (int) index & chunkMask;
+         return this;
+      }
+
+      /**
+       * Moves before the first value again
+       */
+      public Cursor reset()
+      {
+         index = -1;
+         chunk = null;
+         return this;
+      }
+
+      public long getIndex()
+      {
+         return index;
+      }
+
+      @Override
+      public double getValue()
+      {
+         return chunk.get(position);
+      }
+
+      @Override
+      public double getHalfValue()
+      {
+         return chunk.get(position) / 2;
+      }
+
+      @Override
+      public String toString()
+      {
+         return index < 0 ? "Cursor[before first]" : "Cursor[" + index + ": " + getValue() + ']';
+      }
+
+   }
+
+   /**
+    * Values from (inclusive) to (exclusive), read straight from the chunks
+    */
+   private final class RangeSpliterator implements Spliterator.OfDouble
+   {
+
+      private long       index;
+      private final long end;
+
+      private RangeSpliterator(final long from, final long end)
+      {
+         this.index = from;
+         this.end = end;
+      }
+
+      @Override
+      public boolean tryAdvance(final DoubleConsumer action)
+      {
+         if (index >= end)
+         {
+            return false;
+         }
+         action.accept(chunk(index).get((int) index & chunkMask));
+         index++;
+         return true;
+      }
+
+      @Override
+      public void forEachRemaining(final DoubleConsumer action)
+      {
+         while (index < end)
+         {
+            final DoubleBuffer chunk = chunk(index);
+            final int last = (int) Math.min(end - (index & ~(long) chunkMask), chunkMask + 1);
+            for (int position = (int) index & chunkMask; position < last; position++)
+            {
+               action.accept(chunk.get(position));
+            }
+            index = (index & ~(long) chunkMask) + last;
+         }
+      }
+
+      @Override
+      public Spliterator.OfDouble trySplit()
+      {
+         final long middle = (index + end) >>> 1;
+         if (middle - index < 1024)
+         {
+            return null;
+         }
+         final RangeSpliterator prefix = new RangeSpliterator(index, middle);
+         index = middle;
+         return prefix;
+      }
+
+      @Override
+      public long estimateSize()
+      {
+         return end - index;
+      }
+
+      @Override
+      public int characteristics()
+      {
+         // not IMMUTABLE, set and add change the store
+         return ORDERED | SIZED | SUBSIZED | NONNULL;
+      }
+
+   }
+
+}
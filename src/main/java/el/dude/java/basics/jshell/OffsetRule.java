@@ -0,0 +1,31 @@
+package el.dude.java.basics.jshell;
+
+import el.dude.java.basics.enumerations.DateAndTimeOffsetFunction;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Offsets a date and time by an amount, the way a rule defines it: either a {@link DateAndTimeOffsetFunction} of the
+ * built-in units or a Java expression compiled by the {@link OffsetRuleEngine}.
+ * <pre>
+ *    OffsetRule.of(DateAndTimeOffsetFunctionImpl.getFunction("days"))   -- dateAndTime.plus(amount days)
+ *    engine.compile("dateAndTime.plusMonths(amount).withDayOfMonth(1)") -- first of the month after amount months
+ * </pre>
+ */
+@FunctionalInterface
+public interface OffsetRule
+{
+
+   ZonedDateTime offset(ZonedDateTime dateAndTime, int amount);
+
+   /**
+    * @return rule adding the amount of the function's units
+    */
+   static OffsetRule of(final DateAndTimeOffsetFunction function)
+   {
+      return (dateAndTime, amount) -> dateAndTime.plus(function.offsetBy(amount));
+   }
+
+}
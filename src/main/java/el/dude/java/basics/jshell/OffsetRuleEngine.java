@@ -0,0 +1,312 @@
+package el.dude.java.basics.jshell;
+
+import jdk.jshell.JShell;
+import jdk.jshell.Snippet;
+import jdk.jshell.SnippetEvent;
+import jdk.jshell.SourceCodeAnalysis;
+import jdk.jshell.execution.LocalExecutionControl;
+import jdk.jshell.spi.ExecutionControl;
+import jdk.jshell.spi.ExecutionControlProvider;
+import jdk.jshell.spi.ExecutionEnv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Author: agent - 2026-10-17
+ * <p>
+ * Compiles offset rules written as Java expressions into {@link OffsetRule}s. The expression sees the date and time
+ * as {@code dateAndTime} ({@link ZonedDateTime}), the amount as {@code amount} (int) and the packages java.time and
+ * java.time.temporal, and answers the offset {@link ZonedDateTime}:
+ * <pre>
+ *    end of quarter plus amount days
+ *       dateAndTime.with(IsoFields.DAY_OF_QUARTER, dateAndTime.range(IsoFields.DAY_OF_QUARTER).getMaximum())
+ *               .plusDays(amount)
+ * </pre>
+ * Building a {@link JShell} takes seconds and every evaluation compiles. The engine keeps a pool of JShells built
+ * and warmed up front, compiles each distinct rule once on one of them and caches the result: a lambda object
+ * loaded into this JVM (the local execution engine), handed over as {@link BiFunction} so that no class of this
+ * project has to be visible to the snippets. Evaluating a compiled rule is an interface call on that lambda, no
+ * JShell involved, from any number of threads; the amount is boxed on the way.
+ * <p>
+ * The rules run with all the rights of this JVM, JShell is no sandbox: only rules of trusted authors belong here.
+ * A rule must be a single expression, it is rejected with {@link IllegalArgumentException} and the compiler's
+ * message otherwise. Rejections are cached like compiled rules, a rule repeated after being rejected is not compiled
+ * again. Thread-safe.
+ */
+public final class OffsetRuleEngine implements AutoCloseable
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetRuleEngine.class);
+
+   public static final int DEFAULT_POOL_SIZE = 2;
+
+   private static final List<String> IMPORTS = List.of("import java.time.*;", "import java.time.temporal.*;");
+
+   private static final String WARM_UP_RULE = "dateAndTime.plusDays(amount)";
+
+   private final BlockingQueue<Shell>                                    pool;
+   /**
+    * Compiled or rejected rules by expression, completed by the thread compiling them outside the map
+    */
+   private final ConcurrentHashMap<String, CompletableFuture<OffsetRule>> rules        = new ConcurrentHashMap<>();
+   private final LongAdder                                               compilations = new LongAdder();
+   private volatile boolean                                              closed;
+
+   public OffsetRuleEngine()
+   {
+      this(DEFAULT_POOL_SIZE);
+   }
+
+   /**
+    * Builds and warms up the JShells, takes a second or more per JShell
+    *
+    * @param poolSize number of rules that compile at the same time
+    */
+   public OffsetRuleEngine(final int poolSize)
+   {
+      if (poolSize < 1)
+      {
+         throw new IllegalArgumentException("poolSize must be positive: " + poolSize);
+      }
+      this.pool = new ArrayBlockingQueue<>(poolSize);
+      final long start = System.nanoTime();
+      for (int i = 0; i < poolSize; i++)
+      {
+         final Shell shell = new Shell();
+         // compiles and runs a first rule, loading javac and the classes of java.time
+         shell.define(WARM_UP_RULE).offset(ZonedDateTime.now(), 1);
+         pool.add(shell);
+      }
+      logger.info("{} JShells warmed up in {} ms", poolSize, (System.nanoTime() - start) / 1_000_000);
+   }
+
+   /**
+    * @param rule Java expression of dateAndTime and amount answering a {@link ZonedDateTime}
+    * @return compiled rule, cached by the expression
+    * @throws IllegalArgumentException when the rule is not a single expression or does not compile
+    * @throws IllegalStateException    when the engine is closed or interrupted before compiling the rule
+    */
+   public OffsetRule compile(final String rule)
+   {
+      final String expression = rule.trim();
+      CompletableFuture<OffsetRule> compiled = rules.get(expression);
+      if (compiled == null)
+      {
+         // compiles outside the map, a compilation must not lock other rules of the same bin
+         final CompletableFuture<OffsetRule> created = new CompletableFuture<>();
+         compiled = rules.putIfAbsent(expression, created);
+         if (compiled == null)
+         {
+            compiled = created;
+            try
+            {
+               created.complete(define(expression));
+            }
+            catch (final IllegalArgumentException e)
+            {
+               created.completeExceptionally(e);
+            }
+            catch (final RuntimeException | Error e)
+            {
+               // not the rule's fault, the next caller tries again
+               rules.remove(expression, created);
+               created.completeExceptionally(e);
+            }
+         }
+      }
+      try
+      {
+         return compiled.join();
+      }
+      catch (final CompletionException e)
+      {
+         if (e.getCause() instanceof IllegalArgumentException)
+         {
+            throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause());
+         }
+         if (e.getCause() instanceof Error)
+         {
+            throw (Error) e.getCause();
+         }
+         throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+      }
+   }
+
+   /**
+    * Same as {@code compile(rule).offset(dateAndTime, amount)}
+    */
+   public ZonedDateTime offset(final String rule, final ZonedDateTime dateAndTime, final int amount)
+   {
+      return compile(rule).offset(dateAndTime, amount);
+   }
+
+   /**
+    * @return number of rules compiled, failed ones included
+    */
+   public long getCompilations()
+   {
+      return compilations.sum();
+   }
+
+   private OffsetRule define(final String expression)
+   {
+      if (closed)
+      {
+         throw new IllegalStateException("OffsetRuleEngine is closed");
+      }
+      final Shell shell;
+      try
+      {
+         shell = pool.take();
+      }
+      catch (final InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Interrupted waiting for a JShell", e);
+      }
+      try
+      {
+         compilations.increment();
+         return shell.define(expression);
+      }
+      finally
+      {
+         if (closed)
+         {
+            shell.close();
+         }
+         else
+         {
+            pool.add(shell);
+         }
+      }
+   }
+
+   /**
+    * Closes the JShells, compiled rules keep working
+    */
+   @Override
+   public void close()
+   {
+      closed = true;
+      Shell shell;
+      while ((shell = pool.poll()) != null)
+      {
+         shell.close();
+      }
+   }
+
+   /**
+    * One JShell executing in this JVM, with the value of the last evaluation
+    */
+   private static final class Shell
+   {
+
+      private final JShell           jShell;
+      private       CapturingControl control;
+
+      private Shell()
+      {
+         final ExecutionControlProvider provider = new ExecutionControlProvider()
+         {
+            @Override
+            public String name()
+            {
+               return "offset-rule-local";
+            }
+
+            @Override
+            public ExecutionControl generate(final ExecutionEnv env, final Map<String, String> parameters)
+            {
+               control = new CapturingControl();
+               return control;
+            }
+         };
+         this.jShell = JShell.builder().executionEngine(provider, Map.of()).build();
+         for (final String source : IMPORTS)
+         {
+            eval(source);
+         }
+      }
+
+      @SuppressWarnings("unchecked")
+      private OffsetRule define(final String expression)
+      {
+         final String source = "(java.util.function.BiFunction<ZonedDateTime, Integer, ZonedDateTime>)"
+                 + " (dateAndTime, amount) -> (" + expression + ')';
+         // exactly one snippet, a rule like "x); System.exit(1); (y" must not leave the lambda
+         final SourceCodeAnalysis.CompletionInfo completion = jShell.sourceCodeAnalysis().analyzeCompletion(source);
+         if (!completion.completeness().isComplete() || !completion.remaining().isBlank())
+         {
+            throw new IllegalArgumentException("Rule must be a single expression: " + expression);
+         }
+         final Snippet snippet = eval(source);
+         final BiFunction<ZonedDateTime, Integer, ZonedDateTime> function =
+                 (BiFunction<ZonedDateTime, Integer, ZonedDateTime>) control.value;
+         control.value = null;
+         // the lambda's class stays loaded as long as the function is referenced
+         jShell.drop(snippet);
+         return function::apply;
+      }
+
+      private Snippet eval(final String source)
+      {
+         final List<SnippetEvent> events = jShell.eval(source);
+         for (final SnippetEvent event : events)
+         {
+            if (event.causeSnippet() == null)
+            {
+               if (event.status() != Snippet.Status.VALID || event.exception() != null)
+               {
+                  final String message = event.exception() != null ? event.exception().toString()
+                          : jShell.diagnostics(event.snippet()).map(diag -> diag.getMessage(Locale.ROOT))
+                                  .collect(Collectors.joining("; "));
+                  jShell.drop(event.snippet());
+                  throw new IllegalArgumentException("Rule does not compile: " + message);
+               }
+               return event.snippet();
+            }
+         }
+         throw new IllegalArgumentException("Rule does not compile: " + source);
+      }
+
+      private void close()
+      {
+         jShell.close();
+      }
+
+   }
+
+   /**
+    * Runs the snippets in this JVM like the "local" execution engine, keeping the value of the last one
+    */
+   private static final class CapturingControl extends LocalExecutionControl
+   {
+
+      private Object value;
+
+      @Override
+      protected String invoke(final Method doitMethod) throws Exception
+      {
+         // on the calling thread, the snippets of the engine only create a lambda
+         value = doitMethod.invoke(null);
+         return valueString(value);
+      }
+
+   }
+
+}
@@ -0,0 +1,190 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class BusinessCalendarTest
+{
+
+   private static final BusinessCalendar ZURICH = new BusinessCalendar("zurich-test",
+           EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+           List.of(LocalDate.parse("2022-04-15"), LocalDate.parse("2022-04-18"), LocalDate.parse("2022-12-26")),
+           LocalTime.of(8, 0), LocalTime.of(17, 0), 2000, 2040);
+
+   static
+   {
+      BusinessCalendar.register(ZURICH);
+   }
+
+   @Test
+   void large_amounts_match_walking_day_by_day()
+   {
+      final Random random = new Random(4711);
+      for (int n = 0; n < 200; n++)
+      {
+         final LocalDate date = LocalDate.of(2010, 1, 1).plusDays(random.nextInt(3650));
+         final int amount = random.nextInt(2001) - 1000;
+         LocalDate expected = date;
+         for (int remaining = Math.abs(amount); remaining > 0; )
+         {
+            expected = expected.plusDays(Integer.signum(amount));
+            if (ZURICH.isBusinessDay(expected))
+            {
+               remaining--;
+            }
+         }
+         assertEquals(expected, ZURICH.plusBusinessDays(date, amount), date + " " + amount);
+      }
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-04-14,   1,   2022-04-19",    // Good Friday and Easter Monday
+           "2022-04-19,  -1,   2022-04-14",
+           "2022-04-16,   1,   2022-04-19",    // from a day off
+           "2022-04-16,  -1,   2022-04-14",
+           "2022-04-16,   0,   2022-04-16",
+           "2022-12-23,   1,   2022-12-27",
+           "2022-12-30,   1,   2023-01-02",
+   })
+   //@formatter:on
+   void business_days(final String date, final int amount, final String expected)
+   {
+      assertEquals(LocalDate.parse(expected), ZURICH.plusBusinessDays(LocalDate.parse(date), amount));
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-04-14T10:30:00Z,        3,      2022-04-14T13:30Z",
+           "2022-04-14T10:30:00Z,        9,      2022-04-19T10:30Z",
+           "2022-04-14T08:00:00Z,        9,      2022-04-14T17:00Z",       // closing, not the next opening
+           "2022-04-19T17:00:00Z,       -9,      2022-04-19T08:00Z",       // opening, not the previous closing
+           "2022-04-14T18:00:00Z,        1,      2022-04-19T09:00Z",       // after closing
+           "2022-04-19T06:00:00Z,       -1,      2022-04-14T16:00Z",       // before opening
+           "2022-04-16T12:00:00.5Z,      1,      2022-04-19T09:00Z",       // day off, the fraction is dropped
+           "2022-04-14T16:30:00.5Z,      1,      2022-04-19T08:30:00.500Z",
+           "2022-04-16T12:00:00.5Z,      0,      2022-04-16T12:00:00.500Z",
+           "2022-04-14T10:30:00+02:00,   2,      2022-04-14T12:30+02:00",   // local opening hours
+   })
+   //@formatter:on
+   void business_hours(final String from, final int amount, final String expected)
+   {
+      assertEquals(expected, new DateAndTimeCalculation(from).offsetBy(amount,
+              "businesshours" + BusinessUnits.CALENDAR_SEPARATOR + ZURICH.getName()));
+   }
+
+   @Test
+   void units_of_the_calculation()
+   {
+      assertEquals("2022-02-07T12:34:56.789Z",
+              new DateAndTimeCalculation("2022-02-02T12:34:56.789Z").offsetBy(3, "businessdays"));
+      assertEquals("2022-03-28T12:00+02:00[Europe/Zurich]",
+              new DateAndTimeCalculation("2022-03-25T12:00+01:00[Europe/Zurich]").offsetBy(1, "businessdays"));
+      assertEquals(BusinessUnits.BUSINESS_HOURS, BusinessUnits.fromUnits("businesshours@zurich-test"));
+      assertNull(BusinessUnits.fromUnits("businessdaysX"));
+      assertSame(BusinessCalendar.getDefault(), BusinessUnits.calendar("businessdays"));
+
+      final OffsetResult unknown = new DateAndTimeCalculation("2022-02-02T12:34:56Z").tryOffsetBy(1,
+              "businessdays@nowhere");
+      assertEquals(OffsetError.UNKNOWN_UNITS, unknown.getError());
+      assertEquals(13, unknown.getPosition());
+
+      final OffsetResult outside = new DateAndTimeCalculation("2040-12-28T12:00Z").tryOffsetBy(10,
+              "businessdays@zurich-test");
+      assertEquals(OffsetError.RESULT_OUT_OF_RANGE, outside.getError());
+      assertEquals("2040-12-28T12:00Z", outside.getValue());
+      assertThrows(DateTimeException.class, () -> ZURICH.plusBusinessDays(LocalDate.of(1999, 12, 31), 1));
+
+      final OffsetResults results = new DateAndTimeCalculation("2022-04-14T10:30Z").offsetsBy(
+              new int[]{1, 1, 1}, new String[]{"days", "businessdays@zurich-test", "businessdays@nowhere"},
+              new OffsetResults());
+      assertEquals("2022-04-15T10:30Z", results.getValue(0));
+      assertEquals("2022-04-19T10:30Z", results.getValue(1));
+      assertEquals(OffsetError.UNKNOWN_UNITS, results.getError(2));
+   }
+
+   @Test
+   void batch_matches_single_values()
+   {
+      final ZoneOffset offset = ZoneOffset.ofHours(2);
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(offset);
+      final Random random = new Random(4711);
+      final long[] epochMillis = new long[1000];
+      for (int i = 0; i < epochMillis.length; i++)
+      {
+         epochMillis[i] = Instant.parse("2010-01-01T00:00:00Z").toEpochMilli()
+                 + (long) (random.nextDouble() * 20 * 365 * EpochDays.MILLIS_PER_DAY);
+      }
+      epochMillis[0] = Instant.parse("2040-12-28T12:00:00Z").toEpochMilli();
+      for (final String units : new String[]{"businessdays@zurich-test", "businesshours@zurich-test"})
+      {
+         final long[] result = new long[epochMillis.length];
+         assertEquals(1, batch.offsetEpochMillis(epochMillis, 100, units, result));
+         assertEquals(epochMillis[0], result[0]);
+         final BusinessUnits business = BusinessUnits.fromUnits(units);
+         for (int i = 1; i < epochMillis.length; i++)
+         {
+            final ZonedDateTime expected = business.addTo(Instant.ofEpochMilli(epochMillis[i]).atZone(offset), 100,
+                    ZURICH);
+            assertEquals(expected.toInstant().toEpochMilli(), result[i], units + " " + i);
+         }
+      }
+      final long[] result = new long[epochMillis.length];
+      assertEquals(epochMillis.length, batch.offsetEpochMillis(epochMillis, 1, "businessdays@nowhere", result));
+   }
+
+   @Test
+   void load_calendar_files(@TempDir final Path directory) throws IOException
+   {
+      Files.writeString(directory.resolve("basel-test.calendar"), String.join("\n",
+              "# test calendar",
+              "weekend = FRIDAY SATURDAY",
+              "hours   = 07:30-12:00",
+              "",
+              "2022-04-18 Easter Monday"));
+      Files.writeString(directory.resolve("ignored.txt"), "weekend = MONDAY");
+      assertEquals(List.of("basel-test"), BusinessCalendar.loadAll(directory));
+
+      final BusinessCalendar basel = BusinessCalendar.of("basel-test");
+      assertEquals(LocalTime.of(7, 30), basel.getOpening());
+      assertFalse(basel.isBusinessDay(LocalDate.parse("2022-04-15")));
+      assertTrue(basel.isBusinessDay(LocalDate.parse("2022-04-17")));
+      assertEquals(LocalDate.parse("2022-04-19"), basel.plusBusinessDays(LocalDate.parse("2022-04-14"), 2));
+
+      final Path broken = Files.writeString(directory.resolve("broken.calendar"), "hours = 17:00-08:00\n");
+      final IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+              () -> BusinessCalendar.load(broken));
+      assertTrue(e.getMessage().contains("broken.calendar:1"), e.getMessage());
+      Files.writeString(broken, "2022-13-01 Nonsense\n");
+      assertThrows(IllegalArgumentException.class, () -> BusinessCalendar.load(broken));
+   }
+
+}
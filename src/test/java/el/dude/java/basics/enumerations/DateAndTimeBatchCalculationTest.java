@@ -0,0 +1,277 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class DateAndTimeBatchCalculationTest
+{
+
+   private static final ZoneOffset OFFSET = ZoneOffset.ofHoursMinutes(5, 30);
+
+   /**
+    * Random instants between the years 1600 and 2400
+    */
+   private static long[] randomEpochMillis(final int length)
+   {
+      final Random random = new Random(4711);
+      final long[] epochMillis = new long[length];
+      for (int i = 0; i < length; i++)
+      {
+         epochMillis[i] = (long) ((random.nextDouble() - 0.5) * 800 * 365.25 * EpochDays.MILLIS_PER_DAY);
+      }
+      // month ends
+      epochMillis[0] = Instant.parse("2022-01-31T12:24:56Z").toEpochMilli();
+      epochMillis[1] = Instant.parse("2020-02-29T23:59:59.999Z").toEpochMilli();
+      epochMillis[2] = Instant.parse("1969-12-31T20:00:00Z").toEpochMilli();
+      return epochMillis;
+   }
+
+   @ParameterizedTest
+   @EnumSource(DateAndTimeOffsetFunctionImpl.class)
+   void units_match_zoned_date_time(final DateAndTimeOffsetFunctionImpl units)
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(OFFSET);
+      for (final int amount : new int[]{-1_000_001, -13, -1, 0, 1, 3, 25, 999_999})
+      {
+         final long[] epochMillis = randomEpochMillis(1_000);
+         final long[] result = new long[epochMillis.length];
+         assertEquals(0, batch.offsetEpochMillis(epochMillis, amount, units.getUnits(), result));
+         for (int i = 0; i < epochMillis.length; i++)
+         {
+            final ZonedDateTime expected = Instant.ofEpochMilli(epochMillis[i]).atZone(OFFSET).plus(
+                    units.offsetBy(amount));
+            assertEquals(expected.toInstant().toEpochMilli(), result[i], units + " " + amount + " " + i);
+         }
+
+         final long[] seconds = new long[epochMillis.length];
+         final int[] nanos = new int[epochMillis.length];
+         for (int i = 0; i < epochMillis.length; i++)
+         {
+            seconds[i] = Math.floorDiv(epochMillis[i], 1000);
+            nanos[i] = Math.floorMod(epochMillis[i], 1000) * 1_000_000 + 999;
+         }
+         final long[] resultSeconds = new long[seconds.length];
+         final int[] resultNanos = new int[seconds.length];
+         assertEquals(0, batch.offsetEpochSeconds(seconds, nanos, amount, units, resultSeconds, resultNanos));
+         for (int i = 0; i < seconds.length; i++)
+         {
+            final Instant expected = Instant.ofEpochSecond(seconds[i], nanos[i]).atZone(OFFSET).plus(
+                    units.offsetBy(amount)).toInstant();
+            assertEquals(expected.getEpochSecond(), resultSeconds[i], units + " " + amount + " " + i);
+            assertEquals(expected.getNano(), resultNanos[i], units + " " + amount + " " + i);
+         }
+      }
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"P1M", "P1Y2M3DT4H5M6.789S", "PT4H5M6.789S", "PT-4H5M-6.789S", "P-1Y-13M-40D",
+           "PT0.000000001S", "P2W"})
+   void periods_match_zoned_date_time(final String period)
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(OFFSET);
+      final long[] epochMillis = randomEpochMillis(1_000);
+      final long[] result = new long[epochMillis.length];
+      assertEquals(0, batch.offsetEpochMillis(epochMillis, period, result));
+      final long[] seconds = new long[epochMillis.length];
+      final int[] nanos = new int[epochMillis.length];
+      for (int i = 0; i < epochMillis.length; i++)
+      {
+         final ZonedDateTime expected = Instant.ofEpochMilli(epochMillis[i]).atZone(OFFSET).plus(
+                 IsoPeriod.parse(period));
+         assertEquals(expected.toInstant().toEpochMilli(), result[i], period + " " + i);
+         seconds[i] = Math.floorDiv(epochMillis[i], 1000);
+         nanos[i] = Math.floorMod(epochMillis[i], 1000) * 1_000_000 + 999_999;
+      }
+      assertEquals(0, batch.offsetEpochSeconds(seconds, nanos, period, seconds, nanos));
+      for (int i = 0; i < epochMillis.length; i++)
+      {
+         final Instant expected = Instant.ofEpochSecond(Math.floorDiv(epochMillis[i], 1000),
+                 Math.floorMod(epochMillis[i], 1000) * 1_000_000 + 999_999).atZone(OFFSET).plus(
+                 IsoPeriod.parse(period)).toInstant();
+         assertEquals(expected.getEpochSecond(), seconds[i], period + " " + i);
+         assertEquals(expected.getNano(), nanos[i], period + " " + i);
+      }
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-01-31T12:24:56Z,  1,  months,  2022-02-28T12:24:56Z",
+           "2020-01-31T12:24:56Z,  1,  months,  2020-02-29T12:24:56Z",
+           "2020-02-29T12:24:56Z,  1,  years,   2021-02-28T12:24:56Z",
+           "2022-02-02T12:34:56Z,  -3, days,    2022-01-30T12:34:56Z",
+   })
+   //@formatter:on
+   void month_end_clamping(final String from, final int amount, final String units, final String expected)
+   {
+      final long[] values = {Instant.parse(from).toEpochMilli()};
+      new DateAndTimeBatchCalculation().offsetEpochMillis(values, amount, units, values);
+      assertEquals(Instant.parse(expected).toEpochMilli(), values[0]);
+   }
+
+   @Test
+   void overflowing_values_keep_their_input()
+   {
+      final long[] values = {0, Long.MAX_VALUE - 1, 1, Long.MIN_VALUE};
+      final long[] result = new long[values.length];
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation();
+      assertEquals(1, batch.offsetEpochMillis(values, 1, "seconds", result));
+      assertArrayEquals(new long[]{1000, Long.MAX_VALUE - 1, 1001, Long.MIN_VALUE + 1000}, result);
+      assertEquals(1, batch.offsetEpochMillis(values, 1, "months", result));
+      assertEquals(Long.MAX_VALUE - 1, result[1]);
+
+      final long[] seconds = {0, Instant.MAX.getEpochSecond()};
+      final int[] nanos = {0, 0};
+      assertEquals(1, batch.offsetEpochSeconds(seconds, nanos, 1, "days", seconds, nanos));
+      assertArrayEquals(new long[]{86_400, Instant.MAX.getEpochSecond()}, seconds);
+   }
+
+   @Test
+   void unknown_units_and_malformed_periods_keep_all_input()
+   {
+      final long[] values = {1, 2, 3};
+      final long[] result = new long[values.length];
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation();
+      assertEquals(3, batch.offsetEpochMillis(values, 3, "boom", result));
+      assertArrayEquals(values, result);
+      assertEquals(3, batch.offsetEpochMillis(values, "I cannot be parsed", result));
+      assertArrayEquals(values, result);
+   }
+
+   @ParameterizedTest
+   @EnumSource(DateAndTimeOffsetFunctionImpl.class)
+   void units_between_match_zoned_date_time(final DateAndTimeOffsetFunctionImpl units)
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(OFFSET);
+      final long[] from = randomEpochMillis(1_000);
+      final long[] to = new long[from.length];
+      final Random random = new Random(42);
+      for (int i = 0; i < from.length; i++)
+      {
+         // pairs close together and far apart, in both directions
+         to[i] = i % 2 == 0 ? from[i] + (long) ((random.nextDouble() - 0.3) * 1000 * EpochDays.MILLIS_PER_DAY)
+                 : from[from.length - 1 - i];
+      }
+      to[0] = Instant.parse("2022-02-28T12:24:56Z").toEpochMilli();
+      to[2] = Instant.parse("1970-01-31T19:59:59.999Z").toEpochMilli();
+      final long[] result = new long[from.length];
+      final int failures = batch.unitsBetweenEpochMillis(from, to, units.getUnits(), result);
+
+      final long[] fromSeconds = new long[from.length];
+      final int[] fromNanos = new int[from.length];
+      final long[] toSeconds = new long[from.length];
+      final int[] toNanos = new int[from.length];
+      for (int i = 0; i < from.length; i++)
+      {
+         fromSeconds[i] = Math.floorDiv(from[i], 1000);
+         fromNanos[i] = Math.floorMod(from[i], 1000) * 1_000_000 + random.nextInt(1_000_000);
+         toSeconds[i] = Math.floorDiv(to[i], 1000);
+         toNanos[i] = Math.floorMod(to[i], 1000) * 1_000_000 + random.nextInt(1_000_000);
+      }
+      final long[] precise = new long[from.length];
+      final boolean overflows = units.getUnit() == ChronoUnit.NANOS;
+      final int preciseFailures = batch.unitsBetweenEpochSeconds(fromSeconds, fromNanos, toSeconds, toNanos,
+              units.getUnits(), precise);
+      for (int i = 0; i < from.length; i++)
+      {
+         final ZonedDateTime start = Instant.ofEpochMilli(from[i]).atZone(OFFSET);
+         final ZonedDateTime end = Instant.ofEpochMilli(to[i]).atZone(OFFSET);
+         // nanos overflow a long after 292 years
+         if (result[i] != DateAndTimeBatchCalculation.NO_RESULT)
+         {
+            assertEquals(start.until(end, units.getUnit()), result[i], units + " " + i);
+         }
+         final ZonedDateTime preciseStart = Instant.ofEpochSecond(fromSeconds[i], fromNanos[i]).atZone(OFFSET);
+         final ZonedDateTime preciseEnd = Instant.ofEpochSecond(toSeconds[i], toNanos[i]).atZone(OFFSET);
+         if (precise[i] != DateAndTimeBatchCalculation.NO_RESULT)
+         {
+            assertEquals(preciseStart.until(preciseEnd, units.getUnit()), precise[i], units + " " + i);
+         }
+      }
+      assertEquals(overflows, failures > 0);
+      assertEquals(overflows, preciseFailures > 0);
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-01-31T10:00:00Z,        2022-03-31T10:00:00Z,        P2M",
+           "2022-01-31T10:00:00Z,        2022-03-01T09:00:00Z,        P28DT23H",
+           "2022-03-01T09:00:00Z,        2022-01-31T10:00:00Z,        P-1MT-23H",
+           "2020-02-29T23:59:59.999Z,    2022-02-28T23:59:59.998Z,    P1Y11M29DT23H59M59.999S",
+           "2022-02-02T12:34:56.789Z,    2022-02-02T12:34:56.789Z,    P0D",
+   })
+   //@formatter:on
+   void normalized_periods_between(final String from, final String to, final String expected)
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation();
+      assertEquals(IsoPeriod.parse(expected), batch.periodBetweenEpochMillis(Instant.parse(from).toEpochMilli(),
+              Instant.parse(to).toEpochMilli()));
+   }
+
+   @Test
+   void periods_between_lead_from_start_to_end()
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(OFFSET);
+      final long[] from = randomEpochMillis(1_000);
+      final long[] to = randomEpochMillis(1_000);
+      final Random random = new Random(42);
+      for (int i = 0; i < from.length; i += 2)
+      {
+         to[i] = from[i] + (long) ((random.nextDouble() - 0.3) * 100 * EpochDays.MILLIS_PER_DAY);
+      }
+      final long[] months = new long[from.length];
+      final int[] days = new int[from.length];
+      final long[] timeMillis = new long[from.length];
+      assertEquals(0, batch.periodsBetweenEpochMillis(from, to, months, days, timeMillis));
+      final long[] result = new long[1];
+      for (int i = 0; i < from.length; i++)
+      {
+         final IsoPeriod period = batch.periodBetweenEpochMillis(from[i], to[i]);
+         assertEquals(months[i], period.toTotalMonths());
+         batch.offsetEpochMillis(new long[]{from[i]}, period, result);
+         assertEquals(to[i], result[0], period + " " + i);
+         // all parts towards the end, the time left less than a day
+         final long sign = Long.signum(to[i] - from[i]);
+         assertTrue(months[i] * sign >= 0 && days[i] * sign >= 0 && timeMillis[i] * sign >= 0, period + " " + i);
+         assertTrue(Math.abs(days[i]) <= 30 && Math.abs(timeMillis[i]) < EpochDays.MILLIS_PER_DAY);
+      }
+   }
+
+   @Test
+   void between_failures()
+   {
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation();
+      final long[] from = {0, Long.MIN_VALUE / 2};
+      final long[] to = {1, Long.MAX_VALUE / 2};
+      final long[] result = new long[2];
+      assertEquals(1, batch.unitsBetweenEpochMillis(from, to, "nanos", result));
+      assertArrayEquals(new long[]{1_000_000, DateAndTimeBatchCalculation.NO_RESULT}, result);
+      assertEquals(2, batch.unitsBetweenEpochMillis(from, to, "boom", result));
+      assertArrayEquals(new long[]{DateAndTimeBatchCalculation.NO_RESULT, DateAndTimeBatchCalculation.NO_RESULT},
+              result);
+      // a nano out of range fails its row only, like an overflow
+      final long[] seconds = new long[3];
+      assertEquals(2, batch.unitsBetweenEpochSeconds(new long[]{0, 0, 0}, new int[]{0, -1, 0},
+              new long[]{1, 1, 1}, new int[]{0, 0, 1_000_000_000}, DateAndTimeOffsetFunctionImpl.SECONDS, seconds));
+      assertArrayEquals(new long[]{1, DateAndTimeBatchCalculation.NO_RESULT, DateAndTimeBatchCalculation.NO_RESULT},
+              seconds);
+   }
+
+}
@@ -11,6 +11,7 @@ import java.time.Period;
 import java.time.chrono.IsoChronology;
 import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -147,6 +148,70 @@ class DateAndTimeCalculationTest
       assertEquals(expected, new DateAndTimeCalculation(from).offsetBy(period));
    }
 
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "PT14H,                  ,                         -1",
+           "I cannot be parsed,     NOT_A_PERIOD,              0",
+           "P,                      EMPTY_PERIOD,              1",
+           "P1X,                    UNKNOWN_DATE_UNIT,         2",
+           "P1D2Y,                  DATE_UNITS_OUT_OF_ORDER,   3",
+           "PT1.5H,                 FRACTION_NOT_SECONDS,      3",
+           "P99999999999Y,          NUMBER_OUT_OF_RANGE,       1",
+           "P1Y2M3DT4H5M6.789STas,  DIGIT_EXPECTED,            18",
+           "P999999999Y,            RESULT_OUT_OF_RANGE,       0",
+   })
+   //@formatter:on
+   void period_errors_with_position(final String period, final OffsetError error, final int position)
+   {
+      final String from = "2022-02-02T12:34:56.789Z";
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+      final OffsetResult result = calculation.tryOffsetBy(period);
+      assertEquals(error == null, result.isSuccess());
+      assertEquals(error, result.getError());
+      assertEquals(position, result.getPosition());
+      assertEquals(calculation.offsetBy(period), result.getValue());
+      if (error != null)
+      {
+         assertEquals(from, result.getValue());
+      }
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-02-02T12:34:56.789Z,                 3,           days,    ",
+           "2022-02-02T12:34:56.789Z,                 3,           boom,    UNKNOWN_UNITS",
+           "2022-02-02T12:34:56.789Z,                 2147483647,  years,   RESULT_OUT_OF_RANGE",
+           "2022-02-02T13:34:56.789+01:00[Europe/Zurich], 2147483647,  years,   RESULT_OUT_OF_RANGE",
+   })
+   //@formatter:on
+   void unit_errors(final String from, final int amount, final String units, final OffsetError error)
+   {
+      final OffsetResult result = new DateAndTimeCalculation(from).tryOffsetBy(amount, units);
+      assertEquals(error, result.getError());
+      assertEquals(error == null ? -1 : 0, result.getPosition());
+      assertEquals(new DateAndTimeCalculation(from).offsetBy(amount, units), result.getValue());
+   }
+
+   @Test
+   void null_units_are_unknown()
+   {
+      final String from = "2022-02-02T12:34Z";
+      assertEquals(from, new DateAndTimeCalculation(from).offsetBy(1, null));
+      final OffsetResult result = new DateAndTimeCalculation(from).tryOffsetBy(1, null);
+      assertEquals(OffsetError.UNKNOWN_UNITS, result.getError());
+      assertEquals(from, result.getValue());
+      final OffsetResults results = new DateAndTimeCalculation(from).offsetsBy(new int[]{1, 1},
+              new String[]{"days", null}, new OffsetResults());
+      assertEquals("2022-02-03T12:34Z", results.getValue(0));
+      assertEquals(OffsetError.UNKNOWN_UNITS, results.getError(1));
+      final long[] values = {1, 2};
+      final long[] batchResult = new long[values.length];
+      assertEquals(2, new DateAndTimeBatchCalculation().offsetEpochMillis(values, 1, (String) null, batchResult));
+      assertArrayEquals(values, batchResult);
+   }
+
    @ParameterizedTest
    @EnumSource(DateAndTimeOffsetFunctionImpl.class)
    void do_something_with_the_enums(final DateAndTimeOffsetFunctionImpl theEnum)
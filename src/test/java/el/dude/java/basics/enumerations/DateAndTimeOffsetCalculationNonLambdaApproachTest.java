@@ -31,8 +31,15 @@ class DateAndTimeOffsetCalculationNonLambdaApproachTest
            "2022-02-02T12:34:56.789Z,  3,    months,     2022-05-02T12:34:56.789Z",
            "2022-02-02T12:34:56.789Z,  -3,   months,     2021-11-02T12:34:56.789Z",
            "2022-02-02T12:34:56.789Z,  3,    years,      2025-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  -3,   nanos,      2022-02-02T12:34:56.788999997Z",
+           "2022-02-02T12:34:56.789Z,  3,    millis,     2022-02-02T12:34:56.792Z",
+           "2022-02-02T12:34:56.789Z,  3,    seconds,    2022-02-02T12:34:59.789Z",
+           "2022-02-02T12:34:56.789Z,  3,    hours,      2022-02-02T15:34:56.789Z",
            // NOTE: gracefully handling wrong data and simply returning the input string
            "2022-02-02T12:34:56.789Z,  3,    boom,       2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  3,    unknown,    2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  3,    duration,   2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  2147483647, weeks, 2022-02-02T12:34:56.789Z",
    })
    //@formatter:on
    void add_or_subtract_amount_of_units(final String from, final int amount, final String units, final String expected)
@@ -116,6 +123,9 @@ class DateAndTimeOffsetCalculationNonLambdaApproachTest
            "2022-02-02T12:34:56.789Z,  I cannot be parsed,  period,     2022-02-02T12:34:56.789Z",
            // NOTE: java.time.Period can only parse the date part. The time part will cause a parse error.
            "2022-02-02T12:34:56.789Z,  P1Y2M3DT4H5M6.789S,  period,     2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  P1D,                 days,       2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  P1D,                 boom,       2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:56.789Z,  P1D,                 unknown,    2022-02-02T12:34:56.789Z",
    })
    //@formatter:on
    void test_period_method_one_calculations(final String from, final String period, final String units,
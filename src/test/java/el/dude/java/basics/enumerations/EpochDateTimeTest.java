@@ -0,0 +1,124 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class EpochDateTimeTest
+{
+
+   private static final int[] AMOUNTS = {-1_000_000_007, -400, -13, -1, 0, 1, 2, 12, 59, 61, 365, 999_999_999};
+
+   private static final String[] PERIODS = {"P1M", "P1Y2M3DT4H5M6.789S", "PT4H5M6.789S", "PT-4H5M-6.789S",
+           "P-1Y-13M-40D", "PT0.000000001S", "P2W", "PT0.000001S", "P1DT-24H"};
+
+   @ParameterizedTest
+   @ValueSource(strings = {
+           "2022-02-02T12:34:56.789Z",
+           "2022-01-31T12:24:56Z",
+           "2020-02-29T00:00Z",
+           "2022-02-02T12:34:56.000000001+01:00",
+           "2022-02-02T12:34:56.123456-05:30",
+           "0001-01-01T00:00:00.1+18:00",
+           "9999-12-31T23:59:59.999999999-18:00",
+           "1969-12-31T23:59:59+00:00",
+           "2022-02-02T12:34:56-00:00",
+           "2022-02-02T12:34:56+05:30:15",
+   })
+   void same_as_zoned_date_time(final String from)
+   {
+      final EpochDateTime epochDateTime = EpochDateTime.parse(from);
+      assertNotNull(epochDateTime);
+      final ZonedDateTime zonedDateTime = ZonedDateTime.parse(from);
+      assertEquals(zonedDateTime.toString(), epochDateTime.toString());
+      for (final DateAndTimeOffsetFunctionImpl units : DateAndTimeOffsetFunctionImpl.values())
+      {
+         for (final int amount : AMOUNTS)
+         {
+            assertEquals(result(() -> zonedDateTime.plus(units.offsetBy(amount)).toString()),
+                    result(() -> epochDateTime.plus(amount, units)), from + " " + amount + " " + units);
+         }
+      }
+      for (final String period : PERIODS)
+      {
+         final IsoPeriod compiled = IsoPeriod.parse(period);
+         assertEquals(result(() -> zonedDateTime.plus(compiled).toString()),
+                 result(() -> epochDateTime.plus(compiled)), from + " " + period);
+      }
+   }
+
+   @Test
+   void random_instants_and_offsets()
+   {
+      final Random random = new Random(4711);
+      for (int i = 0; i < 20_000; i++)
+      {
+         final long epochSecond = (long) ((random.nextDouble() - 0.5) * 2 * 250_000_000_000L);
+         final int nano = random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000);
+         final ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(73) - 36) * 1800);
+         final String from = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset).toString();
+         final EpochDateTime epochDateTime = EpochDateTime.parse(from);
+         final ZonedDateTime zonedDateTime = ZonedDateTime.parse(from);
+         if (epochDateTime == null)
+         {
+            // beyond year 9999 or before year 0
+            assertEquals(true, zonedDateTime.getYear() > 9999 || zonedDateTime.getYear() < 0, from);
+            continue;
+         }
+         assertEquals(from, epochDateTime.toString());
+         final DateAndTimeOffsetFunctionImpl units = DateAndTimeOffsetFunctionImpl.values()[random.nextInt(9)];
+         final int amount = random.nextInt(20_001) - 10_000;
+         assertEquals(result(() -> zonedDateTime.plus(units.offsetBy(amount)).toString()),
+                 result(() -> epochDateTime.plus(amount, units)), from + " " + amount + " " + units);
+      }
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {
+           "2022-02-02T12:34:56.789+01:00[Europe/Zurich]",
+           "2022-02-02T12:34:56.789Z[UTC]",
+           "+10000-02-02T12:34:56.789Z",
+           "2022-02-30T12:34:56.789Z",
+           "2022-02-02T24:00:00Z",
+           "2022-02-02T12:34:60Z",
+           "2022-02-02t12:34:56Z",
+           "2022-02-02T12:34:56.Z",
+           "2022-02-02T12:34:56.1234567890Z",
+           "2022-02-02T12:34:56+1:00",
+           "2022-02-02T12:34:56+0100",
+           "2022-02-02T12:34:56+18:01",
+           "2022-02-02T12:34:56",
+           "2022-02-02",
+           "I cannot be parsed",
+   })
+   void everything_else_falls_back(final String from)
+   {
+      assertNull(EpochDateTime.parse(from));
+   }
+
+   private static String result(final Supplier<String> calculation)
+   {
+      try
+      {
+         return calculation.get();
+      }
+      catch (final RuntimeException e)
+      {
+         return "failed";
+      }
+   }
+
+}
@@ -0,0 +1,184 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class ExpirySchedulerTest
+{
+
+   private static final long START = ZonedDateTime.parse("2022-02-02T12:34:56.789Z").toInstant().toEpochMilli();
+
+   private static final Clock CLOCK = Clock.fixed(Instant.ofEpochMilli(START), ZoneOffset.UTC);
+
+   /**
+    * Expiries spread over all wheel levels, advanced in random steps: everything expires exactly once, never early,
+    * at most one tick late, cancelled objects never
+    */
+   @ParameterizedTest
+   @ValueSource(longs = {1, 10, 1000})
+   void expires_on_time_across_levels(final long tickMillis)
+   {
+      final Random random = new Random(4711);
+      // current and previous advance
+      final long[] now = {START, Long.MIN_VALUE};
+      final Map<Integer, Long> expiries = new HashMap<>();
+      final List<Integer> expired = new ArrayList<>();
+      final ExpiryScheduler<Integer> scheduler = new ExpiryScheduler<>(tickMillis, 100, batch ->
+      {
+         assertTrue(batch.size() <= 100);
+         for (final Integer id : batch)
+         {
+            final long expiry = expiries.remove(id);
+            final long expiryTick = Math.floorDiv(expiry + tickMillis - 1, tickMillis);
+            assertTrue(expiry <= now[0], id + " expired early");
+            assertTrue(expiryTick * tickMillis <= now[0], id + " expired before its tick");
+            assertTrue(Math.floorDiv(now[1], tickMillis) < expiryTick, id + " expired late ");
+            expired.add(id);
+         }
+      }, CLOCK);
+
+      final long[] handles = new long[20_000];
+      for (int id = 0; id < handles.length; id++)
+      {
+         // up to 2^(4..40) milliseconds ahead, a few already expired
+         final long expiry = START + (long) (random.nextDouble() * (1L << (4 + random.nextInt(37)))) - 10;
+         expiries.put(id, expiry);
+         handles[id] = scheduler.schedule(id, expiry);
+      }
+      int cancelled = 0;
+      for (int id = 0; id < handles.length; id += 7)
+      {
+         assertTrue(scheduler.cancel(handles[id]));
+         assertFalse(scheduler.cancel(handles[id]));
+         expiries.remove(id);
+         cancelled++;
+      }
+      assertEquals(handles.length - cancelled, scheduler.size());
+
+      // walk in small steps first, then larger and larger ones
+      long step = 1;
+      while (scheduler.size() > 0)
+      {
+         now[0] += 1 + (long) (random.nextDouble() * step);
+         scheduler.advanceTo(now[0]);
+         now[1] = now[0];
+         step = Math.min(step * 2, 1L << 36);
+         if (random.nextInt(10) == 0)
+         {
+            // expiry far in the future registered while advancing, cancelled right away
+            assertTrue(scheduler.cancel(scheduler.schedule(-1, now[0] + (1L << 30))));
+         }
+      }
+      assertTrue(expiries.isEmpty(), expiries.toString());
+      assertEquals(handles.length - cancelled, expired.size());
+   }
+
+   @Test
+   void same_expiry_in_batches()
+   {
+      final List<Integer> batchSizes = new ArrayList<>();
+      final ExpiryScheduler<String> scheduler = new ExpiryScheduler<>(1, 1000,
+              batch -> batchSizes.add(batch.size()), CLOCK);
+      for (int i = 0; i < 2500; i++)
+      {
+         scheduler.schedule("object" + i, START + 60_000);
+      }
+      assertEquals(0, scheduler.advanceTo(START + 59_999));
+      assertEquals(2500, scheduler.advanceTo(START + 60_000));
+      assertEquals(List.of(1000, 1000, 500), batchSizes);
+      assertEquals(0, scheduler.size());
+   }
+
+   @Test
+   void schedule_by_calculation()
+   {
+      final List<String> expired = new ArrayList<>();
+      final ExpiryScheduler<String> scheduler = new ExpiryScheduler<>(1, 1000, expired::addAll, CLOCK);
+      final DateAndTimeCalculation from = new DateAndTimeCalculation("2022-02-02T12:34:56.789Z");
+
+      assertNotEquals(ExpiryScheduler.NO_HANDLE, scheduler.schedule("minutes", from, 3, "minutes"));
+      assertNotEquals(ExpiryScheduler.NO_HANDLE, scheduler.schedule("period", from, "PT1M0.0001S"));
+      assertNotEquals(ExpiryScheduler.NO_HANDLE,
+              scheduler.schedule("zurich", "2022-02-02T13:36:56.789+01:00[Europe/Zurich]"));
+      assertEquals(ExpiryScheduler.NO_HANDLE, scheduler.schedule("boom", from, 3, "boom"));
+      assertEquals(ExpiryScheduler.NO_HANDLE, scheduler.schedule("boom", from, "P1X"));
+      assertEquals(ExpiryScheduler.NO_HANDLE, scheduler.schedule("boom", "I cannot be parsed"));
+      assertEquals(3, scheduler.size());
+
+      // 0.1 milliseconds after the minute: rounded up to the next tick
+      scheduler.advanceTo(START + 60_000);
+      assertEquals(List.of(), expired);
+      scheduler.advanceTo(START + 60_001);
+      assertEquals(List.of("period"), expired);
+      scheduler.advanceTo(START + 120_000);
+      assertEquals(List.of("period", "zurich"), expired);
+      scheduler.advanceTo(START + 180_000);
+      assertEquals(List.of("period", "zurich", "minutes"), expired);
+   }
+
+   @Test
+   void stale_handles()
+   {
+      final ExpiryScheduler<String> scheduler = new ExpiryScheduler<>(1, 1000, batch -> { }, CLOCK);
+      final long handle = scheduler.schedule("first", START + 1000);
+      scheduler.advanceTo(START + 1000);
+      // the entry is reused by the next registration
+      final long reused = scheduler.schedule("second", START + 1000);
+      assertNotEquals(handle, reused);
+      assertFalse(scheduler.cancel(handle));
+      assertFalse(scheduler.cancel(ExpiryScheduler.NO_HANDLE));
+      assertFalse(scheduler.cancel(-1L));
+      assertTrue(scheduler.cancel(reused));
+      assertEquals(0, scheduler.size());
+   }
+
+   @Test
+   void expiry_rounded_up_to_ticks()
+   {
+      final List<String> expired = new ArrayList<>();
+      final ExpiryScheduler<String> scheduler = new ExpiryScheduler<>(10, 1000, expired::addAll, CLOCK);
+      // START ends with 789 milliseconds, the tick starts at 790
+      scheduler.schedule("object", START);
+      scheduler.advanceTo(START);
+      assertEquals(List.of(), expired);
+      scheduler.advanceTo(START + 1);
+      assertEquals(List.of("object"), expired);
+   }
+
+   @Test
+   void started_on_system_clock() throws InterruptedException
+   {
+      final CountDownLatch latch = new CountDownLatch(3);
+      try (ExpiryScheduler<String> scheduler = new ExpiryScheduler<>(batch -> batch.forEach(o -> latch.countDown())))
+      {
+         scheduler.start();
+         final long now = System.currentTimeMillis();
+         scheduler.schedule("past", now - 1000);
+         scheduler.schedule("now", now);
+         scheduler.schedule("soon", now + 50);
+         assertTrue(latch.await(5, TimeUnit.SECONDS));
+      }
+   }
+
+}
@@ -0,0 +1,124 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class IsoDateTimeFormatterTest
+{
+
+   @ParameterizedTest
+   @ValueSource(strings = {
+           "2022-02-02T12:34Z",
+           "2022-02-02T12:34:56.789Z",
+           "2022-02-02T12:34:00.000001+01:00",
+           "2022-02-02T12:34:00.000000001-05:30",
+           "2022-02-02T12:34:56.1+05:30:15",
+           "2022-02-02T12:34:56.789+01:00[Europe/Zurich]",
+           "2022-02-02T12:34:56.789Z[UTC]",
+           "2022-07-02T12:34:56.789-04:00[America/Argentina/ComodRivadavia]",
+           "+10000-02-02T12:34:56.789Z",
+           "-0001-02-02T12:34:56.789Z",
+           "-999999999-01-01T00:00:00Z",
+           "+999999999-12-31T23:59:59.999999999+18:00",
+   })
+   void same_as_zoned_date_time(final String text)
+   {
+      final ZonedDateTime dateTime = ZonedDateTime.parse(text);
+      assertEquals(dateTime.toString(), IsoDateTimeFormatter.format(dateTime));
+   }
+
+   @Test
+   void random_zoned_date_times()
+   {
+      final Random random = new Random(4711);
+      final ZoneId[] zones = {ZoneOffset.UTC, ZoneId.of("Europe/Zurich"), ZoneId.of("America/New_York"),
+              ZoneId.of("Asia/Kolkata"), ZoneId.of("UTC")};
+      final byte[] buffer = IsoDateTimeFormatter.scratch(IsoDateTimeFormatter.MAX_LENGTH);
+      for (int i = 0; i < 20_000; i++)
+      {
+         final long epochSecond = (long) ((random.nextDouble() - 0.5) * 2 * 250_000_000_000L);
+         final int nano = random.nextInt(4) == 0 ? random.nextInt(1000) * 1_000_000 : random.nextInt(1_000_000_000);
+         final ZonedDateTime dateTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+                 zones[random.nextInt(zones.length)]);
+         final int length = IsoDateTimeFormatter.format(dateTime, buffer);
+         assertEquals(dateTime.toString(), IsoDateTimeFormatter.toString(buffer, length));
+      }
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-02-02T12:34:56.789Z,                      3, minutes, 2022-02-02T12:37:56.789Z",
+           "2022-01-31T12:34:56.789+01:00,                 1, months,  2022-02-28T12:34:56.789+01:00",
+           "2022-03-26T02:30+01:00[Europe/Zurich],         1, days,    2022-03-27T03:30+02:00[Europe/Zurich]",
+           // NOTE: gracefully handling wrong data and simply writing the input string
+           "2022-02-02T12:34:56.789+01:00[Europe/Zurich],  3, boom,    2022-02-02T12:34:56.789+01:00[Europe/Zurich]",
+   })
+   //@formatter:on
+   void offset_by_units_into_sinks(final String from, final int amount, final String units, final String expected)
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+      assertEquals(expected, calculation.offsetBy(amount, units));
+      assertEquals("> " + expected, calculation.offsetBy(amount, units, new StringBuilder("> ")).toString());
+
+      final char[] chars = new char[expected.length() + 2];
+      assertEquals(chars.length, calculation.offsetBy(amount, units, chars, 2));
+      assertEquals(expected, new String(chars, 2, expected.length()));
+
+      final ByteBuffer bytes = ByteBuffer.allocateDirect(64);
+      calculation.offsetBy(amount, units, bytes).flip();
+      assertEquals(expected, StandardCharsets.US_ASCII.decode(bytes).toString());
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-02-02T12:34:56.789Z,                      P1Y2M3DT4H5M6.789S, 2023-04-05T16:40:03.578Z",
+           "2022-02-02T12:34:56.789Z,                      PT-56.789S,         2022-02-02T12:34Z",
+           "2022-02-02T12:34:56.789+01:00[Europe/Zurich],  P6M,                2022-08-02T12:34:56.789+02:00[Europe/Zurich]",
+           // NOTE: gracefully handling wrong data and simply writing the input string
+           "2022-02-02T12:34:56.789Z,                      P1X,                2022-02-02T12:34:56.789Z",
+   })
+   //@formatter:on
+   void offset_by_period_into_sinks(final String from, final String period, final String expected)
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+      assertEquals(expected, calculation.offsetBy(period));
+      assertEquals("> " + expected, calculation.offsetBy(period, new StringBuilder("> ")).toString());
+
+      final char[] chars = new char[expected.length()];
+      assertEquals(chars.length, calculation.offsetBy(period, chars, 0));
+      assertEquals(expected, new String(chars));
+
+      final ByteBuffer bytes = ByteBuffer.allocate(64);
+      calculation.offsetBy(period, bytes).flip();
+      assertEquals(expected, StandardCharsets.US_ASCII.decode(bytes).toString());
+   }
+
+   @Test
+   void sinks_too_small()
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation("2022-02-02T12:34:56.789Z");
+      assertThrows(IndexOutOfBoundsException.class, () -> calculation.offsetBy(3, "days", new char[10], 0));
+      assertThrows(IndexOutOfBoundsException.class, () -> calculation.offsetBy("P3D", new char[30], 10));
+      assertThrows(java.nio.BufferOverflowException.class,
+              () -> calculation.offsetBy("P3D", ByteBuffer.allocate(10)));
+   }
+
+}
@@ -0,0 +1,99 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class IsoPeriodCacheTest
+{
+
+   @Test
+   void repeated_periods_are_hits()
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(16, IsoPeriodCache.Eviction.FIFO);
+      final IsoPeriod first = cache.get("P30D");
+      assertSame(first, cache.get("P30D"));
+      assertSame(first, cache.get("P30D"));
+      assertEquals(2, cache.getHits());
+      assertEquals(1, cache.getMisses());
+      assertEquals(1, cache.size());
+   }
+
+   @Test
+   void fifo_evicts_the_oldest_period()
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(2, IsoPeriodCache.Eviction.FIFO);
+      cache.get("P1D");
+      cache.get("P2D");
+      cache.get("P3D");
+      assertEquals(2, cache.size());
+      assertEquals(1, cache.getEvictions());
+      cache.get("P3D");
+      cache.get("P1D");
+      assertEquals(1, cache.getHits());
+      assertEquals(4, cache.getMisses());
+   }
+
+   @Test
+   void none_keeps_the_cached_periods()
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(1, IsoPeriodCache.Eviction.NONE);
+      cache.get("P1D");
+      assertEquals(IsoPeriod.parse("P2D"), cache.get("P2D"));
+      cache.get("P1D");
+      assertEquals(1, cache.size());
+      assertEquals(1, cache.getHits());
+      assertEquals(0, cache.getEvictions());
+   }
+
+   @Test
+   void malformed_periods_are_not_cached()
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(16, IsoPeriodCache.Eviction.FIFO);
+      assertThrows(DateTimeParseException.class, () -> cache.get("P1X"));
+      assertThrows(DateTimeParseException.class, () -> cache.get(null));
+      assertEquals(0, cache.size());
+   }
+
+   @Test
+   void concurrent_access_stays_bounded() throws InterruptedException
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(8, IsoPeriodCache.Eviction.FIFO);
+      final ExecutorService executor = Executors.newFixedThreadPool(4);
+      for (int thread = 0; thread < 4; thread++)
+      {
+         executor.execute(() -> {
+            for (int i = 0; i < 10_000; i++)
+            {
+               cache.get("P" + (i % 32) + "D");
+            }
+         });
+      }
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+      assertTrue(cache.size() <= 8);
+      assertEquals(40_000, cache.getHits() + cache.getMisses());
+   }
+
+   @Test
+   void calculation_uses_the_given_cache()
+   {
+      final IsoPeriodCache cache = new IsoPeriodCache(16, IsoPeriodCache.Eviction.FIFO);
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation("2022-01-31T12:24:56Z", cache);
+      assertEquals("2022-02-28T12:24:56Z", calculation.offsetBy("P1M"));
+      assertEquals("2022-02-28T12:24:56Z", calculation.offsetBy("P1M"));
+      assertEquals(1, cache.getHits());
+   }
+
+}
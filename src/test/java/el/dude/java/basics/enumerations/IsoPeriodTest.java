@@ -0,0 +1,121 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class IsoPeriodTest
+{
+
+   /**
+    * The expected values are what {@code java.time.Period.parse} and {@code java.time.Duration.parse} make of the
+    * date and the time part.
+    */
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "P1Y2M3DT4H5M6.789S,   P1Y2M3D,     PT4H5M6.789S",
+           "P1Y2M3D,              P1Y2M3D,     PT0S",
+           "PT4H5M6.789S,         P0D,         PT4H5M6.789S",
+           "PT-4H-5M-6.789S,      P0D,         PT-4H-5M-6.789S",
+           "PT-4H5M-6.789S,       P0D,         PT-4H5M-6.789S",
+           "P2W,                  P14D,        PT0S",
+           "P1W2D,                P9D,         PT0S",
+           "P-1Y+2m-3d,           P-1Y2M-3D,   PT0S",
+           "PT1h2m3s,             P0D,         PT1H2M3S",
+           "'PT6,5S',             P0D,         PT6.5S",
+           "PT-0.5S,              P0D,         PT-0.5S",
+           "PT6.S,                P0D,         PT6S",
+           "P1Y2M3DT,             P1Y2M3D,     PT0S",
+           "P1Y2M3DT4H5M6.789ST,  P1Y2M3D,     PT4H5M6.789S",
+           "P1DTT,                P1D,         PT0S",
+           "P0D,                  P0D,         PT0S",
+           "P2147483647D,         P2147483647D, PT0S",
+           "PT-9223372036854775808S, P0D,      PT-9223372036854775808S",
+   })
+   //@formatter:on
+   void parses_like_period_and_duration(final String text, final String period, final String duration)
+   {
+      final IsoPeriod parsed = IsoPeriod.parse(text);
+      assertEquals(Period.parse(period), parsed.toPeriod());
+      assertEquals(Duration.parse(duration), parsed.toDuration());
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @ValueSource(strings = {
+           "",
+           "P",
+           "PT",
+           "PTT",
+           "p1D",
+           "-P1D",
+           "P1Y2M3DT4H5M6.789STas",
+           "P1DTT4H",
+           "P1DT4",
+           "P1X",
+           "P1D2Y",
+           "PT1S2H",
+           "PT1.5H",
+           "PT1.1234567890S",
+           "PT1D",
+           "P1Y2M3Dt4H",
+           "I cannot be parsed",
+           "P2147483648D",
+           "P306783379W",
+           "PT9223372036854775807H",
+           "P--1D",
+   })
+   //@formatter:on
+   void rejects(final String text)
+   {
+      assertThrows(DateTimeParseException.class, () -> IsoPeriod.parse(text));
+   }
+
+   @Test
+   void error_index_points_at_the_offending_character()
+   {
+      final DateTimeParseException thrown = assertThrows(DateTimeParseException.class,
+              () -> IsoPeriod.parse("P1Y2X3D"));
+      assertEquals(4, thrown.getErrorIndex());
+   }
+
+   @Test
+   void zero_is_shared()
+   {
+      assertSame(IsoPeriod.ZERO, IsoPeriod.parse("PT0S"));
+      assertEquals("PT0S", IsoPeriod.ZERO.toString());
+      assertEquals("P1Y2M3DT4H5M6.789S", IsoPeriod.parse("P1Y2M3DT4H5M6.789S").toString());
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-01-31T12:24:56Z,              P1M1D,          P1M1D,   PT0S",
+           "2020-02-29T12:24:56Z,              P1Y,            P1Y,     PT0S",
+           "2022-02-27T02:30:00+01:00[Europe/Zurich], P1M1DT1H, P1M1D,  PT1H",
+           "2022-10-29T02:30:00+02:00[Europe/Zurich], P1DT-2H,  P1D,    PT-2H",
+   })
+   //@formatter:on
+   void applies_period_then_duration(final String from, final String text, final String period,
+           final String duration)
+   {
+      final ZonedDateTime base = ZonedDateTime.parse(from);
+      final ZonedDateTime expected = base.plus(Period.parse(period)).plus(Duration.parse(duration));
+      assertEquals(expected, base.plus(IsoPeriod.parse(text)));
+   }
+
+}
@@ -0,0 +1,100 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetBatcherTest
+{
+
+   private static final String[] DATE_AND_TIMES = {"2022-01-31T12:34:56.789Z", "2022-03-26T02:30+01:00[Europe/Zurich]",
+           "2150-06-15T12:00+02:00[Europe/Zurich]"};
+
+   private static final String[] UNITS = {"hours", "days", "months", "boom", "years"};
+
+   private static final String[] PERIODS = {"PT1H", "P1D", "P1MT-1H", "xyz", "P999999999Y"};
+
+   @Test
+   void same_as_one_by_one() throws Exception
+   {
+      final ExecutorService clients = Executors.newFixedThreadPool(8);
+      try (OffsetBatcher batcher = new OffsetBatcher(16))
+      {
+         final List<Future<?>> running = new ArrayList<>();
+         for (int client = 0; client < 8; client++)
+         {
+            final int id = client;
+            running.add(clients.submit(() ->
+            {
+               for (int i = 0; i < 500; i++)
+               {
+                  final String from = DATE_AND_TIMES[(i + id) % DATE_AND_TIMES.length];
+                  final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+                  final String units = UNITS[i % UNITS.length];
+                  final String period = PERIODS[(i + id) % PERIODS.length];
+                  assertEquals(calculation.tryOffsetBy(i - 250, units), batcher.offsetBy(from, i - 250, units).get());
+                  assertEquals(calculation.tryOffsetBy(period), batcher.offsetBy(from, period).get());
+               }
+               return null;
+            }));
+         }
+         for (final Future<?> client : running)
+         {
+            client.get();
+         }
+         assertEquals(8 * 500 * 2, batcher.getRequests());
+         assertTrue(batcher.getBatches() <= batcher.getRequests());
+      }
+      finally
+      {
+         clients.shutdown();
+      }
+   }
+
+   @Test
+   void grouped_by_date_and_time()
+   {
+      final List<OffsetBatcher.Request> batch = new ArrayList<>();
+      batch.add(new OffsetBatcher.Request("2022-02-02T12:34Z", 0, null, "P1M"));
+      batch.add(new OffsetBatcher.Request("2022-02-02T12:34+01:00", 1, "days", null));
+      batch.add(new OffsetBatcher.Request("not a date", 1, "days", null));
+      batch.add(new OffsetBatcher.Request("2022-02-02T12:34Z", 3, "days", null));
+      batch.add(new OffsetBatcher.Request("2022-02-02T12:34Z", 0, null, "P1X"));
+      final List<OffsetBatcher.Request> requests = new ArrayList<>(batch);
+      OffsetBatcher.offset(batch, new OffsetResults(1));
+      assertEquals("2022-03-02T12:34Z", requests.get(0).join().getValue());
+      assertEquals("2022-02-03T12:34+01:00", requests.get(1).join().getValue());
+      final ExecutionException e = assertThrows(ExecutionException.class, () -> requests.get(2).get());
+      assertEquals(DateTimeParseException.class, e.getCause().getClass());
+      assertEquals("2022-02-05T12:34Z", requests.get(3).join().getValue());
+      assertEquals(OffsetError.UNKNOWN_DATE_UNIT, requests.get(4).join().getError());
+   }
+
+   @Test
+   void closed()
+   {
+      final OffsetBatcher batcher = new OffsetBatcher();
+      batcher.close();
+      final CompletableFuture<OffsetResult> result = batcher.offsetBy("2022-02-02T12:34Z", "P1D");
+      assertTrue(result.isCompletedExceptionally());
+      assertThrows(NullPointerException.class, () -> batcher.offsetBy(null, "P1D"));
+      assertThrows(IllegalArgumentException.class, () -> new OffsetBatcher(0));
+      assertFalse(result.isCancelled());
+   }
+
+}
@@ -0,0 +1,89 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetErrorLogTest
+{
+
+   private static final Logger logger = LoggerFactory.getLogger(OffsetErrorLogTest.class);
+
+   private static final String FROM = "2022-02-02T12:34:56.789Z";
+
+   @Test
+   void one_line_per_interval_and_kind()
+   {
+      final long[] now = {0};
+      final OffsetErrorLog log = new OffsetErrorLog(TimeUnit.SECONDS.toNanos(1), () -> now[0]);
+      final int boom = OffsetError.UNKNOWN_UNITS.encode(0);
+      final int period = OffsetError.UNKNOWN_DATE_UNIT.encode(2);
+
+      assertTrue(log.record(logger, boom, FROM, "boom"));
+      for (int i = 0; i < 1000; i++)
+      {
+         assertFalse(log.record(logger, boom, FROM, "boom"));
+      }
+      // other kinds have their own interval
+      assertTrue(log.record(logger, period, FROM, "P1X"));
+      assertEquals(1000, log.getSuppressed(OffsetError.UNKNOWN_UNITS));
+
+      now[0] += TimeUnit.MILLISECONDS.toNanos(999);
+      assertFalse(log.record(logger, boom, FROM, "boom"));
+      now[0] += TimeUnit.MILLISECONDS.toNanos(1);
+      assertTrue(log.record(logger, boom, FROM, "boom"));
+      assertEquals(0, log.getSuppressed(OffsetError.UNKNOWN_UNITS));
+
+      assertEquals(1003, log.getCount(OffsetError.UNKNOWN_UNITS));
+      assertEquals(Map.of(OffsetError.UNKNOWN_UNITS, 1003L, OffsetError.UNKNOWN_DATE_UNIT, 1L), log.getCounts());
+   }
+
+   @Test
+   void zero_interval_logs_every_error()
+   {
+      final OffsetErrorLog log = new OffsetErrorLog(0, TimeUnit.MILLISECONDS);
+      assertTrue(log.record(logger, OffsetError.EMPTY_PERIOD.encode(1), FROM, "P"));
+      assertTrue(log.record(logger, OffsetError.EMPTY_PERIOD.encode(1), FROM, "P"));
+      assertEquals(2, log.getCount(OffsetError.EMPTY_PERIOD));
+   }
+
+   @Test
+   void calculations_count_their_errors()
+   {
+      final OffsetErrorLog log = new OffsetErrorLog(1, TimeUnit.HOURS);
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(FROM, IsoPeriodCache.getDefault(), log);
+      for (int i = 0; i < 100; i++)
+      {
+         assertEquals(FROM, calculation.offsetBy(3, "boom"));
+         assertEquals(FROM, calculation.offsetBy("P1X"));
+      }
+      assertEquals(Map.of(OffsetError.UNKNOWN_UNITS, 100L, OffsetError.UNKNOWN_DATE_UNIT, 100L), log.getCounts());
+      assertEquals(99, log.getSuppressed(OffsetError.UNKNOWN_UNITS));
+   }
+
+   @Test
+   void codes_round_trip()
+   {
+      for (final OffsetError error : OffsetError.values())
+      {
+         for (final int position : new int[]{0, 1, 17, 1 << 20})
+         {
+            final int code = error.encode(position);
+            assertTrue(code < 0);
+            assertEquals(error, OffsetError.decode(code));
+            assertEquals(position, OffsetError.position(code));
+         }
+      }
+   }
+
+}
@@ -0,0 +1,206 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetExpressionTest
+{
+
+   private static final String[] PERIODS = {"P1M", "P1Y2M3DT4H5M6.789S", "PT3H", "P1D", "P1DT-24H", "PT0.5S",
+           "P-1M-1DT-1H", "P2W", "PT0.000000001S"};
+
+   private static final String[] UNITS = {"nanos", "millis", "seconds", "minutes", "hours", "day", "weeks", "month",
+           "years"};
+
+   private static final String[] START_OF = {"millis", "second", "minutes", "hour", "day", "week", "month", "year"};
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-01-31T12:34:56.789Z,                      P1M - PT3H + 2 weeks,        2022-03-14T09:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      startOf(day) + PT6H,         2022-01-31T06:00Z",
+           "2022-01-31T12:34:56.789Z,                      -P1D + startOf(month),       2022-01-01T00:00Z",
+           "2022-01-31T12:34:56.789Z,                      P1M-PT3H,                    2022-02-28T09:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      PT-3H,                       2022-01-31T09:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      P1M + 2 weeks,               2022-03-14T12:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      P1M+2 weeks,                 2022-03-14T12:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      P1M-2weeks,                  2022-02-14T12:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      PT6H + startOf(day),         2022-01-31T00:00Z",
+           "2022-01-31T12:34:56.789Z,                      PT6H+startOf(day),           2022-01-31T00:00Z",
+           "2022-01-31T12:34:56.789Z,                      P1D- P1D,                    2022-01-31T12:34:56.789Z",
+           "2022-01-31T12:34:56.789Z,                      - PT0.5S,                    2022-01-31T12:34:56.289Z",
+           "2022-02-02T12:34:56.789Z,                      startOf(week),               2022-01-31T00:00Z",
+           "2022-02-02T12:34:56.789Z,                      startOf( years ) - 1 day,    2021-12-31T00:00Z",
+           "2022-02-02T12:34:56.789+05:45,                 startOf(hour),               2022-02-02T12:00+05:45",
+           "2022-03-27T12:34:56.789+02:00[Europe/Zurich],  startOf(day) + PT2H,         2022-03-27T03:00+02:00[Europe/Zurich]",
+           "2022-03-26T02:30+01:00[Europe/Zurich],         1 day - 1 day,               2022-03-26T03:30+01:00[Europe/Zurich]",
+           "2022-10-30T02:30+01:00[Europe/Zurich],         startOf(hour),               2022-10-30T02:00+01:00[Europe/Zurich]",
+           "+10000-02-02T12:34:56.789Z,                    startOf(month) + 2 weeks,    +10000-02-15T00:00Z",
+           "2150-06-15T12:00+02:00[Europe/Zurich],         startOf(year) - PT1M,        2149-12-31T23:59+01:00[Europe/Zurich]",
+   })
+   //@formatter:on
+   void offsets(final String from, final String expression, final String expected)
+   {
+      final OffsetExpression compiled = OffsetExpression.compile(expression);
+      assertEquals(expected, new DateAndTimeCalculation(from).offsetBy(compiled));
+      assertEquals(expected, compiled.applyTo(ZonedDateTime.parse(from)).toString());
+   }
+
+   @Test
+   void same_as_offsetting_step_by_step()
+   {
+      final String from = "2022-01-31T02:30:56.789+01:00[Europe/Zurich]";
+      String stepByStep = new DateAndTimeCalculation(from).offsetBy("P1M");
+      stepByStep = new DateAndTimeCalculation(stepByStep).offsetBy("PT-3H");
+      stepByStep = new DateAndTimeCalculation(stepByStep).offsetBy(2, "weeks");
+      stepByStep = new DateAndTimeCalculation(stepByStep).offsetBy(-7, "days");
+      assertEquals(stepByStep,
+              new DateAndTimeCalculation(from).offsetBy(OffsetExpression.compile("P1M - PT3H + 2 weeks - 7 days")));
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"Z", "+05:30", "Europe/Zurich", "America/New_York", "Australia/Lord_Howe",
+           "Pacific/Apia", "Europe/Dublin"})
+   void same_as_zoned_date_time(final String id)
+   {
+      final ZoneId zone = ZoneId.of(id);
+      final Random random = new Random(id.hashCode());
+      for (int i = 0; i < 3_000; i++)
+      {
+         final int nano = random.nextInt(3) == 0 ? 0 : random.nextInt(1_000_000_000);
+         final ZonedDateTime from = ZonedDateTime.ofInstant(
+                 Instant.ofEpochSecond(1_100_000_000L + random.nextInt(600_000_000), nano), zone);
+         final StringBuilder text = new StringBuilder();
+         UnaryOperator<ZonedDateTime> steps = UnaryOperator.identity();
+         for (int term = 0; term < 1 + random.nextInt(4); term++)
+         {
+            final boolean minus = random.nextBoolean();
+            final int kind = random.nextInt(3);
+            final UnaryOperator<ZonedDateTime> step;
+            if (kind == 0)
+            {
+               final String period = PERIODS[random.nextInt(PERIODS.length)];
+               text.append(minus ? " - " : " + ").append(period);
+               final IsoPeriod compiled = IsoPeriod.parse(period);
+               step = minus ? dateTime -> dateTime.minus(compiled) : dateTime -> dateTime.plus(compiled);
+            }
+            else if (kind == 1)
+            {
+               final String units = UNITS[random.nextInt(UNITS.length)];
+               final int amount = random.nextInt(1000);
+               text.append(minus ? " - " : " + ").append(amount).append(' ').append(units);
+               final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(
+                       units.endsWith("s") ? units : units + 's');
+               step = dateTime -> dateTime.plus(function.offsetBy(minus ? -amount : amount));
+            }
+            else
+            {
+               final String units = START_OF[random.nextInt(START_OF.length)];
+               text.append(" + startOf(").append(units).append(')');
+               step = dateTime -> startOf(dateTime, units);
+            }
+            final UnaryOperator<ZonedDateTime> previous = steps;
+            steps = dateTime -> step.apply(previous.apply(dateTime));
+         }
+         final OffsetExpression expression = OffsetExpression.compile(text);
+         final String expected = steps.apply(from).toString();
+         assertEquals(expected, expression.applyTo(from).toString(), from + text.toString());
+         assertEquals(expected, new DateAndTimeCalculation(from.toString()).offsetBy(expression),
+                 from + text.toString());
+      }
+   }
+
+   /**
+    * Reference truncation, resolved like {@link ZonedDateTime#truncatedTo}
+    */
+   private static ZonedDateTime startOf(final ZonedDateTime dateTime, final String units)
+   {
+      switch (units)
+      {
+         case "week":
+            return ZonedDateTime.ofLocal(dateTime.toLocalDateTime().truncatedTo(ChronoUnit.DAYS)
+                    .minusDays(dateTime.getDayOfWeek().getValue() - 1), dateTime.getZone(), dateTime.getOffset());
+         case "month":
+            return ZonedDateTime.ofLocal(dateTime.toLocalDateTime().truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1),
+                    dateTime.getZone(), dateTime.getOffset());
+         case "year":
+            return ZonedDateTime.ofLocal(dateTime.toLocalDateTime().truncatedTo(ChronoUnit.DAYS).withDayOfYear(1),
+                    dateTime.getZone(), dateTime.getOffset());
+         default:
+            return dateTime.truncatedTo(DateAndTimeOffsetFunctionImpl.fromUnits(
+                    units.endsWith("s") ? units : units + 's').getUnit());
+      }
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "'',                      TERM_EXPECTED,         0",
+           "'P1M +',                 TERM_EXPECTED,         5",
+           "'P1M P1D',               OPERATOR_EXPECTED,     4",
+           "'P1M * 2',               OPERATOR_EXPECTED,     4",
+           "'x',                     TERM_EXPECTED,         0",
+           "'P1M - PT3X',            UNKNOWN_TIME_UNIT,     9",
+           "'2 fortnights',          UNKNOWN_UNITS,         2",
+           "'2',                     MISSING_UNIT,          1",
+           "'3000000000 seconds',    NUMBER_OUT_OF_RANGE,   0",
+           "'400000000 weeks',       NUMBER_OUT_OF_RANGE,   0",
+           "'startOf day',           PARENTHESIS_EXPECTED,  8",
+           "'startOf(day',           PARENTHESIS_EXPECTED,  11",
+           "'startOf()',             MISSING_UNIT,          8",
+           "'startOf(moons)',        UNKNOWN_UNITS,         8",
+           "'P1D - startOf(day)',    START_OF_SUBTRACTED,   6",
+   })
+   //@formatter:on
+   void errors_with_position(final String text, final OffsetError error, final int position)
+   {
+      final int[] failure = new int[1];
+      assertNull(OffsetExpression.compile(text, failure));
+      assertEquals(error, OffsetError.decode(failure[0]));
+      assertEquals(position, OffsetError.position(failure[0]));
+      final DateTimeParseException e = assertThrows(DateTimeParseException.class,
+              () -> OffsetExpression.compile(text));
+      assertEquals(position, e.getErrorIndex());
+   }
+
+   @Test
+   void result_out_of_range_leaves_the_date_and_time_unchanged()
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation("2022-02-02T12:34:56.789Z");
+      final OffsetExpression expression = OffsetExpression.compile("P999999999Y - P999999999Y");
+      assertEquals("2022-02-02T12:34:56.789Z", calculation.offsetBy(expression));
+      final OffsetResult result = calculation.tryOffsetBy(expression);
+      assertFalse(result.isSuccess());
+      assertEquals(OffsetError.RESULT_OUT_OF_RANGE, result.getError());
+   }
+
+   @Test
+   void compiled_once()
+   {
+      final OffsetExpression expression = OffsetExpression.compile(" startOf(day) + PT6H ");
+      assertEquals(2, expression.size());
+      assertEquals(" startOf(day) + PT6H ", expression.toString());
+      final StringBuilder sink = new StringBuilder();
+      new DateAndTimeCalculation("2022-02-02T12:34:56.789Z").offsetBy(expression, sink);
+      assertEquals("2022-02-02T06:00Z", sink.toString());
+   }
+
+}
@@ -0,0 +1,219 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetFileProcessorTest
+{
+
+   private static final String[] UNITS = {"nanos", "millis", "seconds", "minutes", "hours", "days", "weeks",
+           "months", "years"};
+
+   private static final String[] PERIODS = {"P1M", "P1Y2M3DT4H5M6.789S", "PT-4H5M-6.789S", "P2W", "PT0.000001S"};
+
+   private static final String[] TIMESTAMPS = {"2022-02-02T12:34:56.789Z", "2022-01-31T12:24:56+01:00",
+           "2022-03-26T02:30+01:00[Europe/Zurich]", "2020-02-29T00:00:00.000000001-05:30"};
+
+   @TempDir
+   Path directory;
+
+   @ParameterizedTest
+   @ValueSource(ints = {1, 64, 1000, OffsetFileProcessor.DEFAULT_CHUNK_SIZE})
+   void csv_rows_in_input_order(final int chunkSize) throws IOException
+   {
+      final Random random = new Random(4711);
+      final List<String> input = new ArrayList<>();
+      final List<String> expected = new ArrayList<>();
+      input.add("timestamp,amount,unit");
+      expected.add("timestamp,amount,unit,result");
+      for (int i = 0; i < 5_000; i++)
+      {
+         final String from = TIMESTAMPS[random.nextInt(TIMESTAMPS.length)];
+         final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+         final String row;
+         final String result;
+         if (random.nextBoolean())
+         {
+            final String period = PERIODS[random.nextInt(PERIODS.length)];
+            row = from + "," + period;
+            result = calculation.offsetBy(period);
+         }
+         else
+         {
+            final int amount = random.nextInt(2001) - 1000;
+            final String units = UNITS[random.nextInt(UNITS.length)];
+            row = from + "," + amount + "," + units;
+            result = calculation.offsetBy(amount, units);
+         }
+         input.add(row);
+         expected.add(row + "," + result);
+      }
+      final Path file = write("offsets.csv", input);
+      final Path output = directory.resolve("result.csv");
+
+      final OffsetFileProcessor.Report report = new OffsetFileProcessor(ForkJoinPool.commonPool(), chunkSize,
+              OffsetFileProcessor.BadRows.FAIL).process(file, output);
+
+      assertEquals(expected, Files.readAllLines(output));
+      assertEquals(5_000, report.getRows());
+      assertEquals(0, report.getBadRows());
+      assertEquals(-1, report.getFirstBadRow());
+      assertTrue(report.getRowsPerSecond() > 0);
+   }
+
+   @Test
+   void ndjson_rows() throws IOException
+   {
+      final Path file = write("offsets.ndjson", Arrays.asList(
+              "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":3,\"unit\":\"days\"}",
+              "",
+              " { \"id\": 7, \"timestamp\" : \"2022-01-31T12:34Z\", \"period\" : \"P1M\" } ",
+              "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":\"-3\",\"units\":\"months\"}\r"));
+      final Path output = directory.resolve("result.ndjson");
+
+      final OffsetFileProcessor.Report report = new OffsetFileProcessor().process(file, output);
+
+      assertEquals(Arrays.asList(
+              "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":3,\"unit\":\"days\",\"result\":\"2022-02-05T12:34:56.789Z\"}",
+              " { \"id\": 7, \"timestamp\" : \"2022-01-31T12:34Z\", \"period\" : \"P1M\" ,\"result\":\"2022-02-28T12:34Z\"} ",
+              "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":\"-3\",\"units\":\"months\",\"result\":\"2021-11-02T12:34:56.789Z\"}"),
+              Files.readAllLines(output));
+      assertEquals(3, report.getRows());
+   }
+
+   @Test
+   void bad_rows_unchanged_or_skipped() throws IOException
+   {
+      final List<String> input = Arrays.asList(
+              "2022-02-02T12:34:56.789Z,3,days",
+              "2022-02-02T12:34:56.789Z,3,boom",
+              "2022-02-02T12:34:56.789Z,three,days",
+              "2022-02-02T12:34:56.789Z,P1X",
+              "I cannot be parsed,P1D",
+              "2022-02-02T12:34:56.789Z",
+              "\"2022-02-02T12:34:56.789Z\",\"P1D\"");
+      final Path file = write("offsets.csv", input);
+      final Path output = directory.resolve("result.csv");
+
+      OffsetFileProcessor.Report report = new OffsetFileProcessor(ForkJoinPool.commonPool(), 16,
+              OffsetFileProcessor.BadRows.UNCHANGED).process(file, output);
+      assertEquals(Arrays.asList(
+              "2022-02-02T12:34:56.789Z,3,days,2022-02-05T12:34:56.789Z",
+              "2022-02-02T12:34:56.789Z,3,boom,2022-02-02T12:34:56.789Z",
+              "2022-02-02T12:34:56.789Z,three,days,2022-02-02T12:34:56.789Z",
+              "2022-02-02T12:34:56.789Z,P1X,2022-02-02T12:34:56.789Z",
+              "I cannot be parsed,P1D,I cannot be parsed",
+              "2022-02-02T12:34:56.789Z,2022-02-02T12:34:56.789Z",
+              "\"2022-02-02T12:34:56.789Z\",\"P1D\",2022-02-03T12:34:56.789Z"), Files.readAllLines(output));
+      assertEquals(7, report.getRows());
+      assertEquals(5, report.getBadRows());
+      assertEquals(input.get(0).length() + 1, report.getFirstBadRow());
+
+      report = new OffsetFileProcessor(ForkJoinPool.commonPool(), 16, OffsetFileProcessor.BadRows.SKIP)
+              .process(file, output);
+      assertEquals(Arrays.asList(
+              "2022-02-02T12:34:56.789Z,3,days,2022-02-05T12:34:56.789Z",
+              "\"2022-02-02T12:34:56.789Z\",\"P1D\",2022-02-03T12:34:56.789Z"), Files.readAllLines(output));
+      assertEquals(5, report.getBadRows());
+   }
+
+   @Test
+   void empty_timestamps_are_bad_rows() throws IOException
+   {
+      final Path file = write("offsets.csv", Arrays.asList(",P1M", "2022-02-02T12:34:56.789Z,P1D", ",3,days"));
+      final Path output = directory.resolve("result.csv");
+
+      OffsetFileProcessor.Report report = new OffsetFileProcessor(ForkJoinPool.commonPool(), 16,
+              OffsetFileProcessor.BadRows.UNCHANGED).process(file, output);
+      assertEquals(Arrays.asList(",P1M,", "2022-02-02T12:34:56.789Z,P1D,2022-02-03T12:34:56.789Z", ",3,days,"),
+              Files.readAllLines(output));
+      assertEquals(2, report.getBadRows());
+      assertEquals(0, report.getFirstBadRow());
+
+      report = new OffsetFileProcessor(ForkJoinPool.commonPool(), 16, OffsetFileProcessor.BadRows.SKIP)
+              .process(file, output);
+      assertEquals(Arrays.asList("2022-02-02T12:34:56.789Z,P1D,2022-02-03T12:34:56.789Z"),
+              Files.readAllLines(output));
+      assertThrows(IllegalArgumentException.class, () -> new OffsetFileProcessor(ForkJoinPool.commonPool(), 16,
+              OffsetFileProcessor.BadRows.FAIL).process(file, output));
+   }
+
+   @Test
+   void csv_amounts_and_units_read_from_the_bytes() throws IOException
+   {
+      final Path file = write("offsets.csv", Arrays.asList(
+              "2022-02-02T12:34Z, +3 ,\"days\"",
+              "2022-02-02T12:34Z,-2147483648,nanos",
+              "2022-02-02T12:34Z,2147483648,nanos",
+              "2022-02-02T12:34Z,3,businessdays",
+              "2022-02-02T12:34Z,3,Days",
+              "2022-02-02T12:34Z,3x,days",
+              "2022-02-02T12:34Z,-,days"));
+      final Path output = directory.resolve("result.csv");
+
+      final OffsetFileProcessor.Report report = new OffsetFileProcessor(ForkJoinPool.commonPool(), 16,
+              OffsetFileProcessor.BadRows.UNCHANGED).process(file, output);
+      assertEquals(Arrays.asList(
+              "2022-02-02T12:34Z, +3 ,\"days\",2022-02-05T12:34Z",
+              "2022-02-02T12:34Z,-2147483648,nanos," + ZonedDateTime.parse("2022-02-02T12:34Z").minusNanos(
+                      2147483648L),
+              "2022-02-02T12:34Z,2147483648,nanos,2022-02-02T12:34Z",
+              "2022-02-02T12:34Z,3,businessdays,2022-02-07T12:34Z",
+              "2022-02-02T12:34Z,3,Days,2022-02-02T12:34Z",
+              "2022-02-02T12:34Z,3x,days,2022-02-02T12:34Z",
+              "2022-02-02T12:34Z,-,days,2022-02-02T12:34Z"), Files.readAllLines(output));
+      assertEquals(4, report.getBadRows());
+   }
+
+   @Test
+   void bad_rows_fail() throws IOException
+   {
+      final String good = "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":3,\"unit\":\"days\"}";
+      final Path file = write("offsets.ndjson",
+              Arrays.asList(good, "{\"timestamp\":\"2022-02-02T12:34:56.789Z\",\"amount\":3}"));
+      final OffsetFileProcessor processor = new OffsetFileProcessor(ForkJoinPool.commonPool(), 1,
+              OffsetFileProcessor.BadRows.FAIL);
+
+      final IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+              () -> processor.process(file, directory.resolve("result.ndjson")));
+      assertTrue(thrown.getMessage().startsWith("Bad row at byte " + (good.length() + 1) + ": "), thrown.getMessage());
+   }
+
+   @Test
+   void empty_file() throws IOException
+   {
+      final Path file = write("offsets.csv", new ArrayList<>());
+      final Path output = directory.resolve("result.csv");
+
+      final OffsetFileProcessor.Report report = new OffsetFileProcessor().process(file, output);
+
+      assertEquals(0, report.getRows());
+      assertEquals(0, Files.size(output));
+   }
+
+   private Path write(final String name, final List<String> lines) throws IOException
+   {
+      return Files.write(directory.resolve(name), lines, StandardCharsets.UTF_8);
+   }
+
+}
@@ -0,0 +1,155 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetMetricsTest
+{
+
+   private static final String FROM = "2022-02-02T12:34:56.789Z";
+
+   private static DateAndTimeCalculation calculation(final String from, final OffsetMetrics metrics)
+   {
+      return new DateAndTimeCalculation(from, IsoPeriodCache.getDefault(),
+              new OffsetErrorLog(1, TimeUnit.HOURS), metrics);
+   }
+
+   @Test
+   void counts_units_shapes_and_failures()
+   {
+      final OffsetMetrics metrics = new OffsetMetrics(1);
+      final DateAndTimeCalculation calculation = calculation(FROM, metrics);
+      calculation.offsetBy(3, "days");
+      calculation.offsetBy(3, "days", new StringBuilder());
+      calculation.offsetBy(-3, "hours");
+      calculation.offsetBy(3, "boom");
+      calculation.offsetBy("P1Y2M3D");
+      calculation.offsetBy("PT4H");
+      calculation.offsetBy("P1DT4H", new char[64], 0);
+      calculation.offsetBy("P0D");
+      calculation.offsetBy("P1X");
+      calculation("2022-02-02T13:34:56.789+01:00[Europe/Zurich]", metrics).offsetBy(Integer.MAX_VALUE, "years");
+
+      final OffsetMetrics.Snapshot snapshot = metrics.snapshot();
+      assertEquals(2, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.DAYS));
+      assertEquals(1, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.HOURS));
+      assertEquals(1, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.YEARS));
+      assertEquals(0, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.MONTHS));
+      assertEquals(1, snapshot.getPeriodShapes(OffsetMetrics.PeriodShape.DATE));
+      assertEquals(1, snapshot.getPeriodShapes(OffsetMetrics.PeriodShape.TIME));
+      assertEquals(1, snapshot.getPeriodShapes(OffsetMetrics.PeriodShape.MIXED));
+      assertEquals(1, snapshot.getPeriodShapes(OffsetMetrics.PeriodShape.ZERO));
+      assertEquals(1, snapshot.getFailures(OffsetError.UNKNOWN_UNITS));
+      assertEquals(1, snapshot.getFailures(OffsetError.UNKNOWN_DATE_UNIT));
+      assertEquals(1, snapshot.getFailures(OffsetError.RESULT_OUT_OF_RANGE));
+      assertEquals(5, snapshot.getLatency(OffsetMetrics.EntryPoint.UNITS).getCount());
+      assertEquals(5, snapshot.getLatency(OffsetMetrics.EntryPoint.PERIOD).getCount());
+      assertEquals(0, snapshot.getLatency(OffsetMetrics.EntryPoint.BATCH_UNITS).getCount());
+
+      metrics.reset();
+      assertEquals(0, metrics.snapshot().getUnitCalls(DateAndTimeOffsetFunctionImpl.DAYS));
+      assertEquals(0, metrics.snapshot().getLatency(OffsetMetrics.EntryPoint.UNITS).getCount());
+   }
+
+   @Test
+   void sampled_latencies()
+   {
+      final OffsetMetrics metrics = new OffsetMetrics(8);
+      final DateAndTimeCalculation calculation = calculation(FROM, metrics);
+      for (int i = 0; i < 8000; i++)
+      {
+         calculation.offsetBy(3, "days");
+      }
+      assertEquals(8000, metrics.snapshot().getUnitCalls(DateAndTimeOffsetFunctionImpl.DAYS));
+      final long sampled = metrics.snapshot().getLatency(OffsetMetrics.EntryPoint.UNITS).getCount();
+      assertTrue(sampled > 700 && sampled < 1300, "sampled " + sampled);
+   }
+
+   @Test
+   void untimed_metrics_still_count()
+   {
+      final OffsetMetrics metrics = new OffsetMetrics(0);
+      calculation(FROM, metrics).offsetBy(3, "weeks");
+      assertEquals(1, metrics.snapshot().getUnitCalls(DateAndTimeOffsetFunctionImpl.WEEKS));
+      assertEquals(0, metrics.snapshot().getLatency(OffsetMetrics.EntryPoint.UNITS).getCount());
+   }
+
+   @Test
+   void batches_count_once_per_array()
+   {
+      final OffsetMetrics metrics = new OffsetMetrics(1);
+      final DateAndTimeBatchCalculation batch = new DateAndTimeBatchCalculation(ZoneOffset.UTC,
+              IsoPeriodCache.getDefault(), metrics);
+      final long[] values = {0, 1000, Long.MAX_VALUE};
+      assertEquals(1, batch.offsetEpochMillis(values, 3, "days", new long[3]));
+      batch.offsetEpochMillis(values, "PT1H", new long[3]);
+      batch.offsetEpochMillis(values, "boom", new long[3]);
+      batch.offsetEpochSeconds(new long[]{0}, new int[]{0}, 1, "months", new long[1], new int[1]);
+
+      final OffsetMetrics.Snapshot snapshot = metrics.snapshot();
+      assertEquals(1, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.DAYS));
+      assertEquals(1, snapshot.getUnitCalls(DateAndTimeOffsetFunctionImpl.MONTHS));
+      assertEquals(1, snapshot.getPeriodShapes(OffsetMetrics.PeriodShape.TIME));
+      assertEquals(2, snapshot.getFailures(OffsetError.RESULT_OUT_OF_RANGE));
+      assertEquals(1, snapshot.getFailures(OffsetError.NOT_A_PERIOD));
+      assertEquals(2, snapshot.getLatency(OffsetMetrics.EntryPoint.BATCH_UNITS).getCount());
+      assertEquals(1, snapshot.getLatency(OffsetMetrics.EntryPoint.BATCH_PERIOD).getCount());
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "0,    127",
+           "50,   127",
+           "90,   1023",
+           "99,   1048575",
+           "100,  1048575",
+   })
+   //@formatter:on
+   void percentiles_are_bucket_upper_bounds(final double percentile, final long expected)
+   {
+      final OffsetMetrics metrics = new OffsetMetrics(1);
+      // 50 calls of 100 ns, 40 of 1000 ns, 10 of 1 ms
+      for (int i = 0; i < 100; i++)
+      {
+         metrics.latency(OffsetMetrics.EntryPoint.UNITS, i < 50 ? 100 : i < 90 ? 1000 : 1_000_000);
+      }
+      final OffsetMetrics.Latency latency = metrics.snapshot().getLatency(OffsetMetrics.EntryPoint.UNITS);
+      assertEquals(100, latency.getCount());
+      assertEquals(100_450, latency.getMeanNanos());
+      assertEquals(expected, latency.percentileNanos(percentile));
+   }
+
+   @Test
+   void registered_with_jmx() throws JMException
+   {
+      final ObjectName name = OffsetMetrics.register();
+      assertEquals(name, OffsetMetrics.register());
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+      new DateAndTimeCalculation(FROM).offsetBy(3, "minutes");
+      final TabularData units = (TabularData) server.getAttribute(name, "UnitCalls");
+      assertTrue((Long) units.get(new Object[]{"minutes"}).get("value") >= 1);
+      final TabularData latencies = (TabularData) server.getAttribute(name, "Latencies");
+      final CompositeData latency = (CompositeData) latencies.get(new Object[]{"UNITS"}).get("value");
+      assertEquals(OffsetMetrics.getDefault().getSampling(), server.getAttribute(name, "Sampling"));
+      assertTrue(latency.containsKey("p99Nanos"));
+   }
+
+}
@@ -0,0 +1,125 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetRecurrenceTest
+{
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "2022-01-31T12:34:56.789Z,                        1,     months",
+           "2022-01-31T12:34:56.789+01:00[Europe/Zurich],     1,     months",
+           "2022-03-26T02:30+01:00[Europe/Zurich],            1,     days",
+           "2022-10-29T02:30+02:00[Europe/Zurich],            1,     days",
+           "2022-03-26T12:00+01:00[Europe/Zurich],            7,     hours",
+           "2020-02-29T23:59:59.999-05:00[America/New_York],  -1,    years",
+           "2022-02-02T12:34:56.789Z,                        333,   millis",
+           "2022-02-02T12:34:56.789Z,                        -77,   nanos",
+           "2099-11-30T12:00+01:00[Europe/Zurich],            1,     months",
+   })
+   //@formatter:on
+   void every_occurrence_from_the_base(final String base, final int amount, final String units)
+   {
+      final ZonedDateTime from = ZonedDateTime.parse(base);
+      final DateAndTimeOffsetFunctionImpl function = DateAndTimeOffsetFunctionImpl.fromUnits(units);
+      final OffsetRecurrence recurrence = OffsetRecurrence.of(from, amount, units).limit(400);
+      final long[] millis = recurrence.epochMillis().toArray();
+      assertEquals(400, millis.length);
+      for (int k = 0; k < 400; k++)
+      {
+         final ZonedDateTime expected = from.plus(function.offsetBy(k * amount));
+         assertEquals(expected, recurrence.get(k), base + " " + k);
+         assertEquals(expected.toInstant().toEpochMilli(), millis[k], base + " " + k);
+         assertEquals(expected.toEpochSecond(), recurrence.epochSecond(k));
+         assertEquals(expected.getNano(), recurrence.nano(k));
+         assertEquals(new DateAndTimeCalculation(base).offsetBy(k * amount, units), recurrence.get(k).toString());
+      }
+   }
+
+   @Test
+   void month_ends_do_not_drift()
+   {
+      final OffsetRecurrence recurrence = OffsetRecurrence.of(ZonedDateTime.parse("2022-01-31T10:00Z"), "P1M")
+              .limit(4);
+      assertEquals("2022-01-31T10:00Z,2022-02-28T10:00Z,2022-03-31T10:00Z,2022-04-30T10:00Z",
+              recurrence.stream().map(ZonedDateTime::toString).collect(Collectors.joining(",")));
+   }
+
+   @Test
+   void until_the_end_inclusive()
+   {
+      final ZonedDateTime base = ZonedDateTime.parse("2022-01-31T10:00Z");
+      final OffsetRecurrence monthly = OffsetRecurrence.of(base, "P1M");
+      assertEquals(12, monthly.until(ZonedDateTime.parse("2022-12-31T10:00Z")).size());
+      assertEquals(11, monthly.until(ZonedDateTime.parse("2022-12-31T09:59:59.999Z")).size());
+      assertEquals(1, monthly.until(base).size());
+      assertEquals(0, monthly.until(base.minusNanos(1)).size());
+      assertEquals(0, monthly.limit(0).until(base).size());
+      assertEquals(5, monthly.limit(5).until(ZonedDateTime.parse("2099-01-01T00:00Z")).size());
+      // up to the end of the supported range
+      assertEquals(12 * (999_999_999L - 2022) + 12, monthly.until(ZonedDateTime.parse(
+              "+999999999-12-31T23:59:59.999999999Z")).size());
+
+      final OffsetRecurrence backwards = OffsetRecurrence.of(base, -90, "minutes");
+      assertEquals(17, backwards.until(ZonedDateTime.parse("2022-01-30T10:00Z")).size());
+      assertEquals(5, OffsetRecurrence.of(base, "PT-0.5S").until(base.minusSeconds(2)).size());
+
+      assertThrows(IllegalArgumentException.class, () -> OffsetRecurrence.of(base, "P1M-30D").until(base));
+      assertThrows(IllegalArgumentException.class, () -> OffsetRecurrence.of(base, "P0D").until(base));
+   }
+
+   @Test
+   void splits_without_walking()
+   {
+      final OffsetRecurrence recurrence = OffsetRecurrence.of(ZonedDateTime.parse(
+              "2022-01-31T12:00+01:00[Europe/Zurich]"), 1, "days").limit(20_000);
+      final Spliterator.OfLong spliterator = recurrence.spliterator();
+      assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+      final Spliterator.OfLong prefix = spliterator.trySplit();
+      assertNotNull(prefix);
+      assertEquals(10_000, prefix.estimateSize());
+      assertEquals(10_000, spliterator.estimateSize());
+      spliterator.tryAdvance((long value) -> assertEquals(recurrence.epochMilli(10_000), value));
+
+      final long[] sequential = recurrence.epochMillis().toArray();
+      assertArrayEquals(sequential, recurrence.epochMillis().parallel().toArray());
+      assertEquals(recurrence.epochSeconds().sum(), recurrence.epochSeconds().parallel().sum());
+
+      final PrimitiveIterator.OfLong iterator = recurrence.limit(2).iterator();
+      assertEquals(sequential[0], iterator.nextLong());
+      assertEquals(sequential[1], iterator.nextLong());
+      assertFalse(iterator.hasNext());
+   }
+
+   @Test
+   void unbounded_fails_at_the_end_of_the_range()
+   {
+      final OffsetRecurrence recurrence = OffsetRecurrence.of(ZonedDateTime.parse("2022-01-31T10:00Z"), 1_000_000,
+              "years");
+      assertEquals(OffsetRecurrence.UNBOUNDED, recurrence.size());
+      assertFalse(recurrence.spliterator().hasCharacteristics(Spliterator.SIZED));
+      assertNotNull(recurrence.get(999));
+      assertThrows(DateTimeException.class, () -> recurrence.epochSeconds().toArray());
+      assertThrows(IllegalArgumentException.class, () -> OffsetRecurrence.of(recurrence.getBase(), 1, "fortnights"));
+   }
+
+}
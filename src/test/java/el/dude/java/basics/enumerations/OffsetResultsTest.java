@@ -0,0 +1,103 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetResultsTest
+{
+
+   private static final int[] AMOUNTS = {1, 24, 1, 7, -1, 3, 2147483647, 400_000_000, 1, 90, -1_000_000_007, 12};
+
+   private static final String[] UNITS = {"hours", "hours", "days", "days", "months", "boom", "years", "weeks",
+           "weeks", "minutes", "nanos", "millis"};
+
+   private static final String[] PERIODS = {"PT1H", "P1D", "P1DT1H", "P7D", "P1M", "P1MT-1H", "P1Y2M3DT4H5M6.789S",
+           "PT-0.5S", "P1D", "xyz", "P999999999Y", "P1M1D"};
+
+   @ParameterizedTest
+   @ValueSource(strings = {
+           "2022-01-31T12:34:56.789Z",
+           "2022-03-26T02:30+01:00[Europe/Zurich]",
+           "2022-10-29T02:30:00.000000001+02:00[Europe/Zurich]",
+           "2100-12-30T12:00+01:00[Europe/Zurich]",
+           "2150-06-15T12:00+02:00[Europe/Zurich]",
+           "+10000-02-02T12:34:56.789+05:30",
+   })
+   void same_as_one_by_one(final String from)
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation(from);
+      final OffsetResults results = new OffsetResults(2);
+      calculation.offsetsBy(AMOUNTS, UNITS, results);
+      assertEquals(AMOUNTS.length, results.size());
+      for (int i = 0; i < AMOUNTS.length; i++)
+      {
+         assertEquals(calculation.tryOffsetBy(AMOUNTS[i], UNITS[i]), results.get(i), from + " " + UNITS[i]);
+         assertEquals(calculation.offsetBy(AMOUNTS[i], UNITS[i]), results.getValue(i));
+      }
+      calculation.offsetsBy(PERIODS, results);
+      assertEquals(PERIODS.length, results.size());
+      for (int i = 0; i < PERIODS.length; i++)
+      {
+         assertEquals(calculation.tryOffsetBy(PERIODS[i]), results.get(i), from + " " + PERIODS[i]);
+      }
+   }
+
+   @Test
+   void errors_per_offset()
+   {
+      final OffsetResults results = new DateAndTimeCalculation("2022-02-02T12:34:56.789Z")
+              .offsetsBy(new String[]{"P1D", "P1X", "P999999999Y"}, new OffsetResults());
+      assertEquals(true, results.isSuccess(0));
+      assertEquals(null, results.getError(0));
+      assertEquals(-1, results.getPosition(0));
+      assertEquals(OffsetError.UNKNOWN_DATE_UNIT, results.getError(1));
+      assertEquals(2, results.getPosition(1));
+      assertEquals("2022-02-02T12:34:56.789Z", results.getValue(1));
+      assertFalse(results.isSuccess(2));
+      assertEquals(OffsetError.RESULT_OUT_OF_RANGE, results.getError(2));
+      assertThrows(IndexOutOfBoundsException.class, () -> results.getValue(3));
+   }
+
+   @Test
+   void sinks()
+   {
+      final OffsetResults results = new DateAndTimeCalculation("2022-02-02T12:34:56.789+01:00[Europe/Zurich]")
+              .offsetsBy(new String[]{"PT1H", "boom"}, new OffsetResults());
+      assertEquals("2022-02-02T13:34:56.789+01:00[Europe/Zurich] 2022-02-02T12:34:56.789+01:00[Europe/Zurich]",
+              results.appendTo(1, results.appendTo(0, new StringBuilder()).append(' ')).toString());
+      final char[] chars = new char[60];
+      assertEquals(45, results.copyTo(0, chars, 1));
+      assertEquals("2022-02-02T13:34:56.789+01:00[Europe/Zurich]", new String(chars, 1, 44));
+      final ByteBuffer bytes = results.putTo(1, ByteBuffer.allocate(60));
+      assertEquals("2022-02-02T12:34:56.789+01:00[Europe/Zurich]",
+              new String(bytes.array(), 0, bytes.position(), StandardCharsets.ISO_8859_1));
+      assertEquals("OffsetResults[2022-02-02T13:34:56.789+01:00[Europe/Zurich], "
+              + "2022-02-02T12:34:56.789+01:00[Europe/Zurich] (NOT_A_PERIOD at 0)]", results.toString());
+   }
+
+   @Test
+   void reused_from_call_to_call()
+   {
+      final OffsetResults results = new OffsetResults(1);
+      new DateAndTimeCalculation("2022-02-02T12:34:56.789+01:00[Europe/Zurich]")
+              .offsetsBy(new int[]{1, 2, 3}, new String[]{"days", "days", "days"}, results);
+      assertEquals("2022-02-05T12:34:56.789+01:00[Europe/Zurich]", results.getValue(2));
+      new DateAndTimeCalculation("2022-02-02T12:34:56.789Z").offsetsBy(new int[]{1}, new String[]{"days"}, results);
+      assertEquals(1, results.size());
+      assertEquals("2022-02-03T12:34:56.789Z", results.getValue(0));
+      assertThrows(IllegalArgumentException.class, () -> new DateAndTimeCalculation("2022-02-02T12:34:56.789Z")
+              .offsetsBy(new int[]{1}, new String[0], results));
+   }
+
+}
@@ -0,0 +1,171 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetRingBufferTest
+{
+
+   private static final ZoneId[] ZONES = {ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(5, 30),
+           ZoneId.of("Europe/Zurich"), ZoneId.of("America/New_York"), ZoneId.of("Australia/Lord_Howe")};
+
+   private static final String[] PERIODS = {"P1M", "P1Y2M3DT4H5M6.789S", "PT3H", "P1D", "P1DT-24H", "P-1M-1DT-1H",
+           "PT0.000000001S", "P999999999Y"};
+
+
+   @ParameterizedTest
+   @EnumSource(OffsetRingBuffer.WaitStrategy.class)
+   void same_as_zoned_date_time_in_sequence_order(final OffsetRingBuffer.WaitStrategy waitStrategy)
+           throws InterruptedException
+   {
+      // spinning threads beyond the number of cores take turns on the scheduler's time slices
+      final int events = waitStrategy == OffsetRingBuffer.WaitStrategy.BUSY_SPIN
+              && Runtime.getRuntime().availableProcessors() < 5 ? 1_000 : 20_000;
+      final ZonedDateTime[] bases = new ZonedDateTime[events];
+      final String[] expected = new String[events];
+      final String[] actual = new String[events];
+      final long[] sequences = new long[events];
+      final Random random = new Random(4711);
+      final CountDownLatch done = new CountDownLatch(events);
+      final List<Long> outOfOrder = new ArrayList<>();
+      final long[] last = {-1};
+      try (OffsetRingBuffer ring = new OffsetRingBuffer(64, 3, waitStrategy, (event, sequence, endOfBatch) ->
+      {
+         if (sequence != last[0] + 1)
+         {
+            outOfOrder.add(sequence);
+         }
+         last[0] = sequence;
+         actual[(int) sequence] = event.toString();
+         done.countDown();
+      }))
+      {
+         ring.start();
+         for (int i = 0; i < events; i++)
+         {
+            final ZoneId zone = ZONES[random.nextInt(ZONES.length)];
+            bases[i] = ZonedDateTime.ofInstant(Instant.ofEpochSecond(1_100_000_000L + random.nextInt(600_000_000),
+                    random.nextInt(3) == 0 ? 0 : random.nextInt(1_000_000_000)), zone);
+            if (random.nextBoolean())
+            {
+               final DateAndTimeOffsetFunctionImpl units = DateAndTimeOffsetFunctionImpl.values()[random.nextInt(9)];
+               final int amount = random.nextInt(2001) - 1000;
+               expected[i] = bases[i].plus(units.offsetBy(amount)).toString();
+               sequences[i] = ring.publish(bases[i].toEpochSecond(), bases[i].getNano(), zone, amount, units);
+            }
+            else
+            {
+               final IsoPeriod period = IsoPeriod.parse(PERIODS[random.nextInt(PERIODS.length)]);
+               expected[i] = result(bases[i], period);
+               sequences[i] = ring.publish(bases[i].toEpochSecond(), bases[i].getNano(), zone, period);
+            }
+         }
+         assertTrue(done.await(30, TimeUnit.SECONDS));
+      }
+      assertEquals(List.of(), outOfOrder);
+      for (int i = 0; i < events; i++)
+      {
+         assertEquals(i, sequences[i]);
+         assertEquals(expected[i], actual[i], bases[i].toString());
+      }
+   }
+
+   private static String result(final ZonedDateTime base, final IsoPeriod period)
+   {
+      try
+      {
+         return base.plus(period).toString();
+      }
+      catch (final RuntimeException e)
+      {
+         return "OffsetEvent[RESULT_OUT_OF_RANGE]";
+      }
+   }
+
+   @Test
+   void results_read_from_the_slots()
+   {
+      try (OffsetRingBuffer ring = new OffsetRingBuffer(4, 2, OffsetRingBuffer.WaitStrategy.YIELDING, null))
+      {
+         ring.start();
+         final ZoneId zurich = ZoneId.of("Europe/Zurich");
+         final long base = ZonedDateTime.parse("2022-03-26T02:30+01:00[Europe/Zurich]").toEpochSecond();
+         for (int round = 0; round < 10; round++)
+         {
+            final long first = ring.publish(base, 0, zurich, round, DateAndTimeOffsetFunctionImpl.DAYS);
+            final long second = ring.publish(base, 0, zurich, 400_000_000, DateAndTimeOffsetFunctionImpl.WEEKS);
+            assertTrue(ring.waitForResults(second) >= second);
+            final OffsetEvent event = ring.get(first);
+            assertEquals(ZonedDateTime.parse("2022-03-26T02:30+01:00[Europe/Zurich]").plusDays(round),
+                    event.toZonedDateTime());
+            final byte[] buffer = new byte[64];
+            assertEquals(event.toString(), new String(buffer, 0, event.formatResult(buffer),
+                    StandardCharsets.ISO_8859_1));
+            final OffsetEvent failed = ring.get(second);
+            assertFalse(failed.isSuccess());
+            assertEquals(OffsetError.RESULT_OUT_OF_RANGE, failed.getError());
+            assertEquals(base, failed.getResultEpochSecond());
+            assertNull(failed.toZonedDateTime());
+            assertTrue(failed.formatResult(buffer) < 0);
+         }
+      }
+   }
+
+   @Test
+   void bad_slots_do_not_stop_the_workers()
+   {
+      try (OffsetRingBuffer ring = new OffsetRingBuffer(2, 1, OffsetRingBuffer.WaitStrategy.PARKING, null))
+      {
+         ring.start();
+         // rejected on the producer before a slot is claimed
+         assertThrows(NullPointerException.class, () -> ring.publish(0, 0, ZoneOffset.UTC, 1,
+                 DateAndTimeOffsetFunctionImpl.fromUnits("fortnights")));
+         assertThrows(NullPointerException.class, () -> ring.publish(0, 0, null, 1,
+                 DateAndTimeOffsetFunctionImpl.DAYS));
+         assertThrows(NullPointerException.class, () -> ring.publish(0, 0, ZoneOffset.UTC, null));
+         // a claimed slot published without being set
+         final long empty = ring.next();
+         assertThrows(NullPointerException.class, () -> ring.get(empty).set(0, 0, null, IsoPeriod.parse("P1D")));
+         ring.publish(empty);
+         final long sequence = ring.publish(0, 0, ZoneOffset.UTC, 1, DateAndTimeOffsetFunctionImpl.DAYS);
+         assertTrue(ring.waitForResults(sequence) >= sequence);
+         assertEquals(OffsetError.RESULT_OUT_OF_RANGE, ring.get(empty).getError());
+         assertEquals(EpochDays.SECONDS_PER_DAY, ring.get(sequence).getResultEpochSecond());
+      }
+   }
+
+   @Test
+   void not_running()
+   {
+      assertThrows(IllegalArgumentException.class,
+              () -> new OffsetRingBuffer(6, 1, OffsetRingBuffer.WaitStrategy.PARKING, null));
+      final OffsetRingBuffer ring = new OffsetRingBuffer(2, 1, OffsetRingBuffer.WaitStrategy.PARKING, null);
+      // the first round of slots is free
+      ring.publish(0, 0, ZoneOffset.UTC, 1, DateAndTimeOffsetFunctionImpl.DAYS);
+      ring.publish(0, 0, ZoneOffset.UTC, 1, DateAndTimeOffsetFunctionImpl.DAYS);
+      assertThrows(IllegalStateException.class, ring::next);
+      assertThrows(IllegalStateException.class, () -> ring.waitForResults(0));
+   }
+
+}
@@ -0,0 +1,105 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetServerTest
+{
+
+   private static OffsetServer server;
+   private static HttpClient   client;
+
+   @BeforeAll
+   static void start() throws Exception
+   {
+      OffsetServer.enableNoDelay();
+      server = new OffsetServer(0);
+      server.start();
+      client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+   }
+
+   @AfterAll
+   static void stop()
+   {
+      server.close();
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource(delimiter = '|', value = {
+           "dateAndTime=2022-02-02T12:34Z&amount=3&units=days                         | 200 | 2022-02-05T12:34Z",
+           "dateAndTime=2022-02-02T12:34%2B01:00&period=P1M                           | 200 | 2022-03-02T12:34+01:00",
+           "dateAndTime=2022-03-26T02:30%2B01:00%5BEurope/Zurich%5D&period=P1D        | 200 | 2022-03-27T03:30+02:00[Europe/Zurich]",
+           "dateAndTime=2022-02-02T12:34:56Z&expression=startOf(day)%2BPT6H           | 200 | 2022-02-02T06:00Z",
+           "dateAndTime=2022-02-02T12:34Z&period=P1X                                  | 400 | 2022-02-02T12:34Z (UNKNOWN_DATE_UNIT at 2)",
+           "dateAndTime=2022-02-02T12:34Z&amount=3&units=moons                        | 400 | 2022-02-02T12:34Z (UNKNOWN_UNITS at 0)",
+           "dateAndTime=2022-02-02T12:34Z&amount=three&units=days                     | 400 | For input string: \"three\"",
+           "dateAndTime=2022-02-02T12:34Z                                             | 400 | period, expression or amount and units missing",
+           "period=P1D                                                                | 400 | dateAndTime missing",
+           "dateAndTime=yesterday&period=P1D                                          | 400 | Text 'yesterday' could not be parsed at index 0",
+   })
+   //@formatter:on
+   void offset(final String query, final int status, final String body) throws Exception
+   {
+      final HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/offset?" + query)).GET());
+      assertEquals(status, response.statusCode());
+      assertEquals(body, response.body());
+   }
+
+   @Test
+   void batch() throws Exception
+   {
+      final String rows = "2022-02-02T12:34Z,3,days\n2022-02-02T12:34Z,P1M\r\n\nyesterday,P1D\n"
+              + "2022-02-02T12:34Z,three,days\n2022-02-02T12:34Z,3,moons\n2022-03-26T02:30+01:00[Europe/Zurich],24,hours";
+      final HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/batch"))
+              .POST(HttpRequest.BodyPublishers.ofString(rows)));
+      assertEquals(200, response.statusCode());
+      assertEquals("2022-02-05T12:34Z\n2022-03-02T12:34Z\nyesterday\n2022-02-02T12:34Z\n2022-02-02T12:34Z\n"
+              + "2022-03-27T03:30+02:00[Europe/Zurich]\n", response.body());
+   }
+
+   @Test
+   void methods() throws Exception
+   {
+      assertEquals(405, send(HttpRequest.newBuilder(uri("/batch")).GET()).statusCode());
+      assertEquals(405, send(HttpRequest.newBuilder(uri("/offset?dateAndTime=2022-02-02T12:34Z&period=P1D"))
+              .POST(HttpRequest.BodyPublishers.noBody())).statusCode());
+      assertEquals(404, send(HttpRequest.newBuilder(uri("/nothing")).GET()).statusCode());
+   }
+
+   @Test
+   void load() throws Exception
+   {
+      final OffsetLoadGenerator generator = new OffsetLoadGenerator(16, 2_000, 4711);
+      final OffsetLoadGenerator.Report overHttp = generator.run(OffsetLoadGenerator.Target.http(uri("/")));
+      assertEquals(2_000, overHttp.getRequests());
+      assertEquals(0, overHttp.getFailures());
+      final OffsetLoadGenerator.Report inProcess = generator.run(OffsetLoadGenerator.Target.of(server.getBatcher()));
+      assertEquals(0, inProcess.getFailures());
+      assertEquals(true, inProcess.getLatencyNanos(50) <= inProcess.getLatencyNanos(99));
+   }
+
+   private static URI uri(final String path)
+   {
+      return URI.create("http://127.0.0.1:" + server.getPort() + path);
+   }
+
+   private static HttpResponse<String> send(final HttpRequest.Builder request) throws Exception
+   {
+      return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+   }
+
+}
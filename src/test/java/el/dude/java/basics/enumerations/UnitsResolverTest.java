@@ -0,0 +1,109 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class UnitsResolverTest
+{
+
+   @ParameterizedTest
+   @EnumSource(DateAndTimeOffsetFunctionImpl.class)
+   void exact_same_as_from_units(final DateAndTimeOffsetFunctionImpl function)
+   {
+      final String units = function.getUnits();
+      assertEquals(DateAndTimeOffsetFunctionImpl.fromUnits(units), UnitsResolver.exact().resolve(units));
+      assertEquals(function, resolveAll(UnitsResolver.exact(), units));
+      assertNull(resolveAll(UnitsResolver.exact(), units.toUpperCase()));
+      assertNull(resolveAll(UnitsResolver.exact(), units.substring(0, units.length() - 1)));
+   }
+
+   //@formatter:off
+   @ParameterizedTest
+   @CsvSource({
+           "ns,            NANOS",
+           "Nanoseconds,   NANOS",
+           "ms,            MILLIS",
+           "MILLISECOND,   MILLIS",
+           "s,             SECONDS",
+           "Sec,           SECONDS",
+           "secs,          SECONDS",
+           "min,           MINUTES",
+           "Mins,          MINUTES",
+           "minute,        MINUTES",
+           "h,             HOURS",
+           "hr,            HOURS",
+           "HRS,           HOURS",
+           "Hours,         HOURS",
+           "d,             DAYS",
+           "DAY,           DAYS",
+           "w,             WEEKS",
+           "wk,            WEEKS",
+           "mo,            MONTHS",
+           "mon,           MONTHS",
+           "Mons,          MONTHS",
+           "month,         MONTHS",
+           "y,             YEARS",
+           "yrs,           YEARS",
+           "YEARS,         YEARS",
+   })
+   //@formatter:on
+   void lenient_aliases_in_any_case(final String units, final DateAndTimeOffsetFunctionImpl expected)
+   {
+      assertEquals(expected, resolveAll(UnitsResolver.lenient(), units));
+      assertNull(resolveAll(UnitsResolver.exact(), units.equals(expected.getUnits()) ? "boom" : units));
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"", "boom", "m", "x", "dayz", "hourss", "mi", "@s", "[s", "h0urs", "millisecondss",
+           "seconds ", " seconds", "séc"})
+   void unknown_units(final String units)
+   {
+      assertNull(resolveAll(UnitsResolver.lenient(), units));
+      assertNull(resolveAll(UnitsResolver.exact(), units));
+   }
+
+   @Test
+   void ranges_within_larger_input()
+   {
+      final String record = "2022-02-02T12:34:56.789Z,3,Hours,x";
+      final char[] chars = record.toCharArray();
+      final ByteBuffer bytes = ByteBuffer.allocateDirect(64).put(record.getBytes(StandardCharsets.US_ASCII));
+      bytes.flip();
+      final int position = bytes.position();
+
+      assertEquals(DateAndTimeOffsetFunctionImpl.HOURS, UnitsResolver.lenient().resolve(chars, 27, 5));
+      assertEquals(DateAndTimeOffsetFunctionImpl.HOURS, UnitsResolver.lenient().resolve(bytes, 27, 5));
+      assertEquals(DateAndTimeOffsetFunctionImpl.HOURS, UnitsResolver.lenient().resolve(bytes, 27, 1));
+      assertNull(UnitsResolver.lenient().resolve(bytes, 26, 6));
+      assertNull(UnitsResolver.exact().resolve(chars, 27, 5));
+      assertEquals(position, bytes.position());
+      assertNull(UnitsResolver.lenient().resolve(null));
+   }
+
+   /**
+    * @return the function resolved from all four sources, which must agree
+    */
+   private static DateAndTimeOffsetFunctionImpl resolveAll(final UnitsResolver resolver, final String units)
+   {
+      final DateAndTimeOffsetFunctionImpl fromText = resolver.resolve(new StringBuilder(units));
+      final char[] chars = ("<" + units + ">").toCharArray();
+      assertEquals(fromText, resolver.resolve(chars, 1, units.length()), units);
+      final byte[] array = ("<" + units + ">").getBytes(StandardCharsets.ISO_8859_1);
+      assertEquals(fromText, resolver.resolve(array, 1, units.length()), units);
+      assertEquals(fromText, resolver.resolve(ByteBuffer.wrap(array), 1, units.length()), units);
+      return fromText;
+   }
+
+}
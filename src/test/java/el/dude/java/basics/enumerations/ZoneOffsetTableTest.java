@@ -0,0 +1,163 @@
+package el.dude.java.basics.enumerations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class ZoneOffsetTableTest
+{
+
+   private static final String[] PERIODS = {"P1M", "P1Y2M3DT4H5M6.789S", "PT4H5M6.789S", "P1D", "P-1D", "P1DT-24H",
+           "PT30M", "P1DT1H", "P-1M-1DT-1H", "P2W", "PT0.000000001S"};
+
+   @ParameterizedTest
+   @ValueSource(strings = {"Europe/Zurich", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia",
+           "Europe/Dublin", "America/Sao_Paulo", "Asia/Kathmandu", "UTC"})
+   void same_offsets_as_zone_rules(final String id)
+   {
+      final ZoneId zone = ZoneId.of(id);
+      final ZoneOffsetTable table = new ZoneOffsetTable(zone, 1970, 2040);
+      final Random random = new Random(4711);
+      for (int i = 0; i < 20_000; i++)
+      {
+         final long epochSecond = EpochDays.of(1970, 1, 1) * EpochDays.SECONDS_PER_DAY
+                 + (long) (random.nextDouble() * 70 * 365 * EpochDays.SECONDS_PER_DAY);
+         assertEquals(zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)),
+                 table.offset(table.offsetIndexAt(epochSecond)), id + " " + epochSecond);
+      }
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"Europe/Zurich", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia",
+           "Europe/Dublin", "America/Sao_Paulo", "Asia/Kathmandu"})
+   void local_date_and_times_around_transitions(final String id)
+   {
+      final ZoneId zone = ZoneId.of(id);
+      final ZoneOffsetTable table = new ZoneOffsetTable(zone, 1970, 2040);
+      ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.parse("1971-01-01T00:00:00Z"));
+      while (transition != null && transition.getInstant().isBefore(Instant.parse("2039-01-01T00:00:00Z")))
+      {
+         final LocalDateTime local = transition.getDateTimeBefore();
+         for (int minutes = -90; minutes <= 90; minutes += 15)
+         {
+            final LocalDateTime at = local.plusMinutes(minutes);
+            final long localSecond = at.toEpochSecond(ZoneOffset.UTC);
+            for (final ZoneOffset preferred : new ZoneOffset[]{transition.getOffsetBefore(),
+                    transition.getOffsetAfter()})
+            {
+               assertEquals(ZonedDateTime.ofLocal(at, zone, preferred).toEpochSecond(),
+                       table.toEpochSecond(localSecond, preferred.getTotalSeconds()), id + " " + at + " " + preferred);
+            }
+         }
+         transition = zone.getRules().nextTransition(transition.getInstant());
+      }
+   }
+
+   @ParameterizedTest
+   @ValueSource(strings = {"Europe/Zurich", "America/New_York", "Australia/Lord_Howe", "Pacific/Apia",
+           "Europe/Dublin", "America/Sao_Paulo", "Asia/Kathmandu"})
+   void same_as_zoned_date_time(final String id)
+   {
+      final ZoneId zone = ZoneId.of(id);
+      final Random random = new Random(id.hashCode());
+      final DateAndTimeOffsetFunctionImpl[] units = DateAndTimeOffsetFunctionImpl.values();
+      // starting next to the transitions makes the results cross them
+      ZoneOffsetTransition transition = zone.getRules().nextTransition(Instant.parse("2005-01-01T00:00:00Z"));
+      for (int i = 0; i < 40 && transition != null; i++)
+      {
+         for (int j = 0; j < 50; j++)
+         {
+            final long epochSecond = transition.toEpochSecond() + random.nextInt(4 * 86400) - 2 * 86400;
+            final int nano = random.nextInt(3) == 0 ? 0 : random.nextInt(1_000_000_000);
+            final ZonedDateTime zonedDateTime = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+                    zone);
+            final EpochDateTime epochDateTime = EpochDateTime.of(zonedDateTime);
+            assertNotNull(epochDateTime);
+            assertEquals(zonedDateTime.toString(), epochDateTime.toString());
+            final DateAndTimeOffsetFunctionImpl unit = units[random.nextInt(units.length)];
+            final int amount = random.nextInt(401) - 200;
+            assertEquals(result(() -> zonedDateTime.plus(unit.offsetBy(amount)).toString()),
+                    result(() -> epochDateTime.plus(amount, unit)), zonedDateTime + " " + amount + " " + unit);
+            final IsoPeriod period = IsoPeriod.parse(PERIODS[random.nextInt(PERIODS.length)]);
+            assertEquals(result(() -> zonedDateTime.plus(period).toString()),
+                    result(() -> epochDateTime.plus(period)), zonedDateTime + " " + period);
+         }
+         transition = zone.getRules().nextTransition(transition.getInstant());
+      }
+   }
+
+   @Test
+   void results_outside_the_table_fall_back()
+   {
+      final ZonedDateTime zonedDateTime = ZonedDateTime.parse("2100-06-15T12:00+02:00[Europe/Zurich]");
+      final EpochDateTime epochDateTime = EpochDateTime.of(zonedDateTime);
+      assertNotNull(epochDateTime);
+      assertEquals(zonedDateTime.plusYears(1).toString(),
+              epochDateTime.plus(1, DateAndTimeOffsetFunctionImpl.YEARS));
+      assertEquals(zonedDateTime.plus(IsoPeriod.parse("P1YT1H")).toString(),
+              epochDateTime.plus(IsoPeriod.parse("P1YT1H")));
+      assertEquals(zonedDateTime.plusYears(-300).toString(),
+              epochDateTime.plus(-300, DateAndTimeOffsetFunctionImpl.YEARS));
+      assertEquals(zonedDateTime.plusHours(1_000_000).toString(),
+              epochDateTime.plus(1_000_000, DateAndTimeOffsetFunctionImpl.HOURS));
+   }
+
+   @Test
+   void date_and_times_outside_the_table_are_not_taken()
+   {
+      assertNull(EpochDateTime.of(ZonedDateTime.parse("1850-06-15T12:00+00:29:44[Europe/Zurich]")));
+      assertNull(EpochDateTime.of(ZonedDateTime.parse("2150-06-15T12:00+02:00[Europe/Zurich]")));
+      assertNotNull(EpochDateTime.of(ZonedDateTime.parse("2150-06-15T12:00+02:00")));
+   }
+
+   @Test
+   void shared_per_zone()
+   {
+      final ZoneOffsetTable table = ZoneOffsetTable.of(ZoneId.of("Europe/Zurich"));
+      assertSame(table, ZoneOffsetTable.of(ZoneId.of("Europe/Zurich")));
+      assertNull(ZoneOffsetTable.of(ZoneOffset.ofHours(1)));
+      assertEquals(false, table.covers(EpochDays.of(ZoneOffsetTable.DEFAULT_FROM_YEAR - 1, 12, 31)
+              * EpochDays.SECONDS_PER_DAY));
+      assertEquals(true, table.covers(0));
+   }
+
+   @Test
+   void calculation_takes_region_zones()
+   {
+      final DateAndTimeCalculation calculation = new DateAndTimeCalculation("2022-03-26T02:30+01:00[Europe/Zurich]");
+      assertEquals("2022-03-27T03:30+02:00[Europe/Zurich]", calculation.offsetBy(1, "days"));
+      assertEquals("2022-03-27T03:30+02:00[Europe/Zurich]", calculation.offsetBy("P1D"));
+      assertEquals("2022-03-27T03:30+02:00[Europe/Zurich]", calculation.offsetBy(24, "hours"));
+      assertEquals("2022-10-30T02:30+01:00[Europe/Zurich]", calculation.offsetBy("P7M4D"));
+   }
+
+   private static String result(final Supplier<String> calculation)
+   {
+      try
+      {
+         return calculation.get();
+      }
+      catch (final RuntimeException e)
+      {
+         return "failed";
+      }
+   }
+
+}
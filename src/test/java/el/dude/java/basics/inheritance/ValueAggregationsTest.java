@@ -0,0 +1,178 @@
+package el.dude.java.basics.inheritance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class ValueAggregationsTest
+{
+
+   @Test
+   void statistics_of_every_source()
+   {
+      // parallel, split across the common pool
+      final int count = ValueAggregations.PARALLEL_THRESHOLD * 3 + 17;
+      final Random random = new Random(4711);
+      final double[] values = new double[count];
+      final List<IValue> objects = new ArrayList<>(count);
+      final ValueStore store = new ValueStore(1 << 12);
+      double sum = 0;
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < count; i++)
+      {
+         values[i] = random.nextDouble() * 1000 - 500;
+         // Value, LocalValue and another implementation mixed
+         objects.add(i % 3 == 0 ? new Value(values[i]) : i % 3 == 1 ? new LocalValue(values[i]) : store.cursor());
+         sum += values[i];
+         min = Math.min(min, values[i]);
+         max = Math.max(max, values[i]);
+      }
+      store.addAll(values, 0, count);
+      for (int i = 2; i < count; i += 3)
+      {
+         ((ValueStore.Cursor) objects.get(i)).at(i);
+      }
+      final List<ValueAggregations.Statistics> all = List.of(ValueAggregations.statistics(values),
+              ValueAggregations.statistics(objects), ValueAggregations.statistics(objects.toArray(new IValue[0])),
+              ValueAggregations.statistics(store));
+      for (final ValueAggregations.Statistics statistics : all)
+      {
+         assertEquals(count, statistics.getCount());
+         assertEquals(sum, statistics.getSum(), 1e-6);
+         assertEquals(sum / count, statistics.getMean(), 1e-9);
+         assertEquals(min, statistics.getMin());
+         assertEquals(max, statistics.getMax());
+      }
+   }
+
+   @Test
+   void statistics_sequential_and_empty()
+   {
+      final List<Value> objects = new LinkedList<>();
+      for (int i = 1; i <= 7; i++)
+      {
+         objects.add(new LocalValue(i));
+      }
+      final ValueAggregations.Statistics statistics = ValueAggregations.statistics(objects);
+      assertEquals(7, statistics.getCount());
+      assertEquals(28, statistics.getSum());
+      assertEquals(4, statistics.getMean());
+      assertEquals(1, statistics.getMin());
+      assertEquals(7, statistics.getMax());
+
+      final ValueAggregations.Statistics empty = ValueAggregations.statistics(new double[0]);
+      assertEquals(0, empty.getCount());
+      assertTrue(Double.isNaN(empty.getMean()));
+      assertEquals(Double.POSITIVE_INFINITY, empty.getMin());
+      assertEquals(statistics.toString(), statistics.combine(empty).toString());
+   }
+
+   @Test
+   void statistics_like_double_summary_statistics()
+   {
+      final double[][] rows = {
+              {1, 2, 3, 4, 5, 6, 7},
+              {1, Double.NaN, 3, 4, 5, 6, 7},
+              {1, 2, 3, 4, 5, 6, Double.NaN},
+              {Double.NaN},
+              {Double.POSITIVE_INFINITY, 1, Double.NEGATIVE_INFINITY, 2},
+              {-0.0, 0.0, -5, 5},
+      };
+      for (final double[] row : rows)
+      {
+         final DoubleSummaryStatistics expected = DoubleStream.of(row).summaryStatistics();
+         final ValueAggregations.Statistics statistics = ValueAggregations.statistics(row);
+         final String message = Arrays.toString(row);
+         assertEquals(expected.getCount(), statistics.getCount(), message);
+         assertEquals(expected.getSum(), statistics.getSum(), message);
+         assertEquals(expected.getMin(), statistics.getMin(), message);
+         assertEquals(expected.getMax(), statistics.getMax(), message);
+      }
+
+      final double[] parallel = new double[ValueAggregations.PARALLEL_THRESHOLD * 4];
+      Arrays.fill(parallel, 1);
+      parallel[parallel.length - 3] = Double.NaN;
+      final ValueAggregations.Statistics statistics = ValueAggregations.statistics(parallel);
+      assertTrue(Double.isNaN(statistics.getMin()));
+      assertTrue(Double.isNaN(statistics.getMax()));
+      assertTrue(Double.isNaN(statistics.getMean()));
+   }
+
+   @Test
+   void histogram()
+   {
+      final double[] values = {-1, 0, 0.5, 1.99, 2, 5, 9.99, 10, 42, Double.NaN};
+      assertArrayEquals(new long[]{4, 1, 1, 0, 3}, ValueAggregations.histogram(values, 0, 10, 5));
+
+      final int count = ValueAggregations.PARALLEL_THRESHOLD * 2 + 1;
+      final IValue[] objects = new IValue[count];
+      for (int i = 0; i < count; i++)
+      {
+         objects[i] = new Value(i % 10);
+      }
+      final long[] histogram = ValueAggregations.histogram(objects, 0, 10, 10);
+      long total = 0;
+      for (int i = 0; i < 10; i++)
+      {
+         // 0 to 6 once more than 7 to 9
+         assertEquals(count / 10 + (i < count % 10 ? 1 : 0), histogram[i]);
+         total += histogram[i];
+      }
+      assertEquals(count, total);
+      assertThrows(IllegalArgumentException.class, () -> ValueAggregations.histogram(values, 1, 1, 5));
+      assertThrows(IllegalArgumentException.class, () -> ValueAggregations.histogram(values, 0, 1, 0));
+   }
+
+   @Test
+   void half_values_same_as_local_value()
+   {
+      final int count = ValueAggregations.PARALLEL_THRESHOLD + 1000;
+      final Random random = new Random(4711);
+      final LocalValue[] objects = new LocalValue[count];
+      final ValueStore store = new ValueStore(1 << 10);
+      final double[] expected = new double[count];
+      for (int i = 0; i < count; i++)
+      {
+         objects[i] = new LocalValue(random.nextDouble() * 1000 - 500);
+         store.add(objects[i].getValue());
+         expected[i] = objects[i].getHalfValue();
+      }
+      assertArrayEquals(expected, ValueAggregations.halfValues(objects));
+      assertArrayEquals(expected, ValueAggregations.halfValues(List.of(objects)));
+      final ValueStore halves = ValueAggregations.halfValues(store);
+      assertEquals(count, halves.size());
+      final double[] stored = new double[count];
+      assertEquals(count, halves.getValues(0, stored, 0, count));
+      assertArrayEquals(expected, stored);
+   }
+
+   @Test
+   void store_streams_in_parallel()
+   {
+      final ValueStore store = new ValueStore(1 << 8);
+      for (int i = 0; i < 100_000; i++)
+      {
+         store.add(i);
+      }
+      assertEquals(99_999.0, store.values(true).max().getAsDouble());
+      assertEquals(4_999_950_000.0, store.values(true).sum());
+      assertEquals(4_999_950_000.0, store.values(false).sum());
+      assertEquals(100_000, store.values(true).count());
+   }
+
+}
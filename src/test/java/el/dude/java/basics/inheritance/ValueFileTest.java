@@ -0,0 +1,128 @@
+package el.dude.java.basics.inheritance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class ValueFileTest
+{
+
+   @TempDir
+   Path directory;
+
+   @Test
+   void same_values_and_types_as_written() throws IOException
+   {
+      final Random random = new Random(4711);
+      final List<Value> objects = new ArrayList<>();
+      for (int i = 0; i < 1000; i++)
+      {
+         final double value = random.nextDouble() * 1000 - 500;
+         objects.add(random.nextBoolean() ? new LocalValue(value) : new Value(value));
+      }
+      final Path path = directory.resolve("values.bin");
+      assertEquals(1000, ValueFile.write(path, objects));
+      assertEquals(ValueFile.HEADER_SIZE + 1000 * 9, Files.size(path));
+
+      // segments of 16 values, the values cross segment boundaries
+      final ValueFile file = ValueFile.open(path, 16);
+      assertEquals(1000, file.size());
+      final ValueFile.Cursor cursor = file.cursor();
+      int index = 0;
+      while (cursor.next())
+      {
+         final Value object = objects.get(index);
+         assertEquals(object.getValue(), cursor.getValue());
+         assertEquals(object.getValue(), file.getValue(index));
+         assertEquals(ValueFile.Type.of(object), cursor.getType());
+         final IValue view = file.get(index);
+         assertEquals(object.getValue(), view.getValue());
+         assertEquals(object instanceof ILocalValue, view instanceof ILocalValue);
+         if (object instanceof LocalValue)
+         {
+            assertEquals(((LocalValue) object).getHalfValue(), ((ILocalValue) view).getHalfValue());
+         }
+         assertEquals(object.getClass(), file.toValue(index).getClass());
+         index++;
+      }
+      assertEquals(1000, index);
+      assertFalse(cursor.next());
+      assertSame(cursor, cursor.at(517));
+      assertEquals(objects.get(517).getValue(), cursor.getValue());
+
+      final double[] values = new double[40];
+      assertEquals(40, file.getValues(10, values, 0, 40));
+      for (int i = 0; i < 40; i++)
+      {
+         assertEquals(objects.get(10 + i).getValue(), values[i]);
+      }
+      assertEquals(5, file.getValues(995, values, 0, 40));
+      assertEquals(1000, file.toStore().size());
+      assertThrows(IndexOutOfBoundsException.class, () -> file.getValue(1000));
+   }
+
+   @Test
+   void little_endian_columns() throws IOException
+   {
+      final Path path = directory.resolve("values.bin");
+      ValueFile.write(path, List.of(new Value(1.5), new LocalValue(-2)));
+      final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+      assertArrayEquals(new byte[]{'J', 'B', 'V', 'F'}, new byte[]{bytes.get(0), bytes.get(1), bytes.get(2),
+              bytes.get(3)});
+      assertEquals(ValueFile.VERSION, bytes.getInt(4));
+      assertEquals(2, bytes.getLong(8));
+      assertEquals(1.5, bytes.getDouble(32));
+      assertEquals(-2, bytes.getDouble(40));
+      assertEquals(0, bytes.get(48));
+      assertEquals(1, bytes.get(49));
+
+      final ValueFile empty = ValueFile.open(Files.write(directory.resolve("empty.bin"),
+              header(0, ValueFile.VERSION)));
+      assertEquals(0, empty.size());
+      assertFalse(empty.cursor().next());
+   }
+
+   @Test
+   void rejects_other_files() throws IOException
+   {
+      final Path text = Files.writeString(directory.resolve("values.txt"), "1.5\n-2.0\n");
+      assertTrue(assertThrows(IOException.class, () -> ValueFile.open(text)).getMessage().contains("not a value"));
+
+      final Path newer = Files.write(directory.resolve("newer.bin"), header(0, ValueFile.VERSION + 1));
+      assertTrue(assertThrows(IOException.class, () -> ValueFile.open(newer)).getMessage().contains("version"));
+
+      final Path path = directory.resolve("values.bin");
+      ValueFile.write(path, List.of(new Value(1.5), new LocalValue(-2)));
+      final byte[] bytes = Files.readAllBytes(path);
+      final Path truncated = Files.write(directory.resolve("truncated.bin"),
+              Arrays.copyOf(bytes, bytes.length - 1));
+      assertTrue(assertThrows(IOException.class, () -> ValueFile.open(truncated)).getMessage().contains("truncated"));
+   }
+
+   private static byte[] header(final long count, final int version)
+   {
+      return ByteBuffer.allocate(ValueFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN).putInt(ValueFile.MAGIC)
+              .putInt(version).putLong(count).putLong(ValueFile.HEADER_SIZE).putLong(ValueFile.HEADER_SIZE)
+              .array();
+   }
+
+}
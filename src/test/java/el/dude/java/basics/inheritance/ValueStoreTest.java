@@ -0,0 +1,96 @@
+package el.dude.java.basics.inheritance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class ValueStoreTest
+{
+
+   @Test
+   void same_values_as_the_objects()
+   {
+      final Random random = new Random(4711);
+      final List<LocalValue> objects = new ArrayList<>();
+      for (int i = 0; i < 1000; i++)
+      {
+         objects.add(new LocalValue(random.nextDouble() * 1000 - 500));
+      }
+      // chunks of 16 doubles, the values cross chunk boundaries
+      final ValueStore store = new ValueStore(16);
+      assertEquals(0, store.addAll(objects));
+      assertEquals(1000, store.size());
+      final ValueStore.Cursor cursor = store.cursor();
+      int index = 0;
+      while (cursor.next())
+      {
+         assertEquals(index, cursor.getIndex());
+         assertEquals(objects.get(index).getValue(), cursor.getValue());
+         assertEquals(objects.get(index).getHalfValue(), cursor.getHalfValue());
+         assertEquals(objects.get(index).getHalfValue(), store.getHalfValue(index));
+         index++;
+      }
+      assertEquals(1000, index);
+      assertFalse(cursor.next());
+      assertSame(cursor, cursor.at(517));
+      assertEquals(objects.get(517).getValue(), cursor.getValue());
+      assertTrue(cursor.next());
+      assertEquals(objects.get(518).getValue(), cursor.getValue());
+   }
+
+   @Test
+   void bulk_over_chunks()
+   {
+      final double[] values = new double[100];
+      for (int i = 0; i < values.length; i++)
+      {
+         values[i] = i * 1.5;
+      }
+      final ValueStore store = new ValueStore(8);
+      store.add(-1);
+      assertEquals(1, store.addAll(values, 0, values.length));
+      final double[] into = new double[104];
+      assertEquals(100, store.getValues(1, into, 2, 100));
+      for (int i = 0; i < 100; i++)
+      {
+         assertEquals(values[i], into[i + 2]);
+      }
+      assertEquals(2, store.getHalfValues(99, into, 0, 10));
+      assertArrayEquals(new double[]{values[98] / 2, values[99] / 2}, new double[]{into[0], into[1]});
+      assertEquals(0, store.getValues(101, into, 0, 10));
+      store.set(5, 42);
+      assertEquals(21, store.getHalfValue(5));
+   }
+
+   @Test
+   void cursors_are_views()
+   {
+      final ValueStore store = new ValueStore();
+      final ValueStore.Cursor cursor = store.cursor();
+      assertFalse(cursor.next());
+      store.add(4.2);
+      assertTrue(cursor.next());
+      final ILocalValue view = cursor;
+      assertEquals(new LocalValue(4.2).getHalfValue(), view.getHalfValue());
+      store.set(0, 8);
+      assertEquals(8, view.getValue());
+      assertEquals("Cursor[0: 8.0]", cursor.toString());
+      assertEquals("Cursor[before first]", cursor.reset().toString());
+      assertThrows(IndexOutOfBoundsException.class, () -> store.getValue(1));
+      assertThrows(IndexOutOfBoundsException.class, () -> cursor.at(-1));
+      assertThrows(IllegalArgumentException.class, () -> new ValueStore(12));
+   }
+
+}
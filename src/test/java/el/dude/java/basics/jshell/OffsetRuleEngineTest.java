@@ -0,0 +1,119 @@
+package el.dude.java.basics.jshell;
+
+import el.dude.java.basics.enumerations.DateAndTimeOffsetFunctionImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Author: agent - 2026-10-17
+ */
+class OffsetRuleEngineTest
+{
+
+   private static final String END_OF_QUARTER_PLUS_DAYS = "dateAndTime.with(IsoFields.DAY_OF_QUARTER,"
+           + " dateAndTime.range(IsoFields.DAY_OF_QUARTER).getMaximum()).plusDays(amount)";
+
+   private static final ZonedDateTime DATE_AND_TIME = ZonedDateTime.parse(
+           "2022-02-02T12:34:56.789+01:00[Europe/Zurich]");
+
+   private static OffsetRuleEngine engine;
+
+   @BeforeAll
+   static void init()
+   {
+      engine = new OffsetRuleEngine(2);
+   }
+
+   @AfterAll
+   static void destroy()
+   {
+      engine.close();
+   }
+
+   @Test
+   void end_of_quarter_plus_days()
+   {
+      assertEquals(ZonedDateTime.parse("2022-04-10T12:34:56.789+02:00[Europe/Zurich]"),
+              engine.offset(END_OF_QUARTER_PLUS_DAYS, DATE_AND_TIME, 10));
+      assertEquals(ZonedDateTime.parse("2022-03-31T12:34:56.789+02:00[Europe/Zurich]"),
+              engine.compile(END_OF_QUARTER_PLUS_DAYS).offset(DATE_AND_TIME, 0));
+   }
+
+   @Test
+   void compiles_a_rule_once()
+   {
+      final String rule = "dateAndTime.plusMonths(amount).withDayOfMonth(1)";
+      final OffsetRule compiled = engine.compile(rule);
+      final long compilations = engine.getCompilations();
+      assertSame(compiled, engine.compile(rule));
+      assertSame(compiled, engine.compile("  " + rule + "\n"));
+      assertEquals(compilations, engine.getCompilations());
+      assertEquals(ZonedDateTime.parse("2022-05-01T12:34:56.789+02:00[Europe/Zurich]"),
+              compiled.offset(DATE_AND_TIME, 3));
+   }
+
+   @Test
+   void concurrent_compilations_and_evaluations() throws Exception
+   {
+      final ExecutorService executor = Executors.newFixedThreadPool(4);
+      try
+      {
+         final List<Future<ZonedDateTime>> results = new ArrayList<>();
+         for (int i = 0; i < 40; i++)
+         {
+            // 4 distinct rules compiled concurrently, evaluated 10 times each
+            final String rule = "dateAndTime.plusHours(amount * " + (i % 4 + 1) + "L)";
+            final int amount = i;
+            results.add(executor.submit(() -> engine.offset(rule, DATE_AND_TIME, amount)));
+         }
+         for (int i = 0; i < results.size(); i++)
+         {
+            assertEquals(DATE_AND_TIME.plusHours(i * (i % 4 + 1L)), results.get(i).get());
+         }
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   void rejects_bad_rules()
+   {
+      final long compilations = engine.getCompilations();
+      assertTrue(assertThrows(IllegalArgumentException.class, () -> engine.compile("dateAndTime.plusDayz(amount)"))
+              .getMessage().contains("plusDayz"));
+      assertThrows(IllegalArgumentException.class, () -> engine.compile("amount + 1"));
+      assertThrows(IllegalArgumentException.class, () -> engine.compile("dateAndTime); System.exit(1); (null"));
+      assertThrows(IllegalArgumentException.class, () -> engine.compile("dateAndTime;"));
+      assertEquals(compilations + 4, engine.getCompilations());
+      // rejected once
+      assertTrue(assertThrows(IllegalArgumentException.class, () -> engine.compile("dateAndTime.plusDayz(amount)"))
+              .getMessage().contains("plusDayz"));
+      assertThrows(IllegalArgumentException.class, () -> engine.compile(" amount + 1 "));
+      assertEquals(compilations + 4, engine.getCompilations());
+      // still usable
+      assertEquals(DATE_AND_TIME.plusDays(1), engine.offset("dateAndTime.plusDays(amount)", DATE_AND_TIME, 1));
+   }
+
+   @Test
+   void built_in_units_as_rule()
+   {
+      final OffsetRule rule = OffsetRule.of(DateAndTimeOffsetFunctionImpl.getFunction("weeks"));
+      assertEquals(DATE_AND_TIME.plusWeeks(2), rule.offset(DATE_AND_TIME, 2));
+   }
+
+}